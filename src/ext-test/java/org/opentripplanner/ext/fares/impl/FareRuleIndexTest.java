@@ -0,0 +1,69 @@
+package org.opentripplanner.ext.fares.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.opentripplanner.ext.fares.impl.FareModelForTest.AIRPORT_TO_CITY_CENTER_SET;
+import static org.opentripplanner.ext.fares.impl.FareModelForTest.INSIDE_CITY_CENTER_SET;
+import static org.opentripplanner.ext.fares.impl.FareModelForTest.TEN_DOLLARS;
+import static org.opentripplanner.transit.model._data.TransitModelForTest.id;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.ext.fares.model.FareRuleSet;
+import org.opentripplanner.transit.model.framework.FeedScopedId;
+
+class FareRuleIndexTest {
+
+  private static final String FEED_ID = TEN_DOLLARS.getId().getFeedId();
+  private static final String AIRPORT = "airport-zone";
+  private static final String CITY_CENTER = "city-center";
+  private static final FeedScopedId ROUTE_1 = id("1");
+  private static final FeedScopedId ROUTE_2 = id("2");
+
+  private static final FareRuleSet ANY_ZONE = new FareRuleSet(TEN_DOLLARS);
+  private static final FareRuleSet FROM_AIRPORT_ON_ROUTE_1 = new FareRuleSet(TEN_DOLLARS);
+
+  static {
+    FROM_AIRPORT_ON_ROUTE_1.addOriginDestination(AIRPORT, null);
+    FROM_AIRPORT_ON_ROUTE_1.addRoute(ROUTE_1);
+  }
+
+  private final List<FareRuleSet> rules = new ArrayList<>(
+    List.of(ANY_ZONE, INSIDE_CITY_CENTER_SET, FROM_AIRPORT_ON_ROUTE_1, AIRPORT_TO_CITY_CENTER_SET)
+  );
+  private final FareRuleIndex subject = new FareRuleIndex(rules);
+
+  @Test
+  void isIndexOf() {
+    assertTrue(subject.isIndexOf(rules));
+    assertFalse(subject.isIndexOf(List.copyOf(rules)));
+  }
+
+  @Test
+  void candidatesByOriginAndDestination() {
+    assertEquals(
+      List.of(ANY_ZONE, INSIDE_CITY_CENTER_SET),
+      subject.candidates(FEED_ID, CITY_CENTER, CITY_CENTER, Set.of(ROUTE_1))
+    );
+    assertEquals(
+      List.of(ANY_ZONE, FROM_AIRPORT_ON_ROUTE_1, AIRPORT_TO_CITY_CENTER_SET),
+      subject.candidates(FEED_ID, AIRPORT, CITY_CENTER, Set.of(ROUTE_1))
+    );
+  }
+
+  @Test
+  void candidatesByRoute() {
+    assertEquals(
+      List.of(ANY_ZONE, AIRPORT_TO_CITY_CENTER_SET),
+      subject.candidates(FEED_ID, AIRPORT, CITY_CENTER, Set.of(ROUTE_1, ROUTE_2))
+    );
+  }
+
+  @Test
+  void noCandidatesInOtherFeeds() {
+    assertEquals(List.of(), subject.candidates("other", AIRPORT, CITY_CENTER, Set.of(ROUTE_1)));
+  }
+}
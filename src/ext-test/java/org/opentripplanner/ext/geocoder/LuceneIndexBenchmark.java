@@ -0,0 +1,105 @@
+package org.opentripplanner.ext.geocoder;
+
+import static org.opentripplanner.test.support.Percentiles.percentile;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+import org.opentripplanner.datastore.api.FileType;
+import org.opentripplanner.datastore.file.DirectoryDataSource;
+import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.routing.graph.SerializedGraphObject;
+import org.opentripplanner.transit.model.site.StopLocation;
+import org.opentripplanner.transit.service.DefaultTransitService;
+import org.opentripplanner.transit.service.TransitService;
+
+/**
+ * Compare the autocomplete latency of the geocoder index built in memory with the index saved at
+ * graph build time and opened with memory mapping. The queries are prefixes of the stop names in
+ * the graph. The time it takes before the first query can be answered is also reported.
+ * <p>
+ * Run with the path to a graph file:
+ * <p>
+ * mvn exec:java -D"exec.mainClass"="org.opentripplanner.ext.geocoder.LuceneIndexBenchmark" -D"exec.classpathScope"=test -D"exec.args"="graph.obj"
+ */
+public class LuceneIndexBenchmark {
+
+  private static final int PREFIX_LENGTH = 3;
+  private static final int MAX_QUERIES = 10_000;
+  private static final int ROUNDS = 5;
+
+  public static void main(String[] args) throws Exception {
+    if (args.length != 1) {
+      System.err.println("Usage: LuceneIndexBenchmark <graph file>");
+      System.exit(1);
+    }
+    var graphObject = SerializedGraphObject.load(new File(args[0]));
+    graphObject.transitModel.index();
+    Graph graph = graphObject.graph;
+    TransitService transitService = new DefaultTransitService(graphObject.transitModel);
+
+    List<String> queries = transitService
+      .listStopLocations()
+      .stream()
+      .map(StopLocation::getName)
+      .filter(Objects::nonNull)
+      .map(Object::toString)
+      .filter(name -> name.length() >= PREFIX_LENGTH)
+      .map(name -> name.substring(0, PREFIX_LENGTH))
+      .limit(MAX_QUERIES)
+      .toList();
+
+    var inMemory = time("Build index in memory", () -> new LuceneIndex(graph, transitService));
+
+    var indexDirectory = new DirectoryDataSource(
+      Files.createTempDirectory("otp-geocoder-benchmark").toFile(),
+      FileType.GRAPH
+    );
+    time(
+      "Build and save index",
+      () -> {
+        LuceneIndex.write(graph, transitService, indexDirectory);
+        return null;
+      }
+    );
+    var memoryMapped = time(
+      "Open saved index",
+      () -> LuceneIndex.open(graph, transitService, indexDirectory)
+    );
+
+    for (int i = 0; i < ROUNDS; ++i) {
+      System.out.println("Round " + (i + 1) + " of " + ROUNDS);
+      autocomplete("In memory", inMemory, queries);
+      autocomplete("Memory mapped", memoryMapped, queries);
+    }
+    indexDirectory.delete();
+  }
+
+  private static <T> T time(String description, Supplier<T> task) {
+    long start = System.nanoTime();
+    T result = task.get();
+    System.out.printf("%-24s %8d ms%n", description, (System.nanoTime() - start) / 1_000_000);
+    return result;
+  }
+
+  private static void autocomplete(String description, LuceneIndex index, List<String> queries) {
+    long[] latencies = new long[queries.size()];
+    for (int i = 0; i < queries.size(); ++i) {
+      long start = System.nanoTime();
+      index.queryStopLocations(queries.get(i), true).toList();
+      latencies[i] = System.nanoTime() - start;
+    }
+    Arrays.sort(latencies);
+    System.out.printf(
+      "%-16s %6d queries  p50: %6d µs  p95: %6d µs  p99: %6d µs%n",
+      description,
+      latencies.length,
+      percentile(latencies, 0.50) / 1_000,
+      percentile(latencies, 0.95) / 1_000,
+      percentile(latencies, 0.99) / 1_000
+    );
+  }
+}
@@ -0,0 +1,100 @@
+package org.opentripplanner.ext.geocoder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.opentripplanner.transit.model._data.TransitModelForTest.stop;
+
+import java.io.File;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.opentripplanner.datastore.api.FileType;
+import org.opentripplanner.datastore.file.DirectoryDataSource;
+import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.transit.model.framework.Deduplicator;
+import org.opentripplanner.transit.model.site.StopLocation;
+import org.opentripplanner.transit.service.DefaultTransitService;
+import org.opentripplanner.transit.service.StopModel;
+import org.opentripplanner.transit.service.TransitModel;
+import org.opentripplanner.transit.service.TransitService;
+
+class LuceneIndexTest {
+
+  private static final Graph GRAPH = new Graph();
+  private static final TransitService TRANSIT_SERVICE = new DefaultTransitService(
+    new TransitModel(
+      StopModel
+        .of()
+        .withRegularStop(stop("Alexanderplatz").build())
+        .withRegularStop(stop("Alexanderstrasse").build())
+        .withRegularStop(stop("Zoo").build())
+        .build(),
+      new Deduplicator()
+    )
+  );
+
+  @TempDir
+  File tempDir;
+
+  @Test
+  void inMemoryIndex() {
+    var index = new LuceneIndex(GRAPH, TRANSIT_SERVICE);
+
+    assertEquals(Set.of("Alexanderplatz", "Alexanderstrasse"), stopNames(index, "alex", true));
+    assertEquals(Set.of("Zoo"), stopNames(index, "Zoo", false));
+  }
+
+  @Test
+  void savedIndex() {
+    var indexDirectory = new DirectoryDataSource(new File(tempDir, "geocoder"), FileType.GRAPH);
+    LuceneIndex.write(GRAPH, TRANSIT_SERVICE, indexDirectory);
+    assertFalse(indexDirectory.content().isEmpty());
+
+    // Writing the index again replaces the existing files
+    LuceneIndex.write(GRAPH, TRANSIT_SERVICE, indexDirectory);
+
+    var index = LuceneIndex.open(GRAPH, TRANSIT_SERVICE, indexDirectory);
+
+    assertEquals(Set.of("Alexanderplatz", "Alexanderstrasse"), stopNames(index, "alex", true));
+    assertEquals(Set.of("Zoo"), stopNames(index, "Zoo", false));
+  }
+
+  @Test
+  void rejectIndexOfAnotherGraph() {
+    var indexDirectory = new DirectoryDataSource(new File(tempDir, "geocoder"), FileType.GRAPH);
+    LuceneIndex.write(GRAPH, TRANSIT_SERVICE, indexDirectory);
+
+    var otherGraph = new Graph();
+
+    assertThrows(
+      IllegalStateException.class,
+      () -> LuceneIndex.open(otherGraph, TRANSIT_SERVICE, indexDirectory)
+    );
+  }
+
+  @Test
+  void ignoreEntitiesMissingInTheModel() {
+    var indexDirectory = new DirectoryDataSource(new File(tempDir, "geocoder"), FileType.GRAPH);
+    LuceneIndex.write(GRAPH, TRANSIT_SERVICE, indexDirectory);
+
+    var otherTransitService = new DefaultTransitService(
+      new TransitModel(
+        StopModel.of().withRegularStop(stop("Alexanderplatz").build()).build(),
+        new Deduplicator()
+      )
+    );
+    var index = LuceneIndex.open(GRAPH, otherTransitService, indexDirectory);
+
+    assertEquals(Set.of("Alexanderplatz"), stopNames(index, "alex", true));
+  }
+
+  private static Set<String> stopNames(LuceneIndex index, String query, boolean autocomplete) {
+    return index
+      .queryStopLocations(query, autocomplete)
+      .map(StopLocation::getName)
+      .map(Object::toString)
+      .collect(Collectors.toSet());
+  }
+}
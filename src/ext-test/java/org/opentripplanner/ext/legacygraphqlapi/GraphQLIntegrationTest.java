@@ -16,7 +16,10 @@ import static org.opentripplanner.test.support.JsonAssertions.assertEqualJson;
 import static org.opentripplanner.transit.model._data.TransitModelForTest.id;
 
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
@@ -149,6 +152,7 @@ class GraphQLIntegrationTest {
       query,
       null,
       null,
+      null,
       2000,
       2000,
       Locale.ENGLISH,
@@ -187,9 +191,11 @@ class GraphQLIntegrationTest {
       .resolve(path.getFileName().toString().replace(".graphql", ".json"));
   }
 
-  private static String extracted(Response response) {
+  private static String extracted(Response response) throws IOException {
     if (response instanceof OutboundJaxrsResponse outbound) {
-      return (String) outbound.getContext().getEntity();
+      var out = new ByteArrayOutputStream();
+      ((StreamingOutput) outbound.getContext().getEntity()).write(out);
+      return out.toString(StandardCharsets.UTF_8);
     }
     fail("expected an outbound response but got %s".formatted(response.getClass().getSimpleName()));
     return null;
@@ -0,0 +1,146 @@
+package org.opentripplanner.ext.legacygraphqlapi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.opentripplanner.ext.legacygraphqlapi.LegacyGraphQLDataLoaders.PATTERNS_FOR_STOP;
+import static org.opentripplanner.ext.legacygraphqlapi.LegacyGraphQLDataLoaders.STOPTIMES_FOR_STOP;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderRegistry;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.ext.legacygraphqlapi.LegacyGraphQLDataLoaders.StopTimesForStopKey;
+import org.opentripplanner.model.StopTimesInPattern;
+import org.opentripplanner.routing.api.request.RouteRequest;
+import org.opentripplanner.routing.stoptimes.ArrivalDeparture;
+import org.opentripplanner.transit.model._data.TransitModelForTest;
+import org.opentripplanner.transit.model.network.Route;
+import org.opentripplanner.transit.model.network.TripPattern;
+import org.opentripplanner.transit.model.site.RegularStop;
+import org.opentripplanner.transit.model.site.StopLocation;
+import org.opentripplanner.transit.service.DefaultTransitService;
+import org.opentripplanner.transit.service.TransitModel;
+
+class LegacyGraphQLDataLoadersTest {
+
+  private static final Route ROUTE = TransitModelForTest.route("R1").build();
+  private static final TripPattern P1 = pattern("P1");
+  private static final TripPattern P2 = pattern("P2");
+  private static final TripPattern P3 = pattern("P3");
+
+  private static final RegularStop STOP_A = TransitModelForTest.stopForTest("A", 60.0, 10.0);
+  private static final RegularStop STOP_B = TransitModelForTest.stopForTest("B", 60.0, 10.1);
+  private static final RegularStop STOP_C = TransitModelForTest.stopForTest("C", 60.0, 10.2);
+
+  private static final Map<StopLocation, List<TripPattern>> PATTERNS = Map.of(
+    STOP_A,
+    List.of(P1),
+    STOP_B,
+    List.of(P2, P3),
+    STOP_C,
+    List.of()
+  );
+
+  private static final Instant START_TIME = Instant.parse("2023-05-15T10:00:00Z");
+
+  /** The keys loaded from the transit service, in the order they are loaded. */
+  private final List<Object> loadedKeys = new ArrayList<>();
+
+  private final DataLoaderRegistry registry = LegacyGraphQLDataLoaders.createRegistry(
+    new LegacyGraphQLRequestContext(
+      null,
+      new DefaultTransitService(new TransitModel()) {
+        @Override
+        public Collection<TripPattern> getPatternsForStop(
+          StopLocation stop,
+          boolean includeRealtimeUpdates
+        ) {
+          loadedKeys.add(stop);
+          return PATTERNS.get(stop);
+        }
+
+        @Override
+        public List<StopTimesInPattern> stopTimesForStop(
+          StopLocation stop,
+          Instant startTime,
+          Duration timeRange,
+          int numberOfDepartures,
+          ArrivalDeparture arrivalDeparture,
+          boolean includeCancelledTrips
+        ) {
+          loadedKeys.add(stop);
+          return PATTERNS
+            .get(stop)
+            .stream()
+            .limit(numberOfDepartures)
+            .map(StopTimesInPattern::new)
+            .toList();
+        }
+      },
+      null,
+      null,
+      null,
+      null,
+      null,
+      new RouteRequest()
+    )
+  );
+
+  @Test
+  void loadPatternsOfAllStopsInOneBatch() {
+    DataLoader<StopLocation, List<TripPattern>> loader = registry.getDataLoader(PATTERNS_FOR_STOP);
+
+    var c = loader.load(STOP_C);
+    var b = loader.load(STOP_B);
+    var a = loader.load(STOP_A);
+    var bAgain = loader.load(STOP_B);
+
+    // Nothing is loaded until the batch is dispatched, then each stop is loaded once
+    assertEquals(List.of(), loadedKeys);
+    assertEquals(3, loader.dispatchWithCounts().getKeysCount());
+    assertEquals(List.of(STOP_C, STOP_B, STOP_A), loadedKeys);
+    assertEquals(List.of(), c.join());
+    assertEquals(List.of(P2, P3), b.join());
+    assertEquals(List.of(P1), a.join());
+    assertEquals(List.of(P2, P3), bAgain.join());
+  }
+
+  @Test
+  void loadDeparturesOfAllStopsInOneBatch() {
+    DataLoader<StopTimesForStopKey, List<StopTimesInPattern>> loader = registry.getDataLoader(
+      STOPTIMES_FOR_STOP
+    );
+
+    var all = loader.loadMany(List.of(key(STOP_A, 2), key(STOP_B, 2), key(STOP_B, 1)));
+
+    assertEquals(List.of(), loadedKeys);
+    assertEquals(3, loader.dispatchWithCounts().getKeysCount());
+    assertEquals(List.of(STOP_A, STOP_B, STOP_B), loadedKeys);
+    assertEquals(
+      List.of(List.of(P1), List.of(P2, P3), List.of(P2)),
+      all.join().stream().map(it -> it.stream().map(p -> p.pattern).toList()).toList()
+    );
+  }
+
+  private static StopTimesForStopKey key(StopLocation stop, int numberOfDepartures) {
+    return new StopTimesForStopKey(
+      stop,
+      START_TIME,
+      Duration.ofHours(2),
+      numberOfDepartures,
+      ArrivalDeparture.BOTH,
+      false
+    );
+  }
+
+  private static TripPattern pattern(String id) {
+    return TransitModelForTest
+      .tripPattern(id, ROUTE)
+      .withStopPattern(TransitModelForTest.stopPattern(2))
+      .build();
+  }
+}
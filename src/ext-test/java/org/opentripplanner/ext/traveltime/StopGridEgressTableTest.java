@@ -0,0 +1,74 @@
+package org.opentripplanner.ext.traveltime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.opentripplanner.ext.traveltime.geometry.SparseMatrixZSampleGrid;
+
+class StopGridEgressTableTest {
+
+  private static final int OFF_ROAD_DISTANCE = 150;
+
+  // Stop 0 reaches the cells (0, 0) and (1, 0), stop 1 reaches (1, 0) and (20, 0) in another tile
+  private final StopGridEgressTable subject = new StopGridEgressTable(
+    new Coordinate(10.0, 59.9),
+    200,
+    OFF_ROAD_DISTANCE,
+    new int[] { 0, 2, 4 },
+    new int[] { 0, 1, 1, 20 },
+    new int[] { 0, 0, 0, 0 },
+    new int[] { 60, 180, 30, 120 },
+    new int[] { 0, 0, 0, 300 },
+    new int[] { 50, 250, 40, 200 }
+  );
+
+  @Test
+  void combineArrivalsWithEgress() {
+    var grid = subject.newSampleGrid(16);
+    subject.addToSampleGrid(new int[] { 100, 200 }, grid);
+
+    assertEquals(160, seconds(grid, 0, 0));
+    // 100 + 180 from stop 0 is faster than 200 + 30 from stop 1
+    assertEquals(230, seconds(grid, 1, 0));
+    assertEquals(40.0, grid.getOrCreate(1, 0).getZ().wWalkDist);
+    assertEquals(320, seconds(grid, 20, 0));
+  }
+
+  @Test
+  void skipUnreachedStops() {
+    var grid = subject.newSampleGrid(16);
+    subject.addToSampleGrid(new int[] { StopGridEgressTable.UNREACHED, 0 }, grid);
+
+    assertNull(grid.getOrCreate(0, 0).getZ());
+    assertEquals(30, seconds(grid, 1, 0));
+  }
+
+  @Test
+  void preferSamplesWithinOffRoadDistance() {
+    var grid = subject.newSampleGrid(16);
+    var z = new WTWD();
+    z.w = 2;
+    z.wTime = 20;
+    z.d = OFF_ROAD_DISTANCE + 1;
+    grid.getOrCreate(20, 0).setZ(z);
+    z = new WTWD();
+    z.w = 1;
+    z.wTime = 10;
+    z.d = 0;
+    grid.getOrCreate(0, 0).setZ(z);
+
+    subject.addToSampleGrid(new int[] { 0, 0 }, grid);
+
+    // The existing sample is faster, but outside the off-road distance like the new one
+    assertEquals(10, seconds(grid, 20, 0));
+    // The existing sample is faster, and within the off-road distance
+    assertEquals(10, seconds(grid, 0, 0));
+  }
+
+  private static double seconds(SparseMatrixZSampleGrid<WTWD> grid, int x, int y) {
+    var z = grid.getOrCreate(x, y).getZ();
+    return z.wTime / z.w;
+  }
+}
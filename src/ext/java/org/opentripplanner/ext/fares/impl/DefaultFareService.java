@@ -82,12 +82,17 @@ public class DefaultFareService implements FareService {
   /** For each fare type (regular, student, etc...) the collection of rules that apply. */
   protected Map<FareType, Collection<FareRuleSet>> fareRulesPerType;
 
+  /** The index of the rules of each fare type, to avoid testing all of them for each ride. */
+  private final Map<FareType, FareRuleIndex> fareRuleIndexes = new HashMap<>();
+
   public DefaultFareService() {
     fareRulesPerType = new HashMap<>();
   }
 
   public void addFareRules(FareType fareType, Collection<FareRuleSet> fareRules) {
-    fareRulesPerType.put(fareType, new ArrayList<>(fareRules));
+    var rules = new ArrayList<>(fareRules);
+    fareRulesPerType.put(fareType, rules);
+    fareRuleIndexes.put(fareType, new FareRuleIndex(rules));
   }
 
   public Map<FareType, Collection<FareRuleSet>> getFareRulesPerType() {
@@ -250,7 +255,8 @@ public class DefaultFareService implements FareService {
     Duration journeyTime = Duration.between(startTime, lastRideEndTime);
 
     // find the best fare that matches this set of rides
-    for (FareRuleSet ruleSet : fareRules) {
+    var candidates = findCandidates(fareType, fareRules, feedId, startZone, endZone, routes);
+    for (FareRuleSet ruleSet : candidates) {
       FareAttribute attribute = ruleSet.getFareAttribute();
       // fares also don't really have an agency id, they will have the per-feed default id
       // check only if the fare is not mapped to an agency
@@ -289,6 +295,25 @@ public class DefaultFareService implements FareService {
     return new FareAndId(bestFare, bestAttribute == null ? null : bestAttribute.getId());
   }
 
+  /**
+   * Use the index of the fare type to skip the rules which can not match, unless the rules are not
+   * the ones added for the fare type.
+   */
+  private Collection<FareRuleSet> findCandidates(
+    FareType fareType,
+    Collection<FareRuleSet> fareRules,
+    String feedId,
+    String startZone,
+    String endZone,
+    Set<FeedScopedId> routes
+  ) {
+    var index = fareRuleIndexes.get(fareType);
+    if (index == null || !index.isIndexOf(fareRules)) {
+      return fareRules;
+    }
+    return index.candidates(feedId, startZone, endZone, routes);
+  }
+
   protected float getFarePrice(FareAttribute fare, FareType type) {
     switch (type) {
       case senior:
@@ -0,0 +1,114 @@
+package org.opentripplanner.ext.fares.impl;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.opentripplanner.ext.fares.model.FareRuleSet;
+import org.opentripplanner.ext.fares.model.FareRuleSet.OriginDestination;
+import org.opentripplanner.transit.model.framework.FeedScopedId;
+
+/**
+ * Index of the fare rules of one fare type, to find the rules which may match a ride sequence
+ * without testing all of them. The rules are indexed by feed, by origin/destination zones and by
+ * route. A candidate rule must still be checked with {@link FareRuleSet#matches}, since the
+ * contained zones and trips are not indexed.
+ * <p>
+ * The candidates are returned in the same order as the indexed rules, so the first of several
+ * rules with the same price is chosen as before.
+ */
+final class FareRuleIndex implements Serializable {
+
+  private final List<FareRuleSet> rules;
+  private final Map<String, FeedRules> rulesByFeed = new HashMap<>();
+
+  FareRuleIndex(List<FareRuleSet> rules) {
+    this.rules = rules;
+    for (int i = 0; i < rules.size(); i++) {
+      var rule = rules.get(i);
+      var feedId = rule.getFareAttribute().getId().getFeedId();
+      rulesByFeed.computeIfAbsent(feedId, it -> new FeedRules()).add(i, rule);
+    }
+  }
+
+  /** Return true if this index was created for the given rules. */
+  boolean isIndexOf(Collection<FareRuleSet> rules) {
+    return this.rules == rules;
+  }
+
+  /**
+   * The rules of the feed which may match a ride sequence from the start zone to the end zone, on
+   * the given routes.
+   */
+  List<FareRuleSet> candidates(
+    String feedId,
+    String startZone,
+    String endZone,
+    Set<FeedScopedId> routes
+  ) {
+    var feedRules = rulesByFeed.get(feedId);
+    if (feedRules == null) {
+      return List.of();
+    }
+    BitSet candidates = feedRules.candidates(startZone, endZone, routes);
+
+    var result = new ArrayList<FareRuleSet>(candidates.cardinality());
+    for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+      result.add(rules.get(i));
+    }
+    return result;
+  }
+
+  private static final class FeedRules implements Serializable {
+
+    private final BitSet anyOriginDestination = new BitSet();
+    private final Map<OriginDestination, BitSet> byOriginDestination = new HashMap<>();
+    private final BitSet anyRoute = new BitSet();
+    private final Map<FeedScopedId, BitSet> byRoute = new HashMap<>();
+
+    private void add(int index, FareRuleSet rule) {
+      if (rule.getOriginDestinations().isEmpty()) {
+        anyOriginDestination.set(index);
+      }
+      for (var od : rule.getOriginDestinations()) {
+        byOriginDestination.computeIfAbsent(od, it -> new BitSet()).set(index);
+      }
+      if (rule.getRoutes().isEmpty()) {
+        anyRoute.set(index);
+      }
+      for (var route : rule.getRoutes()) {
+        byRoute.computeIfAbsent(route, it -> new BitSet()).set(index);
+      }
+    }
+
+    /** See {@link FareRuleSet#matches} for the origin/destination pairs which are accepted. */
+    private BitSet candidates(String startZone, String endZone, Set<FeedScopedId> routes) {
+      var result = (BitSet) anyOriginDestination.clone();
+      orOriginDestination(result, startZone, endZone);
+      orOriginDestination(result, startZone, null);
+      orOriginDestination(result, null, startZone);
+
+      // A rule with routes must contain all the routes visited
+      for (var route : routes) {
+        var onRoute = (BitSet) anyRoute.clone();
+        var rulesOnRoute = byRoute.get(route);
+        if (rulesOnRoute != null) {
+          onRoute.or(rulesOnRoute);
+        }
+        result.and(onRoute);
+      }
+      return result;
+    }
+
+    private void orOriginDestination(BitSet result, String origin, String destination) {
+      var rules = byOriginDestination.get(new OriginDestination(origin, destination));
+      if (rules != null) {
+        result.or(rules);
+      }
+    }
+  }
+}
@@ -8,6 +8,7 @@ import java.io.Serializable;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -30,8 +31,9 @@ import org.slf4j.LoggerFactory;
 public final class GtfsFaresV2Service implements Serializable {
 
   private static final Logger LOG = LoggerFactory.getLogger(GtfsFaresV2Service.class);
-  private final List<FareLegRule> legRules;
-  private final List<FareTransferRule> transferRules;
+  private final Map<String, List<FareLegRule>> legRulesByFeed;
+  private final Map<String, FareLegRule> legRulesByGroupId;
+  private final Map<String, List<FareTransferRule>> transferRulesByFeed;
   private final Multimap<FeedScopedId, String> stopAreas;
   private final Set<String> networksWithRules;
   private final Set<String> fromAreasWithRules;
@@ -42,8 +44,10 @@ public final class GtfsFaresV2Service implements Serializable {
     List<FareTransferRule> fareTransferRules,
     Multimap<FeedScopedId, String> stopAreas
   ) {
-    this.legRules = legRules;
-    this.transferRules = fareTransferRules;
+    this.legRulesByFeed = legRules.stream().collect(Collectors.groupingBy(FareLegRule::feedId));
+    this.legRulesByGroupId = findFirstRuleOfGroups(legRules);
+    this.transferRulesByFeed =
+      fareTransferRules.stream().collect(Collectors.groupingBy(FareTransferRule::feedId));
     this.networksWithRules = findNetworksWithRules(legRules);
     this.fromAreasWithRules = findAreasWithRules(legRules, FareLegRule::fromAreaId);
     this.toAreasWithRules = findAreasWithRules(legRules, FareLegRule::toAreadId);
@@ -79,6 +83,13 @@ public final class GtfsFaresV2Service implements Serializable {
     return legRules.stream().map(getArea).filter(Objects::nonNull).collect(Collectors.toSet());
   }
 
+  private static Map<String, FareLegRule> findFirstRuleOfGroups(List<FareLegRule> legRules) {
+    return legRules
+      .stream()
+      .filter(r -> r.legGroupId() != null)
+      .collect(Collectors.toMap(FareLegRule::legGroupId, r -> r, (first, other) -> first));
+  }
+
   private static Set<String> findNetworksWithRules(Collection<FareLegRule> legRules) {
     return legRules
       .stream()
@@ -161,13 +172,14 @@ public final class GtfsFaresV2Service implements Serializable {
     ScheduledTransitLeg leg,
     Optional<ScheduledTransitLeg> nextLeg
   ) {
-    var legRules =
-      this.legRules.stream().filter(r -> legMatchesRule(leg, r)).collect(Collectors.toSet());
-
-    var transferRulesForLeg = transferRules
+    var feedId = leg.getAgency().getId().getFeedId();
+    var legRules = legRulesByFeed
+      .getOrDefault(feedId, List.of())
       .stream()
-      .filter(t -> t.feedId().equals(leg.getAgency().getId().getFeedId()))
-      .toList();
+      .filter(r -> legMatchesRule(leg, r))
+      .collect(Collectors.toSet());
+
+    var transferRulesForLeg = transferRulesByFeed.getOrDefault(feedId, List.of());
 
     var products = legRules
       .stream()
@@ -208,7 +220,7 @@ public final class GtfsFaresV2Service implements Serializable {
   }
 
   private Optional<FareLegRule> getFareLegRuleByGroupId(@Nonnull String groupId) {
-    return legRules.stream().filter(lr -> groupId.equals(lr.legGroupId())).findAny();
+    return Optional.ofNullable(legRulesByGroupId.get(groupId));
   }
 
   private boolean matchesArea(StopLocation stop, String areaId, Set<String> areasWithRules) {
@@ -37,6 +37,10 @@ public class FareRuleSet implements Serializable {
     routeOriginDestinations.add(new RouteOriginDestination(route, origin, destination));
   }
 
+  public Set<OriginDestination> getOriginDestinations() {
+    return originDestinations;
+  }
+
   public Set<RouteOriginDestination> getRouteOriginDestinations() {
     return routeOriginDestinations;
   }
@@ -126,5 +130,5 @@ public class FareRuleSet implements Serializable {
     this.agency = agency;
   }
 
-  record OriginDestination(String origin, String destination) {}
+  public record OriginDestination(String origin, String destination) {}
 }
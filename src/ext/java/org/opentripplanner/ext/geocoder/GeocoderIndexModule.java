@@ -0,0 +1,56 @@
+package org.opentripplanner.ext.geocoder;
+
+import org.opentripplanner.datastore.api.CompositeDataSource;
+import org.opentripplanner.graph_builder.model.GraphBuilderModule;
+import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.transit.service.DefaultTransitService;
+import org.opentripplanner.transit.service.TransitModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Build the geocoder index and save it next to the graph, so the server does not need to build it
+ * when it starts. This should run after all modules which add stops or street vertices.
+ */
+public class GeocoderIndexModule implements GraphBuilderModule {
+
+  private static final Logger LOG = LoggerFactory.getLogger(GeocoderIndexModule.class);
+
+  private final Graph graph;
+  private final TransitModel transitModel;
+  private final CompositeDataSource indexDirectory;
+
+  public GeocoderIndexModule(
+    Graph graph,
+    TransitModel transitModel,
+    CompositeDataSource indexDirectory
+  ) {
+    this.graph = graph;
+    this.transitModel = transitModel;
+    this.indexDirectory = indexDirectory;
+  }
+
+  /**
+   * Delete an index saved by an earlier build, when the index is not built. The index would not
+   * match the new graph.
+   */
+  public static void deleteIndex(CompositeDataSource indexDirectory) {
+    if (indexDirectory.exists()) {
+      LOG.info("Deleting geocoder index in {}", indexDirectory.path());
+      indexDirectory.delete();
+    }
+  }
+
+  @Override
+  public void buildGraph() {
+    LOG.info("Building geocoder index in {}", indexDirectory.path());
+    LuceneIndex.write(graph, new DefaultTransitService(transitModel), indexDirectory);
+  }
+
+  @Override
+  public void checkInputs() {
+    if (!indexDirectory.isWritable()) {
+      throw new IllegalStateException("Unable to write geocoder index to " + indexDirectory.path());
+    }
+  }
+}
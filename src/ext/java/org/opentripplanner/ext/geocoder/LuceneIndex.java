@@ -2,6 +2,8 @@ package org.opentripplanner.ext.geocoder;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Map;
 import java.util.Objects;
@@ -23,6 +25,7 @@ import org.apache.lucene.document.TextField;
 import org.apache.lucene.index.DirectoryReader;
 import org.apache.lucene.index.IndexWriter;
 import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.SegmentInfos;
 import org.apache.lucene.index.Term;
 import org.apache.lucene.queryparser.classic.QueryParser;
 import org.apache.lucene.search.BooleanClause.Occur;
@@ -35,6 +38,11 @@ import org.apache.lucene.search.suggest.document.ContextSuggestField;
 import org.apache.lucene.search.suggest.document.PrefixCompletionQuery;
 import org.apache.lucene.search.suggest.document.SuggestIndexSearcher;
 import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.IOContext;
+import org.apache.lucene.store.MMapDirectory;
+import org.opentripplanner.datastore.api.CompositeDataSource;
+import org.opentripplanner.datastore.api.DataSource;
 import org.opentripplanner.framework.i18n.I18NString;
 import org.opentripplanner.routing.graph.Graph;
 import org.opentripplanner.standalone.api.OtpServerRequestContext;
@@ -43,6 +51,8 @@ import org.opentripplanner.transit.model.framework.FeedScopedId;
 import org.opentripplanner.transit.model.site.StopLocation;
 import org.opentripplanner.transit.model.site.StopLocationsGroup;
 import org.opentripplanner.transit.service.TransitService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class LuceneIndex implements Serializable {
 
@@ -52,6 +62,10 @@ public class LuceneIndex implements Serializable {
   private static final String NAME = "name";
   private static final String CODE = "code";
   private static final String COORDINATE = "coordinate";
+  private static final String GRAPH_BUILD_TIME = "graphBuildTime";
+  private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+  private static final Logger LOG = LoggerFactory.getLogger(LuceneIndex.class);
 
   private final Graph graph;
 
@@ -59,70 +73,18 @@ public class LuceneIndex implements Serializable {
   private final Analyzer analyzer;
   private final SuggestIndexSearcher searcher;
 
+  /**
+   * Build the index in memory.
+   */
   public LuceneIndex(Graph graph, TransitService transitService) {
+    this(graph, transitService, buildIndex(graph, transitService, new ByteBuffersDirectory()));
+  }
+
+  private LuceneIndex(Graph graph, TransitService transitService, Directory directory) {
     this.graph = graph;
     this.transitService = transitService;
-    this.analyzer =
-      new PerFieldAnalyzerWrapper(
-        new StandardAnalyzer(),
-        Map.of(NAME, new SimpleAnalyzer(), SUGGEST, new CompletionAnalyzer(new StandardAnalyzer()))
-      );
-
-    var directory = new ByteBuffersDirectory();
-
+    this.analyzer = createAnalyzer();
     try {
-      try (
-        var directoryWriter = new IndexWriter(
-          directory,
-          iwcWithSuggestField(analyzer, Set.of(SUGGEST))
-        )
-      ) {
-        transitService
-          .listStopLocations()
-          .forEach(stopLocation ->
-            addToIndex(
-              directoryWriter,
-              StopLocation.class,
-              stopLocation.getId().toString(),
-              stopLocation.getName(),
-              stopLocation.getCode(),
-              stopLocation.getCoordinate().latitude(),
-              stopLocation.getCoordinate().longitude()
-            )
-          );
-
-        transitService
-          .listStopLocationGroups()
-          .forEach(stopLocationsGroup ->
-            addToIndex(
-              directoryWriter,
-              StopLocationsGroup.class,
-              stopLocationsGroup.getId().toString(),
-              stopLocationsGroup.getName(),
-              null,
-              stopLocationsGroup.getCoordinate().latitude(),
-              stopLocationsGroup.getCoordinate().longitude()
-            )
-          );
-
-        graph
-          .getVertices()
-          .stream()
-          .filter(v -> v instanceof StreetVertex)
-          .map(v -> (StreetVertex) v)
-          .forEach(streetVertex ->
-            addToIndex(
-              directoryWriter,
-              StreetVertex.class,
-              streetVertex.getLabel(),
-              streetVertex.getIntersectionName(),
-              streetVertex.getLabel(),
-              streetVertex.getLat(),
-              streetVertex.getLon()
-            )
-          );
-      }
-
       DirectoryReader indexReader = DirectoryReader.open(directory);
       searcher = new SuggestIndexSearcher(indexReader);
     } catch (IOException e) {
@@ -131,31 +93,137 @@ public class LuceneIndex implements Serializable {
   }
 
   public static synchronized LuceneIndex forServer(OtpServerRequestContext serverContext) {
+    return forServer(serverContext, null);
+  }
+
+  /**
+   * Return the index of the server, open it from the given directory if the index was saved there
+   * when the graph was built. Otherwise, or if the saved index was built for another graph, the
+   * index is built in memory.
+   */
+  public static synchronized LuceneIndex forServer(
+    OtpServerRequestContext serverContext,
+    @Nullable CompositeDataSource indexDirectory
+  ) {
     var graph = serverContext.graph();
     var existingIndex = graph.getLuceneIndex();
     if (existingIndex != null) {
       return existingIndex;
     }
 
-    var newIndex = new LuceneIndex(graph, serverContext.transitService());
+    LuceneIndex newIndex = null;
+    if (indexDirectory != null && indexDirectory.exists()) {
+      try {
+        newIndex = open(graph, serverContext.transitService(), indexDirectory);
+        LOG.info("Opened geocoder index in {}", indexDirectory.path());
+      } catch (RuntimeException e) {
+        LOG.warn("Unable to open geocoder index in {}: {}", indexDirectory.path(), e.getMessage());
+      }
+    }
+    if (newIndex == null) {
+      newIndex = new LuceneIndex(graph, serverContext.transitService());
+    }
     graph.setLuceneIndex(newIndex);
     return newIndex;
   }
 
+  /**
+   * Build the index and save it to the given directory, replacing any existing content. The index
+   * can then be opened with {@link #open(Graph, TransitService, CompositeDataSource)} when the
+   * server starts, instead of being built again.
+   */
+  public static void write(
+    Graph graph,
+    TransitService transitService,
+    CompositeDataSource indexDirectory
+  ) {
+    var directory = buildIndex(graph, transitService, new ByteBuffersDirectory());
+    if (indexDirectory.exists()) {
+      indexDirectory.delete();
+    }
+    try {
+      for (String name : directory.listAll()) {
+        try (
+          var input = directory.openInput(name, IOContext.READONCE);
+          var output = indexDirectory.entry(name).asOutputStream()
+        ) {
+          var buffer = new byte[COPY_BUFFER_SIZE];
+          long remaining = input.length();
+          while (remaining > 0) {
+            int length = (int) Math.min(buffer.length, remaining);
+            input.readBytes(buffer, 0, length);
+            output.write(buffer, 0, length);
+            remaining -= length;
+          }
+        }
+      }
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * Open an index saved with {@link #write(Graph, TransitService, CompositeDataSource)}. The index
+   * files are memory mapped, so they are paged in by the operating system when used and not kept
+   * on the heap. An index which is not on the local file system is first copied to a temporary
+   * directory.
+   *
+   * @throws IllegalStateException if the index was built for another graph
+   */
+  public static LuceneIndex open(
+    Graph graph,
+    TransitService transitService,
+    CompositeDataSource indexDirectory
+  ) {
+    try {
+      Path path;
+      if ("file".equals(indexDirectory.uri().getScheme())) {
+        path = Path.of(indexDirectory.uri());
+      } else {
+        path = Files.createTempDirectory("otp-geocoder");
+        path.toFile().deleteOnExit();
+        for (DataSource entry : indexDirectory.content()) {
+          var file = path.resolve(entry.name());
+          try (var input = entry.asInputStream()) {
+            Files.copy(input, file);
+          }
+          file.toFile().deleteOnExit();
+        }
+      }
+      var directory = new MMapDirectory(path);
+      var graphBuildTime = SegmentInfos
+        .readLatestCommit(directory)
+        .getUserData()
+        .get(GRAPH_BUILD_TIME);
+      if (!graph.buildTime.toString().equals(graphBuildTime)) {
+        directory.close();
+        throw new IllegalStateException(
+          "The index was built for another graph, built at " + graphBuildTime
+        );
+      }
+      return new LuceneIndex(graph, transitService, directory);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
   public Stream<StopLocation> queryStopLocations(String query, boolean autocomplete) {
     return matchingDocuments(StopLocation.class, query, autocomplete)
-      .map(document -> transitService.getStopLocation(FeedScopedId.parseId(document.get(ID))));
+      .map(document -> transitService.getStopLocation(FeedScopedId.parseId(document.get(ID))))
+      .filter(Objects::nonNull);
   }
 
   public Stream<StopLocationsGroup> findStopLocationGroups(String query, boolean autocomplete) {
     return matchingDocuments(StopLocationsGroup.class, query, autocomplete)
       .map(document -> transitService.getStopLocationsGroup(FeedScopedId.parseId(document.get(ID)))
-      );
+      )
+      .filter(Objects::nonNull);
   }
 
   public Stream<StreetVertex> queryStreetVertices(String query, boolean autocomplete) {
     return matchingDocuments(StreetVertex.class, query, autocomplete)
-      .map(document -> (StreetVertex) graph.getVertex(document.get(ID)));
+      .map(document -> (StreetVertex) graph.getVertex(document.get(ID)))
+      .filter(Objects::nonNull);
   }
 
   static IndexWriterConfig iwcWithSuggestField(Analyzer analyzer, final Set<String> suggestFields) {
@@ -175,6 +243,79 @@ public class LuceneIndex implements Serializable {
     return iwc;
   }
 
+  private static Directory buildIndex(
+    Graph graph,
+    TransitService transitService,
+    Directory directory
+  ) {
+    try (
+      var directoryWriter = new IndexWriter(
+        directory,
+        iwcWithSuggestField(createAnalyzer(), Set.of(SUGGEST))
+      )
+    ) {
+      transitService
+        .listStopLocations()
+        .forEach(stopLocation ->
+          addToIndex(
+            directoryWriter,
+            StopLocation.class,
+            stopLocation.getId().toString(),
+            stopLocation.getName(),
+            stopLocation.getCode(),
+            stopLocation.getCoordinate().latitude(),
+            stopLocation.getCoordinate().longitude()
+          )
+        );
+
+      transitService
+        .listStopLocationGroups()
+        .forEach(stopLocationsGroup ->
+          addToIndex(
+            directoryWriter,
+            StopLocationsGroup.class,
+            stopLocationsGroup.getId().toString(),
+            stopLocationsGroup.getName(),
+            null,
+            stopLocationsGroup.getCoordinate().latitude(),
+            stopLocationsGroup.getCoordinate().longitude()
+          )
+        );
+
+      graph
+        .getVertices()
+        .stream()
+        .filter(v -> v instanceof StreetVertex)
+        .map(v -> (StreetVertex) v)
+        .forEach(streetVertex ->
+          addToIndex(
+            directoryWriter,
+            StreetVertex.class,
+            streetVertex.getLabel(),
+            streetVertex.getIntersectionName(),
+            streetVertex.getLabel(),
+            streetVertex.getLat(),
+            streetVertex.getLon()
+          )
+        );
+
+      // Saved with the index, so an index built for another graph is not used
+      directoryWriter.setLiveCommitData(
+        Map.of(GRAPH_BUILD_TIME, graph.buildTime.toString()).entrySet()
+      );
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+    return directory;
+  }
+
+  private static Analyzer createAnalyzer() {
+    return new PerFieldAnalyzerWrapper(
+      new StandardAnalyzer(),
+      Map.of(NAME, new SimpleAnalyzer(), SUGGEST, new CompletionAnalyzer(new StandardAnalyzer()))
+    );
+  }
+
   private static void addToIndex(
     IndexWriter writer,
     Class<?> type,
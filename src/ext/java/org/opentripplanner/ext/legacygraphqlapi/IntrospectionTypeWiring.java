@@ -13,6 +13,7 @@ import java.util.Arrays;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import org.opentripplanner.framework.application.OTPFeature;
+import org.opentripplanner.framework.concurrent.ExecutorUtils;
 
 class IntrospectionTypeWiring {
 
@@ -85,7 +86,9 @@ class IntrospectionTypeWiring {
                           .anyMatch(directive -> directive.getName().equals("async"))
                       )
                   ) {
-                    return AsyncDataFetcher.async(dataFetcher);
+                    return useVirtualThreads()
+                      ? AsyncDataFetcher.async(dataFetcher, LegacyGraphQLIndex.threadPool)
+                      : AsyncDataFetcher.async(dataFetcher);
                   }
 
                   return dataFetcher;
@@ -105,4 +108,13 @@ class IntrospectionTypeWiring {
       )
       .build();
   }
+
+  /**
+   * Without virtual threads the executor is a bounded pool, also running the batched queries. The
+   * async fetchers would then wait for threads blocked waiting for them, so the default pool is
+   * used instead.
+   */
+  private static boolean useVirtualThreads() {
+    return OTPFeature.VirtualThreads.isOn() && ExecutorUtils.isVirtualThreadsSupported();
+  }
 }
@@ -22,6 +22,7 @@ import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.Future;
 import org.opentripplanner.api.json.GraphQLResponseSerializer;
+import org.opentripplanner.api.support.GraphQLDocumentCache;
 import org.opentripplanner.standalone.api.OtpServerRequestContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -57,7 +58,8 @@ public class LegacyGraphQLAPI {
     @HeaderParam("OTPMaxResolves") @DefaultValue("1000000") int maxResolves,
     @Context HttpHeaders headers
   ) {
-    if (queryParameters == null || !queryParameters.containsKey("query")) {
+    String query = queryParameters == null ? null : GraphQLDocumentCache.findQuery(queryParameters);
+    if (query == null) {
       LOG.debug("No query found in body");
       return Response
         .status(Response.Status.BAD_REQUEST)
@@ -70,7 +72,6 @@ public class LegacyGraphQLAPI {
       ? headers.getAcceptableLanguages().get(0)
       : serverContext.defaultLocale();
 
-    String query = (String) queryParameters.get("query");
     Object queryVariables = queryParameters.getOrDefault("variables", null);
     String operationName = (String) queryParameters.getOrDefault("operationName", null);
     Map<String, Object> variables;
@@ -93,6 +94,7 @@ public class LegacyGraphQLAPI {
     return LegacyGraphQLIndex.getGraphQLResponse(
       query,
       variables,
+      GraphQLDocumentCache.findExtensions(queryParameters),
       operationName,
       maxResolves,
       timeout,
@@ -116,6 +118,7 @@ public class LegacyGraphQLAPI {
       query,
       null,
       null,
+      null,
       maxResolves,
       timeout,
       locale,
@@ -160,8 +163,9 @@ public class LegacyGraphQLAPI {
 
       futures.add(() ->
         LegacyGraphQLIndex.getGraphQLExecutionResult(
-          (String) query.get("query"),
+          GraphQLDocumentCache.findQuery(query),
           variables,
+          GraphQLDocumentCache.findExtensions(query),
           operationName,
           maxResolves,
           timeout,
@@ -0,0 +1,147 @@
+package org.opentripplanner.ext.legacygraphqlapi;
+
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderFactory;
+import org.dataloader.DataLoaderRegistry;
+import org.opentripplanner.model.StopTimesInPattern;
+import org.opentripplanner.routing.alertpatch.TransitAlert;
+import org.opentripplanner.routing.stoptimes.ArrivalDeparture;
+import org.opentripplanner.transit.model.framework.FeedScopedId;
+import org.opentripplanner.transit.model.network.TripPattern;
+import org.opentripplanner.transit.model.site.StopLocation;
+import org.opentripplanner.transit.model.timetable.Trip;
+import org.opentripplanner.transit.service.TransitService;
+
+/**
+ * Data loaders for the fields which are typically resolved for many entities in the same query,
+ * for example the patterns and departures for each stop returned by {@code stopsByBbox}. The
+ * fields are not resolved one entity at a time, instead the keys are collected for each level of
+ * the query and loaded in one batch. Each key is loaded only once per query.
+ * <p>
+ * A new registry must be created for each query, since the loaded values are cached in it.
+ */
+public class LegacyGraphQLDataLoaders {
+
+  public static final String PATTERNS_FOR_STOP = "patternsForStop";
+  public static final String STOPTIMES_FOR_STOP = "stoptimesForStop";
+  public static final String ALERTS_FOR_TRIP = "alertsForTrip";
+  public static final String TRIPS_FOR_PATTERN = "tripsForPattern";
+
+  public static DataLoaderRegistry createRegistry(LegacyGraphQLRequestContext context) {
+    TransitService transitService = context.transitService();
+
+    return DataLoaderRegistry
+      .newRegistry()
+      .register(
+        PATTERNS_FOR_STOP,
+        DataLoaderFactory.<StopLocation, List<TripPattern>>newDataLoader(stops ->
+          loadEach(stops, stop -> List.copyOf(transitService.getPatternsForStop(stop, true)))
+        )
+      )
+      .register(
+        STOPTIMES_FOR_STOP,
+        DataLoaderFactory.<StopTimesForStopKey, List<StopTimesInPattern>>newDataLoader(keys ->
+          loadEach(
+            keys,
+            key ->
+              transitService.stopTimesForStop(
+                key.stop(),
+                key.startTime(),
+                key.timeRange(),
+                key.numberOfDepartures(),
+                key.arrivalDeparture(),
+                key.includeCancelledTrips()
+              )
+          )
+        )
+      )
+      .register(
+        ALERTS_FOR_TRIP,
+        DataLoaderFactory.<FeedScopedId, List<TransitAlert>>newDataLoader(tripIds ->
+          loadEach(
+            tripIds,
+            tripId ->
+              List.copyOf(transitService.getTransitAlertService().getTripAlerts(tripId, null))
+          )
+        )
+      )
+      .register(
+        TRIPS_FOR_PATTERN,
+        DataLoaderFactory.<TripPattern, List<Trip>>newDataLoader(patterns ->
+          loadEach(patterns, pattern -> pattern.scheduledTripsAsStream().toList())
+        )
+      )
+      .build();
+  }
+
+  /**
+   * graphql-java accepts a {@link CompletionStage} from any data fetcher, but the generated data
+   * fetcher interfaces only declare the resolved type. This returns the given data fetcher typed
+   * with the resolved type, so it can be used to implement these interfaces.
+   */
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  public static <T> DataFetcher<T> async(DataFetcher<? extends CompletionStage<?>> fetcher) {
+    return (DataFetcher) fetcher;
+  }
+
+  /**
+   * Create a data fetcher which resolves the value through the given data loader. The key is
+   * looked up from the environment, if the key is {@code null} the value is {@code null} as well.
+   */
+  public static <K, T> DataFetcher<T> batched(
+    String dataLoaderName,
+    Function<DataFetchingEnvironment, K> keyMapper
+  ) {
+    return async(environment -> {
+      K key = keyMapper.apply(environment);
+      if (key == null) {
+        return CompletableFuture.completedFuture(null);
+      }
+      return environment.<K, Object>getDataLoader(dataLoaderName).load(key);
+    });
+  }
+
+  /**
+   * Same as {@link #batched(String, Function)}, but for a data fetcher which need to load several
+   * keys and combine the result.
+   */
+  public static <K, V, T> DataFetcher<T> batchedMany(
+    String dataLoaderName,
+    Function<DataFetchingEnvironment, List<K>> keysMapper,
+    Function<List<V>, ?> resultMapper
+  ) {
+    return async(environment -> {
+      List<K> keys = keysMapper.apply(environment);
+      if (keys == null) {
+        return CompletableFuture.completedFuture(null);
+      }
+      DataLoader<K, V> dataLoader = environment.getDataLoader(dataLoaderName);
+      return dataLoader.loadMany(keys).thenApply(resultMapper);
+    });
+  }
+
+  private static <K, V> CompletionStage<List<V>> loadEach(List<K> keys, Function<K, V> loader) {
+    return CompletableFuture.completedFuture(keys.stream().map(loader).toList());
+  }
+
+  /**
+   * The arguments used to find the departures from a stop, see
+   * {@link TransitService#stopTimesForStop}.
+   */
+  public record StopTimesForStopKey(
+    StopLocation stop,
+    Instant startTime,
+    Duration timeRange,
+    int numberOfDepartures,
+    ArrivalDeparture arrivalDeparture,
+    boolean includeCancelledTrips
+  ) {}
+}
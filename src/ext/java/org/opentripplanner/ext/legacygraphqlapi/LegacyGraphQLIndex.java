@@ -1,7 +1,6 @@
 package org.opentripplanner.ext.legacygraphqlapi;
 
 import com.google.common.io.Resources;
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import graphql.ExecutionInput;
 import graphql.ExecutionResult;
 import graphql.GraphQL;
@@ -25,10 +24,10 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import org.opentripplanner.api.json.GraphQLResponseSerializer;
+import org.opentripplanner.api.support.GraphQLDocumentCache;
 import org.opentripplanner.ext.actuator.MicrometerGraphQLInstrumentation;
 import org.opentripplanner.ext.legacygraphqlapi.datafetchers.LegacyGraphQLAgencyImpl;
 import org.opentripplanner.ext.legacygraphqlapi.datafetchers.LegacyGraphQLAlertEntityTypeResolver;
@@ -81,6 +80,7 @@ import org.opentripplanner.ext.legacygraphqlapi.datafetchers.LegacyGraphQLservic
 import org.opentripplanner.ext.legacygraphqlapi.datafetchers.LegacyGraphQLstepImpl;
 import org.opentripplanner.ext.legacygraphqlapi.datafetchers.LegacyGraphQLstopAtDistanceImpl;
 import org.opentripplanner.framework.application.OTPFeature;
+import org.opentripplanner.framework.concurrent.ExecutorUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -88,10 +88,32 @@ class LegacyGraphQLIndex {
 
   static final Logger LOG = LoggerFactory.getLogger(LegacyGraphQLIndex.class);
 
+  /**
+   * The number of batched queries waiting for a thread, before the queries are executed by the
+   * request thread.
+   */
+  private static final int MAX_QUEUED_QUERIES = 100;
+
+  /**
+   * The number of parsed and validated queries to keep in the cache.
+   */
+  private static final int MAX_CACHED_DOCUMENTS = 1000;
+
+  /**
+   * Initialized before the schema, since it runs the async fetchers when virtual threads are used.
+   */
+  static final ExecutorService threadPool = ExecutorUtils.newRequestThreadPool(
+    "GraphQLExecutor",
+    Runtime.getRuntime().availableProcessors(),
+    MAX_QUEUED_QUERIES,
+    OTPFeature.VirtualThreads.isOn()
+  );
+
   private static final GraphQLSchema indexSchema = buildSchema();
 
-  static final ExecutorService threadPool = Executors.newCachedThreadPool(
-    new ThreadFactoryBuilder().setNameFormat("GraphQLExecutor-%d").build()
+  private static final GraphQLDocumentCache documentCache = new GraphQLDocumentCache(
+    "legacyGraphQL",
+    MAX_CACHED_DOCUMENTS
   );
 
   protected static GraphQLSchema buildSchema() {
@@ -172,6 +194,7 @@ class LegacyGraphQLIndex {
   static ExecutionResult getGraphQLExecutionResult(
     String query,
     Map<String, Object> variables,
+    Map<String, Object> extensions,
     String operationName,
     int maxResolves,
     int timeoutMs,
@@ -188,11 +211,18 @@ class LegacyGraphQLIndex {
         );
     }
 
-    GraphQL graphQL = GraphQL.newGraphQL(indexSchema).instrumentation(instrumentation).build();
+    GraphQL graphQL = GraphQL
+      .newGraphQL(indexSchema)
+      .instrumentation(instrumentation)
+      .preparsedDocumentProvider(documentCache)
+      .build();
 
     if (variables == null) {
       variables = new HashMap<>();
     }
+    if (extensions == null) {
+      extensions = Map.of();
+    }
 
     ExecutionInput executionInput = ExecutionInput
       .newExecutionInput()
@@ -200,7 +230,9 @@ class LegacyGraphQLIndex {
       .operationName(operationName)
       .context(requestContext)
       .variables(variables)
+      .extensions(extensions)
       .locale(locale)
+      .dataLoaderRegistry(LegacyGraphQLDataLoaders.createRegistry(requestContext))
       .build();
     try {
       return graphQL.executeAsync(executionInput).get(timeoutMs, TimeUnit.MILLISECONDS);
@@ -212,6 +244,7 @@ class LegacyGraphQLIndex {
   static Response getGraphQLResponse(
     String query,
     Map<String, Object> variables,
+    Map<String, Object> extensions,
     String operationName,
     int maxResolves,
     int timeoutMs,
@@ -221,6 +254,7 @@ class LegacyGraphQLIndex {
     ExecutionResult executionResult = getGraphQLExecutionResult(
       query,
       variables,
+      extensions,
       operationName,
       maxResolves,
       timeoutMs,
@@ -14,6 +14,7 @@ import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.LineString;
 import org.opentripplanner.api.support.SemanticHash;
+import org.opentripplanner.ext.legacygraphqlapi.LegacyGraphQLDataLoaders;
 import org.opentripplanner.ext.legacygraphqlapi.LegacyGraphQLRequestContext;
 import org.opentripplanner.ext.legacygraphqlapi.LegacyGraphQLUtils;
 import org.opentripplanner.ext.legacygraphqlapi.generated.LegacyGraphQLDataFetchers;
@@ -199,7 +200,10 @@ public class LegacyGraphQLPatternImpl implements LegacyGraphQLDataFetchers.Legac
 
   @Override
   public DataFetcher<Iterable<Trip>> trips() {
-    return this::getTrips;
+    return LegacyGraphQLDataLoaders.batched(
+      LegacyGraphQLDataLoaders.TRIPS_FOR_PATTERN,
+      this::getSource
+    );
   }
 
   @Override
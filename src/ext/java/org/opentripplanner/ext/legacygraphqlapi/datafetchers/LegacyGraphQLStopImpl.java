@@ -15,6 +15,9 @@ import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import org.dataloader.DataLoader;
+import org.opentripplanner.ext.legacygraphqlapi.LegacyGraphQLDataLoaders;
+import org.opentripplanner.ext.legacygraphqlapi.LegacyGraphQLDataLoaders.StopTimesForStopKey;
 import org.opentripplanner.ext.legacygraphqlapi.LegacyGraphQLRequestContext;
 import org.opentripplanner.ext.legacygraphqlapi.LegacyGraphQLUtils;
 import org.opentripplanner.ext.legacygraphqlapi.generated.LegacyGraphQLDataFetchers;
@@ -212,7 +215,10 @@ public class LegacyGraphQLStopImpl implements LegacyGraphQLDataFetchers.LegacyGr
 
   @Override
   public DataFetcher<Iterable<TripPattern>> patterns() {
-    return this::getPatterns;
+    return LegacyGraphQLDataLoaders.batched(
+      LegacyGraphQLDataLoaders.PATTERNS_FOR_STOP,
+      environment -> getValue(environment, stop -> stop, station -> null)
+    );
   }
 
   @Override
@@ -280,36 +286,12 @@ public class LegacyGraphQLStopImpl implements LegacyGraphQLDataFetchers.LegacyGr
 
   @Override
   public DataFetcher<Iterable<StopTimesInPattern>> stoptimesForPatterns() {
-    return environment -> {
-      TransitService transitService = getTransitService(environment);
-      var args = new LegacyGraphQLTypes.LegacyGraphQLStopStoptimesForPatternsArgs(
-        environment.getArguments()
-      );
-
-      Function<StopLocation, List<StopTimesInPattern>> stopTFunction = stop ->
-        transitService.stopTimesForStop(
-          stop,
-          LegacyGraphQLUtils.getTimeOrNow(args.getLegacyGraphQLStartTime()),
-          Duration.ofSeconds(args.getLegacyGraphQLTimeRange()),
-          args.getLegacyGraphQLNumberOfDepartures(),
-          args.getLegacyGraphQLOmitNonPickups()
-            ? ArrivalDeparture.DEPARTURES
-            : ArrivalDeparture.BOTH,
-          !args.getLegacyGraphQLOmitCanceled()
-        );
-
-      return getValue(
-        environment,
-        stopTFunction,
-        station ->
-          station
-            .getChildStops()
-            .stream()
-            .map(stopTFunction)
-            .flatMap(Collection::stream)
-            .collect(Collectors.toList())
-      );
-    };
+    return LegacyGraphQLDataLoaders.batchedMany(
+      LegacyGraphQLDataLoaders.STOPTIMES_FOR_STOP,
+      this::getStopTimesForStopKeys,
+      (List<List<StopTimesInPattern>> stopTimes) ->
+        stopTimes.stream().flatMap(Collection::stream).collect(Collectors.toList())
+    );
   }
 
   @Override
@@ -352,38 +334,27 @@ public class LegacyGraphQLStopImpl implements LegacyGraphQLDataFetchers.LegacyGr
 
   @Override
   public DataFetcher<Iterable<TripTimeOnDate>> stoptimesWithoutPatterns() {
-    return environment -> {
-      TransitService transitService = getTransitService(environment);
+    return LegacyGraphQLDataLoaders.async(environment -> {
       var args = new LegacyGraphQLTypes.LegacyGraphQLStopStoptimesForPatternsArgs(
         environment.getArguments()
       );
+      DataLoader<StopTimesForStopKey, List<StopTimesInPattern>> dataLoader =
+        environment.getDataLoader(LegacyGraphQLDataLoaders.STOPTIMES_FOR_STOP);
 
-      Function<StopLocation, Stream<StopTimesInPattern>> stopTFunction = stop ->
-        transitService
-          .stopTimesForStop(
-            stop,
-            LegacyGraphQLUtils.getTimeOrNow(args.getLegacyGraphQLStartTime()),
-            Duration.ofSeconds(args.getLegacyGraphQLTimeRange()),
-            args.getLegacyGraphQLNumberOfDepartures(),
-            args.getLegacyGraphQLOmitNonPickups()
-              ? ArrivalDeparture.DEPARTURES
-              : ArrivalDeparture.BOTH,
-            !args.getLegacyGraphQLOmitCanceled()
-          )
-          .stream();
-
-      Stream<StopTimesInPattern> stream = getValue(
-        environment,
-        stopTFunction,
-        station -> station.getChildStops().stream().flatMap(stopTFunction)
-      );
-
-      return stream
-        .flatMap(stoptimesWithPattern -> stoptimesWithPattern.times.stream())
-        .sorted(Comparator.comparing(t -> t.getServiceDayMidnight() + t.getRealtimeDeparture()))
-        .limit(args.getLegacyGraphQLNumberOfDepartures())
-        .collect(Collectors.toList());
-    };
+      return dataLoader
+        .loadMany(getStopTimesForStopKeys(environment))
+        .thenApply(stopTimes ->
+          stopTimes
+            .stream()
+            .flatMap(Collection::stream)
+            .flatMap(stoptimesWithPattern -> stoptimesWithPattern.times.stream())
+            .sorted(
+              Comparator.comparing(t -> t.getServiceDayMidnight() + t.getRealtimeDeparture())
+            )
+            .limit(args.getLegacyGraphQLNumberOfDepartures())
+            .collect(Collectors.toList())
+        );
+    });
   }
 
   @Override
@@ -493,6 +464,33 @@ public class LegacyGraphQLStopImpl implements LegacyGraphQLDataFetchers.LegacyGr
     );
   }
 
+  /**
+   * Create the keys for finding the departures from the stop, or from all child stops of a
+   * station, with the arguments of the {@code stoptimesForPatterns} field.
+   */
+  private List<StopTimesForStopKey> getStopTimesForStopKeys(DataFetchingEnvironment environment) {
+    var args = new LegacyGraphQLTypes.LegacyGraphQLStopStoptimesForPatternsArgs(
+      environment.getArguments()
+    );
+    Instant startTime = LegacyGraphQLUtils.getTimeOrNow(args.getLegacyGraphQLStartTime());
+
+    Function<StopLocation, StopTimesForStopKey> keyMapper = stop ->
+      new StopTimesForStopKey(
+        stop,
+        startTime,
+        Duration.ofSeconds(args.getLegacyGraphQLTimeRange()),
+        args.getLegacyGraphQLNumberOfDepartures(),
+        args.getLegacyGraphQLOmitNonPickups() ? ArrivalDeparture.DEPARTURES : ArrivalDeparture.BOTH,
+        !args.getLegacyGraphQLOmitCanceled()
+      );
+
+    return getValue(
+      environment,
+      stop -> List.of(keyMapper.apply(stop)),
+      station -> station.getChildStops().stream().map(keyMapper).toList()
+    );
+  }
+
   private Collection<Route> getRoutes(DataFetchingEnvironment environment) {
     return getValue(
       environment,
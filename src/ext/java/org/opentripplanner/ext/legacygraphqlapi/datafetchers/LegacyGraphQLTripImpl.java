@@ -12,10 +12,12 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.LineString;
 import org.opentripplanner.api.support.SemanticHash;
+import org.opentripplanner.ext.legacygraphqlapi.LegacyGraphQLDataLoaders;
 import org.opentripplanner.ext.legacygraphqlapi.LegacyGraphQLRequestContext;
 import org.opentripplanner.ext.legacygraphqlapi.LegacyGraphQLUtils;
 import org.opentripplanner.ext.legacygraphqlapi.generated.LegacyGraphQLDataFetchers;
@@ -52,7 +54,7 @@ public class LegacyGraphQLTripImpl implements LegacyGraphQLDataFetchers.LegacyGr
 
   @Override
   public DataFetcher<Iterable<TransitAlert>> alerts() {
-    return environment -> {
+    return LegacyGraphQLDataLoaders.async(environment -> {
       TransitAlertService alertService = getTransitService(environment).getTransitAlertService();
       var args = new LegacyGraphQLTypes.LegacyGraphQLTripAlertsArgs(environment.getArguments());
       Iterable<LegacyGraphQLTypes.LegacyGraphQLTripAlertType> types = args.getLegacyGraphQLTypes();
@@ -119,11 +121,15 @@ public class LegacyGraphQLTripImpl implements LegacyGraphQLDataFetchers.LegacyGr
               break;
           }
         });
-        return alerts.stream().distinct().collect(Collectors.toList());
+        return CompletableFuture.completedFuture(
+          alerts.stream().distinct().collect(Collectors.toList())
+        );
       } else {
-        return alertService.getTripAlerts(getSource(environment).getId(), null);
+        return environment
+          .<FeedScopedId, List<TransitAlert>>getDataLoader(LegacyGraphQLDataLoaders.ALERTS_FOR_TRIP)
+          .load(getSource(environment).getId());
       }
-    };
+    });
   }
 
   @Override
@@ -3,10 +3,8 @@ package org.opentripplanner.ext.siri;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import org.opentripplanner.framework.i18n.I18NString;
 import org.opentripplanner.framework.i18n.NonLocalizedString;
 import org.opentripplanner.framework.i18n.TranslatedString;
@@ -40,7 +38,6 @@ public class SiriAlertsUpdateHandler {
 
   private static final Logger LOG = LoggerFactory.getLogger(SiriAlertsUpdateHandler.class);
   private final String feedId;
-  private final Set<TransitAlert> alerts = new HashSet<>();
   private final TransitAlertService transitAlertService;
   /** How long before the posted start of an event it should be displayed to users */
   private final long earlyStart;
@@ -68,6 +65,8 @@ public class SiriAlertsUpdateHandler {
         long t1 = System.currentTimeMillis();
         int addedCounter = 0;
         int expiredCounter = 0;
+        List<TransitAlert> alertsToAddOrReplace = new ArrayList<>();
+        List<FeedScopedId> alertIdsToRemove = new ArrayList<>();
         for (PtSituationElement sxElement : situations.getPtSituationElements()) {
           boolean expireSituation =
             (
@@ -82,7 +81,8 @@ public class SiriAlertsUpdateHandler {
           FeedScopedId id = new FeedScopedId(feedId, situationNumber);
 
           if (expireSituation) {
-            alerts.removeIf(transitAlert -> transitAlert.getId().equals(id));
+            alertsToAddOrReplace.removeIf(transitAlert -> transitAlert.getId().equals(id));
+            alertIdsToRemove.add(id);
             expiredCounter++;
           } else {
             TransitAlert alert = null;
@@ -97,13 +97,13 @@ public class SiriAlertsUpdateHandler {
               );
             }
             if (alert != null) {
-              alerts.removeIf(transitAlert -> transitAlert.getId().equals(id));
-              alerts.add(alert);
+              alertsToAddOrReplace.add(alert);
             }
           }
         }
 
-        transitAlertService.setAlerts(alerts);
+        // Only the alerts in this delivery are updated, the rest are kept as is
+        transitAlertService.updateAlerts(alertsToAddOrReplace, alertIdsToRemove);
 
         LOG.info(
           "Added {} alerts, expired {} alerts based on {} situations, current alert-count: {}, elapsed time {}ms",
@@ -27,6 +27,7 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 import org.opentripplanner.api.json.GraphQLResponseSerializer;
+import org.opentripplanner.api.support.GraphQLDocumentCache;
 import org.opentripplanner.ext.transmodelapi.mapping.TransitIdMapper;
 import org.opentripplanner.ext.transmodelapi.support.GqlUtil;
 import org.opentripplanner.routing.api.request.RouteRequest;
@@ -45,7 +46,13 @@ public class TransmodelAPI {
   @SuppressWarnings("unused")
   private static final Logger LOG = LoggerFactory.getLogger(TransmodelAPI.class);
 
+  /**
+   * The number of parsed and validated queries to keep in the cache.
+   */
+  private static final int MAX_CACHED_DOCUMENTS = 1000;
+
   private static GraphQLSchema schema;
+  private static GraphQLDocumentCache documentCache;
   private static Collection<String> tracingHeaderTags;
 
   private final OtpServerRequestContext serverContext;
@@ -61,7 +68,7 @@ public class TransmodelAPI {
     @Deprecated @PathParam("ignoreRouterId") String ignoreRouterId
   ) {
     this.serverContext = serverContext;
-    this.index = new TransmodelGraph(schema);
+    this.index = new TransmodelGraph(schema, documentCache);
   }
 
   /**
@@ -80,6 +87,7 @@ public class TransmodelAPI {
     tracingHeaderTags = config.tracingHeaderTags();
     GqlUtil gqlUtil = new GqlUtil(transitModel.getTimeZone());
     schema = TransmodelGraphQLSchema.create(defaultRouteRequest, gqlUtil);
+    documentCache = new GraphQLDocumentCache("transmodel", MAX_CACHED_DOCUMENTS);
   }
 
   /**
@@ -99,12 +107,12 @@ public class TransmodelAPI {
     @HeaderParam("OTPMaxResolves") @DefaultValue("1000000") int maxResolves,
     @Context HttpHeaders headers
   ) {
-    if (queryParameters == null || !queryParameters.containsKey("query")) {
+    String query = queryParameters == null ? null : GraphQLDocumentCache.findQuery(queryParameters);
+    if (query == null) {
       LOG.debug("No query found in body");
       throw new BadRequestException("No query found in body");
     }
 
-    String query = (String) queryParameters.get("query");
     Object queryVariables = queryParameters.getOrDefault("variables", null);
     String operationName = (String) queryParameters.getOrDefault("operationName", null);
     Map<String, Object> variables;
@@ -123,6 +131,7 @@ public class TransmodelAPI {
       query,
       serverContext,
       variables,
+      GraphQLDocumentCache.findExtensions(queryParameters),
       operationName,
       maxResolves,
       getTagsFromHeaders(headers)
@@ -142,6 +151,7 @@ public class TransmodelAPI {
       serverContext,
       null,
       null,
+      null,
       maxResolves,
       getTagsFromHeaders(headers)
     );
@@ -177,9 +187,10 @@ public class TransmodelAPI {
 
       futures.add(() ->
         index.getGraphQLExecutionResult(
-          (String) query.get("query"),
+          GraphQLDocumentCache.findQuery(query),
           serverContext,
           variables,
+          GraphQLDocumentCache.findExtensions(query),
           operationName,
           maxResolves,
           getTagsFromHeaders(headers)
@@ -188,7 +199,7 @@ public class TransmodelAPI {
     }
 
     try {
-      List<Future<ExecutionResult>> results = index.threadPool.invokeAll(futures);
+      List<Future<ExecutionResult>> results = TransmodelGraph.threadPool.invokeAll(futures);
       return Response
         .status(Response.Status.OK)
         .entity(GraphQLResponseSerializer.serializeBatch(queries, results))
@@ -1,6 +1,5 @@
 package org.opentripplanner.ext.transmodelapi;
 
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import graphql.ExecutionInput;
 import graphql.ExecutionResult;
 import graphql.GraphQL;
@@ -14,10 +13,12 @@ import jakarta.ws.rs.core.Response;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import org.opentripplanner.api.json.GraphQLResponseSerializer;
+import org.opentripplanner.api.support.GraphQLDocumentCache;
 import org.opentripplanner.ext.actuator.MicrometerGraphQLInstrumentation;
+import org.opentripplanner.ext.transmodelapi.support.TransmodelDataLoaders;
 import org.opentripplanner.framework.application.OTPFeature;
+import org.opentripplanner.framework.concurrent.ExecutorUtils;
 import org.opentripplanner.standalone.api.OtpServerRequestContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -26,22 +27,35 @@ class TransmodelGraph {
 
   static final Logger LOG = LoggerFactory.getLogger(TransmodelGraph.class);
 
-  private final GraphQLSchema indexSchema;
+  /**
+   * The number of batched queries waiting for a thread, before the queries are executed by the
+   * request thread.
+   */
+  private static final int MAX_QUEUED_QUERIES = 100;
+
+  /**
+   * Shared by all instances, a new instance is created for each request.
+   */
+  static final ExecutorService threadPool = ExecutorUtils.newRequestThreadPool(
+    "TransmodelGraphQLExecutor",
+    Runtime.getRuntime().availableProcessors(),
+    MAX_QUEUED_QUERIES,
+    OTPFeature.VirtualThreads.isOn()
+  );
 
-  final ExecutorService threadPool;
+  private final GraphQLSchema indexSchema;
+  private final GraphQLDocumentCache documentCache;
 
-  TransmodelGraph(GraphQLSchema schema) {
-    this.threadPool =
-      Executors.newCachedThreadPool(
-        new ThreadFactoryBuilder().setNameFormat("GraphQLExecutor-%d").build()
-      );
+  TransmodelGraph(GraphQLSchema schema, GraphQLDocumentCache documentCache) {
     this.indexSchema = schema;
+    this.documentCache = documentCache;
   }
 
   ExecutionResult getGraphQLExecutionResult(
     String query,
     OtpServerRequestContext serverContext,
     Map<String, Object> variables,
+    Map<String, Object> extensions,
     String operationName,
     int maxResolves,
     Iterable<Tag> tracingTags
@@ -55,11 +69,18 @@ class TransmodelGraph {
         );
     }
 
-    GraphQL graphQL = GraphQL.newGraphQL(indexSchema).instrumentation(instrumentation).build();
+    GraphQL graphQL = GraphQL
+      .newGraphQL(indexSchema)
+      .instrumentation(instrumentation)
+      .preparsedDocumentProvider(documentCache)
+      .build();
 
     if (variables == null) {
       variables = new HashMap<>();
     }
+    if (extensions == null) {
+      extensions = Map.of();
+    }
 
     TransmodelRequestContext transmodelRequestContext = new TransmodelRequestContext(
       serverContext,
@@ -74,6 +95,8 @@ class TransmodelGraph {
       .context(transmodelRequestContext)
       .root(serverContext)
       .variables(variables)
+      .extensions(extensions)
+      .dataLoaderRegistry(TransmodelDataLoaders.createRegistry(serverContext.transitService()))
       .build();
     return graphQL.execute(executionInput);
   }
@@ -82,6 +105,7 @@ class TransmodelGraph {
     String query,
     OtpServerRequestContext serverContext,
     Map<String, Object> variables,
+    Map<String, Object> extensions,
     String operationName,
     int maxResolves,
     Iterable<Tag> tracingTags
@@ -90,6 +114,7 @@ class TransmodelGraph {
       query,
       serverContext,
       variables,
+      extensions,
       operationName,
       maxResolves,
       tracingTags
@@ -17,6 +17,7 @@ import org.locationtech.jts.geom.LineString;
 import org.opentripplanner.ext.transmodelapi.mapping.GeometryMapper;
 import org.opentripplanner.ext.transmodelapi.model.EnumTypes;
 import org.opentripplanner.ext.transmodelapi.support.GqlUtil;
+import org.opentripplanner.ext.transmodelapi.support.TransmodelDataLoaders;
 import org.opentripplanner.framework.geometry.EncodedPolyline;
 import org.opentripplanner.transit.model.network.TripPattern;
 import org.opentripplanner.transit.model.timetable.TripTimes;
@@ -71,7 +72,11 @@ public class JourneyPatternType {
           .withDirective(gqlUtil.timingData)
           .type(new GraphQLNonNull(new GraphQLList(new GraphQLNonNull(serviceJourneyType))))
           .dataFetcher(e ->
-            ((TripPattern) e.getSource()).scheduledTripsAsStream().collect(Collectors.toList())
+            TransmodelDataLoaders.load(
+              e,
+              TransmodelDataLoaders.TRIPS_FOR_PATTERN,
+              (TripPattern) e.getSource()
+            )
           )
           .build()
       )
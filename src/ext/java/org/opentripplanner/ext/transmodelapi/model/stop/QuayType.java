@@ -15,6 +15,7 @@ import java.time.Duration;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.util.Collection;
+import java.util.List;
 import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
@@ -24,11 +25,13 @@ import org.opentripplanner.ext.transmodelapi.model.EnumTypes;
 import org.opentripplanner.ext.transmodelapi.model.plan.JourneyWhiteListed;
 import org.opentripplanner.ext.transmodelapi.model.scalars.GeoJSONCoordinatesScalar;
 import org.opentripplanner.ext.transmodelapi.support.GqlUtil;
+import org.opentripplanner.ext.transmodelapi.support.TransmodelDataLoaders;
 import org.opentripplanner.framework.i18n.I18NString;
 import org.opentripplanner.model.TripTimeOnDate;
 import org.opentripplanner.routing.stoptimes.ArrivalDeparture;
 import org.opentripplanner.transit.model.basic.Accessibility;
 import org.opentripplanner.transit.model.basic.TransitMode;
+import org.opentripplanner.transit.model.network.TripPattern;
 import org.opentripplanner.transit.model.site.AreaStop;
 import org.opentripplanner.transit.model.site.GroupStop;
 import org.opentripplanner.transit.model.site.RegularStop;
@@ -174,15 +177,21 @@ public class QuayType {
           .withDirective(gqlUtil.timingData)
           .description("List of lines servicing this quay")
           .type(new GraphQLNonNull(new GraphQLList(new GraphQLNonNull(lineType))))
-          .dataFetcher(environment -> {
-            return GqlUtil
-              .getTransitService(environment)
-              .getPatternsForStop(environment.getSource(), true)
-              .stream()
-              .map(pattern -> pattern.getRoute())
-              .distinct()
-              .collect(Collectors.toList());
-          })
+          .dataFetcher(environment ->
+            TransmodelDataLoaders
+              .<StopLocation, List<TripPattern>>load(
+                environment,
+                TransmodelDataLoaders.PATTERNS_FOR_STOP,
+                environment.getSource()
+              )
+              .thenApply(patterns ->
+                patterns
+                  .stream()
+                  .map(pattern -> pattern.getRoute())
+                  .distinct()
+                  .collect(Collectors.toList())
+              )
+          )
           .build()
       )
       .field(
@@ -192,11 +201,13 @@ public class QuayType {
           .withDirective(gqlUtil.timingData)
           .description("List of journey patterns servicing this quay")
           .type(new GraphQLNonNull(new GraphQLList(journeyPatternType)))
-          .dataFetcher(environment -> {
-            return GqlUtil
-              .getTransitService(environment)
-              .getPatternsForStop(environment.getSource(), true);
-          })
+          .dataFetcher(environment ->
+            TransmodelDataLoaders.load(
+              environment,
+              TransmodelDataLoaders.PATTERNS_FOR_STOP,
+              environment.getSource()
+            )
+          )
           .build()
       )
       .field(
@@ -21,6 +21,7 @@ import org.locationtech.jts.geom.LineString;
 import org.opentripplanner.ext.transmodelapi.model.EnumTypes;
 import org.opentripplanner.ext.transmodelapi.model.TransmodelTransportSubmode;
 import org.opentripplanner.ext.transmodelapi.support.GqlUtil;
+import org.opentripplanner.ext.transmodelapi.support.TransmodelDataLoaders;
 import org.opentripplanner.framework.geometry.EncodedPolyline;
 import org.opentripplanner.model.TripTimeOnDate;
 import org.opentripplanner.routing.TripTimesShortHelper;
@@ -324,10 +325,11 @@ public class ServiceJourneyType {
           .description("Get all situations active for the service journey.")
           .type(new GraphQLNonNull(new GraphQLList(new GraphQLNonNull(ptSituationElementType))))
           .dataFetcher(environment ->
-            GqlUtil
-              .getTransitService(environment)
-              .getTransitAlertService()
-              .getTripAlerts(trip(environment).getId(), null)
+            TransmodelDataLoaders.load(
+              environment,
+              TransmodelDataLoaders.ALERTS_FOR_TRIP,
+              trip(environment).getId()
+            )
           )
           .build()
       )
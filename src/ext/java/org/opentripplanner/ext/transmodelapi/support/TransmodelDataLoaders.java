@@ -0,0 +1,71 @@
+package org.opentripplanner.ext.transmodelapi.support;
+
+import graphql.schema.DataFetchingEnvironment;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import org.dataloader.DataLoaderFactory;
+import org.dataloader.DataLoaderRegistry;
+import org.opentripplanner.routing.alertpatch.TransitAlert;
+import org.opentripplanner.transit.model.framework.FeedScopedId;
+import org.opentripplanner.transit.model.network.TripPattern;
+import org.opentripplanner.transit.model.site.StopLocation;
+import org.opentripplanner.transit.model.timetable.Trip;
+import org.opentripplanner.transit.service.TransitService;
+
+/**
+ * Data loaders for fields which are resolved for many entities in the same query, like the
+ * journey patterns of each quay in a stop place. The keys are collected for each level of the
+ * query and loaded in one batch, and each key is loaded only once per query. A new registry is
+ * created for each query.
+ */
+public class TransmodelDataLoaders {
+
+  public static final String PATTERNS_FOR_STOP = "patternsForStop";
+  public static final String ALERTS_FOR_TRIP = "alertsForTrip";
+  public static final String TRIPS_FOR_PATTERN = "tripsForPattern";
+
+  public static DataLoaderRegistry createRegistry(TransitService transitService) {
+    return DataLoaderRegistry
+      .newRegistry()
+      .register(
+        PATTERNS_FOR_STOP,
+        DataLoaderFactory.<StopLocation, List<TripPattern>>newDataLoader(stops ->
+          loadEach(stops, stop -> List.copyOf(transitService.getPatternsForStop(stop, true)))
+        )
+      )
+      .register(
+        ALERTS_FOR_TRIP,
+        DataLoaderFactory.<FeedScopedId, List<TransitAlert>>newDataLoader(tripIds ->
+          loadEach(
+            tripIds,
+            tripId ->
+              List.copyOf(transitService.getTransitAlertService().getTripAlerts(tripId, null))
+          )
+        )
+      )
+      .register(
+        TRIPS_FOR_PATTERN,
+        DataLoaderFactory.<TripPattern, List<Trip>>newDataLoader(patterns ->
+          loadEach(patterns, pattern -> pattern.scheduledTripsAsStream().toList())
+        )
+      )
+      .build();
+  }
+
+  /**
+   * Load the value for the given key through the data loader with the given name. The returned
+   * future is completed when the batch is dispatched by graphql-java.
+   */
+  public static <K, V> CompletableFuture<V> load(
+    DataFetchingEnvironment environment,
+    String dataLoaderName,
+    K key
+  ) {
+    return environment.<K, V>getDataLoader(dataLoaderName).load(key);
+  }
+
+  private static <K, V> CompletableFuture<List<V>> loadEach(List<K> keys, Function<K, V> loader) {
+    return CompletableFuture.completedFuture(keys.stream().map(loader).toList());
+  }
+}
@@ -19,12 +19,14 @@ public class SampleGridRenderer {
 
   private static final Logger LOG = LoggerFactory.getLogger(SampleGridRenderer.class);
 
+  static final double OFF_ROAD_WALK_SPEED_MPS = 1.00; // m/s, off-road walk speed
+
   public static ZSampleGrid<WTWD> getSampleGrid(
     ShortestPathTree<State, Edge, Vertex> spt,
     TravelTimeRequest traveltimeRequest
   ) {
     final double offRoadDistanceMeters = traveltimeRequest.offRoadDistanceMeters;
-    final double offRoadWalkSpeedMps = 1.00; // m/s, off-road walk speed
+    final double offRoadWalkSpeedMps = OFF_ROAD_WALK_SPEED_MPS;
 
     // Create a sample grid based on the SPT.
     long t1 = System.currentTimeMillis();
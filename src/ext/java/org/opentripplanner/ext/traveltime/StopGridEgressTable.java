@@ -0,0 +1,250 @@
+package org.opentripplanner.ext.traveltime;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+import org.locationtech.jts.geom.Coordinate;
+import org.opentripplanner.ext.traveltime.geometry.SparseMatrixZSampleGrid;
+import org.opentripplanner.ext.traveltime.geometry.ZSamplePoint;
+import org.opentripplanner.framework.geometry.SphericalDistanceLibrary;
+
+/**
+ * The street travel times from each stop to the sample grid cells around it, up to the maximum
+ * egress duration. All stops use one grid, so the travel time to a cell after transit is the
+ * minimum over the reached stops of the arrival time at the stop plus the time in the table. This
+ * replaces a street search from all reached stops for every travel time request.
+ * <p>
+ * The cells of each stop are stored in primitive arrays, sorted by the tile of 16 x 16 cells they
+ * belong to. An index from each tile to the stops with cells in it allows the tiles to be combined
+ * in parallel, without any locking.
+ * <p>
+ * The sampled values are the same as the ones the {@link SampleGridRenderer} computes for one stop,
+ * including the closing samples around the reachable area. When two stops reach the same cell, the
+ * sample within the off-road distance with the lowest time is kept. This is an approximation of
+ * sampling a single street search from all stops, where samples from different stops are averaged.
+ */
+public class StopGridEgressTable {
+
+  static final int UNREACHED = -1;
+
+  private static final int TILE_BITS = 4;
+  private static final int TILE_SIZE = 1 << TILE_BITS;
+  private static final int TILE_MASK = TILE_SIZE - 1;
+
+  private final Coordinate center;
+  private final double gridSizeMeters;
+  private final int offRoadDistanceMeters;
+
+  /** The cells of stop s are in the range {@code [stopOffsets[s], stopOffsets[s + 1])}. */
+  private final int[] stopOffsets;
+  private final int[] cellX;
+  private final int[] cellY;
+  private final int[] seconds;
+  private final int[] offRoadDistance;
+  private final int[] walkDistance;
+
+  /**
+   * The stops with cells in tile t, and their ranges of cells in the tile, are at the positions
+   * {@code [tileOffsets[t], tileOffsets[t + 1])} of the tile arrays.
+   */
+  private final int[] tileOffsets;
+  private final int[] tileStops;
+  private final int[] tileStarts;
+  private final int[] tileEnds;
+
+  StopGridEgressTable(
+    Coordinate center,
+    double gridSizeMeters,
+    int offRoadDistanceMeters,
+    int[] stopOffsets,
+    int[] cellX,
+    int[] cellY,
+    int[] seconds,
+    int[] offRoadDistance,
+    int[] walkDistance
+  ) {
+    this.center = center;
+    this.gridSizeMeters = gridSizeMeters;
+    this.offRoadDistanceMeters = offRoadDistanceMeters;
+    this.stopOffsets = stopOffsets;
+    this.cellX = cellX;
+    this.cellY = cellY;
+    this.seconds = seconds;
+    this.offRoadDistance = offRoadDistance;
+    this.walkDistance = walkDistance;
+
+    // Index the cell ranges of each stop by tile. The cells of a stop are sorted by tile.
+    var ranges = new ArrayList<List<int[]>>();
+    var tileIndex = new HashMap<Long, Integer>();
+    for (int stop = 0; stop < stopOffsets.length - 1; ++stop) {
+      int start = stopOffsets[stop];
+      while (start < stopOffsets[stop + 1]) {
+        long tile = tileKey(cellX[start], cellY[start]);
+        int end = start + 1;
+        while (end < stopOffsets[stop + 1] && tileKey(cellX[end], cellY[end]) == tile) {
+          ++end;
+        }
+        int t = tileIndex.computeIfAbsent(tile, it -> ranges.size());
+        if (t == ranges.size()) {
+          ranges.add(new ArrayList<>());
+        }
+        ranges.get(t).add(new int[] { stop, start, end });
+        start = end;
+      }
+    }
+    int size = ranges.stream().mapToInt(List::size).sum();
+    this.tileOffsets = new int[ranges.size() + 1];
+    this.tileStops = new int[size];
+    this.tileStarts = new int[size];
+    this.tileEnds = new int[size];
+    int i = 0;
+    for (int t = 0; t < ranges.size(); ++t) {
+      tileOffsets[t] = i;
+      for (int[] range : ranges.get(t)) {
+        tileStops[i] = range[0];
+        tileStarts[i] = range[1];
+        tileEnds[i] = range[2];
+        ++i;
+      }
+    }
+    tileOffsets[ranges.size()] = i;
+  }
+
+  /** Sort key for the cells of a stop, so the cells of each tile are consecutive. */
+  static long tileKey(int x, int y) {
+    return ((long) (x >> TILE_BITS) << 32) | ((y >> TILE_BITS) & 0xFFFFFFFFL);
+  }
+
+  public int numberOfStops() {
+    return stopOffsets.length - 1;
+  }
+
+  public int numberOfCells() {
+    return seconds.length;
+  }
+
+  public double cosLat() {
+    return Math.cos(Math.toRadians(center.y));
+  }
+
+  /** Create an empty grid with the same cells as the table. */
+  public SparseMatrixZSampleGrid<WTWD> newSampleGrid(int totalSize) {
+    return newSampleGrid(center, gridSizeMeters, totalSize);
+  }
+
+  /**
+   * Create an empty grid with cells of the given size, with the cell (0, 0) at the center. The
+   * width of the cells in degrees depends on the latitude of the center, like in the
+   * {@link SampleGridRenderer}.
+   */
+  static SparseMatrixZSampleGrid<WTWD> newSampleGrid(
+    Coordinate center,
+    double gridSizeMeters,
+    int totalSize
+  ) {
+    double dY = Math.toDegrees(gridSizeMeters / SphericalDistanceLibrary.RADIUS_OF_EARTH_IN_M);
+    double dX = dY / Math.cos(Math.toRadians(center.y));
+    return new SparseMatrixZSampleGrid<>(TILE_SIZE, totalSize, dX, dY, center);
+  }
+
+  /**
+   * Add the cells reached from the stops to a grid created with {@link #newSampleGrid(int)}. The
+   * grid may already contain samples, for example from the street search from the origin.
+   *
+   * @param arrivalSeconds The arrival time at each stop, in seconds after the start of the search,
+   *                       or {@link #UNREACHED}.
+   */
+  public void addToSampleGrid(int[] arrivalSeconds, SparseMatrixZSampleGrid<WTWD> grid) {
+    List<TileSamples> tiles = IntStream
+      .range(0, tileOffsets.length - 1)
+      .parallel()
+      .mapToObj(t -> combineTile(t, arrivalSeconds))
+      .filter(Objects::nonNull)
+      .toList();
+
+    // The grid is not thread-safe, so the tiles are added one at a time
+    for (TileSamples tile : tiles) {
+      for (int c = 0; c < TILE_SIZE * TILE_SIZE; ++c) {
+        if (tile.seconds()[c] == Integer.MAX_VALUE) {
+          continue;
+        }
+        ZSamplePoint<WTWD> point = grid.getOrCreate(
+          tile.x() + (c >> TILE_BITS),
+          tile.y() + (c & TILE_MASK)
+        );
+        WTWD z = point.getZ();
+        double time = z == null ? Double.MAX_VALUE : z.wTime / z.w;
+        if (z == null || isBetter(tile.seconds()[c], tile.offRoadDistance()[c], time, z.d)) {
+          z = new WTWD();
+          z.w = 1.0;
+          z.wTime = tile.seconds()[c];
+          z.d = tile.offRoadDistance()[c];
+          z.wWalkDist = tile.walkDistance()[c];
+          point.setZ(z);
+        }
+      }
+    }
+  }
+
+  /** The best sample of each cell in a tile, or null if no stop with cells in it is reached. */
+  private TileSamples combineTile(int tile, int[] arrivalSeconds) {
+    TileSamples samples = null;
+    for (int i = tileOffsets[tile]; i < tileOffsets[tile + 1]; ++i) {
+      int arrival = arrivalSeconds[tileStops[i]];
+      if (arrival == UNREACHED) {
+        continue;
+      }
+      if (samples == null) {
+        int x = cellX[tileStarts[i]] & ~TILE_MASK;
+        int y = cellY[tileStarts[i]] & ~TILE_MASK;
+        samples = TileSamples.empty(x, y);
+      }
+      for (int e = tileStarts[i]; e < tileEnds[i]; ++e) {
+        int c = ((cellX[e] & TILE_MASK) << TILE_BITS) | (cellY[e] & TILE_MASK);
+        int time = arrival + seconds[e];
+        if (
+          samples.seconds()[c] == Integer.MAX_VALUE ||
+          isBetter(time, offRoadDistance[e], samples.seconds()[c], samples.offRoadDistance()[c])
+        ) {
+          samples.seconds()[c] = time;
+          samples.offRoadDistance()[c] = offRoadDistance[e];
+          samples.walkDistance()[c] = walkDistance[e];
+        }
+      }
+    }
+    return samples;
+  }
+
+  /**
+   * A sample within the off-road distance is better than one outside it, since the isolines treat
+   * the samples outside as not reached. Otherwise the fastest sample is better.
+   */
+  private boolean isBetter(double time, double distance, double otherTime, double otherDistance) {
+    boolean onRoad = distance <= offRoadDistanceMeters;
+    boolean otherOnRoad = otherDistance <= offRoadDistanceMeters;
+    return onRoad == otherOnRoad ? time < otherTime : onRoad;
+  }
+
+  private record TileSamples(
+    int x,
+    int y,
+    int[] seconds,
+    int[] offRoadDistance,
+    int[] walkDistance
+  ) {
+    static TileSamples empty(int x, int y) {
+      int[] seconds = new int[TILE_SIZE * TILE_SIZE];
+      Arrays.fill(seconds, Integer.MAX_VALUE);
+      return new TileSamples(
+        x,
+        y,
+        seconds,
+        new int[TILE_SIZE * TILE_SIZE],
+        new int[TILE_SIZE * TILE_SIZE]
+      );
+    }
+  }
+}
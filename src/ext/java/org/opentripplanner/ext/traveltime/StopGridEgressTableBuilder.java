@@ -0,0 +1,168 @@
+package org.opentripplanner.ext.traveltime;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+import javax.annotation.Nullable;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.opentripplanner.astar.strategy.DurationSkipEdgeStrategy;
+import org.opentripplanner.ext.traveltime.geometry.SparseMatrixZSampleGrid;
+import org.opentripplanner.ext.traveltime.geometry.ZSamplePoint;
+import org.opentripplanner.routing.api.request.RouteRequest;
+import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.street.model.vertex.Vertex;
+import org.opentripplanner.street.search.StreetSearchBuilder;
+import org.opentripplanner.street.search.strategy.DominanceFunctions;
+import org.opentripplanner.transit.model.site.RegularStop;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Build a {@link StopGridEgressTable} by sampling an egress street search from each stop. The
+ * searches are independent, so they are run in parallel.
+ */
+public class StopGridEgressTableBuilder {
+
+  private static final Logger LOG = LoggerFactory.getLogger(StopGridEgressTableBuilder.class);
+
+  private final Graph graph;
+  private final Collection<RegularStop> stops;
+  private final RouteRequest request;
+  private final Duration maxEgressDuration;
+  private final double gridSizeMeters;
+  private final int offRoadDistanceMeters;
+
+  /**
+   * @param request           The preferences and the egress mode of the request are used for the
+   *                          searches.
+   * @param maxEgressDuration The searches from the stops are limited to this duration.
+   */
+  public StopGridEgressTableBuilder(
+    Graph graph,
+    Collection<RegularStop> stops,
+    RouteRequest request,
+    Duration maxEgressDuration,
+    double gridSizeMeters,
+    int offRoadDistanceMeters
+  ) {
+    this.graph = graph;
+    this.stops = stops;
+    this.request = request;
+    this.maxEgressDuration = maxEgressDuration;
+    this.gridSizeMeters = gridSizeMeters;
+    this.offRoadDistanceMeters = offRoadDistanceMeters;
+  }
+
+  public StopGridEgressTable build() {
+    long start = System.currentTimeMillis();
+
+    var envelope = new Envelope();
+    stops.forEach(stop -> envelope.expandToInclude(stop.getCoordinate().asJtsCoordinate()));
+    Coordinate center = envelope.isNull() ? new Coordinate(0, 0) : envelope.centre();
+
+    int numberOfStops = stops.stream().mapToInt(RegularStop::getIndex).max().orElse(-1) + 1;
+    var stopsByIndex = new RegularStop[numberOfStops];
+    stops.forEach(stop -> stopsByIndex[stop.getIndex()] = stop);
+
+    List<List<Cell>> cellsByStop = IntStream
+      .range(0, numberOfStops)
+      .parallel()
+      .mapToObj(i -> sampleStop(stopsByIndex[i], center))
+      .toList();
+
+    int size = cellsByStop.stream().mapToInt(List::size).sum();
+    int[] stopOffsets = new int[numberOfStops + 1];
+    int[] cellX = new int[size];
+    int[] cellY = new int[size];
+    int[] seconds = new int[size];
+    int[] offRoadDistance = new int[size];
+    int[] walkDistance = new int[size];
+    int i = 0;
+    for (int stop = 0; stop < numberOfStops; ++stop) {
+      stopOffsets[stop] = i;
+      for (Cell cell : cellsByStop.get(stop)) {
+        cellX[i] = cell.x();
+        cellY[i] = cell.y();
+        seconds[i] = cell.seconds();
+        offRoadDistance[i] = cell.offRoadDistance();
+        walkDistance[i] = cell.walkDistance();
+        ++i;
+      }
+    }
+    stopOffsets[numberOfStops] = i;
+
+    LOG.info(
+      "Computed egress tables for {} stops with {} cells in {} ms",
+      stops.size(),
+      size,
+      System.currentTimeMillis() - start
+    );
+    return new StopGridEgressTable(
+      center,
+      gridSizeMeters,
+      offRoadDistanceMeters,
+      stopOffsets,
+      cellX,
+      cellY,
+      seconds,
+      offRoadDistance,
+      walkDistance
+    );
+  }
+
+  /** The cells reached from a stop, sorted by tile. */
+  private List<Cell> sampleStop(@Nullable RegularStop stop, Coordinate center) {
+    Vertex vertex = stop == null ? null : graph.getStopVertexForStopId(stop.getId());
+    if (vertex == null) {
+      return List.of();
+    }
+    var spt = StreetSearchBuilder
+      .of()
+      .setSkipEdgeStrategy(new DurationSkipEdgeStrategy(maxEgressDuration))
+      .setDominanceFunction(new DominanceFunctions.EarliestArrival())
+      .setRequest(request)
+      .setStreetRequest(request.journey().egress())
+      .setFrom(vertex)
+      .getShortestPathTree();
+
+    SparseMatrixZSampleGrid<WTWD> grid = StopGridEgressTable.newSampleGrid(
+      center,
+      gridSizeMeters,
+      spt.getVertexCount()
+    );
+    SampleGridRenderer.sampleSPT(
+      spt,
+      grid,
+      gridSizeMeters,
+      offRoadDistanceMeters,
+      SampleGridRenderer.OFF_ROAD_WALK_SPEED_MPS,
+      (int) maxEgressDuration.toSeconds(),
+      Math.cos(Math.toRadians(center.y))
+    );
+
+    var cells = new ArrayList<Cell>();
+    for (ZSamplePoint<WTWD> point : grid) {
+      WTWD z = point.getZ();
+      if (z == null) {
+        continue;
+      }
+      cells.add(
+        new Cell(
+          point.getX(),
+          point.getY(),
+          (int) Math.round(z.wTime / z.w),
+          (int) Math.round(z.d),
+          (int) Math.round(z.wWalkDist / z.w)
+        )
+      );
+    }
+    cells.sort(Comparator.comparingLong(it -> StopGridEgressTable.tileKey(it.x(), it.y())));
+    return cells;
+  }
+
+  private record Cell(int x, int y, int seconds, int offRoadDistance, int walkDistance) {}
+}
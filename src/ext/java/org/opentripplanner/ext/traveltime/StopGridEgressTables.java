@@ -0,0 +1,117 @@
+package org.opentripplanner.ext.traveltime;
+
+import com.google.common.base.Suppliers;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
+import org.opentripplanner.routing.api.request.RouteRequest;
+import org.opentripplanner.routing.api.request.StreetMode;
+import org.opentripplanner.routing.api.request.preference.BikePreferences;
+import org.opentripplanner.routing.api.request.preference.CarPreferences;
+import org.opentripplanner.routing.api.request.preference.StreetPreferences;
+import org.opentripplanner.routing.api.request.preference.WalkPreferences;
+import org.opentripplanner.routing.api.request.preference.WheelchairPreferences;
+import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.standalone.api.OtpServerRequestContext;
+import org.opentripplanner.transit.service.TransitService;
+
+/**
+ * The {@link StopGridEgressTable}s of a graph. The tables depend on the street preferences and the
+ * egress mode of the request, and cover the configured maximum egress duration. The table for the
+ * routing defaults is built when the server starts. A table for other preferences is built by the
+ * first request using them.
+ */
+public class StopGridEgressTables {
+
+  private final Graph graph;
+  private final TransitService transitService;
+  private final Duration maxEgressDuration;
+  private final Map<Key, Supplier<StopGridEgressTable>> tables = new ConcurrentHashMap<>();
+
+  private StopGridEgressTables(
+    Graph graph,
+    TransitService transitService,
+    Duration maxEgressDuration
+  ) {
+    this.graph = graph;
+    this.transitService = transitService;
+    this.maxEgressDuration = maxEgressDuration;
+  }
+
+  /**
+   * Return the tables of the server graph, they are created with the table for the routing defaults
+   * on the first call.
+   */
+  public static synchronized StopGridEgressTables forServer(OtpServerRequestContext serverContext) {
+    var graph = serverContext.graph();
+    var existingTables = graph.getStopGridEgressTables();
+    if (existingTables != null) {
+      return existingTables;
+    }
+    var newTables = new StopGridEgressTables(
+      graph,
+      serverContext.transitService(),
+      serverContext.travelTimeConfig().maxPrecomputedEgressDuration()
+    );
+    newTables.get(
+      serverContext.defaultRouteRequest(),
+      new TravelTimeRequest(List.of(newTables.maxEgressDuration), Duration.ZERO)
+    );
+    graph.setStopGridEgressTables(newTables);
+    return newTables;
+  }
+
+  /**
+   * Return the table for the preferences and egress mode of the request. Like a street search from
+   * all reached stops limited by the cutoff, the egress from a stop may use all the time left until
+   * the cutoff. If the maximum cutoff of the travel time request is longer than the precomputed
+   * egress, {@code null} is returned.
+   */
+  @Nullable
+  public StopGridEgressTable get(RouteRequest request, TravelTimeRequest travelTimeRequest) {
+    if (travelTimeRequest.maxCutoff.compareTo(maxEgressDuration) > 0) {
+      return null;
+    }
+    var preferences = request.preferences();
+    var key = new Key(
+      request.journey().egress().mode(),
+      request.wheelchair(),
+      preferences.walk(),
+      preferences.bike(),
+      preferences.car(),
+      preferences.street(),
+      preferences.wheelchair()
+    );
+    // The table is built outside the map, so only the requests waiting for it are blocked
+    return tables
+      .computeIfAbsent(
+        key,
+        k ->
+          Suppliers.memoize(() ->
+            new StopGridEgressTableBuilder(
+              graph,
+              transitService.listRegularStops(),
+              request,
+              maxEgressDuration,
+              travelTimeRequest.precisionMeters,
+              travelTimeRequest.offRoadDistanceMeters
+            )
+              .build()
+          )
+      )
+      .get();
+  }
+
+  private record Key(
+    StreetMode egressMode,
+    boolean wheelchair,
+    WalkPreferences walk,
+    BikePreferences bike,
+    CarPreferences car,
+    StreetPreferences street,
+    WheelchairPreferences wheelchairPreferences
+  ) {}
+}
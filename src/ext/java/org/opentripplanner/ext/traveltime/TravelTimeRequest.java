@@ -11,6 +11,8 @@ import java.util.List;
  */
 public class TravelTimeRequest {
 
+  public static final Duration DEFAULT_CUTOFF = Duration.ofHours(1);
+
   public final List<Duration> cutoffs;
 
   public final boolean includeDebugGeometry = false;
@@ -19,6 +19,7 @@ import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -46,6 +47,7 @@ import org.opengis.parameter.GeneralParameterValue;
 import org.opengis.parameter.ParameterValueGroup;
 import org.opentripplanner.api.common.LocationStringParser;
 import org.opentripplanner.api.parameter.QualifiedModeSet;
+import org.opentripplanner.astar.model.ShortestPathTree;
 import org.opentripplanner.astar.strategy.DurationSkipEdgeStrategy;
 import org.opentripplanner.ext.traveltime.geometry.ZSampleGrid;
 import org.opentripplanner.framework.time.DurationUtils;
@@ -68,6 +70,7 @@ import org.opentripplanner.routing.api.request.StreetMode;
 import org.opentripplanner.routing.graph.Graph;
 import org.opentripplanner.routing.graphfinder.NearbyStop;
 import org.opentripplanner.standalone.api.OtpServerRequestContext;
+import org.opentripplanner.street.model.edge.Edge;
 import org.opentripplanner.street.model.vertex.Vertex;
 import org.opentripplanner.street.search.StreetSearchBuilder;
 import org.opentripplanner.street.search.TemporaryVerticesContainer;
@@ -93,6 +96,7 @@ public class TravelTimeResource {
   private final RaptorService<TripSchedule> raptorService;
   private final Graph graph;
   private final TransitService transitService;
+  private final StopGridEgressTables egressTables;
 
   public TravelTimeResource(
     @Context OtpServerRequestContext serverContext,
@@ -103,6 +107,7 @@ public class TravelTimeResource {
   ) {
     this.graph = serverContext.graph();
     this.transitService = serverContext.transitService();
+    this.egressTables = StopGridEgressTables.forServer(serverContext);
     routingRequest = serverContext.defaultRouteRequest();
     routingRequest.setFrom(LocationStringParser.fromOldStyleString(location));
     if (modes != null) {
@@ -243,20 +248,53 @@ public class TravelTimeResource {
 
       var arrivals = route(accessList).getArrivals();
 
-      var spt = StreetSearchBuilder
-        .of()
-        .setSkipEdgeStrategy(new DurationSkipEdgeStrategy(traveltimeRequest.maxCutoff))
-        .setRequest(routingRequest)
-        .setStreetRequest(accessRequest.journey().access())
-        .setVerticesContainer(temporaryVertices)
-        .setDominanceFunction(new DominanceFunctions.EarliestArrival())
-        .setInitialStates(getInitialStates(arrivals, temporaryVertices))
-        .getShortestPathTree();
-
-      return SampleGridRenderer.getSampleGrid(spt, traveltimeRequest);
+      var egressTable = egressTables.get(routingRequest, traveltimeRequest);
+
+      if (egressTable == null) {
+        // The cutoff is longer than the precomputed egress, search the streets from all the
+        // reached stops
+        var spt = streetSearch(
+          accessRequest,
+          temporaryVertices,
+          getInitialStates(arrivals, temporaryVertices)
+        );
+        return SampleGridRenderer.getSampleGrid(spt, traveltimeRequest);
+      }
+
+      // The street search from the origin only covers the area reachable without transit
+      var spt = streetSearch(accessRequest, temporaryVertices, getInitialStates(temporaryVertices));
+
+      var sampleGrid = egressTable.newSampleGrid(spt.getVertexCount());
+      SampleGridRenderer.sampleSPT(
+        spt,
+        sampleGrid,
+        traveltimeRequest.precisionMeters,
+        traveltimeRequest.offRoadDistanceMeters,
+        SampleGridRenderer.OFF_ROAD_WALK_SPEED_MPS,
+        (int) traveltimeRequest.maxCutoff.getSeconds(),
+        egressTable.cosLat()
+      );
+      egressTable.addToSampleGrid(getArrivalSeconds(arrivals, egressTable), sampleGrid);
+      return sampleGrid;
     }
   }
 
+  private ShortestPathTree<State, Edge, Vertex> streetSearch(
+    RouteRequest accessRequest,
+    TemporaryVerticesContainer temporaryVertices,
+    List<State> initialStates
+  ) {
+    return StreetSearchBuilder
+      .of()
+      .setSkipEdgeStrategy(new DurationSkipEdgeStrategy(traveltimeRequest.maxCutoff))
+      .setRequest(routingRequest)
+      .setStreetRequest(accessRequest.journey().access())
+      .setVerticesContainer(temporaryVertices)
+      .setDominanceFunction(new DominanceFunctions.EarliestArrival())
+      .setInitialStates(initialStates)
+      .getShortestPathTree();
+  }
+
   private Collection<DefaultAccessEgress> getAccess(
     RouteRequest accessRequest,
     TemporaryVerticesContainer temporaryVertices
@@ -273,24 +311,28 @@ public class TravelTimeResource {
     return new AccessEgressMapper().mapNearbyStops(accessStops, false);
   }
 
-  private List<State> getInitialStates(
-    StopArrivals arrivals,
-    TemporaryVerticesContainer temporaryVertices
-  ) {
+  private List<State> getInitialStates(TemporaryVerticesContainer temporaryVertices) {
     List<State> initialStates = new ArrayList<>();
 
-    StreetSearchRequest streetSearchRequest = StreetSearchRequestMapper
-      .map(routingRequest)
-      .withMode(routingRequest.journey().egress().mode())
-      .withArriveBy(false)
-      .build();
-
+    StreetSearchRequest streetSearchRequest = egressStreetSearchRequest();
     StateData stateData = StateData.getInitialStateData(streetSearchRequest);
 
     for (var vertex : temporaryVertices.getFromVertices()) {
       // TODO StateData should be of direct mode here
       initialStates.add(new State(vertex, startTime, stateData, streetSearchRequest));
     }
+    return initialStates;
+  }
+
+  /** The initial states at the origin, and at each stop reached by transit. */
+  private List<State> getInitialStates(
+    StopArrivals arrivals,
+    TemporaryVerticesContainer temporaryVertices
+  ) {
+    List<State> initialStates = getInitialStates(temporaryVertices);
+
+    StreetSearchRequest streetSearchRequest = egressStreetSearchRequest();
+    StateData stateData = StateData.getInitialStateData(streetSearchRequest);
 
     // TODO - Add a method to return all Stops, not StopLocations
     for (RegularStop stop : transitService.listRegularStops()) {
@@ -309,6 +351,30 @@ public class TravelTimeResource {
     return initialStates;
   }
 
+  private StreetSearchRequest egressStreetSearchRequest() {
+    return StreetSearchRequestMapper
+      .map(routingRequest)
+      .withMode(routingRequest.journey().egress().mode())
+      .withArriveBy(false)
+      .build();
+  }
+
+  /** The best arrival time at each stop, in seconds after the start time. */
+  private int[] getArrivalSeconds(StopArrivals arrivals, StopGridEgressTable egressTable) {
+    int[] arrivalSeconds = new int[egressTable.numberOfStops()];
+    Arrays.fill(arrivalSeconds, StopGridEgressTable.UNREACHED);
+    int startSeconds = ServiceDateUtils.secondsSinceStartOfTime(startOfTime, startTime);
+
+    // TODO - Add a method to return all Stops, not StopLocations
+    for (RegularStop stop : transitService.listRegularStops()) {
+      int index = stop.getIndex();
+      if (index < arrivalSeconds.length && arrivals.reachedByTransit(index)) {
+        arrivalSeconds[index] = arrivals.bestTransitArrivalTime(index) - startSeconds;
+      }
+    }
+    return arrivalSeconds;
+  }
+
   private RaptorResponse<TripSchedule> route(Collection<? extends RaptorAccessEgress> accessList) {
     final RaptorRequest<TripSchedule> request = new RaptorRequestBuilder<TripSchedule>()
       .profile(RaptorProfile.BEST_TIME)
@@ -94,7 +94,7 @@ public class AccumulativeGridSampler<TZ> {
       LOG.debug("Round {} : next process list {}", round, processList.size());
       round++;
     }
-    LOG.info("Added {} closing samples to get a total of {}.", n, sampleGrid.size());
+    LOG.debug("Added {} closing samples to get a total of {}.", n, sampleGrid.size());
   }
 
   private ZSamplePoint<TZ> closeSample(int x, int y) {
@@ -134,7 +134,7 @@ public class SPTWalker {
         }
       }
     }
-    LOG.info(
+    LOG.debug(
       "SPTWalker: Generated {} points ({} dup edges, {} no geometry) from {} vertices / {} states.",
       nTotal,
       nSkippedDupEdge,
@@ -27,6 +27,7 @@ import org.opentripplanner.ext.vectortiles.layers.vehiclerental.VehicleRentalSta
 import org.opentripplanner.ext.vectortiles.layers.vehiclerental.VehicleRentalVehiclesLayerBuilder;
 import org.opentripplanner.inspector.vector.LayerBuilder;
 import org.opentripplanner.inspector.vector.LayerParameters;
+import org.opentripplanner.inspector.vector.VectorTileCache;
 import org.opentripplanner.inspector.vector.VectorTileResponseFactory;
 import org.opentripplanner.routing.graph.Graph;
 import org.opentripplanner.standalone.api.OtpServerRequestContext;
@@ -35,6 +36,17 @@ import org.opentripplanner.transit.service.TransitService;
 @Path("/routers/{ignoreRouterId}/vectorTiles")
 public class VectorTilesResource {
 
+  /**
+   * The maximum total size of the encoded layers in the tile cache.
+   */
+  private static final long MAX_CACHED_BYTES = 64 * 1024 * 1024;
+
+  private static final VectorTileCache<LayerType> TILE_CACHE = new VectorTileCache<>(
+    "vectorTiles",
+    MAX_CACHED_BYTES,
+    VectorTilesResource::layerVersion
+  );
+
   private final OtpServerRequestContext serverContext;
   private final String ignoreRouterId;
   private final Locale locale;
@@ -70,6 +82,7 @@ public class VectorTilesResource {
       Arrays.asList(requestedLayers.split(",")),
       serverContext.vectorTileLayers().layers(),
       VectorTilesResource::crateLayerBuilder,
+      TILE_CACHE,
       serverContext.graph(),
       serverContext.transitService()
     );
@@ -135,6 +148,28 @@ public class VectorTilesResource {
     };
   }
 
+  /**
+   * The stops and stations only change when a new transit model is loaded, while the rental and
+   * parking layers change every time their updaters run.
+   */
+  private static Object layerVersion(
+    LayerParameters<LayerType> layerParameters,
+    Graph graph,
+    TransitService transitService
+  ) {
+    return switch (layerParameters.type()) {
+      case Stop, Station -> new DataVersion(transitService.getTransitLayer(), 0);
+      case VehicleRental, VehicleRentalStation, VehicleRentalVehicle -> new DataVersion(
+        graph.getVehicleRentalService(),
+        graph.getVehicleRentalService().getModificationCount()
+      );
+      case VehicleParking, VehicleParkingGroup -> new DataVersion(
+        graph.getVehicleParkingService(),
+        graph.getVehicleParkingService().getModificationCount()
+      );
+    };
+  }
+
   public enum LayerType {
     Stop,
     Station,
@@ -148,4 +183,9 @@ public class VectorTilesResource {
   public interface LayersParameters<T extends Enum<T>> {
     List<LayerParameters<T>> layers();
   }
+
+  /**
+   * The source is compared by identity, since none of the sources implement equals.
+   */
+  private record DataVersion(Object source, long modificationCount) {}
 }
@@ -1,61 +1,75 @@
 package org.opentripplanner.api.json;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import graphql.ExecutionResult;
 import graphql.execution.AbortExecutionException;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 /**
- * This class is responsible for serializing a GraphQL {@link ExecutionResult} into a String, which
- * can be returned as the body of the HTTP response. This differs from the mapper provided by {@link
- * JSONObjectMapperProvider}, by serializing all fields in the objects, including null fields.
+ * This class is responsible for serializing a GraphQL {@link ExecutionResult} into the body of the
+ * HTTP response. This differs from the mapper provided by {@link JSONObjectMapperProvider}, by
+ * serializing all fields in the objects, including null fields.
+ * <p>
+ * The JSON is written directly to the response stream, so large responses are not built as a
+ * String and encoded again before they are sent. The status and headers are sent when the container
+ * flushes the first part of the body. If the serialization fails after that, the client gets a
+ * truncated body with status 200 instead of a 500 error.
  */
 public class GraphQLResponseSerializer {
 
-  static final Logger LOG = LoggerFactory.getLogger(GraphQLResponseSerializer.class);
-
   private static final ObjectMapper objectMapper = new ObjectMapper();
 
-  public static String serialize(ExecutionResult executionResult) {
-    try {
-      return objectMapper.writeValueAsString(executionResult.toSpecification());
-    } catch (JsonProcessingException e) {
-      LOG.error("Unable to serialize response", e);
-      throw new RuntimeException(e);
-    }
+  public static StreamingOutput serialize(ExecutionResult executionResult) {
+    var specification = executionResult.toSpecification();
+    return out -> {
+      try (var generator = createGenerator(out)) {
+        objectMapper.writeValue(generator, specification);
+      }
+    };
   }
 
-  public static String serializeBatch(
+  public static StreamingOutput serializeBatch(
     List<HashMap<String, Object>> queries,
     List<Future<ExecutionResult>> futures
   ) {
-    List<Map<String, Object>> responses = new LinkedList<>();
-    for (int i = 0; i < queries.size(); i++) {
-      ExecutionResult executionResult;
-      // Try each request separately, returning both completed and failed responses is ok
-      try {
-        executionResult = futures.get(i).get();
-      } catch (InterruptedException | ExecutionException e) {
-        executionResult = new AbortExecutionException(e).toExecutionResult();
+    return out -> {
+      try (var generator = createGenerator(out)) {
+        generator.writeStartArray();
+        for (int i = 0; i < queries.size(); i++) {
+          generator.writeStartObject();
+          generator.writeObjectField("id", queries.get(i).get("id"));
+          generator.writeObjectField("payload", getResult(futures.get(i)).toSpecification());
+          generator.writeEndObject();
+        }
+        generator.writeEndArray();
       }
-      responses.add(
-        Map.of("id", queries.get(i).get("id"), "payload", executionResult.toSpecification())
-      );
-    }
+    };
+  }
+
+  /**
+   * The generator does not close the response stream, this is left to the container.
+   */
+  private static JsonGenerator createGenerator(OutputStream out) throws IOException {
+    return objectMapper
+      .getFactory()
+      .createGenerator(out, JsonEncoding.UTF8)
+      .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+  }
 
+  private static ExecutionResult getResult(Future<ExecutionResult> future) {
+    // Try each request separately, returning both completed and failed responses is ok
     try {
-      return objectMapper.writeValueAsString(responses);
-    } catch (JsonProcessingException e) {
-      LOG.error("Unable to serialize response", e);
-      throw new RuntimeException(e);
+      return future.get();
+    } catch (InterruptedException | ExecutionException e) {
+      return new AbortExecutionException(e).toExecutionResult();
     }
   }
 }
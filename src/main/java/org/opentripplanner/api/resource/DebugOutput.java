@@ -1,5 +1,7 @@
 package org.opentripplanner.api.resource;
 
+import java.util.Map;
+
 /**
  * Holds information to be included in the REST Response for debugging and profiling purposes.
  */
@@ -44,6 +46,11 @@ public class DebugOutput {
    */
   public final TransitTimingOutput transitRouterTimes;
 
+  /**
+   * CPU time and memory allocated by each phase of the routing, if measured by the JVM.
+   */
+  public final Map<String, ResourceUsageOutput> resourceUsage;
+
   public DebugOutput(
     long precalculationTime,
     long directStreetRouterTime,
@@ -51,7 +58,8 @@ public class DebugOutput {
     long filteringTime,
     long renderingTime,
     long totalTime,
-    TransitTimingOutput transitRouterTimes
+    TransitTimingOutput transitRouterTimes,
+    Map<String, ResourceUsageOutput> resourceUsage
   ) {
     this.precalculationTime = precalculationTime;
     this.directStreetRouterTime = directStreetRouterTime;
@@ -60,5 +68,6 @@ public class DebugOutput {
     this.renderingTime = renderingTime;
     this.totalTime = totalTime;
     this.transitRouterTimes = transitRouterTimes;
+    this.resourceUsage = resourceUsage;
   }
 }
@@ -8,12 +8,7 @@ import jakarta.ws.rs.core.CacheControl;
 import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayOutputStream;
-import javax.imageio.ImageIO;
-import org.locationtech.jts.geom.Envelope;
 import org.opentripplanner.api.parameter.MIMEImageFormat;
-import org.opentripplanner.inspector.raster.MapTile;
 import org.opentripplanner.inspector.raster.TileRenderer;
 import org.opentripplanner.inspector.raster.TileRendererManager;
 import org.opentripplanner.standalone.api.OtpServerRequestContext;
@@ -65,22 +60,15 @@ public class GraphInspectorTileResource {
     @PathParam("layer") String layer,
     @PathParam("ext") String ext
   ) throws Exception {
-    // Re-use analyst
-    Envelope env = WebMercatorTile.tile2Envelope(x, y, z);
-    MapTile mapTile = new MapTile(env, 256, 256);
+    MIMEImageFormat format = new MIMEImageFormat("image/" + ext);
 
     OtpServerRequestContext serverContext = this.serverContext;
-    BufferedImage image = serverContext.tileRendererManager().renderTile(mapTile, layer);
+    byte[] tile = serverContext.tileRendererManager().getTile(layer, x, y, z, format.type);
 
-    MIMEImageFormat format = new MIMEImageFormat("image/" + ext);
-    ByteArrayOutputStream baos = new ByteArrayOutputStream(
-      image.getWidth() * image.getHeight() / 4
-    );
-    ImageIO.write(image, format.type, baos);
     CacheControl cc = new CacheControl();
     cc.setMaxAge(3600);
     cc.setNoCache(false);
-    return Response.ok(baos.toByteArray()).type(format.toString()).cacheControl(cc).build();
+    return Response.ok(tile).type(format.toString()).cacheControl(cc).build();
   }
 
   /**
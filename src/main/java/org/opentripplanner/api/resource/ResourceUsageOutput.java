@@ -0,0 +1,23 @@
+package org.opentripplanner.api.resource;
+
+/**
+ * Holds information to be included in the REST Response for profiling purposes: the resources used
+ * by one phase of the routing, added up for all threads executing the phase.
+ */
+public class ResourceUsageOutput {
+
+  /**
+   * CPU time used in nanoseconds, -1 if not measured.
+   */
+  public final long cpuTime;
+
+  /**
+   * Memory allocated in bytes, -1 if not measured.
+   */
+  public final long allocatedBytes;
+
+  public ResourceUsageOutput(long cpuTime, long allocatedBytes) {
+    this.cpuTime = cpuTime;
+    this.allocatedBytes = allocatedBytes;
+  }
+}
@@ -19,6 +19,23 @@ public class WebMercatorTile {
     return new Envelope(maxLon, minLon, maxLat, minLat);
   }
 
+  /**
+   * Implements https://wiki.openstreetmap.org/wiki/Slippy_map_tilenames#Lon./lat._to_tile_numbers
+   * and returns the x index of the tile containing the longitude.
+   */
+  public static int lon2tile(double lon, int zoom) {
+    int n = 1 << zoom;
+    return Math.max(0, Math.min(n - 1, (int) Math.floor((lon + 180) / 360 * n)));
+  }
+
+  /** Return the y index of the tile containing the latitude. */
+  public static int lat2tile(double lat, int zoom) {
+    int n = 1 << zoom;
+    double latRad = Math.toRadians(lat);
+    double y = (1 - Math.log(Math.tan(latRad) + 1 / Math.cos(latRad)) / Math.PI) / 2 * n;
+    return Math.max(0, Math.min(n - 1, (int) Math.floor(y)));
+  }
+
   private static double tile2lon(int x, int z) {
     return x / Math.pow(2.0, z) * 360.0 - 180;
   }
@@ -0,0 +1,146 @@
+package org.opentripplanner.api.support;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.persisted.ApolloPersistedQuerySupport;
+import graphql.execution.preparsed.persisted.PersistedQueryCache;
+import graphql.execution.preparsed.persisted.PersistedQueryCacheMiss;
+import graphql.execution.preparsed.persisted.PersistedQueryNotFound;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+
+/**
+ * A cache of parsed and validated GraphQL documents, used as the
+ * {@link graphql.execution.preparsed.PreparsedDocumentProvider} of a GraphQL API. Clients tend to
+ * send the same few queries over and over again, and for large queries parsing and validating the
+ * query takes a substantial part of the total execution time.
+ * <p>
+ * The documents are cached by the SHA-256 hash of the query text. This also adds support for
+ * <a href="https://www.apollographql.com/docs/apollo-server/performance/apq/">Automatic Persisted
+ * Queries</a>: a client may send only the hash in the {@code persistedQuery} extension. If the
+ * query is not in the cache, a {@code PersistedQueryNotFound} error is returned, and the client
+ * is expected to send the hash together with the query text.
+ * <p>
+ * Documents with parse or validation errors are not cached. A cache must only be used with one
+ * schema, since the documents are validated against it.
+ * <p>
+ * The cache size, hit rate and the parse and validation time saved are reported to Micrometer,
+ * tagged with the given API name.
+ */
+public class GraphQLDocumentCache extends ApolloPersistedQuerySupport {
+
+  public GraphQLDocumentCache(String apiName, int maximumSize) {
+    super(new BoundedPersistedQueryCache(apiName, maximumSize));
+  }
+
+  /**
+   * Find the query text in the body of a GraphQL request. If the request refers to a persisted
+   * query without the query text, a marker is returned instead, since graphql-java requires a
+   * query. Return {@code null} if there is neither a query nor a persisted query.
+   */
+  @Nullable
+  public static String findQuery(Map<String, Object> request) {
+    if (request.get("query") instanceof String query) {
+      return query;
+    }
+    var extensions = findExtensions(request);
+    if (extensions.get("persistedQuery") instanceof Map) {
+      return PersistedQuerySupport.PERSISTED_QUERY_MARKER;
+    }
+    return null;
+  }
+
+  /**
+   * Find the GraphQL extensions in the body of a GraphQL request, return an empty map if there
+   * are none.
+   */
+  @SuppressWarnings("unchecked")
+  public static Map<String, Object> findExtensions(Map<String, Object> request) {
+    if (request.get("extensions") instanceof Map extensions) {
+      return extensions;
+    }
+    return Map.of();
+  }
+
+  @Override
+  protected Optional<Object> getPersistedQueryId(ExecutionInput executionInput) {
+    var persistedQueryId = super.getPersistedQueryId(executionInput);
+    if (persistedQueryId.isPresent()) {
+      return persistedQueryId;
+    }
+    // Plain queries are cached using the same key as a persisted query
+    return Optional.of(
+      Hashing.sha256().hashString(executionInput.getQuery(), StandardCharsets.UTF_8).toString()
+    );
+  }
+
+  private static class BoundedPersistedQueryCache implements PersistedQueryCache {
+
+    private final Cache<Object, CachedDocument> cache;
+    private final Timer parseAndValidateTimer;
+    private final Counter timeSavedCounter;
+
+    BoundedPersistedQueryCache(String apiName, int maximumSize) {
+      List<Tag> tags = List.of(Tag.of("api", apiName));
+      this.cache = CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats().build();
+      this.parseAndValidateTimer =
+        Timer
+          .builder("graphql.document.parseAndValidate")
+          .description("Time to parse and validate GraphQL documents not found in the cache")
+          .tags(tags)
+          .register(Metrics.globalRegistry);
+      this.timeSavedCounter =
+        Counter
+          .builder("graphql.document.timeSaved")
+          .description("Parse and validation time saved by the GraphQL document cache")
+          .baseUnit("seconds")
+          .tags(tags)
+          .register(Metrics.globalRegistry);
+      GuavaCacheMetrics.monitor(Metrics.globalRegistry, cache, "graphqlDocuments", tags);
+    }
+
+    @Override
+    public PreparsedDocumentEntry getPersistedQueryDocument(
+      Object persistedQueryId,
+      ExecutionInput executionInput,
+      PersistedQueryCacheMiss onCacheMiss
+    ) {
+      CachedDocument cached = cache.getIfPresent(persistedQueryId);
+      if (cached != null) {
+        timeSavedCounter.increment(cached.parseAndValidateNanos() / 1e9);
+        return cached.entry();
+      }
+
+      String query = executionInput.getQuery();
+      if (query == null || query.isEmpty() || query.equals(PERSISTED_QUERY_MARKER)) {
+        // The client sent only the hash, it will retry with the query text
+        throw new PersistedQueryNotFound(persistedQueryId);
+      }
+
+      long start = System.nanoTime();
+      PreparsedDocumentEntry entry = onCacheMiss.apply(query);
+      long duration = System.nanoTime() - start;
+      parseAndValidateTimer.record(duration, TimeUnit.NANOSECONDS);
+
+      if (!entry.hasErrors()) {
+        cache.put(persistedQueryId, new CachedDocument(entry, duration));
+      }
+      return entry;
+    }
+  }
+
+  private record CachedDocument(PreparsedDocumentEntry entry, long parseAndValidateNanos) {}
+}
@@ -0,0 +1,91 @@
+package org.opentripplanner.astar.model;
+
+import java.util.Arrays;
+
+/**
+ * A binary min-heap of int elements with float keys, without boxing. It is used by the searches
+ * over compact graph representations where vertices or edges are identified by their index.
+ * <p>
+ * Elements can not be updated in place. To decrease the key of an element it is inserted again,
+ * and the caller skips the stale entries when they are extracted.
+ */
+public class IntBinHeap {
+
+  private int[] elements;
+  private float[] keys;
+  private int size = 0;
+
+  public IntBinHeap() {
+    this(1024);
+  }
+
+  public IntBinHeap(int capacity) {
+    this.elements = new int[Math.max(capacity, 16)];
+    this.keys = new float[elements.length];
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public float peekMinKey() {
+    if (size == 0) {
+      throw new IllegalStateException("An empty queue does not have a minimum key.");
+    }
+    return keys[0];
+  }
+
+  public void insert(int element, float key) {
+    if (size == elements.length) {
+      elements = Arrays.copyOf(elements, size * 2);
+      keys = Arrays.copyOf(keys, size * 2);
+    }
+    int i = size++;
+    while (i > 0) {
+      int parent = (i - 1) / 2;
+      if (keys[parent] <= key) {
+        break;
+      }
+      elements[i] = elements[parent];
+      keys[i] = keys[parent];
+      i = parent;
+    }
+    elements[i] = element;
+    keys[i] = key;
+  }
+
+  public int extractMin() {
+    if (size == 0) {
+      throw new IllegalStateException("The queue is empty.");
+    }
+    int min = elements[0];
+    --size;
+    int lastElement = elements[size];
+    float lastKey = keys[size];
+    int i = 0;
+    while (2 * i + 1 < size) {
+      int child = 2 * i + 1;
+      if (child + 1 < size && keys[child + 1] < keys[child]) {
+        ++child;
+      }
+      if (lastKey <= keys[child]) {
+        break;
+      }
+      elements[i] = elements[child];
+      keys[i] = keys[child];
+      i = child;
+    }
+    elements[i] = lastElement;
+    keys[i] = lastKey;
+    return min;
+  }
+
+  /** Empty the queue in one operation. */
+  public void reset() {
+    size = 0;
+  }
+}
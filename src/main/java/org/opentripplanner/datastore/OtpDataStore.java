@@ -47,6 +47,7 @@ import org.opentripplanner.routing.graph.SerializedGraphObject;
 public class OtpDataStore {
 
   public static final String BUILD_REPORT_DIR = "report";
+  public static final String GEOCODER_INDEX_DIR = "geocoder";
   private static final String STREET_GRAPH_FILENAME = "streetGraph.obj";
   private static final String GRAPH_FILENAME = "graph.obj";
 
@@ -60,6 +61,7 @@ public class OtpDataStore {
   private DataSource streetGraph;
   private DataSource graph;
   private CompositeDataSource buildReportDir;
+  private CompositeDataSource geocoderIndexDir;
   private boolean opened = false;
 
   /**
@@ -103,6 +105,7 @@ public class OtpDataStore {
     streetGraph = findSingleSource(config.streetGraph(), STREET_GRAPH_FILENAME, GRAPH);
     graph = findSingleSource(config.graph(), GRAPH_FILENAME, GRAPH);
     buildReportDir = findCompositeSource(config.reportDirectory(), BUILD_REPORT_DIR, REPORT);
+    geocoderIndexDir = findCompositeSource(null, GEOCODER_INDEX_DIR, GRAPH);
 
     addAll(Arrays.asList(streetGraph, graph, buildReportDir));
 
@@ -152,6 +155,15 @@ public class OtpDataStore {
     return buildReportDir;
   }
 
+  /**
+   * The directory where the geocoder index is saved at graph build time, next to the graph.
+   */
+  @Nonnull
+  public CompositeDataSource getGeocoderIndexDir() {
+    assertDataStoreIsOpened();
+    return geocoderIndexDir;
+  }
+
   /* private methods */
   private void add(DataSource source) {
     if (source != null) {
@@ -1,6 +1,7 @@
 package org.opentripplanner.datastore.file;
 
 import static org.opentripplanner.datastore.OtpDataStore.BUILD_REPORT_DIR;
+import static org.opentripplanner.datastore.OtpDataStore.GEOCODER_INDEX_DIR;
 import static org.opentripplanner.datastore.api.FileType.CONFIG;
 import static org.opentripplanner.datastore.api.FileType.DEM;
 import static org.opentripplanner.datastore.api.FileType.GRAPH;
@@ -194,6 +195,9 @@ public class FileDataSourceRepository implements LocalDataSourceRepository {
     if (name.equals(BUILD_REPORT_DIR)) {
       return REPORT;
     }
+    if (name.equals(GEOCODER_INDEX_DIR)) {
+      return GRAPH;
+    }
     if (OtpFileNames.isConfigFile(name)) {
       return CONFIG;
     }
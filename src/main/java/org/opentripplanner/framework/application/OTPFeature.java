@@ -51,12 +51,21 @@ public enum OTPFeature {
     "OTP will inspect all itineraries found and optimize where (which stops) the transfer will happen. Waiting time, priority and guaranteed transfers are taken into account."
   ),
 
-  ParallelRouting(false, false, "Enable performing parts of the trip planning in parallel."),
+  ParallelRouting(
+    false,
+    false,
+    "Enable performing parts of the trip planning in parallel. The transfers of the transit paths are optimized on the Raptor thread pool if `transit.searchThreadPoolSize` is set, otherwise on the common fork-join pool."
+  ),
   TransferConstraints(
     true,
     false,
     "Enforce transfers to happen according to the _transfers.txt_(GTFS) and Interchanges(NeTEx). Turing this _off_ will increase the routing performance a little."
   ),
+  VirtualThreads(
+    false,
+    false,
+    "Handle HTTP requests and GraphQL queries on virtual threads, and limit the number of requests routed at the same time. Requires Java 21 or later, the feature has no effect on Java 17."
+  ),
 
   /* Sandbox extension features - Must be turned OFF by default */
 
@@ -0,0 +1,47 @@
+package org.opentripplanner.framework.concurrent;
+
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Limit the number of tasks executed at the same time by the calling threads. Tasks exceeding the
+ * limit wait, in arrival order, until a running task completes.
+ */
+public final class ConcurrencyLimiter {
+
+  private static final ConcurrencyLimiter UNLIMITED = new ConcurrencyLimiter(null);
+
+  private final Semaphore permits;
+
+  private ConcurrencyLimiter(Semaphore permits) {
+    this.permits = permits;
+  }
+
+  public static ConcurrencyLimiter of(int maxConcurrentTasks) {
+    if (maxConcurrentTasks < 1) {
+      throw new IllegalArgumentException("At least one concurrent task must be allowed.");
+    }
+    return new ConcurrencyLimiter(new Semaphore(maxConcurrentTasks, true));
+  }
+
+  public static ConcurrencyLimiter unlimited() {
+    return UNLIMITED;
+  }
+
+  public <T> T execute(Supplier<T> task) {
+    if (permits == null) {
+      return task.get();
+    }
+    permits.acquireUninterruptibly();
+    try {
+      return task.get();
+    } finally {
+      permits.release();
+    }
+  }
+
+  /** The number of tasks waiting for another task to complete. */
+  public int waitingTasks() {
+    return permits == null ? 0 : permits.getQueueLength();
+  }
+}
@@ -0,0 +1,111 @@
+package org.opentripplanner.framework.concurrent;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+
+public final class ExecutorUtils {
+
+  private static final long KEEP_ALIVE_SECONDS = 60;
+
+  private ExecutorUtils() {}
+
+  /**
+   * Create a thread pool with at most {@code maxThreads} threads and a queue holding at most
+   * {@code queueCapacity} waiting tasks. Idle threads are terminated after a minute. When both
+   * the threads and the queue are exhausted, the task is run by the submitting thread. This puts
+   * back-pressure on the caller instead of creating new threads or failing the task.
+   * <p>
+   * The pool is registered in the global Micrometer registry, with the given name as the
+   * {@code pool} tag.
+   */
+  public static ExecutorService newBoundedThreadPool(
+    String name,
+    int maxThreads,
+    int queueCapacity
+  ) {
+    var executor = new ThreadPoolExecutor(
+      maxThreads,
+      maxThreads,
+      KEEP_ALIVE_SECONDS,
+      TimeUnit.SECONDS,
+      new LinkedBlockingQueue<>(queueCapacity),
+      new ThreadFactoryBuilder().setNameFormat(name + "-%d").build(),
+      new ThreadPoolExecutor.CallerRunsPolicy()
+    );
+    executor.allowCoreThreadTimeOut(true);
+
+    return monitor(name, executor);
+  }
+
+  /**
+   * Create an executor for tasks handling requests. If {@code virtualThreads} is set, and the JVM
+   * supports virtual threads, each task is run on a new virtual thread. Otherwise, a bounded thread
+   * pool is created, see {@link #newBoundedThreadPool}.
+   */
+  public static ExecutorService newRequestThreadPool(
+    String name,
+    int maxThreads,
+    int queueCapacity,
+    boolean virtualThreads
+  ) {
+    if (virtualThreads) {
+      var executor = newVirtualThreadPerTaskExecutor(name);
+      if (executor != null) {
+        return executor;
+      }
+    }
+    return newBoundedThreadPool(name, maxThreads, queueCapacity);
+  }
+
+  /** Return true if the JVM supports virtual threads, Java 21 or later. */
+  public static boolean isVirtualThreadsSupported() {
+    try {
+      Thread.class.getMethod("ofVirtual");
+      return true;
+    } catch (NoSuchMethodException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Create an executor starting a new virtual thread for each task, registered in the global
+   * Micrometer registry like {@link #newBoundedThreadPool}. Virtual threads are only available in
+   * Java 21 or later, {@code null} is returned by older JVMs.
+   */
+  @Nullable
+  public static ExecutorService newVirtualThreadPerTaskExecutor(String name) {
+    // Use reflection, since OTP is compiled for Java 17
+    try {
+      Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+      Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+      builder =
+        builderType.getMethod("name", String.class, long.class).invoke(builder, name + "-", 0L);
+      var threadFactory = (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+      var executor = (ExecutorService) Executors.class
+        .getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+        .invoke(null, threadFactory);
+      return monitor(name, executor);
+    } catch (ReflectiveOperationException e) {
+      return null;
+    }
+  }
+
+  private static ExecutorService monitor(String name, ExecutorService executor) {
+    return ExecutorServiceMetrics.monitor(
+      Metrics.globalRegistry,
+      executor,
+      name,
+      List.of(Tag.of("pool", name))
+    );
+  }
+}
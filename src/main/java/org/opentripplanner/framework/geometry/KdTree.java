@@ -0,0 +1,284 @@
+package org.opentripplanner.framework.geometry;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.function.Predicate;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+
+/**
+ * An immutable spatial index of points, in geographical coordinates (lon, lat in degrees).
+ * <p>
+ * The points are stored in primitive arrays, ordered as an implicit KD-tree: the median point of a
+ * range splits it in two, alternately along the longitude and the latitude. Small ranges are
+ * scanned linearly. Unlike {@link HashGridSpatialIndex} the queries are exact, no false positives
+ * are returned, and the cost of a query does not depend on a fixed bin size.
+ * <p>
+ * All queries are multi-thread-safe.
+ *
+ * @param <T> Type of objects to be spatial indexed.
+ */
+public final class KdTree<T> {
+
+  private static final int LEAF_SIZE = 8;
+
+  private final double[] xs;
+  private final double[] ys;
+  private final Object[] items;
+
+  public KdTree(Collection<? extends T> items, Function<? super T, Coordinate> coordinateOf) {
+    int size = items.size();
+    this.xs = new double[size];
+    this.ys = new double[size];
+    this.items = new Object[size];
+
+    int i = 0;
+    for (T item : items) {
+      Coordinate c = coordinateOf.apply(item);
+      xs[i] = c.x;
+      ys[i] = c.y;
+      this.items[i] = item;
+      ++i;
+    }
+    build(0, size, true);
+  }
+
+  public int size() {
+    return items.length;
+  }
+
+  /**
+   * Return all objects located inside the envelope, the border included.
+   */
+  public List<T> query(Envelope envelope) {
+    var result = new ArrayList<T>();
+    query(0, items.length, true, envelope, i -> result.add(item(i)));
+    return result;
+  }
+
+  /**
+   * Return all objects within the given distance of the center, using the exact spherical
+   * distance. The result is not sorted.
+   */
+  public List<T> findWithinDistance(Coordinate center, double distanceMeters) {
+    var envelope = new Envelope(center);
+    envelope.expandBy(
+      SphericalDistanceLibrary.metersToLonDegrees(distanceMeters, center.y),
+      SphericalDistanceLibrary.metersToDegrees(distanceMeters)
+    );
+    var result = new ArrayList<T>();
+    query(
+      0,
+      items.length,
+      true,
+      envelope,
+      i -> {
+        if (SphericalDistanceLibrary.distance(center.y, center.x, ys[i], xs[i]) <= distanceMeters) {
+          result.add(item(i));
+        }
+      }
+    );
+    return result;
+  }
+
+  /**
+   * Return the {@code k} objects nearest to the center, no further away than the given distance,
+   * sorted by increasing distance. The distance is approximated in the same way as
+   * {@link SphericalDistanceLibrary#fastDistance(Coordinate, Coordinate, double)}, using the
+   * latitude of the center.
+   */
+  public List<T> findNearest(Coordinate center, int k, double maxDistanceMeters) {
+    return findNearest(center, k, maxDistanceMeters, it -> true);
+  }
+
+  /**
+   * Same as {@link #findNearest(Coordinate, int, double)}, but only the objects accepted by the
+   * filter are returned. The filter is only called for the objects close enough to be among the
+   * {@code k} nearest found so far.
+   */
+  public List<T> findNearest(
+    Coordinate center,
+    int k,
+    double maxDistanceMeters,
+    Predicate<? super T> filter
+  ) {
+    if (k <= 0 || items.length == 0) {
+      return List.of();
+    }
+    double maxDistance = SphericalDistanceLibrary.metersToDegrees(maxDistanceMeters);
+    var nearest = new Nearest(center, k, maxDistance * maxDistance, filter);
+    findNearest(0, items.length, true, nearest);
+
+    var result = new ArrayList<T>(nearest.size);
+    for (int i = 0; i < nearest.size; ++i) {
+      result.add(item(nearest.indexes[i]));
+    }
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "{size=" + items.length + "}";
+  }
+
+  /* private methods */
+
+  @SuppressWarnings("unchecked")
+  private T item(int index) {
+    return (T) items[index];
+  }
+
+  private void build(int lo, int hi, boolean xAxis) {
+    if (hi - lo <= LEAF_SIZE) {
+      return;
+    }
+    int m = (lo + hi) >>> 1;
+    select(lo, hi - 1, m, xAxis ? xs : ys);
+    build(lo, m, !xAxis);
+    build(m + 1, hi, !xAxis);
+  }
+
+  /**
+   * Reorder the range [lo, hi] so the k-th position holds the median along the axis, with all
+   * points before it less than or equal, and all points after it greater than or equal.
+   */
+  private void select(int lo, int hi, int k, double[] axis) {
+    while (hi > lo) {
+      double pivot = axis[(lo + hi) >>> 1];
+      int i = lo;
+      int j = hi;
+      while (i <= j) {
+        while (axis[i] < pivot) {
+          ++i;
+        }
+        while (axis[j] > pivot) {
+          --j;
+        }
+        if (i <= j) {
+          swap(i++, j--);
+        }
+      }
+      if (k <= j) {
+        hi = j;
+      } else if (k >= i) {
+        lo = i;
+      } else {
+        return;
+      }
+    }
+  }
+
+  private void swap(int i, int j) {
+    double x = xs[i];
+    xs[i] = xs[j];
+    xs[j] = x;
+    double y = ys[i];
+    ys[i] = ys[j];
+    ys[j] = y;
+    Object item = items[i];
+    items[i] = items[j];
+    items[j] = item;
+  }
+
+  private void query(int lo, int hi, boolean xAxis, Envelope envelope, IntConsumer visitor) {
+    if (hi - lo <= LEAF_SIZE) {
+      for (int i = lo; i < hi; ++i) {
+        if (envelope.contains(xs[i], ys[i])) {
+          visitor.accept(i);
+        }
+      }
+      return;
+    }
+    int m = (lo + hi) >>> 1;
+    double split = xAxis ? xs[m] : ys[m];
+    if (envelope.contains(xs[m], ys[m])) {
+      visitor.accept(m);
+    }
+    if ((xAxis ? envelope.getMinX() : envelope.getMinY()) <= split) {
+      query(lo, m, !xAxis, envelope, visitor);
+    }
+    if ((xAxis ? envelope.getMaxX() : envelope.getMaxY()) >= split) {
+      query(m + 1, hi, !xAxis, envelope, visitor);
+    }
+  }
+
+  private void findNearest(int lo, int hi, boolean xAxis, Nearest nearest) {
+    if (hi - lo <= LEAF_SIZE) {
+      for (int i = lo; i < hi; ++i) {
+        nearest.offer(i, xs[i], ys[i]);
+      }
+      return;
+    }
+    int m = (lo + hi) >>> 1;
+    nearest.offer(m, xs[m], ys[m]);
+
+    // Search the side of the center first, and the other side only if it may be close enough
+    double delta = xAxis ? (nearest.x - xs[m]) * nearest.cosLat : nearest.y - ys[m];
+    if (delta < 0) {
+      findNearest(lo, m, !xAxis, nearest);
+      if (delta * delta <= nearest.maxDistanceSquared()) {
+        findNearest(m + 1, hi, !xAxis, nearest);
+      }
+    } else {
+      findNearest(m + 1, hi, !xAxis, nearest);
+      if (delta * delta <= nearest.maxDistanceSquared()) {
+        findNearest(lo, m, !xAxis, nearest);
+      }
+    }
+  }
+
+  /**
+   * The k nearest points found so far, sorted by distance. The distances are squared, in degrees
+   * latitude, with the longitude scaled by the cosine of the latitude of the center.
+   */
+  private final class Nearest {
+
+    private final double x;
+    private final double y;
+    private final double cosLat;
+    private final double maxDistanceSquared;
+    private final Predicate<? super T> filter;
+    private final int[] indexes;
+    private final double[] distances;
+    private int size = 0;
+
+    private Nearest(
+      Coordinate center,
+      int k,
+      double maxDistanceSquared,
+      Predicate<? super T> filter
+    ) {
+      this.x = center.x;
+      this.y = center.y;
+      this.cosLat = Math.cos(Math.toRadians(center.y));
+      this.maxDistanceSquared = maxDistanceSquared;
+      this.filter = filter;
+      this.indexes = new int[k];
+      this.distances = new double[k];
+    }
+
+    private double maxDistanceSquared() {
+      return size < indexes.length ? maxDistanceSquared : distances[size - 1];
+    }
+
+    private void offer(int index, double px, double py) {
+      double dx = (px - x) * cosLat;
+      double dy = py - y;
+      double distance = dx * dx + dy * dy;
+      if (distance > maxDistanceSquared() || !filter.test(item(index))) {
+        return;
+      }
+      int i = size < indexes.length ? size++ : size - 1;
+      while (i > 0 && distances[i - 1] > distance) {
+        indexes[i] = indexes[i - 1];
+        distances[i] = distances[i - 1];
+        --i;
+      }
+      indexes[i] = index;
+      distances[i] = distance;
+    }
+  }
+}
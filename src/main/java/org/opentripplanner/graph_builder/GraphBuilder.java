@@ -9,6 +9,7 @@ import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import javax.annotation.Nonnull;
+import org.opentripplanner.ext.geocoder.GeocoderIndexModule;
 import org.opentripplanner.framework.application.OTPFeature;
 import org.opentripplanner.framework.application.OtpAppException;
 import org.opentripplanner.framework.lang.OtpNumberFormat;
@@ -17,6 +18,7 @@ import org.opentripplanner.graph_builder.issue.api.DataImportIssueStore;
 import org.opentripplanner.graph_builder.issue.report.SummarizeDataImportIssues;
 import org.opentripplanner.graph_builder.model.GraphBuilderModule;
 import org.opentripplanner.graph_builder.module.configure.DaggerGraphBuilderFactory;
+import org.opentripplanner.routing.api.request.RouteRequest;
 import org.opentripplanner.routing.graph.Graph;
 import org.opentripplanner.service.worldenvelope.WorldEnvelopeRepository;
 import org.opentripplanner.standalone.config.BuildConfig;
@@ -56,6 +58,7 @@ public class GraphBuilder implements Runnable {
    */
   public static GraphBuilder create(
     BuildConfig config,
+    RouteRequest routingDefaults,
     GraphBuilderDataSources dataSources,
     Graph graph,
     TransitModel transitModel,
@@ -74,6 +77,7 @@ public class GraphBuilder implements Runnable {
     var factory = DaggerGraphBuilderFactory
       .builder()
       .config(config)
+      .routingDefaults(routingDefaults)
       .graph(graph)
       .transitModel(transitModel)
       .worldEnvelopeRepository(worldEnvelopeRepository)
@@ -156,8 +160,24 @@ public class GraphBuilder implements Runnable {
       graphBuilder.addModuleOptional(factory.dataOverlayFactory());
     }
 
+    // The landmarks and the contraction hierarchy must be computed after all changes to the
+    // street graph
+    if (config.streetLandmarks > 0 && (loadStreetGraph || hasOsm)) {
+      graphBuilder.addModule(factory.streetLandmarksModule());
+    }
+
+    if (config.carContractionHierarchy && (loadStreetGraph || hasOsm)) {
+      graphBuilder.addModule(factory.contractionHierarchyModule());
+    }
+
     graphBuilder.addModule(factory.calculateWorldEnvelopeModule());
 
+    if (OTPFeature.SandboxAPIGeocoder.isOn() && config.geocoderIndex) {
+      graphBuilder.addModule(factory.geocoderIndexModule());
+    } else {
+      GeocoderIndexModule.deleteIndex(dataSources.getGeocoderIndexDir());
+    }
+
     return graphBuilder;
   }
 
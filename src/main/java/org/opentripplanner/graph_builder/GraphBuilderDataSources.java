@@ -202,6 +202,10 @@ public class GraphBuilderDataSources {
     return store.getBuildReportDir();
   }
 
+  public CompositeDataSource getGeocoderIndexDir() {
+    return store.getGeocoderIndexDir();
+  }
+
   public File getCacheDirectory() {
     return cacheDirectory;
   }
@@ -0,0 +1,35 @@
+package org.opentripplanner.graph_builder.module;
+
+import org.opentripplanner.graph_builder.model.GraphBuilderModule;
+import org.opentripplanner.routing.api.request.preference.RoutingPreferences;
+import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.street.search.contraction.ContractionHierarchyBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Build the contraction hierarchy used for direct car searches with the routing defaults of the
+ * router-config. Like the landmarks, this must run after all modules which change the street graph.
+ */
+public class ContractionHierarchyModule implements GraphBuilderModule {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ContractionHierarchyModule.class);
+
+  private final Graph graph;
+  private final RoutingPreferences preferences;
+
+  public ContractionHierarchyModule(Graph graph, RoutingPreferences preferences) {
+    this.graph = graph;
+    this.preferences = preferences;
+  }
+
+  @Override
+  public void buildGraph() {
+    LOG.info("Building car contraction hierarchy...");
+    var hierarchy = new ContractionHierarchyBuilder(graph.getStreetEdges(), preferences).build();
+    graph.setContractionHierarchy(hierarchy);
+  }
+
+  @Override
+  public void checkInputs() {}
+}
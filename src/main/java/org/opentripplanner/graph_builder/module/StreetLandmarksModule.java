@@ -0,0 +1,35 @@
+package org.opentripplanner.graph_builder.module;
+
+import org.opentripplanner.graph_builder.model.GraphBuilderModule;
+import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.street.search.landmark.StreetLandmarksBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compute the landmark distance tables used to speed up direct street searches. This must run after
+ * all modules which add or remove street vertices and edges, and after the elevation data is
+ * applied.
+ */
+public class StreetLandmarksModule implements GraphBuilderModule {
+
+  private static final Logger LOG = LoggerFactory.getLogger(StreetLandmarksModule.class);
+
+  private final Graph graph;
+  private final int numberOfLandmarks;
+
+  public StreetLandmarksModule(Graph graph, int numberOfLandmarks) {
+    this.graph = graph;
+    this.numberOfLandmarks = numberOfLandmarks;
+  }
+
+  @Override
+  public void buildGraph() {
+    LOG.info("Computing {} street landmarks...", numberOfLandmarks);
+    var landmarks = new StreetLandmarksBuilder(graph.getVertices()).build(numberOfLandmarks);
+    graph.setStreetLandmarks(landmarks);
+  }
+
+  @Override
+  public void checkInputs() {}
+}
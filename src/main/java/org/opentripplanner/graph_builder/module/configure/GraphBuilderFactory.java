@@ -8,13 +8,16 @@ import java.util.List;
 import javax.annotation.Nullable;
 import org.opentripplanner.ext.dataoverlay.EdgeUpdaterModule;
 import org.opentripplanner.ext.flex.FlexLocationsToStreetEdgesMapper;
+import org.opentripplanner.ext.geocoder.GeocoderIndexModule;
 import org.opentripplanner.ext.transferanalyzer.DirectTransferAnalyzer;
 import org.opentripplanner.graph_builder.GraphBuilder;
 import org.opentripplanner.graph_builder.GraphBuilderDataSources;
 import org.opentripplanner.graph_builder.issue.report.DataImportIssueReporter;
+import org.opentripplanner.graph_builder.module.ContractionHierarchyModule;
 import org.opentripplanner.graph_builder.module.DirectTransferGenerator;
 import org.opentripplanner.graph_builder.module.GraphCoherencyCheckerModule;
 import org.opentripplanner.graph_builder.module.OsmBoardingLocationsModule;
+import org.opentripplanner.graph_builder.module.StreetLandmarksModule;
 import org.opentripplanner.graph_builder.module.StreetLinkerModule;
 import org.opentripplanner.graph_builder.module.TimeZoneAdjusterModule;
 import org.opentripplanner.graph_builder.module.TripPatternNamer;
@@ -25,6 +28,7 @@ import org.opentripplanner.graph_builder.module.ned.ElevationModule;
 import org.opentripplanner.graph_builder.module.osm.OpenStreetMapModule;
 import org.opentripplanner.gtfs.graphbuilder.GtfsModule;
 import org.opentripplanner.netex.NetexModule;
+import org.opentripplanner.routing.api.request.RouteRequest;
 import org.opentripplanner.routing.graph.Graph;
 import org.opentripplanner.service.worldenvelope.WorldEnvelopeRepository;
 import org.opentripplanner.standalone.config.BuildConfig;
@@ -51,6 +55,9 @@ public interface GraphBuilderFactory {
   GraphCoherencyCheckerModule graphCoherencyCheckerModule();
   EdgeUpdaterModule dataOverlayFactory();
   DataImportIssueReporter dataImportIssueReporter();
+  GeocoderIndexModule geocoderIndexModule();
+  StreetLandmarksModule streetLandmarksModule();
+  ContractionHierarchyModule contractionHierarchyModule();
   CalculateWorldEnvelopeModule calculateWorldEnvelopeModule();
 
   @Component.Builder
@@ -58,6 +65,9 @@ public interface GraphBuilderFactory {
     @BindsInstance
     Builder config(BuildConfig config);
 
+    @BindsInstance
+    Builder routingDefaults(RouteRequest routingDefaults);
+
     @BindsInstance
     Builder graph(Graph graph);
 
@@ -12,13 +12,16 @@ import java.util.List;
 import org.opentripplanner.datastore.api.DataSource;
 import org.opentripplanner.ext.dataoverlay.EdgeUpdaterModule;
 import org.opentripplanner.ext.dataoverlay.configure.DataOverlayFactory;
+import org.opentripplanner.ext.geocoder.GeocoderIndexModule;
 import org.opentripplanner.ext.transferanalyzer.DirectTransferAnalyzer;
 import org.opentripplanner.graph_builder.ConfiguredDataSource;
 import org.opentripplanner.graph_builder.GraphBuilderDataSources;
 import org.opentripplanner.graph_builder.issue.api.DataImportIssueStore;
 import org.opentripplanner.graph_builder.issue.report.DataImportIssueReporter;
 import org.opentripplanner.graph_builder.issue.service.DefaultDataImportIssueStore;
+import org.opentripplanner.graph_builder.module.ContractionHierarchyModule;
 import org.opentripplanner.graph_builder.module.DirectTransferGenerator;
+import org.opentripplanner.graph_builder.module.StreetLandmarksModule;
 import org.opentripplanner.graph_builder.module.StreetLinkerModule;
 import org.opentripplanner.graph_builder.module.islandpruning.PruneIslands;
 import org.opentripplanner.graph_builder.module.ned.DegreeGridNEDTileSource;
@@ -35,6 +38,7 @@ import org.opentripplanner.gtfs.graphbuilder.GtfsModule;
 import org.opentripplanner.netex.NetexModule;
 import org.opentripplanner.netex.configure.NetexConfigure;
 import org.opentripplanner.openstreetmap.OpenStreetMapProvider;
+import org.opentripplanner.routing.api.request.RouteRequest;
 import org.opentripplanner.routing.api.request.preference.WalkPreferences;
 import org.opentripplanner.routing.graph.Graph;
 import org.opentripplanner.standalone.config.BuildConfig;
@@ -234,6 +238,31 @@ public class GraphBuilderModules {
     return DataOverlayFactory.create(graph, config.dataOverlay);
   }
 
+  @Provides
+  @Singleton
+  static GeocoderIndexModule provideGeocoderIndexModule(
+    GraphBuilderDataSources dataSources,
+    Graph graph,
+    TransitModel transitModel
+  ) {
+    return new GeocoderIndexModule(graph, transitModel, dataSources.getGeocoderIndexDir());
+  }
+
+  @Provides
+  @Singleton
+  static StreetLandmarksModule provideStreetLandmarksModule(BuildConfig config, Graph graph) {
+    return new StreetLandmarksModule(graph, config.streetLandmarks);
+  }
+
+  @Provides
+  @Singleton
+  static ContractionHierarchyModule provideContractionHierarchyModule(
+    Graph graph,
+    RouteRequest routingDefaults
+  ) {
+    return new ContractionHierarchyModule(graph, routingDefaults.preferences());
+  }
+
   @Provides
   @Singleton
   static DataImportIssueStore provideDataImportIssuesStore() {
@@ -290,7 +319,7 @@ public class GraphBuilderModules {
     OpenStreetMapModule osmModule,
     File cacheDirectory
   ) {
-    var cachedElevationsFile = new File(cacheDirectory, "cached_elevations.obj");
+    var cachedElevationsFile = new File(cacheDirectory, "cached_elevations.bin");
 
     return new ElevationModule(
       it,
@@ -0,0 +1,53 @@
+package org.opentripplanner.graph_builder.module.islandpruning;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * A union-find over the elements {@code 0..size-1}, which can be updated from several threads
+ * without locking. A root is always linked below the root with the lower index, using
+ * compare-and-set, so the parent of an element always has a lower index than the element itself.
+ * This keeps the trees acyclic when unions race, and makes the root of each set its lowest element.
+ */
+class ConcurrentUnionFind {
+
+  private final AtomicIntegerArray parents;
+
+  ConcurrentUnionFind(int size) {
+    this.parents = new AtomicIntegerArray(size);
+    for (int i = 0; i < size; ++i) {
+      parents.set(i, i);
+    }
+  }
+
+  /** The root of the set containing the element, halving the path to it on the way. */
+  int find(int element) {
+    int i = element;
+    while (true) {
+      int parent = parents.get(i);
+      if (parent == i) {
+        return i;
+      }
+      int grandParent = parents.get(parent);
+      if (parent != grandParent) {
+        parents.compareAndSet(i, parent, grandParent);
+      }
+      i = parent;
+    }
+  }
+
+  void union(int a, int b) {
+    while (true) {
+      int rootA = find(a);
+      int rootB = find(b);
+      if (rootA == rootB) {
+        return;
+      }
+      int low = Math.min(rootA, rootB);
+      int high = Math.max(rootA, rootB);
+      // Fails if another thread linked the root in the meantime, then retry from the new roots
+      if (parents.compareAndSet(high, high, low)) {
+        return;
+      }
+    }
+  }
+}
@@ -9,6 +9,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.opentripplanner.graph_builder.issue.api.DataImportIssueStore;
 import org.opentripplanner.graph_builder.issues.GraphConnectivity;
 import org.opentripplanner.graph_builder.issues.IsolatedStop;
@@ -171,7 +174,7 @@ public class PruneIslands implements GraphBuilderModule {
     collectNeighbourVertices(neighborsForVertex, traverseMode, false);
 
     /* associate each connected vertex with a subgraph */
-    count = collectSubGraphs(neighborsForVertex, subgraphs, null, null);
+    count = collectConnectedSubGraphs(neighborsForVertex, subgraphs, null);
     LOG.info("Islands when {} noThruTraffic is considered: {}", traverseMode, count);
 
     /* Expand vertex neighbourhood with relevant noThruTrafficEdges
@@ -180,7 +183,7 @@ public class PruneIslands implements GraphBuilderModule {
     collectNeighbourVertices(neighborsForVertex, traverseMode, true);
 
     /* Next: generate subgraphs without considering access limitations */
-    count = collectSubGraphs(neighborsForVertex, extgraphs, null, islands);
+    count = collectConnectedSubGraphs(neighborsForVertex, extgraphs, islands);
     LOG.info("Islands when {} noThruTraffic is ignored: {}", traverseMode, count);
 
     /* collect unreachable edges to a map */
@@ -230,6 +233,14 @@ public class PruneIslands implements GraphBuilderModule {
       }
     }
 
+    // The distance to the rest of the graph does not change while islands are pruned, since
+    // vertices are never removed from the spatial index. So it is computed up front, in parallel.
+    final Subgraph mainGraph = largest;
+    Map<Subgraph, Double> sizeCoeffs = islands
+      .parallelStream()
+      .filter(island -> island != mainGraph && isPruningCandidate(island))
+      .collect(Collectors.toConcurrentMap(Function.identity(), this::sizeCoeff));
+
     int count = 0;
     int islandsWithStops = 0;
     int islandsWithStopsChanged = 0;
@@ -237,45 +248,21 @@ public class PruneIslands implements GraphBuilderModule {
       if (island == largest) {
         continue;
       }
-      if (island.stopSize() > 0) {
-        //for islands with stops
+      boolean hasStops = island.stopSize() > 0;
+      if (hasStops) {
         islandsWithStops++;
-        boolean onlyFerry = true;
-        for (Iterator<Vertex> vIter = island.stopIterator(); vIter.hasNext();) {
-          TransitStopVertex v = (TransitStopVertex) vIter.next();
-          Set<TransitMode> modes = v.getModes();
-          // test if stop has other transit modes than FERRY
-          if (!modes.isEmpty() && !modes.contains(TransitMode.FERRY)) {
-            onlyFerry = false;
-            break;
-          }
-        }
-        // do not remove real islands which have only ferry stops
-        if (!onlyFerry && island.streetSize() < pruningThresholdWithStops * adaptivePruningFactor) {
-          double sizeCoeff = (adaptivePruningFactor > 1.0)
-            ? island.distanceFromOtherGraph(streetIndex, adaptivePruningDistance) /
-            adaptivePruningDistance
-            : 1.0;
-
-          if (island.streetSize() * sizeCoeff < pruningThresholdWithStops) {
-            if (restrictOrRemove(island, isolated, stats, markIsolated, traverseMode)) {
-              islandsWithStopsChanged++;
-              count++;
-            }
-          }
-        }
-      } else {
-        //for islands without stops
-        if (island.streetSize() < pruningThresholdWithoutStops * adaptivePruningFactor) {
-          double sizeCoeff = (adaptivePruningFactor > 1.0)
-            ? island.distanceFromOtherGraph(streetIndex, adaptivePruningDistance) /
-            adaptivePruningDistance
-            : 1.0;
-          if (island.streetSize() * sizeCoeff < pruningThresholdWithoutStops) {
-            if (restrictOrRemove(island, isolated, stats, markIsolated, traverseMode)) {
-              count++;
-            }
+      }
+      Double sizeCoeff = sizeCoeffs.get(island);
+      if (sizeCoeff == null) {
+        continue;
+      }
+      int threshold = hasStops ? pruningThresholdWithStops : pruningThresholdWithoutStops;
+      if (island.streetSize() * sizeCoeff < threshold) {
+        if (restrictOrRemove(island, isolated, stats, markIsolated, traverseMode)) {
+          if (hasStops) {
+            islandsWithStopsChanged++;
           }
+          count++;
         }
       }
     }
@@ -302,6 +289,34 @@ public class PruneIslands implements GraphBuilderModule {
     return count;
   }
 
+  /**
+   * Islands small enough to be pruned, if they are far enough from the rest of the graph. Real
+   * islands with only ferry stops are never pruned.
+   */
+  private boolean isPruningCandidate(Subgraph island) {
+    if (island.stopSize() == 0) {
+      return island.streetSize() < pruningThresholdWithoutStops * adaptivePruningFactor;
+    }
+    boolean onlyFerry = true;
+    for (Iterator<Vertex> vIter = island.stopIterator(); vIter.hasNext();) {
+      TransitStopVertex v = (TransitStopVertex) vIter.next();
+      Set<TransitMode> modes = v.getModes();
+      // test if stop has other transit modes than FERRY
+      if (!modes.isEmpty() && !modes.contains(TransitMode.FERRY)) {
+        onlyFerry = false;
+        break;
+      }
+    }
+    return !onlyFerry && island.streetSize() < pruningThresholdWithStops * adaptivePruningFactor;
+  }
+
+  private double sizeCoeff(Subgraph island) {
+    return (adaptivePruningFactor > 1.0)
+      ? island.distanceFromOtherGraph(streetIndex, adaptivePruningDistance) /
+      adaptivePruningDistance
+      : 1.0;
+  }
+
   private void collectNeighbourVertices(
     Map<Vertex, ArrayList<Vertex>> neighborsForVertex,
     TraverseMode traverseMode,
@@ -317,34 +332,16 @@ public class PruneIslands implements GraphBuilderModule {
 
     StreetSearchRequest request = StreetSearchRequest.of().withMode(streetMode).build();
 
-    for (Vertex gv : graph.getVertices()) {
-      if (!(gv instanceof StreetVertex)) {
-        continue;
-      }
-      State s0 = new State(gv, request);
-      for (Edge e : gv.getOutgoing()) {
-        if (
-          !(
-            e instanceof StreetEdge ||
-            e instanceof ElevatorEdge ||
-            e instanceof FreeEdge ||
-            e instanceof StreetTransitEntityLink
-          )
-        ) {
-          continue;
-        }
-        if (
-          e instanceof StreetEdge &&
-          shouldMatchNoThruType != ((StreetEdge) e).isNoThruTraffic(traverseMode)
-        ) {
-          continue;
-        }
-        State s1 = e.traverse(s0);
-        if (s1 == null) {
-          continue;
-        }
-        Vertex out = s1.getVertex();
+    // Traversing the edges does not modify the graph, so the vertices are processed in parallel
+    List<StreetVertex> streetVertices = graph.getVerticesOfType(StreetVertex.class);
+    List<List<Vertex>> neighbours = streetVertices
+      .parallelStream()
+      .map(gv -> traversableNeighbours(gv, request, traverseMode, shouldMatchNoThruType))
+      .toList();
 
+    for (int i = 0; i < streetVertices.size(); ++i) {
+      Vertex gv = streetVertices.get(i);
+      for (Vertex out : neighbours.get(i)) {
         var vertexList = neighborsForVertex.computeIfAbsent(gv, k -> new ArrayList<>());
         vertexList.add(out);
 
@@ -355,6 +352,97 @@ public class PruneIslands implements GraphBuilderModule {
     }
   }
 
+  private List<Vertex> traversableNeighbours(
+    Vertex gv,
+    StreetSearchRequest request,
+    TraverseMode traverseMode,
+    boolean shouldMatchNoThruType
+  ) {
+    List<Vertex> neighbours = new ArrayList<>();
+    State s0 = new State(gv, request);
+    for (Edge e : gv.getOutgoing()) {
+      if (
+        !(
+          e instanceof StreetEdge ||
+          e instanceof ElevatorEdge ||
+          e instanceof FreeEdge ||
+          e instanceof StreetTransitEntityLink
+        )
+      ) {
+        continue;
+      }
+      if (
+        e instanceof StreetEdge &&
+        shouldMatchNoThruType != ((StreetEdge) e).isNoThruTraffic(traverseMode)
+      ) {
+        continue;
+      }
+      State s1 = e.traverse(s0);
+      if (s1 == null) {
+        continue;
+      }
+      neighbours.add(s1.getVertex());
+    }
+    return neighbours;
+  }
+
+  /**
+   * Same as {@link #collectSubGraphs} when no vertices are mapped yet and there is no isolation
+   * map from a previous round. The subgraphs are then the connected components of the neighbour
+   * graph, which are found in parallel with a union-find. The subgraphs are added to the islands in
+   * the same order as the search would find them.
+   */
+  private int collectConnectedSubGraphs(
+    Map<Vertex, ArrayList<Vertex>> neighborsForVertex,
+    Map<Vertex, Subgraph> newgraphs,
+    ArrayList<Subgraph> islands
+  ) {
+    Vertex[] vertices = neighborsForVertex.keySet().toArray(Vertex[]::new);
+    Map<Vertex, Integer> indexes = new HashMap<>();
+    for (int i = 0; i < vertices.length; ++i) {
+      indexes.put(vertices[i], i);
+    }
+    var components = new ConcurrentUnionFind(vertices.length);
+    IntStream
+      .range(0, vertices.length)
+      .parallel()
+      .forEach(i -> {
+        for (Vertex neighbor : neighborsForVertex.get(vertices[i])) {
+          components.union(i, indexes.get(neighbor));
+        }
+      });
+
+    // Create the subgraphs in the order of their first street vertex in the graph
+    Map<Integer, Subgraph> subgraphForRoot = new HashMap<>();
+    for (Vertex gv : graph.getVertices()) {
+      Integer index = indexes.get(gv);
+      if (!(gv instanceof StreetVertex) || index == null) {
+        continue;
+      }
+      subgraphForRoot.computeIfAbsent(
+        components.find(index),
+        root -> {
+          var subgraph = new Subgraph();
+          if (islands != null) {
+            islands.add(subgraph);
+          }
+          return subgraph;
+        }
+      );
+    }
+    for (int i = 0; i < vertices.length; ++i) {
+      Subgraph subgraph = subgraphForRoot.get(components.find(i));
+      if (subgraph == null) {
+        continue;
+      }
+      subgraph.addVertex(vertices[i]);
+      if (!(vertices[i] instanceof TransitStopVertex)) {
+        newgraphs.put(vertices[i], subgraph);
+      }
+    }
+    return subgraphForRoot.size();
+  }
+
   private int collectSubGraphs(
     Map<Vertex, ArrayList<Vertex>> neighborsForVertex,
     Map<Vertex, Subgraph> newgraphs, // put new subgraphs here
@@ -2,16 +2,12 @@ package org.opentripplanner.graph_builder.module.ned;
 
 import static org.opentripplanner.street.model.elevation.ElevationUtils.computeEllipsoidToGeoidDifference;
 
-import java.io.BufferedOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.nio.file.Files;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -25,7 +21,6 @@ import org.locationtech.jts.geom.impl.PackedCoordinateSequence;
 import org.opengis.coverage.Coverage;
 import org.opengis.coverage.PointOutsideCoverageException;
 import org.opengis.referencing.operation.TransformException;
-import org.opentripplanner.framework.geometry.EncodedPolyline;
 import org.opentripplanner.framework.geometry.GeometryUtils;
 import org.opentripplanner.framework.geometry.SphericalDistanceLibrary;
 import org.opentripplanner.framework.logging.ProgressTracker;
@@ -89,12 +84,12 @@ public class ElevationModule implements GraphBuilderModule {
   private final ThreadLocal<Coverage> coverageInterpolatorThreadLocal = new ThreadLocal<>();
   private final DataImportIssueStore issueStore;
   /**
-   * A map of PackedCoordinateSequence values identified by Strings of encoded polylines.
+   * The elevation profiles of the previous graph build, identified by the edge geometry.
    * <p>
-   * Note: Since this map has a key of only the encoded polylines, it is assumed that all other
-   * inputs are the same as those that occurred in the graph build that produced this data.
+   * Note: Since the profiles are found by the geometry only, it is assumed that the elevation data
+   * is the same as in the graph build that produced this data.
    */
-  private HashMap<String, PackedCoordinateSequence> cachedElevations;
+  private ElevationProfileCache cachedElevations;
   // the first coordinate in the first StreetWithElevationEdge which is used for initializing coverage instances
   private Coordinate examplarCoordinate;
   /** Used only when the ElevationModule is requested to be ran with a single thread */
@@ -156,12 +151,15 @@ public class ElevationModule implements GraphBuilderModule {
 
     // try to load in the cached elevation data
     if (readCachedElevations) {
-      // try to load in the cached elevation data
       try {
-        ObjectInputStream in = new ObjectInputStream(new FileInputStream(cachedElevationsFile));
-        cachedElevations = (HashMap<String, PackedCoordinateSequence>) in.readObject();
-        LOG.info("Cached elevation data loaded into memory!");
-      } catch (IOException | ClassNotFoundException e) {
+        cachedElevations =
+          ElevationProfileCache.read(
+            cachedElevationsFile,
+            distanceBetweenSamplesM,
+            includeEllipsoidToGeoidDifference
+          );
+        LOG.info("Cached elevation data loaded, {} profiles.", cachedElevations.size());
+      } catch (IOException e) {
         issueStore.add(
           new Graphwide(
             String.format(
@@ -174,7 +172,7 @@ public class ElevationModule implements GraphBuilderModule {
     }
     LOG.info("Setting street elevation profiles from digital elevation model...");
 
-    List<StreetEdge> streetsWithElevationEdges = new LinkedList<>();
+    List<StreetEdge> streetsWithElevationEdges = new ArrayList<>();
 
     for (Vertex gv : graph.getVertices()) {
       for (Edge ee : gv.getOutgoing()) {
@@ -234,7 +232,7 @@ public class ElevationModule implements GraphBuilderModule {
     LOG.info(progress.completeMessage());
 
     // Iterate again to find edges that had elevation calculated.
-    LinkedList<StreetEdge> edgesWithCalculatedElevations = new LinkedList<>();
+    List<StreetEdge> edgesWithCalculatedElevations = new ArrayList<>();
     for (StreetEdge edgeWithElevation : streetsWithElevationEdges) {
       if (edgeWithElevation.hasElevationExtension() && !edgeWithElevation.isElevationFlattened()) {
         edgesWithCalculatedElevations.add(edgeWithElevation);
@@ -244,19 +242,13 @@ public class ElevationModule implements GraphBuilderModule {
     if (writeCachedElevations) {
       // write information from edgesWithElevation to a new cache file for subsequent graph builds
       LOG.info("Writing elevation cache");
-      HashMap<String, PackedCoordinateSequence> newCachedElevations = new HashMap<>();
-      for (StreetEdge streetEdge : edgesWithCalculatedElevations) {
-        newCachedElevations.put(
-          EncodedPolyline.encode(streetEdge.getGeometry()).points(),
-          streetEdge.getElevationProfile()
-        );
-      }
       try {
-        ObjectOutputStream out = new ObjectOutputStream(
-          new BufferedOutputStream(new FileOutputStream(cachedElevationsFile))
+        ElevationProfileCache.write(
+          cachedElevationsFile,
+          edgesWithCalculatedElevations,
+          distanceBetweenSamplesM,
+          includeEllipsoidToGeoidDifference
         );
-        out.writeObject(newCachedElevations);
-        out.close();
       } catch (IOException e) {
         issueStore.add(new Graphwide("Failed to write cached elevation file: " + e.getMessage()));
       }
@@ -382,9 +374,7 @@ public class ElevationModule implements GraphBuilderModule {
     // first try to find a cached value if possible
     Geometry edgeGeometry = ee.getGeometry();
     if (cachedElevations != null) {
-      PackedCoordinateSequence coordinateSequence = cachedElevations.get(
-        EncodedPolyline.encode(edgeGeometry).points()
-      );
+      PackedCoordinateSequence coordinateSequence = cachedElevations.get(edgeGeometry);
       if (coordinateSequence != null) {
         // found a cached value! Set the elevation profile with the pre-calculated data.
         setEdgeElevationProfile(ee, coordinateSequence);
@@ -0,0 +1,286 @@
+package org.opentripplanner.graph_builder.module.ned;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.IntStream;
+import javax.annotation.Nullable;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequence;
+import org.opentripplanner.street.model.edge.StreetEdge;
+
+/**
+ * A binary file of elevation profiles from a previous graph build, keyed by a 64-bit hash of the
+ * edge geometry. Edges with the same geometry as in the previous build get their profile from the
+ * cache, so only new and changed streets are sampled when the OSM data is updated.
+ * <p>
+ * The profiles are split in chunks by the key, and each chunk holds its keys, sorted, and the
+ * samples of its profiles in primitive arrays. The chunks are read and written in parallel, and a
+ * profile is found with a binary search in its chunk. The samples are stored as floats, which is
+ * more than enough for distances along an edge and elevations in meters.
+ * <p>
+ * The file format is:
+ * <pre>
+ * int    magic number
+ * int    version
+ * double distance between samples
+ * byte   1 if the ellipsoid to geoid difference is included, 0 otherwise
+ * int    number of chunks
+ * for each chunk:
+ *   int     number of bytes in the chunk
+ *   int     number of profiles n
+ *   long[n] sorted geometry keys
+ *   int[n]  index of the first sample of each profile, and the total number of samples
+ *   float[] samples, as (distance, elevation) pairs
+ * </pre>
+ */
+class ElevationProfileCache {
+
+  private static final int MAGIC = 0x4f545045;
+  private static final int VERSION = 1;
+  private static final int NUMBER_OF_CHUNKS = 256;
+  private static final double COORDINATE_PRECISION = 1e7;
+
+  private final Chunk[] chunks;
+
+  private ElevationProfileCache(Chunk[] chunks) {
+    this.chunks = chunks;
+  }
+
+  /**
+   * Read the profiles written with the same sampling parameters.
+   *
+   * @throws IOException if the file can not be read, is corrupt or truncated, or if it was written
+   *                     with other parameters.
+   */
+  static ElevationProfileCache read(
+    File file,
+    double distanceBetweenSamplesM,
+    boolean includeEllipsoidToGeoidDifference
+  ) throws IOException {
+    ByteBuffer buffer;
+    try (var channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+    if (buffer.remaining() < 12 || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+      throw new IOException("Not an elevation cache file of version " + VERSION);
+    }
+    try {
+      return decode(buffer, distanceBetweenSamplesM, includeEllipsoidToGeoidDifference);
+    } catch (RuntimeException e) {
+      // A truncated or corrupt file fails with a buffer underflow, a bad index or a bad length
+      throw new IOException("The elevation cache file is corrupt: " + e, e);
+    }
+  }
+
+  private static ElevationProfileCache decode(
+    ByteBuffer buffer,
+    double distanceBetweenSamplesM,
+    boolean includeEllipsoidToGeoidDifference
+  ) throws IOException {
+    if (
+      buffer.getDouble() != distanceBetweenSamplesM ||
+      (buffer.get() == 1) != includeEllipsoidToGeoidDifference
+    ) {
+      throw new IOException("The elevations were sampled with other parameters");
+    }
+
+    int numberOfChunks = buffer.getInt();
+    if (numberOfChunks <= 0) {
+      throw new IOException("Invalid number of chunks: " + numberOfChunks);
+    }
+    var chunkBuffers = new ByteBuffer[numberOfChunks];
+    for (int i = 0; i < numberOfChunks; ++i) {
+      int length = buffer.getInt();
+      if (length < 0 || length > buffer.remaining()) {
+        throw new IOException("The elevation cache file is truncated");
+      }
+      chunkBuffers[i] = buffer.slice(buffer.position(), length);
+      buffer.position(buffer.position() + length);
+    }
+    var chunks = IntStream
+      .range(0, numberOfChunks)
+      .parallel()
+      .mapToObj(i -> Chunk.decode(chunkBuffers[i]))
+      .toArray(Chunk[]::new);
+    return new ElevationProfileCache(chunks);
+  }
+
+  /**
+   * Write the elevation profiles of the edges, replacing the file if it exists. The profiles are
+   * written to a temporary file, moved into place when complete, so an interrupted build does not
+   * leave a partial file behind.
+   */
+  static void write(
+    File file,
+    Collection<StreetEdge> streetEdges,
+    double distanceBetweenSamplesM,
+    boolean includeEllipsoidToGeoidDifference
+  ) throws IOException {
+    List<StreetEdge> edges = List.copyOf(streetEdges);
+    long[] keys = edges.parallelStream().mapToLong(e -> geometryKey(e.getGeometry())).toArray();
+
+    List<List<Integer>> edgesByChunk = new ArrayList<>();
+    for (int i = 0; i < NUMBER_OF_CHUNKS; ++i) {
+      edgesByChunk.add(new ArrayList<>());
+    }
+    for (int i = 0; i < keys.length; ++i) {
+      edgesByChunk.get(chunkIndex(keys[i], NUMBER_OF_CHUNKS)).add(i);
+    }
+
+    byte[][] encodedChunks = edgesByChunk
+      .parallelStream()
+      .map(indexes -> Chunk.encode(indexes, keys, edges))
+      .toArray(byte[][]::new);
+
+    Path target = file.toPath().toAbsolutePath();
+    Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+    try {
+      try (
+        var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))
+      ) {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeDouble(distanceBetweenSamplesM);
+        out.writeByte(includeEllipsoidToGeoidDifference ? 1 : 0);
+        out.writeInt(NUMBER_OF_CHUNKS);
+        for (byte[] chunk : encodedChunks) {
+          out.writeInt(chunk.length);
+          out.write(chunk);
+        }
+      }
+      try {
+        Files.move(temp, target, REPLACE_EXISTING, ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(temp, target, REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  /** The cached profile of an edge with the given geometry, or null if it is not cached. */
+  @Nullable
+  PackedCoordinateSequence get(Geometry geometry) {
+    long key = geometryKey(geometry);
+    return chunks[chunkIndex(key, chunks.length)].get(key);
+  }
+
+  int size() {
+    return Arrays.stream(chunks).mapToInt(it -> it.keys.length).sum();
+  }
+
+  /**
+   * A hash of the coordinates of the geometry, rounded to about a centimeter. The hash does not
+   * depend on the edge labels or ids, so it is stable between graph builds.
+   */
+  static long geometryKey(Geometry geometry) {
+    long hash = 0;
+    for (Coordinate c : geometry.getCoordinates()) {
+      hash = mix(hash + Math.round(c.x * COORDINATE_PRECISION));
+      hash = mix(hash + Math.round(c.y * COORDINATE_PRECISION));
+    }
+    return hash;
+  }
+
+  /** The 64-bit finalizer of MurmurHash3. */
+  private static long mix(long value) {
+    long h = value;
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+
+  private static int chunkIndex(long key, int numberOfChunks) {
+    return (int) Math.floorMod(key, (long) numberOfChunks);
+  }
+
+  private record Chunk(long[] keys, int[] offsets, float[] samples) {
+    static Chunk decode(ByteBuffer buffer) {
+      int n = buffer.getInt();
+      long[] keys = new long[n];
+      buffer.asLongBuffer().get(keys);
+      buffer.position(buffer.position() + n * Long.BYTES);
+      int[] offsets = new int[n + 1];
+      buffer.asIntBuffer().get(offsets);
+      buffer.position(buffer.position() + (n + 1) * Integer.BYTES);
+      float[] samples = new float[2 * offsets[n]];
+      buffer.asFloatBuffer().get(samples);
+      return new Chunk(keys, offsets, samples);
+    }
+
+    static byte[] encode(List<Integer> indexes, long[] keys, List<StreetEdge> edges) {
+      // Sort by key, and keep one profile for edges with the same geometry
+      var sorted = indexes
+        .stream()
+        .sorted((a, b) -> Long.compare(keys[a], keys[b]))
+        .toList();
+      var unique = new ArrayList<Integer>();
+      int numberOfSamples = 0;
+      for (int i : sorted) {
+        if (unique.isEmpty() || keys[unique.get(unique.size() - 1)] != keys[i]) {
+          unique.add(i);
+          numberOfSamples += edges.get(i).getElevationProfile().size();
+        }
+      }
+
+      int n = unique.size();
+      var buffer = ByteBuffer.allocate(
+        Integer.BYTES +
+        n * Long.BYTES +
+        (n + 1) * Integer.BYTES +
+        2 * numberOfSamples * Float.BYTES
+      );
+      buffer.putInt(n);
+      for (int i : unique) {
+        buffer.putLong(keys[i]);
+      }
+      int offset = 0;
+      for (int i : unique) {
+        buffer.putInt(offset);
+        offset += edges.get(i).getElevationProfile().size();
+      }
+      buffer.putInt(offset);
+      for (int i : unique) {
+        CoordinateSequence profile = edges.get(i).getElevationProfile();
+        for (int s = 0; s < profile.size(); ++s) {
+          buffer.putFloat((float) profile.getOrdinate(s, 0));
+          buffer.putFloat((float) profile.getOrdinate(s, 1));
+        }
+      }
+      return buffer.array();
+    }
+
+    @Nullable
+    PackedCoordinateSequence get(long key) {
+      int i = Arrays.binarySearch(keys, key);
+      if (i < 0) {
+        return null;
+      }
+      var coordinates = new double[2 * (offsets[i + 1] - offsets[i])];
+      for (int s = 0; s < coordinates.length; ++s) {
+        coordinates[s] = samples[2 * offsets[i] + s];
+      }
+      return new PackedCoordinateSequence.Double(coordinates, 2, 0);
+    }
+  }
+}
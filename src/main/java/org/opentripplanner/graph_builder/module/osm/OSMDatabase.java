@@ -61,6 +61,9 @@ public class OSMDatabase implements org.opentripplanner.openstreetmap.spi.OSMDat
   /* Map of all nodes used in ways/areas keyed by their OSM ID */
   private final TLongObjectMap<OSMNode> nodesById = new TLongObjectHashMap<>();
 
+  /* The untagged nodes used in ways/areas, if they are not kept in nodesById */
+  private final OffHeapNodeStore offHeapNodes;
+
   /* Map of all bike parking nodes, keyed by their OSM ID */
   private final TLongObjectMap<OSMNode> bikeParkingNodes = new TLongObjectHashMap<>();
 
@@ -131,12 +134,33 @@ public class OSMDatabase implements org.opentripplanner.openstreetmap.spi.OSMDat
   private final Set<String> boardingAreaRefTags;
 
   public OSMDatabase(DataImportIssueStore issueStore, Set<String> boardingAreaRefTags) {
+    this(issueStore, boardingAreaRefTags, false);
+  }
+
+  /**
+   * @param offHeapNodeStore Keep the untagged nodes in an {@link OffHeapNodeStore} instead of on
+   *                         the heap.
+   */
+  public OSMDatabase(
+    DataImportIssueStore issueStore,
+    Set<String> boardingAreaRefTags,
+    boolean offHeapNodeStore
+  ) {
     this.issueStore = issueStore;
     this.boardingAreaRefTags = boardingAreaRefTags;
+    this.offHeapNodes = offHeapNodeStore ? new OffHeapNodeStore() : null;
   }
 
   public OSMNode getNode(Long nodeId) {
-    return nodesById.get(nodeId);
+    OSMNode node = nodesById.get(nodeId);
+    if (node == null && offHeapNodes != null) {
+      node = offHeapNodes.get(nodeId);
+    }
+    return node;
+  }
+
+  private boolean containsNode(long nodeId) {
+    return nodesById.containsKey(nodeId) || (offHeapNodes != null && offHeapNodes.contains(nodeId));
   }
 
   public OSMWay getWay(Long nodeId) {
@@ -152,7 +176,7 @@ public class OSMDatabase implements org.opentripplanner.openstreetmap.spi.OSMDat
   }
 
   public int nodeCount() {
-    return nodesById.size();
+    return nodesById.size() + (offHeapNodes == null ? 0 : offHeapNodes.size());
   }
 
   public int wayCount() {
@@ -229,7 +253,10 @@ public class OSMDatabase implements org.opentripplanner.openstreetmap.spi.OSMDat
       return;
     }
 
-    if (nodesById.containsKey(node.getId())) {
+    if (containsNode(node.getId())) {
+      return;
+    }
+    if (offHeapNodes != null && offHeapNodes.add(node)) {
       return;
     }
     nodesById.put(node.getId(), node);
@@ -415,8 +442,8 @@ public class OSMDatabase implements org.opentripplanner.openstreetmap.spi.OSMDat
 
       // For each segment of the way
       for (int i = 0; i < way.getNodeRefs().size() - 1; i++) {
-        OSMNode nA = nodesById.get(way.getNodeRefs().get(i));
-        OSMNode nB = nodesById.get(way.getNodeRefs().get(i + 1));
+        OSMNode nA = getNode(way.getNodeRefs().get(i));
+        OSMNode nB = getNode(way.getNodeRefs().get(i + 1));
         if (nA == null || nB == null) {
           continue;
         }
@@ -710,12 +737,12 @@ public class OSMDatabase implements org.opentripplanner.openstreetmap.spi.OSMDat
       TLongIterator longIterator = way.getNodeRefs().iterator();
       while (longIterator.hasNext()) {
         long nodeRef = longIterator.next();
-        if (!nodesById.containsKey(nodeRef)) {
+        if (!containsNode(nodeRef)) {
           continue AREA;
         }
       }
       try {
-        newArea(new Area(way, List.of(way), Collections.emptyList(), nodesById));
+        newArea(new Area(way, List.of(way), Collections.emptyList(), this::getNode));
       } catch (Area.AreaConstructionException | Ring.RingConstructionException e) {
         // this area cannot be constructed, but we already have all the
         // necessary nodes to construct it. So, something must be wrong with
@@ -765,7 +792,7 @@ public class OSMDatabase implements org.opentripplanner.openstreetmap.spi.OSMDat
         TLongIterator wayNodeIterator = way.getNodeRefs().iterator();
         while (wayNodeIterator.hasNext()) {
           long nodeId = wayNodeIterator.next();
-          if (nodesById.containsKey(nodeId)) {
+          if (containsNode(nodeId)) {
             MapUtils.addToMapSet(areasForNode, nodeId, way);
           } else {
             // this area is missing some nodes, perhaps because it is on
@@ -783,7 +810,7 @@ public class OSMDatabase implements org.opentripplanner.openstreetmap.spi.OSMDat
       }
       processedAreas.add(relation);
       try {
-        newArea(new Area(relation, outerWays, innerWays, nodesById));
+        newArea(new Area(relation, outerWays, innerWays, this::getNode));
       } catch (Area.AreaConstructionException | Ring.RingConstructionException e) {
         issueStore.add(new InvalidOsmGeometry(relation));
         continue;
@@ -1113,8 +1140,8 @@ public class OSMDatabase implements org.opentripplanner.openstreetmap.spi.OSMDat
         } else {
           issueStore.add(new TooManyAreasInRelation(relation));
         }
-      } else if ("node".equals(member.getType()) && nodesById.containsKey(member.getRef())) {
-        platformsNodes.add(nodesById.get(member.getRef()));
+      } else if ("node".equals(member.getType()) && containsNode(member.getRef())) {
+        platformsNodes.add(getNode(member.getRef()));
       }
     }
     if (platformArea != null && !platformsNodes.isEmpty()) {
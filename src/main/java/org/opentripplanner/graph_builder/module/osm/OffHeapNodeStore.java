@@ -0,0 +1,126 @@
+package org.opentripplanner.graph_builder.module.osm;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.opentripplanner.openstreetmap.api.OSMProvider;
+import org.opentripplanner.openstreetmap.model.OSMNode;
+
+/**
+ * Stores the id, coordinates and provider of untagged OSM nodes in direct memory, outside the Java
+ * heap. Most nodes of an extract are untagged way nodes, and each of them would otherwise take
+ * around 60 bytes of heap as an {@link OSMNode} in a hash map, against 25 bytes of direct memory
+ * here. A new node is created each time one is looked up, which is why nodes are equal by id.
+ * <p>
+ * Nodes are found with a binary search, so they must be added in increasing id order, as in a
+ * sorted PBF file. Nodes which can not be stored are rejected and kept on the heap by the caller.
+ */
+class OffHeapNodeStore {
+
+  private static final int BLOCK_SIZE = 1 << 20;
+  private static final int MAX_PROVIDERS = Byte.MAX_VALUE;
+
+  // Each block holds the ids, then the latitudes, the longitudes and the provider indexes
+  private static final int LATS = 8 * BLOCK_SIZE;
+  private static final int LONS = 16 * BLOCK_SIZE;
+  private static final int PROVIDERS = 24 * BLOCK_SIZE;
+  private static final int BYTES_PER_BLOCK = 25 * BLOCK_SIZE;
+
+  private final List<ByteBuffer> blocks = new ArrayList<>();
+  private final List<OSMProvider> providers = new ArrayList<>();
+
+  /** The id of the first node of each block, to find the block of a node. */
+  private long[] firstIds = new long[16];
+  private int size = 0;
+
+  /**
+   * Store the node if it has no tags, and a higher id than the nodes already stored.
+   *
+   * @return false if the node is not stored.
+   */
+  boolean add(OSMNode node) {
+    if (node.hasTags() || (size > 0 && node.getId() <= idAt(size - 1))) {
+      return false;
+    }
+    int provider = providers.indexOf(node.getOsmProvider());
+    if (provider < 0) {
+      if (providers.size() == MAX_PROVIDERS) {
+        return false;
+      }
+      provider = providers.size();
+      providers.add(node.getOsmProvider());
+    }
+
+    int index = size % BLOCK_SIZE;
+    if (index == 0) {
+      if (blocks.size() == firstIds.length) {
+        firstIds = Arrays.copyOf(firstIds, 2 * firstIds.length);
+      }
+      firstIds[blocks.size()] = node.getId();
+      blocks.add(ByteBuffer.allocateDirect(BYTES_PER_BLOCK));
+    }
+    ByteBuffer block = blocks.get(blocks.size() - 1);
+    block.putLong(8 * index, node.getId());
+    block.putDouble(LATS + 8 * index, node.lat);
+    block.putDouble(LONS + 8 * index, node.lon);
+    block.put(PROVIDERS + index, (byte) provider);
+    ++size;
+    return true;
+  }
+
+  boolean contains(long id) {
+    return indexOf(id) >= 0;
+  }
+
+  /** A new node with the stored values, or null if the node is not stored. */
+  OSMNode get(long id) {
+    int i = indexOf(id);
+    if (i < 0) {
+      return null;
+    }
+    ByteBuffer block = blocks.get(i / BLOCK_SIZE);
+    int index = i % BLOCK_SIZE;
+    OSMNode node = new OSMNode();
+    node.setId(id);
+    node.lat = block.getDouble(LATS + 8 * index);
+    node.lon = block.getDouble(LONS + 8 * index);
+    node.setOsmProvider(providers.get(block.get(PROVIDERS + index)));
+    return node;
+  }
+
+  int size() {
+    return size;
+  }
+
+  private long idAt(int i) {
+    return blocks.get(i / BLOCK_SIZE).getLong(8 * (i % BLOCK_SIZE));
+  }
+
+  /** The index of the node with the given id, or -1 if it is not stored. */
+  private int indexOf(long id) {
+    int b = Arrays.binarySearch(firstIds, 0, blocks.size(), id);
+    if (b >= 0) {
+      return b * BLOCK_SIZE;
+    }
+    // The block before the insertion point is the only one which can contain the id
+    b = -b - 2;
+    if (b < 0) {
+      return -1;
+    }
+    int low = b * BLOCK_SIZE;
+    int high = Math.min(size, low + BLOCK_SIZE) - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      long midId = idAt(mid);
+      if (midId < id) {
+        low = mid + 1;
+      } else if (midId > id) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return -1;
+  }
+}
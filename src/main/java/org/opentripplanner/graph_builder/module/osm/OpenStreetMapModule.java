@@ -71,6 +71,11 @@ public class OpenStreetMapModule implements GraphBuilderModule {
   private final Graph graph;
 
   private final boolean areaVisibility;
+  /**
+   * Whether the visibility of the walkable areas is computed for all area groups in parallel. The
+   * resulting edges are the same.
+   */
+  private final boolean parallelAreaVisibility;
   // Members that can be set by clients.
   public boolean platformEntriesLinking = false;
   /**
@@ -88,6 +93,10 @@ public class OpenStreetMapModule implements GraphBuilderModule {
    */
   public boolean staticBikeParkAndRide;
   public int maxAreaNodes = 500;
+  /**
+   * Whether untagged nodes should be kept outside the heap while the graph is built
+   */
+  public boolean offHeapNodeStore = false;
   /**
    * Whether ways tagged foot/bicycle=discouraged should be marked as inaccessible
    */
@@ -100,12 +109,24 @@ public class OpenStreetMapModule implements GraphBuilderModule {
     Graph graph,
     DataImportIssueStore issueStore,
     boolean areaVisibility
+  ) {
+    this(providers, boardingAreaRefTags, graph, issueStore, areaVisibility, true);
+  }
+
+  OpenStreetMapModule(
+    Collection<OpenStreetMapProvider> providers,
+    Set<String> boardingAreaRefTags,
+    Graph graph,
+    DataImportIssueStore issueStore,
+    boolean areaVisibility,
+    boolean parallelAreaVisibility
   ) {
     this.providers = List.copyOf(providers);
     this.boardingAreaRefTags = boardingAreaRefTags;
     this.graph = graph;
     this.issueStore = issueStore;
     this.areaVisibility = areaVisibility;
+    this.parallelAreaVisibility = parallelAreaVisibility;
   }
 
   public OpenStreetMapModule(
@@ -123,11 +144,12 @@ public class OpenStreetMapModule implements GraphBuilderModule {
     this.banDiscouragedWalking = config.banDiscouragedWalking;
     this.banDiscouragedBiking = config.banDiscouragedBiking;
     this.maxAreaNodes = config.maxAreaNodes;
+    this.offHeapNodeStore = config.osmOffHeapNodeStore;
   }
 
   @Override
   public void buildGraph() {
-    OSMDatabase osmdb = new OSMDatabase(issueStore, boardingAreaRefTags);
+    OSMDatabase osmdb = new OSMDatabase(issueStore, boardingAreaRefTags, offHeapNodeStore);
     Handler handler = new Handler(graph, osmdb);
     for (OpenStreetMapProvider provider : providers) {
       LOG.info("Gathering OSM from provider: {}", provider);
@@ -453,8 +475,17 @@ public class OpenStreetMapModule implements GraphBuilderModule {
           50,
           areaGroups.size()
         );
-        for (AreaGroup group : areaGroups) {
-          walkableAreaBuilder.buildWithVisibility(group);
+        // Finding the visible node pairs does not modify the graph, so it is done for all area
+        // groups in parallel, before the edges are added one area group at a time
+        var visibilities = parallelAreaVisibility
+          ? areaGroups.parallelStream().map(walkableAreaBuilder::computeVisibility).toList()
+          : null;
+        for (int i = 0; i < areaGroups.size(); ++i) {
+          if (visibilities != null) {
+            walkableAreaBuilder.buildWithVisibility(visibilities.get(i));
+          } else {
+            walkableAreaBuilder.buildWithVisibility(areaGroups.get(i));
+          }
           //Keep lambda! A method-ref would log incorrect class and line number
           //noinspection Convert2MethodRef
           progress.step(m -> LOG.info(m));
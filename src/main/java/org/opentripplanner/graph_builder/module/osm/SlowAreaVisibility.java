@@ -0,0 +1,41 @@
+package org.opentripplanner.graph_builder.module.osm;
+
+import java.time.Duration;
+import org.locationtech.jts.geom.Geometry;
+import org.opentripplanner.graph_builder.issue.api.DataImportIssue;
+import org.opentripplanner.openstreetmap.model.OSMWithTags;
+
+public record SlowAreaVisibility(AreaGroup areaGroup, int nbNodes, Duration duration)
+  implements DataImportIssue {
+  private static final String FMT =
+    "Visibility graph for area %s with %s visibility nodes took %s ms to build";
+  private static final String HTMLFMT =
+    "Visibility graph for area <a href='%s'>'%s'</a> with %s visibility nodes took %s ms to build";
+
+  @Override
+  public String getMessage() {
+    return String.format(FMT, areaGroup.getSomeOSMObject().getId(), nbNodes, duration.toMillis());
+  }
+
+  @Override
+  public String getHTMLMessage() {
+    OSMWithTags entity = areaGroup.getSomeOSMObject();
+    return String.format(
+      HTMLFMT,
+      entity.getOpenStreetMapLink(),
+      entity.getId(),
+      nbNodes,
+      duration.toMillis()
+    );
+  }
+
+  @Override
+  public int getPriority() {
+    return (int) Math.min(duration.toMillis(), Integer.MAX_VALUE);
+  }
+
+  @Override
+  public Geometry getGeometry() {
+    return areaGroup.union;
+  }
+}
@@ -1,10 +1,13 @@
 package org.opentripplanner.graph_builder.module.osm;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -18,6 +21,8 @@ import org.locationtech.jts.geom.MultiLineString;
 import org.locationtech.jts.geom.MultiPolygon;
 import org.locationtech.jts.geom.Point;
 import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
 import org.opentripplanner.astar.model.GraphPath;
 import org.opentripplanner.astar.model.ShortestPathTree;
 import org.opentripplanner.astar.spi.SkipEdgeStrategy;
@@ -68,6 +73,9 @@ import org.opentripplanner.street.search.strategy.DominanceFunctions;
  */
 public class WalkableAreaBuilder {
 
+  /** Area groups which take longer than this to build are reported in the build report */
+  private static final Duration SLOW_AREA_GROUP = Duration.ofMillis(100);
+
   private final DataImportIssueStore issueStore;
 
   private final int maxAreaNodes;
@@ -169,17 +177,18 @@ public class WalkableAreaBuilder {
   }
 
   public void buildWithVisibility(AreaGroup group) {
-    // These sets contain the nodes/vertices which can be used to traverse from the rest of the
-    // street network onto the walkable area
-    Set<OSMNode> startingNodes = new HashSet<>();
-    Set<Vertex> startingVertices = new HashSet<>();
-
-    // List of edges belonging to the walkable area
-    Set<Edge> edges = new HashSet<>();
+    buildWithVisibility(computeVisibility(group));
+  }
 
-    // Edges which are part of the rings. We want to keep there for linking even tough they
-    // might not be part of the visibility edges.
-    Set<Edge> ringEdges = new HashSet<>();
+  /**
+   * Find the visibility nodes of each ring of an area group, and the pairs of them which can see
+   * each other inside the ring. This is the expensive part of building the visibility graph, and it
+   * does not modify the graph, so it can be done for many area groups in parallel. The edges are
+   * then added to the graph by {@link #buildWithVisibility(AreaGroupVisibility)}, one area group at
+   * a time.
+   */
+  AreaGroupVisibility computeVisibility(AreaGroup group) {
+    long start = System.nanoTime();
 
     // OSM ways that this area group consists of
     Set<Long> osmWayIds = group.areas
@@ -192,44 +201,36 @@ public class WalkableAreaBuilder {
       )
       .collect(Collectors.toSet());
 
-    var references = getStopReferences(group);
+    GeometryFactory geometryFactory = GeometryUtils.getGeometryFactory();
+    List<RingVisibility> rings = new ArrayList<>();
 
-    // create polygon and accumulate nodes for area
     for (Ring ring : group.outermostRings) {
       Polygon polygon = ring.jtsPolygon;
 
-      AreaEdgeList edgeList = new AreaEdgeList(polygon, references);
-
-      // the points corresponding to concave or hole vertices
-      // or those linked to ways
-      HashSet<OSMNode> visibilityNodes = new HashSet<>();
-      HashSet<NodeEdge> alreadyAddedEdges = new HashSet<>();
-      HashSet<IntersectionVertex> platformLinkingVertices = new HashSet<>();
       // we need to accumulate visibility points from all contained areas
       // inside this ring, but only for shared nodes; we don't care about
       // convexity, which we'll handle for the grouped area only.
+      List<Area> areas = group.areas
+        .stream()
+        .filter(area -> polygon.contains(area.jtsMultiPolygon))
+        .toList();
 
-      GeometryFactory geometryFactory = GeometryUtils.getGeometryFactory();
-
-      OSMWithTags areaEntity = group.getSomeOSMObject();
-
-      // we also want to fill in the edges of this area anyway, because we can,
-      // and to avoid the numerical problems that they tend to cause
-      for (Area area : group.areas) {
-        if (!polygon.contains(area.jtsMultiPolygon)) {
-          continue;
-        }
-
+      // the points corresponding to concave or hole vertices
+      // or those linked to ways
+      Set<OSMNode> visibilityNodes = new LinkedHashSet<>();
+      // These nodes can be used to traverse from the rest of the street network onto the area
+      Set<OSMNode> startingNodes = new HashSet<>();
+      Set<OSMNode> stopNodes = new LinkedHashSet<>();
+      Set<OSMNode> ringNodes = new LinkedHashSet<>();
+      List<OsmVertex> platformEndpoints = new ArrayList<>();
+
+      for (Area area : areas) {
         // Add stops from public transit relations into the area
         Collection<OSMNode> nodes = osmdb.getStopsInArea(area.parent);
         if (nodes != null) {
-          for (OSMNode node : nodes) {
-            var vertex = handler.getVertexForOsmNode(node, areaEntity);
-            platformLinkingVertices.add(vertex);
-            visibilityNodes.add(node);
-            startingNodes.add(node);
-            edgeList.visibilityVertices.add(vertex);
-          }
+          stopNodes.addAll(nodes);
+          visibilityNodes.addAll(nodes);
+          startingNodes.addAll(nodes);
         }
 
         for (Ring outerRing : area.outermostRings) {
@@ -241,65 +242,158 @@ public class WalkableAreaBuilder {
                 outerRing.jtsPolygon.contains(geometryFactory.createPoint(t.getCoordinate()))
               )
               .toList();
-            platformLinkingVertices.addAll(endpointsWithin);
+            platformEndpoints.addAll(endpointsWithin);
             for (OsmVertex v : endpointsWithin) {
               OSMNode node = osmdb.getNode(v.nodeId);
               visibilityNodes.add(node);
               startingNodes.add(node);
-              edgeList.visibilityVertices.add(v);
             }
           }
 
           for (int i = 0; i < outerRing.nodes.size(); ++i) {
             OSMNode node = outerRing.nodes.get(i);
-            Set<AreaEdge> newEdges = createEdgesForRingSegment(
-              edgeList,
-              area,
-              outerRing,
-              i,
-              alreadyAddedEdges
-            );
-            edges.addAll(newEdges);
-            ringEdges.addAll(newEdges);
             // A node can only be a visibility node only if it is an entrance to the
             // area or a convex point, i.e. the angle is over 180 degrees.
             if (outerRing.isNodeConvex(i)) {
               visibilityNodes.add(node);
-              edgeList.visibilityVertices.add(handler.getVertexForOsmNode(node, areaEntity));
+              ringNodes.add(node);
             }
             if (isStartingNode(node, osmWayIds)) {
               visibilityNodes.add(node);
               startingNodes.add(node);
-              edgeList.visibilityVertices.add(handler.getVertexForOsmNode(node, areaEntity));
+              ringNodes.add(node);
             }
           }
           for (Ring innerRing : outerRing.getHoles()) {
             for (int j = 0; j < innerRing.nodes.size(); ++j) {
               OSMNode node = innerRing.nodes.get(j);
-              edges.addAll(
-                createEdgesForRingSegment(edgeList, area, innerRing, j, alreadyAddedEdges)
-              );
               // A node can only be a visibility node only if it is an entrance to the
               // area or a convex point, i.e. the angle is over 180 degrees.
               // For holes, the internal angle is calculated, so we must swap the sign
               if (!innerRing.isNodeConvex(j)) {
                 visibilityNodes.add(node);
-                edgeList.visibilityVertices.add(handler.getVertexForOsmNode(node, areaEntity));
+                ringNodes.add(node);
               }
               if (isStartingNode(node, osmWayIds)) {
                 visibilityNodes.add(node);
                 startingNodes.add(node);
-                edgeList.visibilityVertices.add(handler.getVertexForOsmNode(node, areaEntity));
+                ringNodes.add(node);
               }
             }
           }
         }
       }
 
+      List<OSMNode> nodes = List.copyOf(visibilityNodes);
       // FIXME: temporary hard limit on size of
       // areas to prevent way explosion
-      if (polygon.getNumPoints() > maxAreaNodes) {
-        issueStore.add(new AreaTooComplicated(group, visibilityNodes.size(), maxAreaNodes));
+      BitSet visiblePairs = polygon.getNumPoints() > maxAreaNodes
+        ? null
+        : findVisiblePairs(polygon, nodes);
+
+      rings.add(
+        new RingVisibility(
+          ring,
+          areas,
+          nodes,
+          startingNodes,
+          stopNodes,
+          ringNodes,
+          platformEndpoints,
+          visiblePairs
+        )
+      );
+    }
+    return new AreaGroupVisibility(group, rings, System.nanoTime() - start);
+  }
+
+  /**
+   * The pairs of nodes which can be connected with a straight line inside the polygon. The pair
+   * {@code (i, j)} is visible if bit {@code i * n + j} is set. The polygon is prepared, so the
+   * segments of its rings are indexed, and each line is only tested against the segments near it.
+   */
+  private static BitSet findVisiblePairs(Polygon polygon, List<OSMNode> nodes) {
+    GeometryFactory geometryFactory = GeometryUtils.getGeometryFactory();
+    PreparedGeometry prepared = PreparedGeometryFactory.prepare(polygon);
+    int n = nodes.size();
+    BitSet visiblePairs = new BitSet(n * n);
+    for (int i = 0; i < n; ++i) {
+      Coordinate from = new Coordinate(nodes.get(i).lon, nodes.get(i).lat);
+      for (int j = i + 1; j < n; ++j) {
+        Coordinate to = new Coordinate(nodes.get(j).lon, nodes.get(j).lat);
+        LineString line = geometryFactory.createLineString(new Coordinate[] { from, to });
+        if (prepared.contains(line)) {
+          visiblePairs.set(i * n + j);
+          visiblePairs.set(j * n + i);
+        }
+      }
+    }
+    return visiblePairs;
+  }
+
+  void buildWithVisibility(AreaGroupVisibility visibility) {
+    long start = System.nanoTime();
+    AreaGroup group = visibility.group();
+
+    // These vertices can be used to traverse from the rest of the street network onto the walkable
+    // area
+    Set<Vertex> startingVertices = new HashSet<>();
+
+    // List of edges belonging to the walkable area
+    Set<Edge> edges = new HashSet<>();
+
+    // Edges which are part of the rings. We want to keep there for linking even tough they
+    // might not be part of the visibility edges.
+    Set<Edge> ringEdges = new HashSet<>();
+
+    var references = getStopReferences(group);
+
+    OSMWithTags areaEntity = group.getSomeOSMObject();
+
+    for (RingVisibility ring : visibility.rings()) {
+      AreaEdgeList edgeList = new AreaEdgeList(ring.ring().jtsPolygon, references);
+
+      HashSet<NodeEdge> alreadyAddedEdges = new HashSet<>();
+      HashSet<IntersectionVertex> platformLinkingVertices = new HashSet<>();
+
+      // we also want to fill in the edges of this area anyway, because we can,
+      // and to avoid the numerical problems that they tend to cause
+      for (Area area : ring.areas()) {
+        for (Ring outerRing : area.outermostRings) {
+          for (int i = 0; i < outerRing.nodes.size(); ++i) {
+            Set<AreaEdge> newEdges = createEdgesForRingSegment(
+              edgeList,
+              area,
+              outerRing,
+              i,
+              alreadyAddedEdges
+            );
+            edges.addAll(newEdges);
+            ringEdges.addAll(newEdges);
+          }
+          for (Ring innerRing : outerRing.getHoles()) {
+            for (int j = 0; j < innerRing.nodes.size(); ++j) {
+              edges.addAll(
+                createEdgesForRingSegment(edgeList, area, innerRing, j, alreadyAddedEdges)
+              );
+            }
+          }
+        }
+      }
+
+      for (OSMNode node : ring.stopNodes()) {
+        var vertex = handler.getVertexForOsmNode(node, areaEntity);
+        platformLinkingVertices.add(vertex);
+        edgeList.visibilityVertices.add(vertex);
+      }
+      platformLinkingVertices.addAll(ring.platformEndpoints());
+      edgeList.visibilityVertices.addAll(ring.platformEndpoints());
+      for (OSMNode node : ring.ringNodes()) {
+        edgeList.visibilityVertices.add(handler.getVertexForOsmNode(node, areaEntity));
+      }
+
+      if (ring.visiblePairs() == null) {
+        issueStore.add(new AreaTooComplicated(group, ring.nodes().size(), maxAreaNodes));
         continue;
       }
 
@@ -307,44 +401,45 @@ public class WalkableAreaBuilder {
         issueStore.add(new UnconnectedArea(group));
       }
 
-      createNamedAreas(edgeList, ring, group.areas);
+      createNamedAreas(edgeList, ring.ring(), group.areas);
 
-      for (OSMNode nodeI : visibilityNodes) {
+      List<OSMNode> nodes = ring.nodes();
+      for (int i = 0; i < nodes.size(); ++i) {
+        OSMNode nodeI = nodes.get(i);
         IntersectionVertex startEndpoint = handler.getVertexForOsmNode(nodeI, areaEntity);
-        if (startingNodes.contains(nodeI)) {
+        if (ring.startingNodes().contains(nodeI)) {
           startingVertices.add(startEndpoint);
         }
 
-        for (OSMNode nodeJ : visibilityNodes) {
-          NodeEdge edge = new NodeEdge(nodeI, nodeJ);
-          if (alreadyAddedEdges.contains(edge)) continue;
+        for (int j = 0; j < nodes.size(); ++j) {
+          OSMNode nodeJ = nodes.get(j);
+          if (!ring.isVisible(i, j) || alreadyAddedEdges.contains(new NodeEdge(nodeI, nodeJ))) {
+            continue;
+          }
 
           IntersectionVertex endEndpoint = handler.getVertexForOsmNode(nodeJ, areaEntity);
-
-          Coordinate[] coordinates = new Coordinate[] {
-            startEndpoint.getCoordinate(),
-            endEndpoint.getCoordinate(),
-          };
-          LineString line = geometryFactory.createLineString(coordinates);
-          if (polygon.contains(line)) {
-            Set<AreaEdge> segments = createSegments(
-              startEndpoint,
-              endEndpoint,
-              group.areas,
-              edgeList
-            );
-            edges.addAll(segments);
-            if (platformLinkingVertices.contains(startEndpoint)) {
-              ringEdges.addAll(segments);
-            }
-            if (platformLinkingVertices.contains(endEndpoint)) {
-              ringEdges.addAll(segments);
-            }
+          Set<AreaEdge> segments = createSegments(
+            startEndpoint,
+            endEndpoint,
+            group.areas,
+            edgeList
+          );
+          edges.addAll(segments);
+          if (platformLinkingVertices.contains(startEndpoint)) {
+            ringEdges.addAll(segments);
+          }
+          if (platformLinkingVertices.contains(endEndpoint)) {
+            ringEdges.addAll(segments);
           }
         }
       }
     }
     pruneAreaEdges(startingVertices, edges, ringEdges);
+
+    Duration duration = Duration.ofNanos(visibility.nanos() + System.nanoTime() - start);
+    if (duration.compareTo(SLOW_AREA_GROUP) >= 0) {
+      issueStore.add(new SlowAreaVisibility(group, visibility.numberOfNodes(), duration));
+    }
   }
 
   private Set<String> getStopReferences(AreaGroup group) {
@@ -692,4 +787,31 @@ public class WalkableAreaBuilder {
   }
 
   private record NodeEdge(OSMNode from, OSMNode to) {}
+
+  /** The visibility of the rings of an area group, and the time it took to compute it. */
+  record AreaGroupVisibility(AreaGroup group, List<RingVisibility> rings, long nanos) {
+    int numberOfNodes() {
+      return rings.stream().mapToInt(ring -> ring.nodes().size()).sum();
+    }
+  }
+
+  /**
+   * The visibility nodes of a ring, and the areas of the group inside it.
+   *
+   * @param visiblePairs The pairs of visible nodes, or null if the ring has too many nodes.
+   */
+  private record RingVisibility(
+    Ring ring,
+    List<Area> areas,
+    List<OSMNode> nodes,
+    Set<OSMNode> startingNodes,
+    Set<OSMNode> stopNodes,
+    Set<OSMNode> ringNodes,
+    List<OsmVertex> platformEndpoints,
+    BitSet visiblePairs
+  ) {
+    boolean isVisible(int i, int j) {
+      return visiblePairs.get(i * nodes.size() + j);
+    }
+  }
 }
@@ -1,11 +1,26 @@
 package org.opentripplanner.inspector.raster;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.imageio.ImageIO;
 import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.util.AffineTransformation;
 import org.opentripplanner.api.resource.GraphInspectorTileResource;
+import org.opentripplanner.api.resource.WebMercatorTile;
+import org.opentripplanner.framework.concurrent.ExecutorUtils;
 import org.opentripplanner.inspector.raster.TileRenderer.TileRenderContext;
 import org.opentripplanner.routing.api.request.preference.RoutingPreferences;
 import org.opentripplanner.routing.graph.Graph;
@@ -16,6 +31,12 @@ import org.slf4j.LoggerFactory;
  * Process slippy map tile rendering requests. Get the tile renderer for the given layer, setup a
  * tile rendering context (bounding box, image graphic context, affine transform, etc...) and call
  * the renderer to paint the tile.
+ * <p>
+ * The encoded tiles are cached by layer, tile coordinates, image format and the build time of the
+ * graph, and the cache is bounded by the total size of the encoded tiles. Concurrent requests for
+ * the same tile wait for one rendering, requests for different tiles are rendered in parallel. The
+ * tiles of the lowest zoom levels, which cover the most edges, can be rendered in the background
+ * after startup with {@link #prerender(int)}.
  *
  * @author laurent
  * @see GraphInspectorTileResource
@@ -25,12 +46,24 @@ public class TileRendererManager {
 
   private static final Logger LOG = LoggerFactory.getLogger(TileRendererManager.class);
 
-  private final Map<String, TileRenderer> renderers = new HashMap<>();
+  private static final int TILE_SIZE = 256;
+  private static final long MAX_CACHE_BYTES = 64 * 1024 * 1024;
+  private static final String PRERENDER_FORMAT = "png";
+
+  private final Map<String, TileRenderer> renderers = new ConcurrentHashMap<>();
 
   private final Graph graph;
 
+  private final Cache<TileKey, byte[]> cache = CacheBuilder
+    .newBuilder()
+    .maximumWeight(MAX_CACHE_BYTES)
+    .<TileKey, byte[]>weigher((key, tile) -> tile.length)
+    .recordStats()
+    .build();
+
   public TileRendererManager(Graph graph, RoutingPreferences routingPreferences) {
     this.graph = graph;
+    GuavaCacheMetrics.monitor(Metrics.globalRegistry, cache, "inspectorTiles");
 
     // Register layers.
     renderers.put("bike-safety", new EdgeVertexTileRenderer(new BikeSafetyEdgeRenderer()));
@@ -50,6 +83,90 @@ public class TileRendererManager {
     renderers.put(layer, tileRenderer);
   }
 
+  /**
+   * Return the tile encoded in the given image format, render it if it is not in the cache.
+   *
+   * @param format An image format supported by {@link ImageIO}, like {@code png}.
+   */
+  public byte[] getTile(String layer, int x, int y, int z, String format) {
+    if (!renderers.containsKey(layer)) {
+      throw new IllegalArgumentException("Unknown layer: " + layer);
+    }
+    try {
+      return cache.get(
+        new TileKey(layer, x, y, z, format, graph.buildTime),
+        () -> encode(renderTile(x, y, z, layer), format)
+      );
+    } catch (ExecutionException e) {
+      throw new RuntimeException(e.getCause());
+    }
+  }
+
+  /**
+   * Render the tiles of all layers covering the graph, up to the given zoom level, in the
+   * background. The tiles are rendered by a pool using half of the processors, so the server can
+   * answer requests while it runs.
+   */
+  public void prerender(int maxZoom) {
+    Envelope extent = graph.getExtent();
+    if (extent.isNull()) {
+      return;
+    }
+    List<String> layers = List.copyOf(renderers.keySet());
+    int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    ExecutorService executor = ExecutorUtils.newBoundedThreadPool(
+      "inspector-tile-prerender",
+      threads,
+      4 * threads
+    );
+
+    var thread = new Thread(
+      () -> {
+        long start = System.currentTimeMillis();
+        int count = 0;
+        for (int z = 0; z <= maxZoom; ++z) {
+          int minX = WebMercatorTile.lon2tile(extent.getMinX(), z);
+          int maxX = WebMercatorTile.lon2tile(extent.getMaxX(), z);
+          // The tile numbers increase towards the south
+          int minY = WebMercatorTile.lat2tile(extent.getMaxY(), z);
+          int maxY = WebMercatorTile.lat2tile(extent.getMinY(), z);
+          for (int x = minX; x <= maxX; ++x) {
+            for (int y = minY; y <= maxY; ++y) {
+              for (String layer : layers) {
+                int tileX = x;
+                int tileY = y;
+                int tileZ = z;
+                executor.execute(() -> getTile(layer, tileX, tileY, tileZ, PRERENDER_FORMAT));
+                ++count;
+              }
+            }
+          }
+        }
+        executor.shutdown();
+        try {
+          if (executor.awaitTermination(1, TimeUnit.HOURS)) {
+            LOG.info(
+              "Rendered {} inspector tiles up to zoom level {} in {} ms",
+              count,
+              maxZoom,
+              System.currentTimeMillis() - start
+            );
+          }
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      },
+      "inspector-tile-prerender"
+    );
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  private BufferedImage renderTile(int x, int y, int z, String layer) {
+    Envelope env = WebMercatorTile.tile2Envelope(x, y, z);
+    return renderTile(new MapTile(env, TILE_SIZE, TILE_SIZE), layer);
+  }
+
   public BufferedImage renderTile(final MapTile mapTile, String layer) {
     TileRenderContext context = new TileRenderContext() {
       @Override
@@ -68,7 +185,6 @@ public class TileRendererManager {
     TileRenderer renderer = renderers.get(layer);
     if (renderer == null) throw new IllegalArgumentException("Unknown layer: " + layer);
 
-    // The best place for caching tiles may be here
     BufferedImage image = new BufferedImage(
       mapTile.width(),
       mapTile.height(),
@@ -103,4 +219,23 @@ public class TileRendererManager {
   public Map<String, TileRenderer> getRenderers() {
     return renderers;
   }
+
+  private static byte[] encode(BufferedImage image, String format) {
+    var bytes = new ByteArrayOutputStream(image.getWidth() * image.getHeight() / 4);
+    try {
+      ImageIO.write(image, format, bytes);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  private record TileKey(
+    String layer,
+    int x,
+    int y,
+    int z,
+    String format,
+    Instant graphBuildTime
+  ) {}
 }
@@ -0,0 +1,130 @@
+package org.opentripplanner.inspector.vector;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.transit.service.TransitService;
+
+/**
+ * A cache of encoded vector tile layers, shared by all requests. The layers are cached by layer
+ * name, tile coordinates and locale, and the cache is bounded by the total size of the encoded
+ * layers.
+ * <p>
+ * The content of a layer depends on data which may be updated while the server is running, like
+ * vehicle rental stations. For each layer a {@link LayerVersion} is computed on every request. The
+ * version is part of the cache key, so a layer is encoded again as soon as its version changes.
+ * When a new version of a layer is seen, all cached tiles of the previous version are removed.
+ * <p>
+ * The encode time, the size and hit rate of the cache and the number of invalidations are
+ * reported to Micrometer.
+ */
+public class VectorTileCache<LayerType extends Enum<LayerType>> {
+
+  private final Cache<Key, byte[]> cache;
+  private final LayerVersion<LayerType> layerVersion;
+  private final Map<String, Object> currentVersions = new ConcurrentHashMap<>();
+  private final List<Tag> tags;
+
+  public VectorTileCache(String name, long maximumBytes, LayerVersion<LayerType> layerVersion) {
+    this.layerVersion = layerVersion;
+    this.tags = List.of(Tag.of("tiles", name));
+    this.cache =
+      CacheBuilder
+        .newBuilder()
+        .maximumWeight(maximumBytes)
+        .<Key, byte[]>weigher((key, tile) -> tile.length)
+        .recordStats()
+        .build();
+    GuavaCacheMetrics.monitor(Metrics.globalRegistry, cache, "vectorTiles", tags);
+  }
+
+  /**
+   * Return the encoded layer for the given tile, encode it with the given encoder if it is not
+   * in the cache, or if the data of the layer has changed since it was cached.
+   */
+  byte[] get(
+    LayerParameters<LayerType> layerParameters,
+    int x,
+    int y,
+    int z,
+    Locale locale,
+    Graph graph,
+    TransitService transitService,
+    Supplier<byte[]> encoder
+  ) {
+    String layerName = layerParameters.name();
+    Object version = layerVersion.version(layerParameters, graph, transitService);
+    Object previousVersion = currentVersions.put(layerName, version);
+    if (previousVersion != null && !previousVersion.equals(version)) {
+      invalidate(layerName, version);
+    }
+
+    try {
+      return cache.get(
+        new Key(layerName, x, y, z, locale, version),
+        () -> encode(layerName, encoder)
+      );
+    } catch (ExecutionException e) {
+      throw new RuntimeException(e.getCause());
+    }
+  }
+
+  private byte[] encode(String layerName, Supplier<byte[]> encoder) {
+    return Timer
+      .builder("vectorTiles.layer.encode")
+      .description("Time to encode vector tile layers which are not in the cache")
+      .tags(tags)
+      .tag("layer", layerName)
+      .register(Metrics.globalRegistry)
+      .record(encoder);
+  }
+
+  /**
+   * Remove the tiles of the given layer which are not of the current version.
+   */
+  private void invalidate(String layerName, Object currentVersion) {
+    Counter
+      .builder("vectorTiles.layer.invalidations")
+      .description("Number of times the cached tiles of a layer are invalidated by updates")
+      .tags(tags)
+      .tag("layer", layerName)
+      .register(Metrics.globalRegistry)
+      .increment();
+    cache
+      .asMap()
+      .keySet()
+      .removeIf(key -> key.layerName().equals(layerName) && !key.version().equals(currentVersion));
+  }
+
+  /**
+   * Compute the version of the data shown in a layer. Any object with value semantics can be used,
+   * the cached tiles of a layer are used as long as the version is equal to the one they were
+   * encoded with.
+   */
+  @FunctionalInterface
+  public interface LayerVersion<LayerType extends Enum<LayerType>> {
+    Object version(
+      LayerParameters<LayerType> layerParameters,
+      Graph graph,
+      TransitService transitService
+    );
+  }
+
+  private record Key(String layerName, int x, int y, int z, Locale locale, Object version) {
+    private Key {
+      Objects.requireNonNull(version);
+    }
+  }
+}
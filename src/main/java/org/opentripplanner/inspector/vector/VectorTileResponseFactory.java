@@ -3,8 +3,11 @@ package org.opentripplanner.inspector.vector;
 import edu.colorado.cires.cmg.mvt.VectorTile;
 import jakarta.ws.rs.core.CacheControl;
 import jakarta.ws.rs.core.Response;
+import java.io.ByteArrayOutputStream;
 import java.util.List;
 import java.util.Locale;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
 import org.locationtech.jts.geom.Envelope;
 import org.opentripplanner.api.resource.WebMercatorTile;
 import org.opentripplanner.routing.graph.Graph;
@@ -26,9 +29,40 @@ public class VectorTileResponseFactory {
     Graph graph,
     TransitService transitService
   ) {
-    VectorTile.Tile.Builder mvtBuilder = VectorTile.Tile.newBuilder();
+    return create(
+      x,
+      y,
+      z,
+      locale,
+      requestedLayers,
+      availableLayers,
+      layerBuilderFactory,
+      null,
+      graph,
+      transitService
+    );
+  }
+
+  /**
+   * Create the response, the layers are looked up in the given cache before they are encoded.
+   */
+  public static <LayerType extends Enum<LayerType>> Response create(
+    int x,
+    int y,
+    int z,
+    Locale locale,
+    List<String> requestedLayers,
+    List<LayerParameters<LayerType>> availableLayers,
+    LayerBuilderFactory<LayerType> layerBuilderFactory,
+    @Nullable VectorTileCache<LayerType> cache,
+    Graph graph,
+    TransitService transitService
+  ) {
     Envelope envelope = WebMercatorTile.tile2Envelope(x, y, z);
 
+    // Each layer is encoded as a separate tile. Concatenating encoded protobuf messages is the
+    // same as merging them, so the concatenated tiles form a tile with all the layers.
+    ByteArrayOutputStream tile = new ByteArrayOutputStream();
     int cacheMaxSeconds = Integer.MAX_VALUE;
 
     for (LayerParameters<LayerType> layerParameters : availableLayers) {
@@ -38,10 +72,16 @@ public class VectorTileResponseFactory {
         z <= layerParameters.maxZoom()
       ) {
         cacheMaxSeconds = Math.min(cacheMaxSeconds, layerParameters.cacheMaxSeconds());
-        VectorTile.Tile.Layer layer = layerBuilderFactory
-          .crateLayerBuilder(layerParameters, locale, graph, transitService)
-          .build(envelope);
-        mvtBuilder.addLayers(layer);
+        Supplier<byte[]> encoder = () ->
+          encodeLayer(
+            layerBuilderFactory.crateLayerBuilder(layerParameters, locale, graph, transitService),
+            envelope
+          );
+        tile.writeBytes(
+          cache == null
+            ? encoder.get()
+            : cache.get(layerParameters, x, y, z, locale, graph, transitService, encoder)
+        );
       }
     }
 
@@ -52,10 +92,18 @@ public class VectorTileResponseFactory {
     return Response
       .status(Response.Status.OK)
       .cacheControl(cacheControl)
-      .entity(mvtBuilder.build().toByteArray())
+      .entity(tile.toByteArray())
       .build();
   }
 
+  private static byte[] encodeLayer(LayerBuilder<?> layerBuilder, Envelope envelope) {
+    return VectorTile.Tile
+      .newBuilder()
+      .addLayers(layerBuilder.build(envelope))
+      .build()
+      .toByteArray();
+  }
+
   @FunctionalInterface
   public interface LayerBuilderFactory<LayerType extends Enum<LayerType>> {
     LayerBuilder<?> crateLayerBuilder(
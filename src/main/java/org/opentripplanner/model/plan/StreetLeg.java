@@ -5,6 +5,7 @@ import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Supplier;
 import javax.annotation.Nullable;
 import org.locationtech.jts.geom.LineString;
 import org.opentripplanner.framework.lang.DoubleUtils;
@@ -26,7 +27,7 @@ public class StreetLeg implements Leg {
   private final Place from;
   private final Place to;
   private final int generalizedCost;
-  private final LineString legGeometry;
+  private final Supplier<LineString> legGeometry;
   private final List<WalkStep> walkSteps;
   private final Set<StreetNote> streetNotes;
   private final ElevationProfile elevationProfile;
@@ -47,7 +48,7 @@ public class StreetLeg implements Leg {
     this.to = builder.getTo();
     this.generalizedCost = builder.getGeneralizedCost();
     this.elevationProfile = builder.getElevationProfile();
-    this.legGeometry = builder.getGeometry();
+    this.legGeometry = lazy(builder.geometrySupplier());
     this.walkSteps = builder.getWalkSteps();
     this.streetNotes = Set.copyOf(builder.getStreetNotes());
     this.pathwayId = builder.getPathwayId();
@@ -112,7 +113,7 @@ public class StreetLeg implements Leg {
 
   @Override
   public LineString getLegGeometry() {
-    return legGeometry;
+    return legGeometry.get();
   }
 
   /**
@@ -177,6 +178,14 @@ public class StreetLeg implements Leg {
     return StreetLegBuilder.of(this).withAccessibilityScore(accessibilityScore).build();
   }
 
+  Supplier<LineString> geometrySupplier() {
+    return legGeometry;
+  }
+
+  private static <T> Supplier<T> lazy(Supplier<T> supplier) {
+    return supplier instanceof Lazy<T> ? supplier : new Lazy<>(supplier);
+  }
+
   /**
    * Should be used for debug logging only
    */
@@ -192,7 +201,7 @@ public class StreetLeg implements Leg {
       .addNum("distance", distanceMeters, "m")
       .addNum("cost", generalizedCost)
       .addObj("gtfsPathwayId", pathwayId)
-      .addObj("legGeometry", legGeometry)
+      .addObj("legGeometry", getLegGeometry())
       .addObj("legElevation", elevationProfile)
       .addCol("walkSteps", walkSteps)
       .addCol("streetNotes", streetNotes)
@@ -201,4 +210,29 @@ public class StreetLeg implements Leg {
       .addStr("bikeRentalNetwork", vehicleRentalNetwork)
       .toString();
   }
+
+  /**
+   * The geometry is only computed for the itineraries which are returned, and not for the ones
+   * removed by the itinerary filters. The value is kept once computed, and the supplier released.
+   * The walk steps are not computed lazily, since they are generated from the street graph,
+   * including the temporary edges which are removed when the search is complete.
+   */
+  private static final class Lazy<T> implements Supplier<T> {
+
+    private Supplier<T> supplier;
+    private T value;
+
+    private Lazy(Supplier<T> supplier) {
+      this.supplier = supplier;
+    }
+
+    @Override
+    public synchronized T get() {
+      if (supplier != null) {
+        value = supplier.get();
+        supplier = null;
+      }
+      return value;
+    }
+  }
 }
@@ -4,6 +4,7 @@ import java.time.ZonedDateTime;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Supplier;
 import org.locationtech.jts.geom.LineString;
 import org.opentripplanner.street.model.note.StreetNote;
 import org.opentripplanner.street.search.TraverseMode;
@@ -18,7 +19,7 @@ public class StreetLegBuilder {
   private Place to;
   private double distanceMeters;
   private int generalizedCost;
-  private LineString geometry;
+  private Supplier<LineString> geometry = () -> null;
   private ElevationProfile elevationProfile;
   private List<WalkStep> walkSteps;
   private FeedScopedId pathwayId;
@@ -39,7 +40,7 @@ public class StreetLegBuilder {
       .withTo(leg.getTo())
       .withDistanceMeters(leg.getDistanceMeters())
       .withGeneralizedCost(leg.getGeneralizedCost())
-      .withGeometry(leg.getLegGeometry())
+      .withGeometry(leg.geometrySupplier())
       .withElevationProfile(leg.getElevationProfile())
       .withWalkSteps(leg.getWalkSteps())
       .withPathwayId(leg.getPathwayId())
@@ -50,6 +51,10 @@ public class StreetLegBuilder {
       .withStreetNotes(leg.getStreetNotes());
   }
 
+  Supplier<LineString> geometrySupplier() {
+    return geometry;
+  }
+
   public StreetLeg build() {
     return new StreetLeg(this);
   }
@@ -83,7 +88,7 @@ public class StreetLegBuilder {
   }
 
   public LineString getGeometry() {
-    return geometry;
+    return geometry.get();
   }
 
   public ElevationProfile getElevationProfile() {
@@ -154,6 +159,14 @@ public class StreetLegBuilder {
   }
 
   public StreetLegBuilder withGeometry(LineString geometry) {
+    this.geometry = () -> geometry;
+    return this;
+  }
+
+  /**
+   * Set a geometry which is computed the first time it is used, see {@link StreetLeg}.
+   */
+  public StreetLegBuilder withGeometry(Supplier<LineString> geometry) {
     this.geometry = geometry;
     return this;
   }
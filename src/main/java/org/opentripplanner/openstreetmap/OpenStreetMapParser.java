@@ -1,6 +1,6 @@
 package org.opentripplanner.openstreetmap;
 
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -15,33 +15,49 @@ import org.opentripplanner.openstreetmap.model.OSMWay;
 import org.opentripplanner.openstreetmap.spi.OSMDatabase;
 
 /**
- * Parser for the OpenStreetMap PBF Format.
+ * Parser for one block of the OpenStreetMap PBF Format. The entities of the current phase are
+ * collected, and added to the database with {@link #addTo(OSMDatabase)}, so the blocks can be
+ * decoded in parallel while the database is only updated by one thread.
  *
  * @since 0.4
  */
 class OpenStreetMapParser extends BinaryParser {
 
-  private final OSMDatabase osmdb;
-  private final Map<String, String> stringTable = new HashMap<>();
+  static final int NODES = 1;
+  static final int WAYS = 2;
+  static final int RELATIONS = 4;
+
+  private final Map<String, String> stringTable;
   private final OSMProvider provider;
-  private OsmParserPhase parsePhase;
+  private final OsmParserPhase parsePhase;
+
+  private final List<OSMRelation> relations = new ArrayList<>();
+  private final List<OSMWay> ways = new ArrayList<>();
+  private final List<OSMNode> nodes = new ArrayList<>();
+  private int entityTypes = 0;
 
-  public OpenStreetMapParser(OSMDatabase osmdb, OSMProvider provider) {
-    this.osmdb = Objects.requireNonNull(osmdb);
+  /**
+   * @param stringTable A concurrent map shared by the parsers of all blocks, see
+   *                    {@link #internalize(String)}.
+   */
+  public OpenStreetMapParser(
+    Map<String, String> stringTable,
+    OSMProvider provider,
+    OsmParserPhase parsePhase
+  ) {
+    this.stringTable = Objects.requireNonNull(stringTable);
     this.provider = Objects.requireNonNull(provider);
+    this.parsePhase = Objects.requireNonNull(parsePhase);
   }
 
   // The strings are already being pulled from a string table in the PBF file,
   // but there appears to be a separate string table per 8k-entry PBF file block.
   // String.intern grinds to a halt on large PBF files (as it did on GTFS import), so
-  // we implement our own.
+  // we implement our own. Tag keys and values are not internalized here, since the entities
+  // already store them once in a shared tag table.
   public String internalize(String s) {
-    String fromTable = stringTable.get(s);
-    if (fromTable == null) {
-      stringTable.put(s, s);
-      return s;
-    }
-    return fromTable;
+    String fromTable = stringTable.putIfAbsent(s, s);
+    return fromTable == null ? s : fromTable;
   }
 
   @Override
@@ -49,15 +65,26 @@ class OpenStreetMapParser extends BinaryParser {
     // Jump in circles
   }
 
+  /** Add the entities of the current phase in the order they appear in the block. */
+  public void addTo(OSMDatabase osmdb) {
+    relations.forEach(osmdb::addRelation);
+    ways.forEach(osmdb::addWay);
+    nodes.forEach(osmdb::addNode);
+  }
+
   /**
-   * Set the phase to be parsed
+   * The types of entities in the block, in any phase, as a combination of {@link #NODES},
+   * {@link #WAYS} and {@link #RELATIONS}.
    */
-  public void setPhase(OsmParserPhase phase) {
-    this.parsePhase = phase;
+  public int getEntityTypes() {
+    return entityTypes;
   }
 
   @Override
   protected void parseRelations(List<Osmformat.Relation> rels) {
+    if (!rels.isEmpty()) {
+      entityTypes |= RELATIONS;
+    }
     if (parsePhase != OsmParserPhase.Relations) {
       return;
     }
@@ -69,8 +96,8 @@ class OpenStreetMapParser extends BinaryParser {
 
       for (int j = 0; j < i.getKeysCount(); j++) {
         OSMTag tag = new OSMTag();
-        String key = internalize(getStringById(i.getKeys(j)));
-        String value = internalize(getStringById(i.getVals(j)));
+        String key = getStringById(i.getKeys(j));
+        String value = getStringById(i.getVals(j));
         tag.setK(key);
         tag.setV(value);
         tmp.addTag(tag);
@@ -99,7 +126,7 @@ class OpenStreetMapParser extends BinaryParser {
         tmp.addMember(relMember);
       }
 
-      osmdb.addRelation(tmp);
+      relations.add(tmp);
     }
   }
 
@@ -108,6 +135,9 @@ class OpenStreetMapParser extends BinaryParser {
     long lastId = 0, lastLat = 0, lastLon = 0;
     int j = 0; // Index into the keysvals array.
 
+    if (nodes.getIdCount() > 0) {
+      entityTypes |= NODES;
+    }
     if (parsePhase != OsmParserPhase.Nodes) {
       return;
     }
@@ -135,8 +165,8 @@ class OpenStreetMapParser extends BinaryParser {
           int valid = nodes.getKeysVals(j++);
 
           OSMTag tag = new OSMTag();
-          String key = internalize(getStringById(keyid));
-          String value = internalize(getStringById(valid));
+          String key = getStringById(keyid);
+          String value = getStringById(valid);
           tag.setK(key);
           tag.setV(value);
           tmp.addTag(tag);
@@ -144,12 +174,15 @@ class OpenStreetMapParser extends BinaryParser {
         j++; // Skip over the '0' delimiter.
       }
 
-      osmdb.addNode(tmp);
+      this.nodes.add(tmp);
     }
   }
 
   @Override
   protected void parseNodes(List<Osmformat.Node> nodes) {
+    if (!nodes.isEmpty()) {
+      entityTypes |= NODES;
+    }
     if (parsePhase != OsmParserPhase.Nodes) {
       return;
     }
@@ -162,21 +195,24 @@ class OpenStreetMapParser extends BinaryParser {
       tmp.lon = parseLon(i.getLon());
 
       for (int j = 0; j < i.getKeysCount(); j++) {
-        String key = internalize(getStringById(i.getKeys(j)));
+        String key = getStringById(i.getKeys(j));
         // if handler.retain_tag(key) // TODO: filter tags
-        String value = internalize(getStringById(i.getVals(j)));
+        String value = getStringById(i.getVals(j));
         OSMTag tag = new OSMTag();
         tag.setK(key);
         tag.setV(value);
         tmp.addTag(tag);
       }
 
-      osmdb.addNode(tmp);
+      this.nodes.add(tmp);
     }
   }
 
   @Override
   protected void parseWays(List<Osmformat.Way> ways) {
+    if (!ways.isEmpty()) {
+      entityTypes |= WAYS;
+    }
     if (parsePhase != OsmParserPhase.Ways) {
       return;
     }
@@ -188,8 +224,8 @@ class OpenStreetMapParser extends BinaryParser {
 
       for (int j = 0; j < i.getKeysCount(); j++) {
         OSMTag tag = new OSMTag();
-        String key = internalize(getStringById(i.getKeys(j)));
-        String value = internalize(getStringById(i.getVals(j)));
+        String key = getStringById(i.getKeys(j));
+        String value = getStringById(i.getVals(j));
         tag.setK(key);
         tag.setV(value);
         tmp.addTag(tag);
@@ -201,7 +237,7 @@ class OpenStreetMapParser extends BinaryParser {
         lastId = j + lastId;
       }
 
-      osmdb.addWay(tmp);
+      this.ways.add(tmp);
     }
   }
 
@@ -5,7 +5,6 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.time.ZoneId;
-import org.openstreetmap.osmosis.osmbinary.file.BlockInputStream;
 import org.opentripplanner.datastore.api.DataSource;
 import org.opentripplanner.datastore.api.FileType;
 import org.opentripplanner.datastore.file.FileDataSource;
@@ -61,15 +60,15 @@ public class OpenStreetMapProvider implements OSMProvider {
 
   public void readOSM(OSMDatabase osmdb) {
     try {
-      OpenStreetMapParser parser = new OpenStreetMapParser(osmdb, this);
+      var reader = new ParallelPbfReader(this, Runtime.getRuntime().availableProcessors());
 
-      parsePhase(parser, OsmParserPhase.Relations);
+      parsePhase(reader, osmdb, OsmParserPhase.Relations);
       osmdb.doneFirstPhaseRelations();
 
-      parsePhase(parser, OsmParserPhase.Ways);
+      parsePhase(reader, osmdb, OsmParserPhase.Ways);
       osmdb.doneSecondPhaseWays();
 
-      parsePhase(parser, OsmParserPhase.Nodes);
+      parsePhase(reader, osmdb, OsmParserPhase.Nodes);
       osmdb.doneThirdPhaseNodes();
     } catch (Exception ex) {
       throw new IllegalStateException("error loading OSM from path " + source.path(), ex);
@@ -98,18 +97,15 @@ public class OpenStreetMapProvider implements OSMProvider {
     return ProgressTracker.track("Parse OSM " + phase, 1000, size, inputStream, m -> LOG.info(m));
   }
 
-  private void parsePhase(OpenStreetMapParser parser, OsmParserPhase phase) throws IOException {
-    parser.setPhase(phase);
-    BlockInputStream in = null;
+  private void parsePhase(ParallelPbfReader reader, OSMDatabase osmdb, OsmParserPhase phase)
+    throws IOException {
+    InputStream in = createInputStream(phase);
     try {
-      in = new BlockInputStream(createInputStream(phase), parser);
-      in.process();
+      reader.readPhase(in, phase, osmdb);
     } finally {
       // Close
       try {
-        if (in != null) {
-          in.close();
-        }
+        in.close();
       } catch (Exception e) {
         LOG.error(e.getMessage(), e);
       }
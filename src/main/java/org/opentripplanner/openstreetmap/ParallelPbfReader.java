@@ -0,0 +1,229 @@
+package org.opentripplanner.openstreetmap;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import org.openstreetmap.osmosis.osmbinary.Fileformat;
+import org.openstreetmap.osmosis.osmbinary.Osmformat;
+import org.opentripplanner.framework.concurrent.ExecutorUtils;
+import org.opentripplanner.openstreetmap.api.OSMProvider;
+import org.opentripplanner.openstreetmap.spi.OSMDatabase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads an OpenStreetMap PBF file in a pipeline. A reader thread splits the file into blobs, a
+ * pool of threads decompresses and decodes the blobs, and the calling thread adds the decoded
+ * entities to the database in file order. The order is kept by queueing the decoding tasks in the
+ * order the blobs are read, so the result is the same as reading the file on a single thread.
+ * <p>
+ * The file is read once per {@link OsmParserPhase}. The types of entities in each block are
+ * recorded during the first pass, and in the following passes the blocks without entities of the
+ * current phase are skipped without being decompressed. Since the PBF files are usually sorted
+ * by type, most of the blocks are skipped in the way and node phases.
+ */
+class ParallelPbfReader {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ParallelPbfReader.class);
+
+  private static final String HEADER_BLOCK = "OSMHeader";
+  private static final String DATA_BLOCK = "OSMData";
+  private static final int MAX_HEADER_SIZE = 64 * 1024;
+  private static final int MAX_BLOB_SIZE = 32 * 1024 * 1024;
+
+  private final OSMProvider provider;
+  private final int numberOfThreads;
+  private final Map<String, String> stringTable = new ConcurrentHashMap<>();
+
+  /** The entity types in each block of the file, or null before the first pass. */
+  private int[] entityTypesByBlock = null;
+
+  ParallelPbfReader(OSMProvider provider, int numberOfThreads) {
+    this.provider = provider;
+    this.numberOfThreads = numberOfThreads;
+  }
+
+  /** Read the entities of the given phase from the input, and add them to the database. */
+  void readPhase(InputStream input, OsmParserPhase phase, OSMDatabase osmdb) throws IOException {
+    long start = System.currentTimeMillis();
+    ExecutorService decoders = ExecutorUtils.newBoundedThreadPool(
+      "osm-pbf-decoder",
+      numberOfThreads,
+      2 * numberOfThreads
+    );
+    // The decoding tasks in file order, with null as the end of the file
+    BlockingQueue<Future<OpenStreetMapParser>> blocks = new ArrayBlockingQueue<>(
+      4 * numberOfThreads
+    );
+    var reader = new BlobReader(input, phase, decoders, blocks);
+    var readerThread = new Thread(reader, "osm-pbf-reader");
+    readerThread.setDaemon(true);
+    readerThread.start();
+
+    List<Integer> entityTypes = new ArrayList<>();
+    try {
+      while (true) {
+        OpenStreetMapParser block = blocks.take().get();
+        if (block == null) {
+          break;
+        }
+        block.addTo(osmdb);
+        entityTypes.add(block.getEntityTypes());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while reading OSM data", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException ioException) {
+        throw ioException;
+      }
+      throw new IOException(e.getCause());
+    } finally {
+      readerThread.interrupt();
+      decoders.shutdownNow();
+    }
+
+    if (entityTypesByBlock == null) {
+      entityTypesByBlock = entityTypes.stream().mapToInt(Integer::intValue).toArray();
+    }
+    LOG.info(
+      "Parsed OSM {} in {} ms, {} of {} blocks skipped",
+      phase,
+      System.currentTimeMillis() - start,
+      reader.skipped,
+      reader.blockIndex
+    );
+  }
+
+  private static int entityTypesOf(OsmParserPhase phase) {
+    return switch (phase) {
+      case Relations -> OpenStreetMapParser.RELATIONS;
+      case Ways -> OpenStreetMapParser.WAYS;
+      case Nodes -> OpenStreetMapParser.NODES;
+    };
+  }
+
+  private OpenStreetMapParser decode(String type, byte[] blob, OsmParserPhase phase)
+    throws IOException {
+    var parser = new OpenStreetMapParser(stringTable, provider, phase);
+    var data = inflate(Fileformat.Blob.parseFrom(blob));
+    if (HEADER_BLOCK.equals(type)) {
+      parser.parse(Osmformat.HeaderBlock.parseFrom(data));
+    } else if (DATA_BLOCK.equals(type)) {
+      parser.parse(Osmformat.PrimitiveBlock.parseFrom(data));
+    }
+    return parser;
+  }
+
+  private static byte[] inflate(Fileformat.Blob blob) throws IOException {
+    if (blob.hasRaw()) {
+      return blob.getRaw().toByteArray();
+    }
+    if (!blob.hasZlibData()) {
+      throw new IOException("Unsupported compression of OSM PBF block");
+    }
+    var inflater = new Inflater();
+    try {
+      inflater.setInput(blob.getZlibData().toByteArray());
+      byte[] data = new byte[blob.getRawSize()];
+      int size = inflater.inflate(data);
+      if (size != data.length || !inflater.finished()) {
+        throw new IOException("Corrupt OSM PBF block, unexpected size after decompression");
+      }
+      return data;
+    } catch (DataFormatException e) {
+      throw new IOException("Corrupt OSM PBF block", e);
+    } finally {
+      inflater.end();
+    }
+  }
+
+  /** Reads the blobs of the file, and queues a decoding task for each relevant block. */
+  private class BlobReader implements Runnable {
+
+    private final DataInputStream input;
+    private final OsmParserPhase phase;
+    private final ExecutorService decoders;
+    private final BlockingQueue<Future<OpenStreetMapParser>> blocks;
+    // Read by the consumer after the end of the file is queued
+    private int blockIndex = 0;
+    private int skipped = 0;
+
+    BlobReader(
+      InputStream input,
+      OsmParserPhase phase,
+      ExecutorService decoders,
+      BlockingQueue<Future<OpenStreetMapParser>> blocks
+    ) {
+      this.input = new DataInputStream(input);
+      this.phase = phase;
+      this.decoders = decoders;
+      this.blocks = blocks;
+    }
+
+    @Override
+    public void run() {
+      try {
+        try {
+          readBlobs();
+          blocks.put(CompletableFuture.completedFuture(null));
+        } catch (IOException | RuntimeException e) {
+          blocks.put(CompletableFuture.failedFuture(e));
+        }
+      } catch (InterruptedException e) {
+        // The consumer stopped, the remaining blocks are not needed
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    private void readBlobs() throws IOException, InterruptedException {
+      int relevantTypes = entityTypesOf(phase);
+      while (true) {
+        int headerSize;
+        try {
+          headerSize = input.readInt();
+        } catch (EOFException e) {
+          return;
+        }
+        if (headerSize > MAX_HEADER_SIZE) {
+          throw new IOException("Unexpectedly long OSM PBF block header: " + headerSize + " bytes");
+        }
+        var header = Fileformat.BlobHeader.parseFrom(input.readNBytes(headerSize));
+        int size = header.getDatasize();
+        if (size > MAX_BLOB_SIZE) {
+          throw new IOException("Unexpectedly long OSM PBF block: " + size + " bytes");
+        }
+
+        int index = blockIndex++;
+        if (
+          entityTypesByBlock != null &&
+          index < entityTypesByBlock.length &&
+          (entityTypesByBlock[index] & relevantTypes) == 0
+        ) {
+          input.skipNBytes(size);
+          ++skipped;
+          continue;
+        }
+
+        byte[] blob = new byte[size];
+        input.readFully(blob);
+        String type = header.getType();
+        Future<OpenStreetMapParser> block = decoders.submit(() -> decode(type, blob, phase));
+        blocks.put(block);
+      }
+    }
+  }
+}
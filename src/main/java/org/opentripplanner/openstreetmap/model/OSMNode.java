@@ -11,6 +11,20 @@ public class OSMNode extends OSMWithTags {
     return "osm node " + id;
   }
 
+  /**
+   * Nodes are equal by id, since a node read from an off-heap node store is a new object each time
+   * it is looked up. The ids are unique within an OSM database.
+   */
+  @Override
+  public boolean equals(Object o) {
+    return o instanceof OSMNode other && id == other.id;
+  }
+
+  @Override
+  public int hashCode() {
+    return Long.hashCode(id);
+  }
+
   public Coordinate getCoordinate() {
     return new Coordinate(this.lon, this.lat);
   }
@@ -0,0 +1,73 @@
+package org.opentripplanner.openstreetmap.model;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The keys and values of OSM tags, stored once for all entities. The entities refer to the strings
+ * by their index in the table, see {@link OSMWithTags}.
+ * <p>
+ * Strings are added by the threads decoding the OSM data and never removed. Instead, the table is
+ * only referenced by the entities using it, so it is garbage collected together with the last of
+ * them once the graph is built.
+ */
+final class OSMTagTable {
+
+  private static volatile WeakReference<OSMTagTable> current = new WeakReference<>(null);
+
+  private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+
+  /** Replaced by a larger copy when full, so a reader always sees the strings of known ids. */
+  private volatile String[] strings = new String[1024];
+  private int size = 0;
+
+  private OSMTagTable() {}
+
+  /** The table of new entities, created again if all the entities of the previous one are gone. */
+  static OSMTagTable current() {
+    OSMTagTable table = current.get();
+    if (table != null) {
+      return table;
+    }
+    synchronized (OSMTagTable.class) {
+      table = current.get();
+      if (table == null) {
+        table = new OSMTagTable();
+        current = new WeakReference<>(table);
+      }
+      return table;
+    }
+  }
+
+  /** The id of the string, which is added to the table if it is not already there. */
+  int id(String value) {
+    Integer id = ids.get(value);
+    return id != null ? id : add(value);
+  }
+
+  /** The id of the string, or -1 if it is not in the table. */
+  int find(String value) {
+    Integer id = ids.get(value);
+    return id != null ? id : -1;
+  }
+
+  String get(int id) {
+    return strings[id];
+  }
+
+  private synchronized int add(String value) {
+    Integer id = ids.get(value);
+    if (id != null) {
+      return id;
+    }
+    if (size == strings.length) {
+      strings = Arrays.copyOf(strings, 2 * size);
+    }
+    strings[size] = value;
+    // The string is stored before the id is published
+    ids.put(value, size);
+    return size++;
+  }
+}
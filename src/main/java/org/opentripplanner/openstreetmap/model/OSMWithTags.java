@@ -23,8 +23,12 @@ import org.opentripplanner.transit.model.basic.Accessibility;
 
 public class OSMWithTags {
 
-  /* To save memory this is only created when an entity actually has tags. */
-  private Map<String, String> tags;
+  /*
+   * To save memory the tags are stored as pairs of key and value ids in a table shared by all
+   * entities. The array is only created when an entity actually has tags.
+   */
+  private OSMTagTable tagTable;
+  private int[] tags;
 
   protected long id;
 
@@ -58,9 +62,7 @@ public class OSMWithTags {
    * Adds a tag.
    */
   public void addTag(OSMTag tag) {
-    if (tags == null) tags = new HashMap<>();
-
-    tags.put(tag.getK().toLowerCase(), tag.getV());
+    addTag(tag.getK(), tag.getV());
   }
 
   /**
@@ -69,24 +71,48 @@ public class OSMWithTags {
   public void addTag(String key, String value) {
     if (key == null || value == null) return;
 
-    if (tags == null) tags = new HashMap<>();
+    if (tags == null) {
+      tagTable = OSMTagTable.current();
+      tags = new int[0];
+    }
 
-    tags.put(key.toLowerCase(), value);
+    int keyId = tagTable.id(key.toLowerCase());
+    int valueId = tagTable.id(value);
+    int i = indexOfTag(keyId);
+    if (i < 0) {
+      i = tags.length;
+      tags = Arrays.copyOf(tags, i + 2);
+      tags[i] = keyId;
+    }
+    tags[i + 1] = valueId;
   }
 
   /**
-   * The tags of an entity.
+   * A copy of the tags of an entity, or null if it has none.
    */
   public Map<String, String> getTags() {
-    return tags;
+    if (tags == null) {
+      return null;
+    }
+    Map<String, String> out = new HashMap<>();
+    for (int i = 0; i < tags.length; i += 2) {
+      out.put(tagTable.get(tags[i]), tagTable.get(tags[i + 1]));
+    }
+    return out;
+  }
+
+  /**
+   * Does the entity have any tags?
+   */
+  public boolean hasTags() {
+    return tags != null;
   }
 
   /**
    * Is the tag defined?
    */
   public boolean hasTag(String tag) {
-    tag = tag.toLowerCase();
-    return tags != null && tags.containsKey(tag);
+    return getTag(tag) != null;
   }
 
   /**
@@ -145,11 +171,12 @@ public class OSMWithTags {
 
   /** @return a tag's value, converted to lower case. */
   public String getTag(String tag) {
-    tag = tag.toLowerCase();
-    if (tags != null && tags.containsKey(tag)) {
-      return tags.get(tag);
+    if (tags == null) {
+      return null;
     }
-    return null;
+    int keyId = tagTable.find(tag.toLowerCase());
+    int i = keyId < 0 ? -1 : indexOfTag(keyId);
+    return i < 0 ? null : tagTable.get(tags[i + 1]);
   }
 
   /**
@@ -179,12 +206,7 @@ public class OSMWithTags {
    * Checks is a tag contains the specified value.
    */
   public Boolean isTag(String tag, String value) {
-    tag = tag.toLowerCase();
-    if (tags != null && tags.containsKey(tag) && value != null) {
-      return value.equals(tags.get(tag));
-    }
-
-    return false;
+    return value != null && value.equals(getTag(tag));
   }
 
   /**
@@ -195,20 +217,20 @@ public class OSMWithTags {
     if (tags == null) {
       return null;
     }
-    if (tags.containsKey("name")) {
+    if (hasTag("name")) {
       return TranslatedString.getI18NString(this.generateI18NForPattern("{name}"), true, false);
     }
-    if (tags.containsKey("otp:route_name")) {
-      return new NonLocalizedString(tags.get("otp:route_name"));
+    if (hasTag("otp:route_name")) {
+      return new NonLocalizedString(getTag("otp:route_name"));
     }
     if (this.creativeName != null) {
       return this.creativeName;
     }
-    if (tags.containsKey("otp:route_ref")) {
-      return new NonLocalizedString(tags.get("otp:route_ref"));
+    if (hasTag("otp:route_ref")) {
+      return new NonLocalizedString(getTag("otp:route_ref"));
     }
-    if (tags.containsKey("ref")) {
-      return new NonLocalizedString(tags.get("ref"));
+    if (hasTag("ref")) {
+      return new NonLocalizedString(getTag("ref"));
     }
     return null;
   }
@@ -269,11 +291,14 @@ public class OSMWithTags {
   }
 
   public Map<String, String> getTagsByPrefix(String prefix) {
+    if (tags == null) {
+      return null;
+    }
     Map<String, String> out = new HashMap<>();
-    for (Map.Entry<String, String> entry : tags.entrySet()) {
-      String k = entry.getKey();
+    for (int i = 0; i < tags.length; i += 2) {
+      String k = tagTable.get(tags[i]);
       if (k.equals(prefix) || k.startsWith(prefix + ":")) {
-        out.put(k, entry.getValue());
+        out.put(k, tagTable.get(tags[i + 1]));
       }
     }
     if (out.isEmpty()) {
@@ -466,6 +491,16 @@ public class OSMWithTags {
 
   @Override
   public String toString() {
-    return ToStringBuilder.of(this.getClass()).addObj("tags", tags).toString();
+    return ToStringBuilder.of(this.getClass()).addObj("tags", getTags()).toString();
+  }
+
+  /** The index of the key in the tag array, or -1 if the entity does not have the tag. */
+  private int indexOfTag(int keyId) {
+    for (int i = 0; i < tags.length; i += 2) {
+      if (tags[i] == keyId) {
+        return i;
+      }
+    }
+    return -1;
   }
 }
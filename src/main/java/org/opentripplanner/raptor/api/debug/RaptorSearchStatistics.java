@@ -0,0 +1,136 @@
+package org.opentripplanner.raptor.api.debug;
+
+import org.opentripplanner.framework.tostring.ToStringBuilder;
+
+/**
+ * Counts the work done by Raptor to route a request: the number of iterations and rounds, the
+ * patterns scanned, the trips boarded and the stop arrivals accepted or rejected. Pass an instance
+ * into the request to collect the statistics of all searches done for it, including the heuristic
+ * searches.
+ * <p>
+ * Counting must be cheap, since it is done in the innermost loops of the algorithm. Each search
+ * counts in its own instance, see {@link #newSearch()}, without any synchronization. The counters
+ * are added to the request statistics when the search is complete. Searches may run in parallel,
+ * so adding and reading the request statistics is synchronized.
+ */
+public final class RaptorSearchStatistics {
+
+  private final RaptorSearchStatistics request;
+
+  private long iterations = 0;
+  private long rounds = 0;
+  private long patternsScanned = 0;
+  private long tripsBoarded = 0;
+  private long paretoSetInsertions = 0;
+  private long paretoSetRejections = 0;
+  private long heuristicRejections = 0;
+
+  public RaptorSearchStatistics() {
+    this(null);
+  }
+
+  private RaptorSearchStatistics(RaptorSearchStatistics request) {
+    this.request = request;
+  }
+
+  /**
+   * Create the statistics for one search. The counters are added to this instance when the search
+   * is complete.
+   */
+  public RaptorSearchStatistics newSearch() {
+    return new RaptorSearchStatistics(this);
+  }
+
+  public void incIterations() {
+    ++iterations;
+  }
+
+  public void incRounds() {
+    ++rounds;
+  }
+
+  public void incPatternsScanned() {
+    ++patternsScanned;
+  }
+
+  public void incTripsBoarded() {
+    ++tripsBoarded;
+  }
+
+  /** Count a stop arrival added to the pareto-set of the stop. */
+  public void incParetoSetInsertions() {
+    ++paretoSetInsertions;
+  }
+
+  /** Count a stop arrival rejected, because it is dominated by an arrival in the pareto-set. */
+  public void incParetoSetRejections() {
+    ++paretoSetRejections;
+  }
+
+  /** Count a stop arrival rejected, because the heuristics show it cannot reach the destination. */
+  public void incHeuristicRejections() {
+    ++heuristicRejections;
+  }
+
+  /**
+   * Add the counters of this search to the request statistics. This is called once, when the
+   * search is complete.
+   */
+  public void searchComplete() {
+    if (request != null) {
+      request.add(this);
+    }
+  }
+
+  public synchronized long iterations() {
+    return iterations;
+  }
+
+  public synchronized long rounds() {
+    return rounds;
+  }
+
+  public synchronized long patternsScanned() {
+    return patternsScanned;
+  }
+
+  public synchronized long tripsBoarded() {
+    return tripsBoarded;
+  }
+
+  public synchronized long paretoSetInsertions() {
+    return paretoSetInsertions;
+  }
+
+  public synchronized long paretoSetRejections() {
+    return paretoSetRejections;
+  }
+
+  public synchronized long heuristicRejections() {
+    return heuristicRejections;
+  }
+
+  @Override
+  public synchronized String toString() {
+    return ToStringBuilder
+      .of(RaptorSearchStatistics.class)
+      .addNum("iterations", iterations)
+      .addNum("rounds", rounds)
+      .addNum("patternsScanned", patternsScanned)
+      .addNum("tripsBoarded", tripsBoarded)
+      .addNum("paretoSetInsertions", paretoSetInsertions)
+      .addNum("paretoSetRejections", paretoSetRejections)
+      .addNum("heuristicRejections", heuristicRejections)
+      .toString();
+  }
+
+  private synchronized void add(RaptorSearchStatistics search) {
+    iterations += search.iterations;
+    rounds += search.rounds;
+    patternsScanned += search.patternsScanned;
+    tripsBoarded += search.tripsBoarded;
+    paretoSetInsertions += search.paretoSetInsertions;
+    paretoSetRejections += search.paretoSetRejections;
+    heuristicRejections += search.heuristicRejections;
+  }
+}
@@ -5,6 +5,7 @@ import java.util.Collections;
 import java.util.Objects;
 import java.util.Set;
 import org.opentripplanner.framework.tostring.ToStringBuilder;
+import org.opentripplanner.raptor.api.debug.RaptorSearchStatistics;
 import org.opentripplanner.raptor.api.debug.RaptorTimers;
 import org.opentripplanner.raptor.api.model.RaptorTripSchedule;
 import org.opentripplanner.raptor.api.model.SearchDirection;
@@ -27,6 +28,7 @@ public class RaptorRequest<T extends RaptorTripSchedule> {
   private final Set<Optimization> optimizations;
   private final DebugRequest debug;
   private final RaptorTimers performanceTimers;
+  private final RaptorSearchStatistics searchStatistics;
 
   private RaptorRequest() {
     searchParams = SearchParams.defaults();
@@ -34,6 +36,7 @@ public class RaptorRequest<T extends RaptorTripSchedule> {
     searchDirection = SearchDirection.FORWARD;
     optimizations = Collections.emptySet();
     performanceTimers = RaptorTimers.NOOP;
+    searchStatistics = new RaptorSearchStatistics();
     debug = DebugRequest.defaults();
     alias = RaptorRequestBuilder.generateRequestAlias(profile, searchDirection, optimizations);
   }
@@ -45,6 +48,7 @@ public class RaptorRequest<T extends RaptorTripSchedule> {
     this.searchDirection = builder.searchDirection();
     this.optimizations = Set.copyOf(builder.optimizations());
     this.performanceTimers = builder.performanceTimers();
+    this.searchStatistics = builder.searchStatistics();
     this.debug = builder.debug().build();
     verify();
   }
@@ -138,6 +142,15 @@ public class RaptorRequest<T extends RaptorTripSchedule> {
     return performanceTimers;
   }
 
+  /**
+   * The work done by all searches performed for this request is added to these statistics. Each
+   * request built from the defaults gets a new instance, a request created with {@link #mutate()}
+   * shares the instance of the original request.
+   */
+  public RaptorSearchStatistics searchStatistics() {
+    return searchStatistics;
+  }
+
   /**
    * Specify what to debug in the debug request.
    * <p/>
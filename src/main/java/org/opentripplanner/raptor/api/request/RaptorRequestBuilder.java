@@ -3,6 +3,7 @@ package org.opentripplanner.raptor.api.request;
 import java.util.Collection;
 import java.util.EnumSet;
 import java.util.Set;
+import org.opentripplanner.raptor.api.debug.RaptorSearchStatistics;
 import org.opentripplanner.raptor.api.debug.RaptorTimers;
 import org.opentripplanner.raptor.api.model.RaptorTripSchedule;
 import org.opentripplanner.raptor.api.model.SearchDirection;
@@ -30,6 +31,7 @@ public class RaptorRequestBuilder<T extends RaptorTripSchedule> {
 
   // Performance monitoring
   private RaptorTimers performanceTimers;
+  private RaptorSearchStatistics searchStatistics;
 
   // Algorithm
   private RaptorProfile profile;
@@ -53,6 +55,7 @@ public class RaptorRequestBuilder<T extends RaptorTripSchedule> {
 
     // Timer
     this.performanceTimers = defaults.performanceTimers();
+    this.searchStatistics = defaults.searchStatistics();
 
     // Debug
     this.debug = new DebugRequestBuilder(defaults.debug());
@@ -111,6 +114,15 @@ public class RaptorRequestBuilder<T extends RaptorTripSchedule> {
     return this;
   }
 
+  public RaptorSearchStatistics searchStatistics() {
+    return searchStatistics;
+  }
+
+  public RaptorRequestBuilder<T> searchStatistics(RaptorSearchStatistics searchStatistics) {
+    this.searchStatistics = searchStatistics;
+    return this;
+  }
+
   public DebugRequestBuilder debug() {
     return this.debug;
   }
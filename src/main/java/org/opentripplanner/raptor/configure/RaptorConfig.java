@@ -114,6 +114,7 @@ public class RaptorConfig<T extends RaptorTripSchedule> {
       ctx.calculator(),
       ctx.createLifeCyclePublisher(),
       ctx.performanceTimers(),
+      ctx.searchStatistics(),
       ctx.useConstrainedTransfers()
     );
   }
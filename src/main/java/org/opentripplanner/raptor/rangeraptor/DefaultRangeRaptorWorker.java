@@ -2,6 +2,7 @@ package org.opentripplanner.raptor.rangeraptor;
 
 import java.util.Collection;
 import org.opentripplanner.raptor.api.RaptorConstants;
+import org.opentripplanner.raptor.api.debug.RaptorSearchStatistics;
 import org.opentripplanner.raptor.api.debug.RaptorTimers;
 import org.opentripplanner.raptor.api.model.RaptorAccessEgress;
 import org.opentripplanner.raptor.api.model.RaptorTripSchedule;
@@ -78,6 +79,8 @@ public final class DefaultRangeRaptorWorker<T extends RaptorTripSchedule>
 
   private final RaptorTimers timers;
 
+  private final RaptorSearchStatistics statistics;
+
   private final AccessPaths accessPaths;
 
   private final LifeCycleEventPublisher lifeCycle;
@@ -98,6 +101,7 @@ public final class DefaultRangeRaptorWorker<T extends RaptorTripSchedule>
     RaptorTransitCalculator<T> calculator,
     LifeCycleEventPublisher lifeCyclePublisher,
     RaptorTimers timers,
+    RaptorSearchStatistics statistics,
     boolean enableTransferConstraints
   ) {
     this.transitWorker = transitWorker;
@@ -106,6 +110,7 @@ public final class DefaultRangeRaptorWorker<T extends RaptorTripSchedule>
     this.slackProvider = slackProvider;
     this.calculator = calculator;
     this.timers = timers;
+    this.statistics = statistics;
     this.accessPaths = accessPaths;
     this.minNumberOfRounds = accessPaths.calculateMaxNumberOfRides();
     this.enableTransferConstraints = enableTransferConstraints;
@@ -124,22 +129,28 @@ public final class DefaultRangeRaptorWorker<T extends RaptorTripSchedule>
    */
   @Override
   public RaptorWorkerResult<T> route() {
-    timers.route(() -> {
-      lifeCycle.notifyRouteSearchStart(calculator.searchForward());
-      transitData.setup();
-
-      // The main outer loop iterates backward over all minutes in the departure times window.
-      // Ergo, we re-use the arrival times found in searches that have already occurred that
-      // depart later, because the arrival time given departure at time t is upper-bounded by
-      // the arrival time given departure at minute t + 1.
-      final IntIterator it = calculator.rangeRaptorMinutes();
-      while (it.hasNext()) {
-        // Run the raptor search for this particular iteration departure time
-        iterationDepartureTime = it.next();
-        lifeCycle.setupIteration(iterationDepartureTime);
-        runRaptorForMinute();
-      }
-    });
+    try {
+      timers.route(() -> {
+        lifeCycle.notifyRouteSearchStart(calculator.searchForward());
+        transitData.setup();
+
+        // The main outer loop iterates backward over all minutes in the departure times window.
+        // Ergo, we re-use the arrival times found in searches that have already occurred that
+        // depart later, because the arrival time given departure at time t is upper-bounded by
+        // the arrival time given departure at minute t + 1.
+        final IntIterator it = calculator.rangeRaptorMinutes();
+        while (it.hasNext()) {
+          // Run the raptor search for this particular iteration departure time
+          iterationDepartureTime = it.next();
+          lifeCycle.setupIteration(iterationDepartureTime);
+          statistics.incIterations();
+          runRaptorForMinute();
+        }
+      });
+    } finally {
+      // Add the counters of a search aborted by a timeout or an error as well
+      statistics.searchComplete();
+    }
     return state.results();
   }
 
@@ -151,6 +162,7 @@ public final class DefaultRangeRaptorWorker<T extends RaptorTripSchedule>
 
     while (hasMoreRounds()) {
       lifeCycle.prepareForNextRound(roundTracker.nextRound());
+      statistics.incRounds();
 
       // NB since we have transfer limiting not bothering to cut off search when there are no
       // more transfers as that will be rare and complicates the code
@@ -193,6 +205,7 @@ public final class DefaultRangeRaptorWorker<T extends RaptorTripSchedule>
         var routeIndex = routeIndexIterator.next();
         var route = transitData.getRouteForIndex(routeIndex);
         var pattern = route.pattern();
+        statistics.incPatternsScanned();
         var txSearch = enableTransferConstraints
           ? calculator.transferConstraintsSearch(transitData, routeIndex)
           : null;
@@ -6,6 +6,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.function.ToIntFunction;
 import javax.annotation.Nullable;
+import org.opentripplanner.raptor.api.debug.RaptorSearchStatistics;
 import org.opentripplanner.raptor.api.debug.RaptorTimers;
 import org.opentripplanner.raptor.api.model.RaptorAccessEgress;
 import org.opentripplanner.raptor.api.model.RaptorTripPattern;
@@ -60,6 +61,7 @@ public class SearchContext<T extends RaptorTripSchedule> {
   private final EgressPaths egressPaths;
   private final AccessPaths accessPaths;
   private final LifeCycleSubscriptions lifeCycleSubscriptions = new LifeCycleSubscriptions();
+  private final RaptorSearchStatistics searchStatistics;
 
   /** Lazy initialized */
   private CostCalculator<T> costCalculator = null;
@@ -84,6 +86,7 @@ public class SearchContext<T extends RaptorTripSchedule> {
         lifeCycle()
       );
     this.debugFactory = new DebugHandlerFactory<>(debugRequest(request), lifeCycle());
+    this.searchStatistics = request.searchStatistics().newSearch();
   }
 
   public AccessPaths accessPaths() {
@@ -157,6 +160,11 @@ public class SearchContext<T extends RaptorTripSchedule> {
     return request.performanceTimers();
   }
 
+  /** The statistics of this search, added to the request statistics when the search is complete. */
+  public RaptorSearchStatistics searchStatistics() {
+    return searchStatistics;
+  }
+
   /** Number of stops in transit graph. */
   public int nStops() {
     return transit.numberOfStops();
@@ -205,7 +213,8 @@ public class SearchContext<T extends RaptorTripSchedule> {
       slackProvider(),
       calculator(),
       roundProvider(),
-      lifeCycle()
+      lifeCycle(),
+      searchStatistics()
     );
   }
 
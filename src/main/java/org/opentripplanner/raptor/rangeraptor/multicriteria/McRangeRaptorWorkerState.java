@@ -3,6 +3,7 @@ package org.opentripplanner.raptor.rangeraptor.multicriteria;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import org.opentripplanner.raptor.api.debug.RaptorSearchStatistics;
 import org.opentripplanner.raptor.api.model.RaptorAccessEgress;
 import org.opentripplanner.raptor.api.model.RaptorTransfer;
 import org.opentripplanner.raptor.api.model.RaptorTripSchedule;
@@ -38,6 +39,7 @@ public final class McRangeRaptorWorkerState<T extends RaptorTripSchedule>
   private final List<AbstractStopArrival<T>> arrivalsCache = new ArrayList<>();
   private final CostCalculator<T> costCalculator;
   private final RaptorTransitCalculator<T> transitCalculator;
+  private final RaptorSearchStatistics statistics;
 
   /**
    * create a RaptorState for a network with a particular number of stops, and a given maximum
@@ -49,6 +51,7 @@ public final class McRangeRaptorWorkerState<T extends RaptorTripSchedule>
     HeuristicsProvider<T> heuristics,
     CostCalculator<T> costCalculator,
     RaptorTransitCalculator<T> transitCalculator,
+    RaptorSearchStatistics statistics,
     WorkerLifeCycle lifeCycle
   ) {
     this.arrivals = arrivals;
@@ -56,6 +59,7 @@ public final class McRangeRaptorWorkerState<T extends RaptorTripSchedule>
     this.heuristics = heuristics;
     this.costCalculator = costCalculator;
     this.transitCalculator = transitCalculator;
+    this.statistics = statistics;
 
     // Attach to the RR life cycle
     lifeCycle.onSetupIteration(ignore -> setupIteration());
@@ -198,9 +202,14 @@ public final class McRangeRaptorWorkerState<T extends RaptorTripSchedule>
 
   private void addStopArrival(AbstractStopArrival<T> arrival) {
     if (heuristics.rejectDestinationArrivalBasedOnHeuristic(arrival)) {
+      statistics.incHeuristicRejections();
       return;
     }
-    arrivals.addStopArrival(arrival);
+    if (arrivals.addStopArrival(arrival)) {
+      statistics.incParetoSetInsertions();
+    } else {
+      statistics.incParetoSetRejections();
+    }
   }
 
   private boolean exceedsTimeLimit(int time) {
@@ -86,11 +86,16 @@ public final class McStopArrivals<T extends RaptorTripSchedule> {
     return new BitSetIterator(touchedStops);
   }
 
-  void addStopArrival(AbstractStopArrival<T> arrival) {
+  /**
+   * Add the arrival to the stop pareto-set, return {@code true} if it is added, and {@code false}
+   * if it is rejected.
+   */
+  boolean addStopArrival(AbstractStopArrival<T> arrival) {
     boolean added = findOrCreateSet(arrival.stop()).add(arrival);
     if (added) {
       touchedStops.set(arrival.stop());
     }
+    return added;
   }
 
   void debugStateInfo() {
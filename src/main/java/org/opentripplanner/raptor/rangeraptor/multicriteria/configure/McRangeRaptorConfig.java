@@ -62,6 +62,7 @@ public class McRangeRaptorConfig<T extends RaptorTripSchedule> {
       createHeuristicsProvider(heuristics),
       context.costCalculator(),
       context.calculator(),
+      context.searchStatistics(),
       context.lifeCycle()
     );
   }
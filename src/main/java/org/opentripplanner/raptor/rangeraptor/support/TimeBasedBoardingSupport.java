@@ -2,6 +2,7 @@ package org.opentripplanner.raptor.rangeraptor.support;
 
 import static org.opentripplanner.raptor.spi.RaptorTripScheduleSearch.UNBOUNDED_TRIP_INDEX;
 
+import org.opentripplanner.raptor.api.debug.RaptorSearchStatistics;
 import org.opentripplanner.raptor.api.model.RaptorTripSchedule;
 import org.opentripplanner.raptor.api.model.TransitArrival;
 import org.opentripplanner.raptor.rangeraptor.internalapi.RoundProvider;
@@ -25,6 +26,7 @@ public final class TimeBasedBoardingSupport<T extends RaptorTripSchedule> {
   private final RaptorTransitCalculator<T> calculator;
   private final RoundProvider roundProvider;
   private final boolean hasTimeDependentAccess;
+  private final RaptorSearchStatistics statistics;
   private boolean inFirstIteration = true;
   private RaptorTimeTable<T> timeTable;
   private RaptorTripScheduleSearch<T> tripSearch;
@@ -34,12 +36,14 @@ public final class TimeBasedBoardingSupport<T extends RaptorTripSchedule> {
     SlackProvider slackProvider,
     RaptorTransitCalculator<T> calculator,
     RoundProvider roundProvider,
-    WorkerLifeCycle subscriptions
+    WorkerLifeCycle subscriptions,
+    RaptorSearchStatistics statistics
   ) {
     this.hasTimeDependentAccess = hasTimeDependentAccess;
     this.slackProvider = slackProvider;
     this.calculator = calculator;
     this.roundProvider = roundProvider;
+    this.statistics = statistics;
 
     subscriptions.onIterationComplete(() -> inFirstIteration = false);
   }
@@ -68,7 +72,11 @@ public final class TimeBasedBoardingSupport<T extends RaptorTripSchedule> {
     int onTripIndex
   ) {
     int earliestBoardTime = earliestBoardTime(prevArrivalTime, boardSlack);
-    return tripSearch.search(earliestBoardTime, stopPos, onTripIndex);
+    var boarding = tripSearch.search(earliestBoardTime, stopPos, onTripIndex);
+    if (!boarding.empty()) {
+      statistics.incTripsBoarded();
+    }
+    return boarding;
   }
 
   /**
@@ -103,7 +111,7 @@ public final class TimeBasedBoardingSupport<T extends RaptorTripSchedule> {
 
     int earliestBoardTime = earliestBoardTime(prevArrivalTime, boardSlack);
 
-    return txSearch.find(
+    var boarding = txSearch.find(
       timeTable,
       slackProvider.transferSlack(),
       prevTransitStopArrival.trip(),
@@ -111,6 +119,11 @@ public final class TimeBasedBoardingSupport<T extends RaptorTripSchedule> {
       prevTransitArrivalTime,
       earliestBoardTime
     );
+    // A forbidden transfer is not empty, but no trip is boarded
+    if (!boarding.empty() && !boarding.transferConstraint().isNotAllowed()) {
+      statistics.incTripsBoarded();
+    }
+    return boarding;
   }
 
   /**
@@ -11,6 +11,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import javax.annotation.Nullable;
 import org.opentripplanner.framework.application.OTPFeature;
 import org.opentripplanner.framework.time.ServiceDateUtils;
 import org.opentripplanner.model.plan.Itinerary;
@@ -31,7 +32,10 @@ import org.opentripplanner.routing.api.request.StreetMode;
 import org.opentripplanner.routing.api.response.RoutingError;
 import org.opentripplanner.routing.api.response.RoutingResponse;
 import org.opentripplanner.routing.error.RoutingValidationException;
+import org.opentripplanner.routing.fares.FareService;
 import org.opentripplanner.routing.framework.DebugTimingAggregator;
+import org.opentripplanner.routing.framework.RequestResourceUsage;
+import org.opentripplanner.routing.framework.RoutingPhase;
 import org.opentripplanner.standalone.api.OtpServerRequestContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -72,7 +76,8 @@ public class RoutingWorker {
     this.debugTimingAggregator =
       new DebugTimingAggregator(
         serverContext.meterRegistry(),
-        request.preferences().system().tags()
+        request.preferences().system().tags(),
+        request.journey()
       );
     this.transitSearchTimeZero = ServiceDateUtils.asStartOfService(request.dateTime(), zoneId);
     this.pagingSearchWindowAdjuster =
@@ -94,6 +99,7 @@ public class RoutingWorker {
     request.journey().direct().setMode(emptyDirectModeHandler.resolveDirectMode());
 
     this.debugTimingAggregator.finishedPrecalculating();
+    var resourceUsage = debugTimingAggregator.resourceUsage();
 
     var itineraries = Collections.synchronizedList(new ArrayList<Itinerary>());
     var routingErrors = Collections.synchronizedSet(new HashSet<RoutingError>());
@@ -138,13 +144,16 @@ public class RoutingWorker {
       it -> firstRemovedItinerary = it,
       request.wheelchair(),
       request.preferences().wheelchair().maxSlope(),
-      serverContext.graph().getFareService(),
+      measureFares(serverContext.graph().getFareService(), resourceUsage),
       minBikeParkingDistance(request),
       serverContext.transitService().getTransitAlertService(),
       serverContext.transitService()::getMultiModalStationForStation
     );
 
-    List<Itinerary> filteredItineraries = filterChain.filter(itineraries);
+    List<Itinerary> filteredItineraries = resourceUsage.measure(
+      RoutingPhase.FILTERING,
+      () -> filterChain.filter(itineraries)
+    );
 
     routingErrors.addAll(filterChain.getRoutingErrors());
 
@@ -165,17 +174,36 @@ public class RoutingWorker {
     // is off (too few or too many results found).
     var searchWindowNextSearch = calculateSearchWindowNextSearch(filteredItineraries);
 
-    return RoutingResponseMapper.map(
-      request,
-      transitSearchTimeZero,
-      raptorSearchParamsUsed,
-      searchWindowNextSearch,
-      firstRemovedItinerary,
-      filteredItineraries,
-      routingErrors,
-      debugTimingAggregator,
-      serverContext.transitService()
+    var response = resourceUsage.measure(
+      RoutingPhase.RESPONSE_MAPPING,
+      () ->
+        RoutingResponseMapper.map(
+          request,
+          transitSearchTimeZero,
+          raptorSearchParamsUsed,
+          searchWindowNextSearch,
+          firstRemovedItinerary,
+          filteredItineraries,
+          routingErrors,
+          debugTimingAggregator,
+          serverContext.transitService()
+        )
     );
+    debugTimingAggregator.finishedResponseMapping();
+    resourceUsage.publish();
+    return response;
+  }
+
+  @Nullable
+  private static FareService measureFares(
+    @Nullable FareService fareService,
+    RequestResourceUsage resourceUsage
+  ) {
+    if (fareService == null) {
+      return null;
+    }
+    return itinerary ->
+      resourceUsage.measure(RoutingPhase.FARES, () -> fareService.getCost(itinerary));
   }
 
   private static double minBikeParkingDistance(RouteRequest request) {
@@ -237,7 +265,14 @@ public class RoutingWorker {
   ) {
     debugTimingAggregator.startedDirectStreetRouter();
     try {
-      itineraries.addAll(DirectStreetRouter.route(serverContext, request));
+      itineraries.addAll(
+        debugTimingAggregator
+          .resourceUsage()
+          .measure(
+            RoutingPhase.DIRECT_STREET,
+            () -> DirectStreetRouter.route(serverContext, request)
+          )
+      );
     } catch (RoutingValidationException e) {
       routingErrors.addAll(e.getRoutingErrors());
     } finally {
@@ -255,7 +290,14 @@ public class RoutingWorker {
 
     debugTimingAggregator.startedDirectFlexRouter();
     try {
-      itineraries.addAll(DirectFlexRouter.route(serverContext, request, additionalSearchDays));
+      itineraries.addAll(
+        debugTimingAggregator
+          .resourceUsage()
+          .measure(
+            RoutingPhase.DIRECT_FLEX,
+            () -> DirectFlexRouter.route(serverContext, request, additionalSearchDays)
+          )
+      );
     } catch (RoutingValidationException e) {
       routingErrors.addAll(e.getRoutingErrors());
     } finally {
@@ -266,13 +308,19 @@ public class RoutingWorker {
   private void routeTransit(List<Itinerary> itineraries, Collection<RoutingError> routingErrors) {
     debugTimingAggregator.startedTransitRouting();
     try {
-      var transitResults = TransitRouter.route(
-        request,
-        serverContext,
-        transitSearchTimeZero,
-        additionalSearchDays,
-        debugTimingAggregator
-      );
+      var transitResults = debugTimingAggregator
+        .resourceUsage()
+        .measure(
+          RoutingPhase.TRANSIT,
+          () ->
+            TransitRouter.route(
+              request,
+              serverContext,
+              transitSearchTimeZero,
+              additionalSearchDays,
+              debugTimingAggregator
+            )
+        );
       raptorSearchParamsUsed = transitResults.getSearchParams();
       itineraries.addAll(transitResults.getItineraries());
     } catch (RoutingValidationException e) {
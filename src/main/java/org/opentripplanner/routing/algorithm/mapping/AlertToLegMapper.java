@@ -1,7 +1,6 @@
 package org.opentripplanner.routing.algorithm.mapping;
 
 import java.time.LocalDate;
-import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
@@ -47,8 +46,8 @@ public class AlertToLegMapper {
       return;
     }
 
-    ZonedDateTime legStartTime = leg.getStartTime();
-    ZonedDateTime legEndTime = leg.getEndTime();
+    long legStartTime = leg.getStartTime().toEpochSecond();
+    long legEndTime = leg.getEndTime().toEpochSecond();
     StopLocation fromStop = leg.getFrom() == null ? null : leg.getFrom().stop;
     StopLocation toStop = leg.getTo() == null ? null : leg.getTo().stop;
 
@@ -61,105 +60,138 @@ public class AlertToLegMapper {
         ? StopCondition.FIRST_DEPARTURE
         : StopCondition.DEPARTURE;
 
-      Collection<TransitAlert> alerts = getAlertsForStopAndRoute(stop, routeId, stopConditions);
-      alerts.addAll(getAlertsForStopAndTrip(stop, tripId, serviceDate, stopConditions));
-      alerts.addAll(
-        getAlertsForRelatedStops(stop, id -> transitAlertService.getStopAlerts(id, stopConditions))
+      addTransitAlertsToLeg(
+        leg,
+        getAlertsForStop(
+          stop,
+          routeId,
+          tripId,
+          serviceDate,
+          stopConditions,
+          legStartTime,
+          legEndTime
+        )
       );
-      addTransitAlertsToLeg(leg, alerts, legStartTime, legEndTime);
     }
     if (toStop instanceof RegularStop stop) {
       Set<StopCondition> stopConditions = StopCondition.ARRIVING;
-      Collection<TransitAlert> alerts = getAlertsForStopAndRoute(stop, routeId, stopConditions);
-      alerts.addAll(getAlertsForStopAndTrip(stop, tripId, serviceDate, stopConditions));
-      alerts.addAll(
-        getAlertsForRelatedStops(stop, id -> transitAlertService.getStopAlerts(id, stopConditions))
+      addTransitAlertsToLeg(
+        leg,
+        getAlertsForStop(
+          stop,
+          routeId,
+          tripId,
+          serviceDate,
+          stopConditions,
+          legStartTime,
+          legEndTime
+        )
       );
-      addTransitAlertsToLeg(leg, alerts, legStartTime, legEndTime);
     }
 
     if (leg.getIntermediateStops() != null) {
       Set<StopCondition> stopConditions = StopCondition.PASSING;
       for (StopArrival visit : leg.getIntermediateStops()) {
         if (visit.place.stop instanceof RegularStop stop) {
-          Collection<TransitAlert> alerts = getAlertsForStopAndRoute(stop, routeId, stopConditions);
-          alerts.addAll(getAlertsForStopAndTrip(stop, tripId, serviceDate, stopConditions));
-          alerts.addAll(
-            getAlertsForRelatedStops(
+          long stopArrival = visit.arrival.toEpochSecond();
+          long stopDeparture = visit.departure.toEpochSecond();
+
+          addTransitAlertsToLeg(
+            leg,
+            getAlertsForStop(
               stop,
-              id -> transitAlertService.getStopAlerts(id, stopConditions)
+              routeId,
+              tripId,
+              serviceDate,
+              stopConditions,
+              stopArrival,
+              stopDeparture
             )
           );
-
-          ZonedDateTime stopArrival = visit.arrival;
-          ZonedDateTime stopDeparture = visit.departure;
-
-          addTransitAlertsToLeg(leg, alerts, stopArrival, stopDeparture);
         }
       }
     }
 
-    Collection<TransitAlert> alerts;
-
     // trips
-    alerts = transitAlertService.getTripAlerts(leg.getTrip().getId(), serviceDate);
-    addTransitAlertsToLeg(leg, alerts, legStartTime, legEndTime);
+    addTransitAlertsToLeg(
+      leg,
+      transitAlertService.getTripAlerts(tripId, serviceDate, legStartTime, legEndTime)
+    );
 
     // route
-    alerts = transitAlertService.getRouteAlerts(leg.getRoute().getId());
-    addTransitAlertsToLeg(leg, alerts, legStartTime, legEndTime);
+    addTransitAlertsToLeg(
+      leg,
+      transitAlertService.getRouteAlerts(routeId, legStartTime, legEndTime)
+    );
 
     // agency
-    alerts = transitAlertService.getAgencyAlerts(leg.getAgency().getId());
-    addTransitAlertsToLeg(leg, alerts, legStartTime, legEndTime);
+    addTransitAlertsToLeg(
+      leg,
+      transitAlertService.getAgencyAlerts(leg.getAgency().getId(), legStartTime, legEndTime)
+    );
 
     // Filter alerts when there are multiple timePeriods for each alert
-    leg
-      .getTransitAlerts()
-      .removeIf(alert ->
-        !alert.displayDuring(leg.getStartTime().toEpochSecond(), leg.getEndTime().toEpochSecond())
-      );
+    leg.getTransitAlerts().removeIf(alert -> !alert.displayDuring(legStartTime, legEndTime));
   }
 
   /**
-   * Add alerts for the leg, if they are valid for the duration of the leg.
+   * Add alerts to the leg. The alerts are already filtered on the time window they should be
+   * displayed for.
    */
-  private static void addTransitAlertsToLeg(
-    Leg leg,
-    Collection<TransitAlert> alerts,
-    ZonedDateTime fromTime,
-    ZonedDateTime toTime
-  ) {
+  private static void addTransitAlertsToLeg(Leg leg, Collection<TransitAlert> alerts) {
     if (alerts != null) {
       for (TransitAlert alert : alerts) {
-        if (alert.displayDuring(fromTime.toEpochSecond(), toTime.toEpochSecond())) {
-          leg.addAlert(alert);
-        }
+        leg.addAlert(alert);
       }
     }
   }
 
-  private Collection<TransitAlert> getAlertsForStopAndRoute(
+  /**
+   * Find the alerts for the stop (and related stops) displayed in the given time window, both the
+   * ones for the stop alone and for the stop in combination with the route or trip.
+   */
+  private Collection<TransitAlert> getAlertsForStop(
     RegularStop stop,
     FeedScopedId routeId,
-    Set<StopCondition> stopConditions
-  ) {
-    return getAlertsForRelatedStops(
-      stop,
-      id -> transitAlertService.getStopAndRouteAlerts(id, routeId, stopConditions)
-    );
-  }
-
-  private Collection<TransitAlert> getAlertsForStopAndTrip(
-    RegularStop stop,
     FeedScopedId tripId,
     LocalDate serviceDate,
-    Set<StopCondition> stopConditions
+    Set<StopCondition> stopConditions,
+    long startTimeSeconds,
+    long endTimeSeconds
   ) {
-    return getAlertsForRelatedStops(
+    Collection<TransitAlert> alerts = getAlertsForRelatedStops(
       stop,
-      id -> transitAlertService.getStopAndTripAlerts(id, tripId, serviceDate, stopConditions)
+      id ->
+        transitAlertService.getStopAndRouteAlerts(
+          id,
+          routeId,
+          stopConditions,
+          startTimeSeconds,
+          endTimeSeconds
+        )
+    );
+    alerts.addAll(
+      getAlertsForRelatedStops(
+        stop,
+        id ->
+          transitAlertService.getStopAndTripAlerts(
+            id,
+            tripId,
+            serviceDate,
+            stopConditions,
+            startTimeSeconds,
+            endTimeSeconds
+          )
+      )
+    );
+    alerts.addAll(
+      getAlertsForRelatedStops(
+        stop,
+        id ->
+          transitAlertService.getStopAlerts(id, stopConditions, startTimeSeconds, endTimeSeconds)
+      )
     );
+    return alerts;
   }
 
   /**
@@ -9,6 +9,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Supplier;
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.LineString;
 import org.locationtech.jts.geom.impl.PackedCoordinateSequence;
@@ -356,7 +357,7 @@ public class GraphPathToItineraryMapper {
    * @param states       The list of states to base the leg on
    * @param previousStep the previous walk step, so that the first relative turn direction is
    *                     calculated correctly
-   * @return The generated leg
+   * @return The generated leg, with a geometry computed on first use
    */
   private StreetLeg generateLeg(List<State> states, WalkStep previousStep) {
     List<Edge> edges = states
@@ -375,8 +376,12 @@ public class GraphPathToItineraryMapper {
 
     double distanceMeters = edges.stream().mapToDouble(Edge::getDistanceMeters).sum();
 
-    LineString geometry = GeometryUtils.concatenateLineStrings(edges, Edge::getGeometry);
+    // Most itineraries are removed by the itinerary filters, which do not use the geometry
+    Supplier<LineString> geometry = () ->
+      GeometryUtils.concatenateLineStrings(edges, Edge::getGeometry);
 
+    // The walk steps are generated from the street graph, so they must be generated while the
+    // temporary vertices and edges of the search exist
     var statesToWalkStepsMapper = new StatesToWalkStepsMapper(
       states,
       previousStep,
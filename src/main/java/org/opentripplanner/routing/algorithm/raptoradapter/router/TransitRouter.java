@@ -1,11 +1,16 @@
 package org.opentripplanner.routing.algorithm.raptoradapter.router;
 
+import java.time.Duration;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import javax.annotation.Nullable;
 import org.opentripplanner.framework.application.OTPFeature;
 import org.opentripplanner.model.plan.Itinerary;
 import org.opentripplanner.raptor.RaptorService;
@@ -29,6 +34,8 @@ import org.opentripplanner.routing.api.response.RoutingError;
 import org.opentripplanner.routing.api.response.RoutingErrorCode;
 import org.opentripplanner.routing.error.RoutingValidationException;
 import org.opentripplanner.routing.framework.DebugTimingAggregator;
+import org.opentripplanner.routing.framework.RequestResourceUsage;
+import org.opentripplanner.routing.framework.RoutingPhase;
 import org.opentripplanner.standalone.api.OtpServerRequestContext;
 import org.opentripplanner.street.search.TemporaryVerticesContainer;
 
@@ -39,6 +46,7 @@ public class TransitRouter {
   private final RouteRequest request;
   private final OtpServerRequestContext serverContext;
   private final DebugTimingAggregator debugTimingAggregator;
+  private final RequestResourceUsage resourceUsage;
   private final ZonedDateTime transitSearchTimeZero;
   private final AdditionalSearchDays additionalSearchDays;
 
@@ -54,6 +62,7 @@ public class TransitRouter {
     this.transitSearchTimeZero = transitSearchTimeZero;
     this.additionalSearchDays = additionalSearchDays;
     this.debugTimingAggregator = debugTimingAggregator;
+    this.resourceUsage = debugTimingAggregator.resourceUsage();
   }
 
   public static TransitRouterResult route(
@@ -106,12 +115,20 @@ public class TransitRouter {
       serverContext.raptorConfig().isMultiThreaded(),
       accessEgresses.getAccesses(),
       accessEgresses.getEgresses(),
-      serverContext.meterRegistry()
+      serverContext.meterRegistry(),
+      resourceUsage
     );
 
     // Route transit
     var raptorService = new RaptorService<>(serverContext.raptorConfig());
-    var transitResponse = raptorService.route(raptorRequest, requestTransitDataProvider);
+    long raptorStartTime = System.nanoTime();
+    var transitResponse = resourceUsage.measure(
+      RoutingPhase.RAPTOR,
+      () -> raptorService.route(raptorRequest, requestTransitDataProvider)
+    );
+    serverContext
+      .searchStatisticsForRaptor()
+      .record(request, raptorRequest, Duration.ofNanos(System.nanoTime() - raptorStartTime));
 
     checkIfTransitConnectionExists(transitResponse);
 
@@ -120,17 +137,21 @@ public class TransitRouter {
     Collection<RaptorPath<TripSchedule>> paths = transitResponse.paths();
 
     if (OTPFeature.OptimizeTransfers.isOn() && !transitResponse.containsUnknownPaths()) {
+      var optimizeTransferService =
+        TransferOptimizationServiceConfigurator.createOptimizeTransferService(
+          transitLayer::getStopByIndex,
+          requestTransitDataProvider.stopNameResolver(),
+          serverContext.transitService().getTransferService(),
+          requestTransitDataProvider,
+          transitLayer.getStopBoardAlightCosts(),
+          request.preferences().transfer().optimization(),
+          transferOptimizationExecutor()
+        );
       paths =
-        TransferOptimizationServiceConfigurator
-          .createOptimizeTransferService(
-            transitLayer::getStopByIndex,
-            requestTransitDataProvider.stopNameResolver(),
-            serverContext.transitService().getTransferService(),
-            requestTransitDataProvider,
-            transitLayer.getStopBoardAlightCosts(),
-            request.preferences().transfer().optimization()
-          )
-          .optimize(transitResponse.paths());
+        resourceUsage.measure(
+          RoutingPhase.TRANSFER_OPTIMIZATION,
+          () -> optimizeTransferService.optimize(transitResponse.paths())
+        );
     }
 
     // Create itineraries
@@ -143,7 +164,11 @@ public class TransitRouter {
       request
     );
 
-    List<Itinerary> itineraries = paths.stream().map(itineraryMapper::createItinerary).toList();
+    var pathsToMap = paths;
+    List<Itinerary> itineraries = resourceUsage.measure(
+      RoutingPhase.ITINERARY_CREATION,
+      () -> pathsToMap.stream().map(itineraryMapper::createItinerary).toList()
+    );
 
     debugTimingAggregator.finishedItineraryCreation();
 
@@ -165,13 +190,19 @@ public class TransitRouter {
     ) {
       var accessCalculator = (Runnable) () -> {
         debugTimingAggregator.startedAccessCalculating();
-        accessList.addAll(getAccessEgresses(accessEgressMapper, temporaryVertices, false));
+        resourceUsage.measure(
+          RoutingPhase.ACCESS,
+          () -> accessList.addAll(getAccessEgresses(accessEgressMapper, temporaryVertices, false))
+        );
         debugTimingAggregator.finishedAccessCalculating();
       };
 
       var egressCalculator = (Runnable) () -> {
         debugTimingAggregator.startedEgressCalculating();
-        egressList.addAll(getAccessEgresses(accessEgressMapper, temporaryVertices, true));
+        resourceUsage.measure(
+          RoutingPhase.EGRESS,
+          () -> egressList.addAll(getAccessEgresses(accessEgressMapper, temporaryVertices, true))
+        );
         debugTimingAggregator.finishedEgressCalculating();
       };
 
@@ -241,6 +272,24 @@ public class TransitRouter {
     return results;
   }
 
+  /**
+   * The paths are optimized in parallel if ParallelRouting is on. The Raptor thread pool is used if
+   * it is configured, otherwise the common pool, like the other parallel routing tasks. The
+   * resource usage of each task is added to the transfer optimization phase of the request.
+   */
+  @Nullable
+  private Executor transferOptimizationExecutor() {
+    if (!OTPFeature.ParallelRouting.isOn()) {
+      return null;
+    }
+    var raptorThreadPool = serverContext.raptorConfig().threadPool();
+    ExecutorService threadPool = raptorThreadPool != null
+      ? raptorThreadPool
+      : ForkJoinPool.commonPool();
+    return task ->
+      threadPool.execute(() -> resourceUsage.measure(RoutingPhase.TRANSFER_OPTIMIZATION, task));
+  }
+
   private RaptorRoutingRequestTransitData createRequestTransitDataProvider(
     TransitLayer transitLayer
   ) {
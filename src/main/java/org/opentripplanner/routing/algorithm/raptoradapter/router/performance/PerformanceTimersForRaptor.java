@@ -6,6 +6,8 @@ import java.util.Collection;
 import org.opentripplanner.raptor.api.debug.RaptorTimers;
 import org.opentripplanner.routing.api.request.RoutingTag;
 import org.opentripplanner.routing.framework.MicrometerUtils;
+import org.opentripplanner.routing.framework.RequestResourceUsage;
+import org.opentripplanner.routing.framework.RoutingPhase;
 
 public class PerformanceTimersForRaptor implements RaptorTimers {
 
@@ -15,14 +17,21 @@ public class PerformanceTimersForRaptor implements RaptorTimers {
   private final Timer findTransfersPerRound;
   private final MeterRegistry registry;
   private final Collection<RoutingTag> routingTags;
+  private final RequestResourceUsage resourceUsage;
 
+  /**
+   * @param resourceUsage the usage of each search is added to the Raptor phase of the request, also
+   *                      for the searches executed by other threads, like the heuristic searches.
+   */
   public PerformanceTimersForRaptor(
     String namePrefix,
     Collection<RoutingTag> routingTags,
-    MeterRegistry registry
+    MeterRegistry registry,
+    RequestResourceUsage resourceUsage
   ) {
     this.registry = registry;
     this.routingTags = routingTags;
+    this.resourceUsage = resourceUsage;
     var tags = MicrometerUtils.mapTimingTags(routingTags);
     timerRoute = Timer.builder("raptor." + namePrefix + ".route").tags(tags).register(registry);
     findTransitPerRound =
@@ -45,7 +54,7 @@ public class PerformanceTimersForRaptor implements RaptorTimers {
 
   @Override
   public void route(Runnable body) {
-    timerRoute.record(body);
+    timerRoute.record(() -> resourceUsage.measure(RoutingPhase.RAPTOR, body));
   }
 
   @Override
@@ -60,6 +69,6 @@ public class PerformanceTimersForRaptor implements RaptorTimers {
 
   @Override
   public RaptorTimers withNamePrefix(String namePrefix) {
-    return new PerformanceTimersForRaptor(namePrefix, routingTags, registry);
+    return new PerformanceTimersForRaptor(namePrefix, routingTags, registry, resourceUsage);
   }
 }
@@ -0,0 +1,100 @@
+package org.opentripplanner.routing.algorithm.raptoradapter.router.performance;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.opentripplanner.raptor.api.debug.RaptorSearchStatistics;
+import org.opentripplanner.raptor.api.request.RaptorRequest;
+import org.opentripplanner.routing.api.request.RouteRequest;
+import org.opentripplanner.routing.framework.MicrometerUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Publish the {@link RaptorSearchStatistics} of each request as distribution summaries, and log
+ * the searches slower than the configured threshold with enough detail to replay them offline.
+ * <p>
+ * One instance is shared by all requests, the summaries are registered once for each set of
+ * routing tags.
+ */
+public class SearchStatisticsForRaptor {
+
+  private static final Logger LOG = LoggerFactory.getLogger(SearchStatisticsForRaptor.class);
+
+  private final MeterRegistry registry;
+  private final Duration slowSearchLogThreshold;
+  private final Map<List<Tag>, Summaries> summaries = new ConcurrentHashMap<>();
+
+  /**
+   * @param slowSearchLogThreshold log the searches taking this long or longer, the log is
+   *                               disabled if zero.
+   */
+  public SearchStatisticsForRaptor(MeterRegistry registry, Duration slowSearchLogThreshold) {
+    this.registry = registry;
+    this.slowSearchLogThreshold = slowSearchLogThreshold;
+  }
+
+  public void record(RouteRequest routeRequest, RaptorRequest<?> request, Duration searchTime) {
+    var statistics = request.searchStatistics();
+    var tags = MicrometerUtils.mapTimingTags(routeRequest.preferences().system().tags());
+    var s = summaries.computeIfAbsent(tags, this::createSummaries);
+    s.iterations.record(statistics.iterations());
+    s.rounds.record(statistics.rounds());
+    s.patternsScanned.record(statistics.patternsScanned());
+    s.tripsBoarded.record(statistics.tripsBoarded());
+    s.paretoSetInsertions.record(statistics.paretoSetInsertions());
+    s.paretoSetRejections.record(statistics.paretoSetRejections());
+    s.heuristicRejections.record(statistics.heuristicRejections());
+
+    if (isSlow(searchTime)) {
+      LOG.warn(
+        "Slow Raptor search: {} ms, {}\n  route request: {}\n  raptor request: {}\n" +
+        "  access paths: {}\n  egress paths: {}",
+        searchTime.toMillis(),
+        statistics,
+        routeRequest,
+        request,
+        request.searchParams().accessPaths(),
+        request.searchParams().egressPaths()
+      );
+    }
+  }
+
+  private boolean isSlow(Duration searchTime) {
+    return !slowSearchLogThreshold.isZero() && searchTime.compareTo(slowSearchLogThreshold) >= 0;
+  }
+
+  private Summaries createSummaries(List<Tag> tags) {
+    return new Summaries(
+      summary("iterations", tags),
+      summary("rounds", tags),
+      summary("patternsScanned", tags),
+      summary("tripsBoarded", tags),
+      summary("paretoSetInsertions", tags),
+      summary("paretoSetRejections", tags),
+      summary("heuristicRejections", tags)
+    );
+  }
+
+  private DistributionSummary summary(String name, List<Tag> tags) {
+    return DistributionSummary
+      .builder("raptor.search." + name)
+      .tags(tags)
+      .publishPercentileHistogram()
+      .register(registry);
+  }
+
+  private record Summaries(
+    DistributionSummary iterations,
+    DistributionSummary rounds,
+    DistributionSummary patternsScanned,
+    DistributionSummary tripsBoarded,
+    DistributionSummary paretoSetInsertions,
+    DistributionSummary paretoSetRejections,
+    DistributionSummary heuristicRejections
+  ) {}
+}
@@ -41,7 +41,9 @@ public class DirectStreetRouter {
       GraphPathFinder gpFinder = new GraphPathFinder(
         serverContext.traverseVisitor(),
         serverContext.streetRoutingTimeout(),
-        serverContext.dataOverlayContext(request)
+        serverContext.dataOverlayContext(request),
+        serverContext.graph().getStreetLandmarks(),
+        serverContext.graph().getContractionHierarchy()
       );
       List<GraphPath<State, Edge, Vertex>> paths = gpFinder.graphPathFinderEntryPoint(
         directRequest,
@@ -50,6 +50,11 @@ public interface TransitTuningParameters {
     public List<Duration> pagingSearchWindowAdjustments() {
       return PAGING_SEARCH_WINDOW_ADJUSTMENTS;
     }
+
+    @Override
+    public Duration slowSearchLogThreshold() {
+      return Duration.ZERO;
+    }
   };
 
   /**
@@ -96,4 +101,10 @@ public interface TransitTuningParameters {
    * The default values are: {@link #PAGING_SEARCH_WINDOW_ADJUSTMENTS}
    */
   List<Duration> pagingSearchWindowAdjustments();
+
+  /**
+   * Log the Raptor searches taking longer than this, together with the request and the search
+   * statistics. Zero turns the log off.
+   */
+  Duration slowSearchLogThreshold();
 }
@@ -3,6 +3,10 @@ package org.opentripplanner.routing.algorithm.transferoptimization;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import javax.annotation.Nullable;
 import org.opentripplanner.framework.logging.ThrottleLogger;
 import org.opentripplanner.raptor.api.model.RaptorTripSchedule;
 import org.opentripplanner.raptor.api.path.RaptorPath;
@@ -26,20 +30,30 @@ public class OptimizeTransferService<T extends RaptorTripSchedule> {
   private final MinSafeTransferTimeCalculator<T> minSafeTransferTimeCalculator;
   private final TransferWaitTimeCostCalculator transferWaitTimeCostCalculator;
 
+  @Nullable
+  private final Executor executor;
+
+  /**
+   * @param executor used to optimize the paths in parallel, or {@code null} to optimize them one
+   *                 after the other in the calling thread.
+   */
   public OptimizeTransferService(
     OptimizePathDomainService<T> optimizePathDomainService,
     MinSafeTransferTimeCalculator<T> minSafeTransferTimeCalculator,
-    TransferWaitTimeCostCalculator transferWaitTimeCostCalculator
+    TransferWaitTimeCostCalculator transferWaitTimeCostCalculator,
+    @Nullable Executor executor
   ) {
     this.optimizePathDomainService = optimizePathDomainService;
     this.minSafeTransferTimeCalculator = minSafeTransferTimeCalculator;
     this.transferWaitTimeCostCalculator = transferWaitTimeCostCalculator;
+    this.executor = executor;
   }
 
-  public OptimizeTransferService(OptimizePathDomainService<T> optimizePathDomainService) {
-    this.optimizePathDomainService = optimizePathDomainService;
-    this.minSafeTransferTimeCalculator = null;
-    this.transferWaitTimeCostCalculator = null;
+  public OptimizeTransferService(
+    OptimizePathDomainService<T> optimizePathDomainService,
+    @Nullable Executor executor
+  ) {
+    this(optimizePathDomainService, null, null, executor);
   }
 
   public List<RaptorPath<T>> optimize(Collection<RaptorPath<T>> paths) {
@@ -47,15 +61,46 @@ public class OptimizeTransferService<T extends RaptorTripSchedule> {
 
     long start = LOG.isDebugEnabled() ? System.currentTimeMillis() : 0;
 
-    List<RaptorPath<T>> results = new ArrayList<>();
+    List<RaptorPath<T>> results = (executor == null || paths.size() < 2)
+      ? optimizeInSequence(paths)
+      : optimizeInParallel(paths);
 
+    if (LOG.isDebugEnabled()) {
+      LOG.debug("Optimized transfers done in {} ms.", System.currentTimeMillis() - start);
+      PathDiff.logDiff("RAPTOR", paths, "OPT", results, false, false, LOG::debug);
+    }
+    return results;
+  }
+
+  private List<RaptorPath<T>> optimizeInSequence(Collection<RaptorPath<T>> paths) {
+    List<RaptorPath<T>> results = new ArrayList<>();
     for (var path : paths) {
       results.addAll(optimize(path));
     }
+    return results;
+  }
 
-    if (LOG.isDebugEnabled()) {
-      LOG.debug("Optimized transfers done in {} ms.", System.currentTimeMillis() - start);
-      PathDiff.logDiff("RAPTOR", paths, "OPT", results, false, false, LOG::debug);
+  /**
+   * The paths are optimized independently of each other, the results are collected in the same
+   * order as when optimized in sequence.
+   */
+  private List<RaptorPath<T>> optimizeInParallel(Collection<RaptorPath<T>> paths) {
+    List<CompletableFuture<Collection<OptimizedPath<T>>>> tasks = new ArrayList<>();
+    for (var path : paths) {
+      tasks.add(CompletableFuture.supplyAsync(() -> optimize(path), executor));
+    }
+    List<RaptorPath<T>> results = new ArrayList<>();
+    try {
+      for (var task : tasks) {
+        results.addAll(task.get());
+      }
+    } catch (InterruptedException e) {
+      tasks.forEach(it -> it.cancel(true));
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while optimizing transfers.", e);
+    } catch (ExecutionException e) {
+      // Not expected, exceptions are caught for each path in optimize(path)
+      throw new IllegalStateException(e.getCause());
     }
     return results;
   }
@@ -1,6 +1,8 @@
 package org.opentripplanner.routing.algorithm.transferoptimization.configure;
 
+import java.util.concurrent.Executor;
 import java.util.function.IntFunction;
+import javax.annotation.Nullable;
 import org.opentripplanner.model.transfer.TransferService;
 import org.opentripplanner.raptor.api.model.RaptorTripSchedule;
 import org.opentripplanner.raptor.api.path.RaptorStopNameResolver;
@@ -29,6 +31,7 @@ public class TransferOptimizationServiceConfigurator<T extends RaptorTripSchedul
   private final RaptorTransitDataProvider<T> transitDataProvider;
   private final int[] stopBoardAlightCosts;
   private final TransferOptimizationParameters config;
+  private final Executor executor;
 
   private TransferOptimizationServiceConfigurator(
     IntFunction<StopLocation> stopLookup,
@@ -36,7 +39,8 @@ public class TransferOptimizationServiceConfigurator<T extends RaptorTripSchedul
     TransferService transferService,
     RaptorTransitDataProvider<T> transitDataProvider,
     int[] stopBoardAlightCosts,
-    TransferOptimizationParameters config
+    TransferOptimizationParameters config,
+    Executor executor
   ) {
     this.stopLookup = stopLookup;
     this.stopNameResolver = stopNameResolver;
@@ -44,10 +48,14 @@ public class TransferOptimizationServiceConfigurator<T extends RaptorTripSchedul
     this.transitDataProvider = transitDataProvider;
     this.stopBoardAlightCosts = stopBoardAlightCosts;
     this.config = config;
+    this.executor = executor;
   }
 
   /**
    * Scope: Request
+   *
+   * @param executor used to optimize the paths in parallel, or {@code null} to optimize them in
+   *                 the calling thread.
    */
   public static <
     T extends RaptorTripSchedule
@@ -57,7 +65,8 @@ public class TransferOptimizationServiceConfigurator<T extends RaptorTripSchedul
     TransferService transferService,
     RaptorTransitDataProvider<T> transitDataProvider,
     int[] stopBoardAlightCosts,
-    TransferOptimizationParameters config
+    TransferOptimizationParameters config,
+    @Nullable Executor executor
   ) {
     return new TransferOptimizationServiceConfigurator<T>(
       stopLookup,
@@ -65,7 +74,8 @@ public class TransferOptimizationServiceConfigurator<T extends RaptorTripSchedul
       transferService,
       transitDataProvider,
       stopBoardAlightCosts,
-      config
+      config,
+      executor
     )
       .createOptimizeTransferService();
   }
@@ -90,7 +100,8 @@ public class TransferOptimizationServiceConfigurator<T extends RaptorTripSchedul
       return new OptimizeTransferService<>(
         transfersPermutationService,
         createMinSafeTxTimeService(),
-        transferWaitTimeCalculator
+        transferWaitTimeCalculator,
+        executor
       );
     } else {
       var transfersPermutationService = createOptimizePathService(
@@ -99,7 +110,7 @@ public class TransferOptimizationServiceConfigurator<T extends RaptorTripSchedul
         null,
         transitDataProvider.multiCriteriaCostCalculator()
       );
-      return new OptimizeTransferService<>(transfersPermutationService);
+      return new OptimizeTransferService<>(transfersPermutationService, executor);
     }
   }
 
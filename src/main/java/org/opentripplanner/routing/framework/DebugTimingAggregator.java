@@ -8,9 +8,12 @@ import io.micrometer.core.instrument.Timer;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import org.opentripplanner.api.resource.DebugOutput;
+import org.opentripplanner.api.resource.ResourceUsageOutput;
 import org.opentripplanner.api.resource.TransitTimingOutput;
 import org.opentripplanner.routing.api.request.RoutingTag;
+import org.opentripplanner.routing.api.request.request.JourneyRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -47,6 +50,8 @@ public class DebugTimingAggregator {
   private final Timer routingTotalTimer;
   private final Timer requestTotalTimer;
 
+  private final RequestResourceUsage resourceUsage;
+
   private final Timer.Sample startedCalculating;
   private final List<String> messages = new ArrayList<>();
   private Timer.Sample startedDirectStreetRouter;
@@ -74,13 +79,19 @@ public class DebugTimingAggregator {
   private long filteringTime;
   private long renderingTime;
   private long requestTotalTime;
+  private Map<String, ResourceUsageOutput> resourceUsageOutput;
 
   /**
    * Record the time when we first began calculating a path for this request. Note that timings will
    * not include network and server request queue overhead, which is what we want.
    */
-  public DebugTimingAggregator(MeterRegistry registry, Collection<RoutingTag> routingRequestTags) {
+  public DebugTimingAggregator(
+    MeterRegistry registry,
+    Collection<RoutingTag> routingRequestTags,
+    JourneyRequest journey
+  ) {
     var tags = MicrometerUtils.mapTimingTags(routingRequestTags);
+    resourceUsage = new RequestResourceUsage(registry, routingRequestTags, journey);
     clock = registry.config().clock();
     startedCalculating = Timer.start(this.clock);
 
@@ -109,7 +120,12 @@ public class DebugTimingAggregator {
   }
 
   public DebugTimingAggregator() {
-    this(Metrics.globalRegistry, List.of());
+    this(Metrics.globalRegistry, List.of(), new JourneyRequest());
+  }
+
+  /** The CPU time and memory used by each phase of the request. */
+  public RequestResourceUsage resourceUsage() {
+    return resourceUsage;
   }
 
   /**
@@ -258,6 +274,14 @@ public class DebugTimingAggregator {
     log("│  Routing total: ", routingTotalTime);
   }
 
+  /**
+   * Record the resource usage of the request when the routing response is mapped. The usage in the
+   * debug output is the usage at this point, it includes all routing phases.
+   */
+  public void finishedResponseMapping() {
+    resourceUsageOutput = resourceUsage.toDebugOutput();
+  }
+
   /** Record the time when we finished filtering the paths for this request. */
   public void finishedFiltering() {
     finishedFiltering = Timer.start(clock);
@@ -296,7 +320,8 @@ public class DebugTimingAggregator {
         accessEgressTime,
         raptorSearchTime,
         itineraryCreationTime
-      )
+      ),
+      resourceUsageOutput != null ? resourceUsageOutput : resourceUsage.toDebugOutput()
     );
   }
 
@@ -0,0 +1,218 @@
+package org.opentripplanner.routing.framework;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.opentripplanner.api.resource.ResourceUsageOutput;
+import org.opentripplanner.routing.api.request.RoutingTag;
+import org.opentripplanner.routing.api.request.request.JourneyRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Account for the CPU time used and the memory allocated by each phase of a routing request. The
+ * usage is read from the counters of the thread executing a phase, so phases executed in parallel
+ * by other threads are added up. A phase executed inside another phase is subtracted from the
+ * outer phase, hence the phases do not overlap and their sum is the usage of the request.
+ * <p>
+ * The usage of each phase is recorded in the {@code routing.cpu} timer and the
+ * {@code routing.allocated} distribution summary, tagged with the phase and the access, egress and
+ * direct street modes of the request.
+ * <p>
+ * The JVM does not measure the CPU time and allocations of virtual threads. A phase executed by a
+ * virtual thread, see {@code OTPFeature.VirtualThreads}, is reported as not measured in the debug
+ * output and is not recorded in the meter registry.
+ */
+public class RequestResourceUsage {
+
+  private static final Logger LOG = LoggerFactory.getLogger(RequestResourceUsage.class);
+
+  private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = threadMXBean();
+
+  /** {@code Thread.isVirtual()}, looked up by reflection since OTP is compiled for Java 17. */
+  private static final Method IS_VIRTUAL = isVirtualMethod();
+
+  private static final AtomicBoolean VIRTUAL_THREAD_WARNING_LOGGED = new AtomicBoolean();
+
+  /** The usage of the phases executed inside the current phase, by this thread. */
+  private static final ThreadLocal<Usage> NESTED_USAGE = new ThreadLocal<>();
+
+  private final MeterRegistry registry;
+  private final List<Tag> tags;
+  private final Map<RoutingPhase, LongAdder> cpuTime = new EnumMap<>(RoutingPhase.class);
+  private final Map<RoutingPhase, LongAdder> allocatedBytes = new EnumMap<>(RoutingPhase.class);
+  private final Set<RoutingPhase> unmeasuredPhases = ConcurrentHashMap.newKeySet();
+
+  public RequestResourceUsage(
+    MeterRegistry registry,
+    Collection<RoutingTag> routingRequestTags,
+    JourneyRequest journey
+  ) {
+    this.registry = registry;
+    this.tags = new ArrayList<>(MicrometerUtils.mapTimingTags(routingRequestTags));
+    tags.add(Tag.of("accessMode", String.valueOf(journey.access().mode())));
+    tags.add(Tag.of("egressMode", String.valueOf(journey.egress().mode())));
+    tags.add(Tag.of("directMode", String.valueOf(journey.direct().mode())));
+    for (RoutingPhase phase : RoutingPhase.values()) {
+      cpuTime.put(phase, new LongAdder());
+      allocatedBytes.put(phase, new LongAdder());
+    }
+  }
+
+  /** Return false if the JVM does not measure the CPU time and allocations of threads. */
+  public static boolean isSupported() {
+    return THREAD_MX_BEAN != null;
+  }
+
+  public void measure(RoutingPhase phase, Runnable task) {
+    measure(
+      phase,
+      () -> {
+        task.run();
+        return null;
+      }
+    );
+  }
+
+  public <T> T measure(RoutingPhase phase, Supplier<T> task) {
+    if (!isSupported()) {
+      return task.get();
+    }
+    if (isVirtualThread()) {
+      unmeasuredPhases.add(phase);
+      if (!VIRTUAL_THREAD_WARNING_LOGGED.getAndSet(true)) {
+        LOG.warn(
+          "The CPU time and memory allocated by routing phases executed in virtual threads are " +
+          "not measured, the phases are missing from the routing.cpu and routing.allocated metrics."
+        );
+      }
+      return task.get();
+    }
+    var outer = NESTED_USAGE.get();
+    var nested = new Usage();
+    NESTED_USAGE.set(nested);
+
+    long threadId = Thread.currentThread().getId();
+    long startCpuTime = THREAD_MX_BEAN.getThreadCpuTime(threadId);
+    long startAllocatedBytes = THREAD_MX_BEAN.getThreadAllocatedBytes(threadId);
+    try {
+      return task.get();
+    } finally {
+      long cpu = THREAD_MX_BEAN.getThreadCpuTime(threadId) - startCpuTime;
+      long allocated = THREAD_MX_BEAN.getThreadAllocatedBytes(threadId) - startAllocatedBytes;
+      NESTED_USAGE.set(outer);
+      if (outer != null) {
+        outer.cpuTime += cpu;
+        outer.allocatedBytes += allocated;
+      }
+      cpuTime.get(phase).add(cpu - nested.cpuTime);
+      allocatedBytes.get(phase).add(allocated - nested.allocatedBytes);
+    }
+  }
+
+  /** Record the usage of the phases executed by this request in the meter registry. */
+  public void publish() {
+    if (!isSupported()) {
+      return;
+    }
+    for (RoutingPhase phase : RoutingPhase.values()) {
+      long cpu = cpuTime.get(phase).sum();
+      long allocated = allocatedBytes.get(phase).sum();
+      if ((cpu == 0 && allocated == 0) || unmeasuredPhases.contains(phase)) {
+        continue;
+      }
+      Timer
+        .builder("routing.cpu")
+        .tags(tags)
+        .tag("phase", phase.name())
+        .register(registry)
+        .record(Duration.ofNanos(cpu));
+      DistributionSummary
+        .builder("routing.allocated")
+        .baseUnit("bytes")
+        .tags(tags)
+        .tag("phase", phase.name())
+        .register(registry)
+        .record(allocated);
+    }
+  }
+
+  /**
+   * The usage of each executed phase, or null if the usage is not measured. The usage of a phase
+   * executed by a virtual thread is -1.
+   */
+  public Map<String, ResourceUsageOutput> toDebugOutput() {
+    if (!isSupported()) {
+      return null;
+    }
+    var result = new LinkedHashMap<String, ResourceUsageOutput>();
+    for (RoutingPhase phase : RoutingPhase.values()) {
+      long cpu = cpuTime.get(phase).sum();
+      long allocated = allocatedBytes.get(phase).sum();
+      if (unmeasuredPhases.contains(phase)) {
+        result.put(phase.name(), new ResourceUsageOutput(-1, -1));
+      } else if (cpu != 0 || allocated != 0) {
+        result.put(phase.name(), new ResourceUsageOutput(cpu, allocated));
+      }
+    }
+    return result;
+  }
+
+  private static com.sun.management.ThreadMXBean threadMXBean() {
+    if (
+      ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean &&
+      bean.isThreadCpuTimeSupported() &&
+      bean.isThreadAllocatedMemorySupported()
+    ) {
+      if (!bean.isThreadCpuTimeEnabled()) {
+        bean.setThreadCpuTimeEnabled(true);
+      }
+      if (!bean.isThreadAllocatedMemoryEnabled()) {
+        bean.setThreadAllocatedMemoryEnabled(true);
+      }
+      return bean;
+    }
+    return null;
+  }
+
+  private static boolean isVirtualThread() {
+    if (IS_VIRTUAL == null) {
+      return false;
+    }
+    try {
+      return (boolean) IS_VIRTUAL.invoke(Thread.currentThread());
+    } catch (ReflectiveOperationException e) {
+      return false;
+    }
+  }
+
+  private static Method isVirtualMethod() {
+    try {
+      return Thread.class.getMethod("isVirtual");
+    } catch (NoSuchMethodException e) {
+      // Java 17, there are no virtual threads
+      return null;
+    }
+  }
+
+  private static class Usage {
+
+    private long cpuTime;
+    private long allocatedBytes;
+  }
+}
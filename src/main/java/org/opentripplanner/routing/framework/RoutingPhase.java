@@ -0,0 +1,22 @@
+package org.opentripplanner.routing.framework;
+
+/**
+ * The phases of a routing request, for which the resource usage is measured.
+ *
+ * @see RequestResourceUsage
+ */
+public enum RoutingPhase {
+  DIRECT_STREET,
+  DIRECT_FLEX,
+  /** The transit routing not included in the other transit phases, like the pattern filtering. */
+  TRANSIT,
+  ACCESS,
+  EGRESS,
+  RAPTOR,
+  TRANSFER_OPTIMIZATION,
+  ITINERARY_CREATION,
+  /** The itinerary filter chain, not including the fare calculation. */
+  FILTERING,
+  FARES,
+  RESPONSE_MAPPING,
+}
@@ -18,6 +18,7 @@ import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.Geometry;
 import org.opentripplanner.ext.dataoverlay.configuration.DataOverlayParameterBindings;
 import org.opentripplanner.ext.geocoder.LuceneIndex;
+import org.opentripplanner.ext.traveltime.StopGridEgressTables;
 import org.opentripplanner.framework.geometry.CompactElevationProfile;
 import org.opentripplanner.framework.geometry.GeometryUtils;
 import org.opentripplanner.model.calendar.openinghours.OpeningHoursCalendarService;
@@ -31,6 +32,8 @@ import org.opentripplanner.street.model.edge.Edge;
 import org.opentripplanner.street.model.edge.StreetEdge;
 import org.opentripplanner.street.model.vertex.TransitStopVertex;
 import org.opentripplanner.street.model.vertex.Vertex;
+import org.opentripplanner.street.search.contraction.ContractionHierarchy;
+import org.opentripplanner.street.search.landmark.StreetLandmarks;
 import org.opentripplanner.transit.model.framework.Deduplicator;
 import org.opentripplanner.transit.model.framework.FeedScopedId;
 import org.opentripplanner.transit.service.StopModel;
@@ -117,6 +120,25 @@ public class Graph implements Serializable {
   public DataOverlayParameterBindings dataOverlayParameterBindings;
   private LuceneIndex luceneIndex;
 
+  /**
+   * The street travel times from each stop to the grid cells around it, used by the travel time
+   * Sandbox API. Computed when the server starts.
+   */
+  private transient StopGridEgressTables stopGridEgressTables;
+
+  /**
+   * Landmark distance tables used to speed up direct street searches, computed at graph build time
+   * if enabled in the build-config.
+   */
+  private StreetLandmarks streetLandmarks;
+
+  /**
+   * A contraction hierarchy of the car street network, used for direct car searches with the car
+   * preferences of the routing defaults. Computed at graph build time if enabled in the
+   * build-config.
+   */
+  private ContractionHierarchy contractionHierarchy;
+
   @Inject
   public Graph(
     Deduplicator deduplicator,
@@ -373,6 +395,32 @@ public class Graph implements Serializable {
     this.luceneIndex = luceneIndex;
   }
 
+  public StopGridEgressTables getStopGridEgressTables() {
+    return stopGridEgressTables;
+  }
+
+  public void setStopGridEgressTables(StopGridEgressTables stopGridEgressTables) {
+    this.stopGridEgressTables = stopGridEgressTables;
+  }
+
+  @Nullable
+  public StreetLandmarks getStreetLandmarks() {
+    return streetLandmarks;
+  }
+
+  public void setStreetLandmarks(StreetLandmarks streetLandmarks) {
+    this.streetLandmarks = streetLandmarks;
+  }
+
+  @Nullable
+  public ContractionHierarchy getContractionHierarchy() {
+    return contractionHierarchy;
+  }
+
+  public void setContractionHierarchy(ContractionHierarchy contractionHierarchy) {
+    this.contractionHierarchy = contractionHierarchy;
+  }
+
   private void indexIfNotIndexed(StopModel stopModel) {
     if (streetIndex == null) {
       index(stopModel);
@@ -11,7 +11,7 @@ import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.LineString;
 import org.opentripplanner.framework.geometry.GeometryUtils;
-import org.opentripplanner.framework.geometry.HashGridSpatialIndex;
+import org.opentripplanner.framework.geometry.KdTree;
 import org.opentripplanner.framework.geometry.SphericalDistanceLibrary;
 import org.opentripplanner.framework.geometry.SplitLineString;
 import org.opentripplanner.framework.i18n.I18NString;
@@ -60,7 +60,7 @@ public class StreetIndex {
   private final Map<FeedScopedId, TransitStopVertex> transitStopVertices;
 
   private final EdgeSpatialIndex edgeSpatialIndex;
-  private final HashGridSpatialIndex<Vertex> verticesTree;
+  private final KdTree<Vertex> verticesTree;
 
   /**
    * Should only be called by the graph.
@@ -68,7 +68,7 @@ public class StreetIndex {
   public StreetIndex(Graph graph, StopModel stopModel) {
     this.stopModel = stopModel;
     this.edgeSpatialIndex = new EdgeSpatialIndex();
-    this.verticesTree = new HashGridSpatialIndex<>();
+    this.verticesTree = new KdTree<>(graph.getVertices(), Vertex::getCoordinate);
     this.vertexLinker = new VertexLinker(graph, stopModel, edgeSpatialIndex);
     this.transitStopVertices = toImmutableMap(graph.getVerticesOfType(TransitStopVertex.class));
     postSetup(graph.getVertices());
@@ -145,10 +145,7 @@ public class StreetIndex {
    * Returns the vertices intersecting with the specified envelope.
    */
   public List<Vertex> getVerticesForEnvelope(Envelope envelope) {
-    List<Vertex> vertices = verticesTree.query(envelope);
-    // Here we assume vertices list modifiable
-    vertices.removeIf(v -> !envelope.contains(new Coordinate(v.getLon(), v.getLat())));
-    return vertices;
+    return verticesTree.query(envelope);
   }
 
   /**
@@ -405,16 +402,12 @@ public class StreetIndex {
         LineString geometry = edgeGeometryOrStraightLine(e);
         edgeSpatialIndex.insert(geometry, e, Scope.PERMANENT);
       }
-      Envelope env = new Envelope(gv.getCoordinate());
-      verticesTree.insert(env, gv);
-
       //noinspection Convert2MethodRef
       progress.step(m -> LOG.info(m));
     }
 
-    // Trim the sizes of the indices
+    // Trim the size of the index
     edgeSpatialIndex.compact();
-    verticesTree.compact();
     LOG.info(progress.completeMessage());
   }
 
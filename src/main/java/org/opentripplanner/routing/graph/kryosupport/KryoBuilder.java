@@ -9,6 +9,7 @@ import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.HashMultimap;
 import de.javakaffee.kryoserializers.guava.ArrayListMultimapSerializer;
 import de.javakaffee.kryoserializers.guava.HashMultimapSerializer;
+import gnu.trove.impl.hash.TObjectHash;
 import gnu.trove.impl.hash.TPrimitiveHash;
 import gnu.trove.list.array.TIntArrayList;
 import gnu.trove.map.hash.TIntIntHashMap;
@@ -44,6 +45,7 @@ public final class KryoBuilder {
     kryo.setRegistrationRequired(false);
     kryo.setReferences(true);
     kryo.addDefaultSerializer(TPrimitiveHash.class, ExternalizableSerializer.class);
+    kryo.addDefaultSerializer(TObjectHash.class, ExternalizableSerializer.class);
     kryo.register(TIntArrayList.class, new TIntArrayListSerializer());
     kryo.register(TIntIntHashMap.class, new TIntIntHashMapSerializer());
 
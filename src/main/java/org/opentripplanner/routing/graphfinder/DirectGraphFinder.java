@@ -3,12 +3,13 @@ package org.opentripplanner.routing.graphfinder;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
-import java.util.function.Function;
+import java.util.Set;
+import java.util.function.BiFunction;
 import org.locationtech.jts.geom.Coordinate;
-import org.locationtech.jts.geom.Envelope;
 import org.opentripplanner.framework.geometry.SphericalDistanceLibrary;
 import org.opentripplanner.transit.model.basic.TransitMode;
 import org.opentripplanner.transit.model.framework.FeedScopedId;
+import org.opentripplanner.transit.model.network.TripPattern;
 import org.opentripplanner.transit.model.site.RegularStop;
 import org.opentripplanner.transit.service.TransitService;
 
@@ -18,9 +19,15 @@ import org.opentripplanner.transit.service.TransitService;
  */
 public class DirectGraphFinder implements GraphFinder {
 
-  private final Function<Envelope, Collection<RegularStop>> queryNearbyStops;
+  private final BiFunction<Coordinate, Double, Collection<RegularStop>> queryNearbyStops;
 
-  public DirectGraphFinder(Function<Envelope, Collection<RegularStop>> queryNearbyStops) {
+  /**
+   * @param queryNearbyStops find the stops within a straight-line distance in meters of a
+   *                         coordinate.
+   */
+  public DirectGraphFinder(
+    BiFunction<Coordinate, Double, Collection<RegularStop>> queryNearbyStops
+  ) {
     this.queryNearbyStops = queryNearbyStops;
   }
 
@@ -31,12 +38,7 @@ public class DirectGraphFinder implements GraphFinder {
   @Override
   public List<NearbyStop> findClosestStops(Coordinate coordinate, double radiusMeters) {
     List<NearbyStop> stopsFound = new ArrayList<>();
-    Envelope envelope = new Envelope(coordinate);
-    envelope.expandBy(
-      SphericalDistanceLibrary.metersToLonDegrees(radiusMeters, coordinate.y),
-      SphericalDistanceLibrary.metersToDegrees(radiusMeters)
-    );
-    for (RegularStop it : queryNearbyStops.apply(envelope)) {
+    for (RegularStop it : queryNearbyStops.apply(coordinate, radiusMeters)) {
       double distance = Math.round(
         SphericalDistanceLibrary.distance(coordinate, it.getCoordinate().asJtsCoordinate())
       );
@@ -51,6 +53,11 @@ public class DirectGraphFinder implements GraphFinder {
     return stopsFound;
   }
 
+  /**
+   * Return the stops nearest to the given coordinate, using straight-line distance. Only stops
+   * are found, the other places require a street graph. The stops are filtered by id and by the
+   * modes of their patterns, in the same way as in {@link StreetGraphFinder}.
+   */
   @Override
   public List<PlaceAtDistance> findClosestPlaces(
     double lat,
@@ -64,6 +71,43 @@ public class DirectGraphFinder implements GraphFinder {
     List<String> filterByBikeRentalStations,
     TransitService transitService
   ) {
-    throw new UnsupportedOperationException("Not implemented");
+    if (filterByPlaceTypes != null && !filterByPlaceTypes.contains(PlaceType.STOP)) {
+      return List.of();
+    }
+    Set<FeedScopedId> stopIds = filterByStops == null ? null : Set.copyOf(filterByStops);
+    Set<TransitMode> modes = filterByModes == null ? null : Set.copyOf(filterByModes);
+    Coordinate coordinate = new Coordinate(lon, lat);
+
+    return transitService
+      .findNearestRegularStops(
+        coordinate,
+        maxResults,
+        maxDistance,
+        stop ->
+          (stopIds == null || stopIds.contains(stop.getId())) &&
+          (modes == null || hasPatternWithMode(transitService, stop, modes))
+      )
+      .stream()
+      .map(stop ->
+        new PlaceAtDistance(
+          stop,
+          Math.round(
+            SphericalDistanceLibrary.distance(coordinate, stop.getCoordinate().asJtsCoordinate())
+          )
+        )
+      )
+      .toList();
+  }
+
+  private static boolean hasPatternWithMode(
+    TransitService transitService,
+    RegularStop stop,
+    Set<TransitMode> modes
+  ) {
+    return transitService
+      .getPatternsForStop(stop)
+      .stream()
+      .map(TripPattern::getMode)
+      .anyMatch(modes::contains);
   }
 }
@@ -2,9 +2,8 @@ package org.opentripplanner.routing.graphfinder;
 
 import java.util.Collection;
 import java.util.List;
-import java.util.function.Function;
+import java.util.function.BiFunction;
 import org.locationtech.jts.geom.Coordinate;
-import org.locationtech.jts.geom.Envelope;
 import org.opentripplanner.routing.graph.Graph;
 import org.opentripplanner.transit.model.basic.TransitMode;
 import org.opentripplanner.transit.model.framework.FeedScopedId;
@@ -22,7 +21,7 @@ public interface GraphFinder {
    */
   static GraphFinder getInstance(
     Graph graph,
-    Function<Envelope, Collection<RegularStop>> queryNearbyStops
+    BiFunction<Coordinate, Double, Collection<RegularStop>> queryNearbyStops
   ) {
     return graph.hasStreets
       ? new StreetGraphFinder(graph)
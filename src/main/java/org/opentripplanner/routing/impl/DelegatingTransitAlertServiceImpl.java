@@ -41,6 +41,14 @@ public class DelegatingTransitAlertServiceImpl implements TransitAlertService {
     throw new UnsupportedOperationException("Not supported");
   }
 
+  @Override
+  public void updateAlerts(
+    Collection<TransitAlert> alertsToAddOrReplace,
+    Collection<FeedScopedId> alertIdsToRemove
+  ) {
+    throw new UnsupportedOperationException("Not supported");
+  }
+
   @Override
   public Collection<TransitAlert> getAllAlerts() {
     return transitAlertServices
@@ -72,6 +80,22 @@ public class DelegatingTransitAlertServiceImpl implements TransitAlertService {
       .collect(Collectors.toList());
   }
 
+  @Override
+  public Collection<TransitAlert> getStopAlerts(
+    FeedScopedId stop,
+    Set<StopCondition> stopConditions,
+    long startTimeSeconds,
+    long endTimeSeconds
+  ) {
+    return transitAlertServices
+      .stream()
+      .map(transitAlertService ->
+        transitAlertService.getStopAlerts(stop, stopConditions, startTimeSeconds, endTimeSeconds)
+      )
+      .flatMap(Collection::stream)
+      .collect(Collectors.toList());
+  }
+
   @Override
   public Collection<TransitAlert> getRouteAlerts(FeedScopedId route) {
     return transitAlertServices
@@ -81,6 +105,21 @@ public class DelegatingTransitAlertServiceImpl implements TransitAlertService {
       .collect(Collectors.toList());
   }
 
+  @Override
+  public Collection<TransitAlert> getRouteAlerts(
+    FeedScopedId route,
+    long startTimeSeconds,
+    long endTimeSeconds
+  ) {
+    return transitAlertServices
+      .stream()
+      .map(transitAlertService ->
+        transitAlertService.getRouteAlerts(route, startTimeSeconds, endTimeSeconds)
+      )
+      .flatMap(Collection::stream)
+      .collect(Collectors.toList());
+  }
+
   @Override
   public Collection<TransitAlert> getTripAlerts(FeedScopedId trip, LocalDate serviceDate) {
     return transitAlertServices
@@ -90,6 +129,22 @@ public class DelegatingTransitAlertServiceImpl implements TransitAlertService {
       .collect(Collectors.toList());
   }
 
+  @Override
+  public Collection<TransitAlert> getTripAlerts(
+    FeedScopedId trip,
+    LocalDate serviceDate,
+    long startTimeSeconds,
+    long endTimeSeconds
+  ) {
+    return transitAlertServices
+      .stream()
+      .map(transitAlertService ->
+        transitAlertService.getTripAlerts(trip, serviceDate, startTimeSeconds, endTimeSeconds)
+      )
+      .flatMap(Collection::stream)
+      .collect(Collectors.toList());
+  }
+
   @Override
   public Collection<TransitAlert> getAgencyAlerts(FeedScopedId agency) {
     return transitAlertServices
@@ -99,6 +154,21 @@ public class DelegatingTransitAlertServiceImpl implements TransitAlertService {
       .collect(Collectors.toList());
   }
 
+  @Override
+  public Collection<TransitAlert> getAgencyAlerts(
+    FeedScopedId agency,
+    long startTimeSeconds,
+    long endTimeSeconds
+  ) {
+    return transitAlertServices
+      .stream()
+      .map(transitAlertService ->
+        transitAlertService.getAgencyAlerts(agency, startTimeSeconds, endTimeSeconds)
+      )
+      .flatMap(Collection::stream)
+      .collect(Collectors.toList());
+  }
+
   @Override
   public Collection<TransitAlert> getStopAndRouteAlerts(
     FeedScopedId stop,
@@ -114,6 +184,29 @@ public class DelegatingTransitAlertServiceImpl implements TransitAlertService {
       .collect(Collectors.toList());
   }
 
+  @Override
+  public Collection<TransitAlert> getStopAndRouteAlerts(
+    FeedScopedId stop,
+    FeedScopedId route,
+    Set<StopCondition> stopConditions,
+    long startTimeSeconds,
+    long endTimeSeconds
+  ) {
+    return transitAlertServices
+      .stream()
+      .map(transitAlertService ->
+        transitAlertService.getStopAndRouteAlerts(
+          stop,
+          route,
+          stopConditions,
+          startTimeSeconds,
+          endTimeSeconds
+        )
+      )
+      .flatMap(Collection::stream)
+      .collect(Collectors.toList());
+  }
+
   @Override
   public Collection<TransitAlert> getStopAndTripAlerts(
     FeedScopedId stop,
@@ -130,6 +223,31 @@ public class DelegatingTransitAlertServiceImpl implements TransitAlertService {
       .collect(Collectors.toList());
   }
 
+  @Override
+  public Collection<TransitAlert> getStopAndTripAlerts(
+    FeedScopedId stop,
+    FeedScopedId trip,
+    LocalDate serviceDate,
+    Set<StopCondition> stopConditions,
+    long startTimeSeconds,
+    long endTimeSeconds
+  ) {
+    return transitAlertServices
+      .stream()
+      .map(transitAlertService ->
+        transitAlertService.getStopAndTripAlerts(
+          stop,
+          trip,
+          serviceDate,
+          stopConditions,
+          startTimeSeconds,
+          endTimeSeconds
+        )
+      )
+      .flatMap(Collection::stream)
+      .collect(Collectors.toList());
+  }
+
   @Override
   public Collection<TransitAlert> getRouteTypeAndAgencyAlerts(int routeType, FeedScopedId agency) {
     return transitAlertServices
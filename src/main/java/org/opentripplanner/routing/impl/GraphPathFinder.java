@@ -3,11 +3,13 @@ package org.opentripplanner.routing.impl;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 import javax.annotation.Nullable;
 import org.opentripplanner.astar.model.GraphPath;
+import org.opentripplanner.astar.spi.RemainingWeightHeuristic;
 import org.opentripplanner.astar.spi.TraverseVisitor;
 import org.opentripplanner.astar.strategy.DurationSkipEdgeStrategy;
 import org.opentripplanner.astar.strategy.PathComparator;
@@ -19,6 +21,10 @@ import org.opentripplanner.street.model.edge.Edge;
 import org.opentripplanner.street.model.vertex.Vertex;
 import org.opentripplanner.street.search.StreetSearchBuilder;
 import org.opentripplanner.street.search.TemporaryVerticesContainer;
+import org.opentripplanner.street.search.contraction.ContractionHierarchy;
+import org.opentripplanner.street.search.contraction.ContractionHierarchyRouter;
+import org.opentripplanner.street.search.landmark.LandmarkRemainingWeightHeuristic;
+import org.opentripplanner.street.search.landmark.StreetLandmarks;
 import org.opentripplanner.street.search.state.State;
 import org.opentripplanner.street.search.strategy.DominanceFunctions;
 import org.opentripplanner.street.search.strategy.EuclideanRemainingWeightHeuristic;
@@ -58,6 +64,12 @@ public class GraphPathFinder {
 
   private final DataOverlayContext dataOverlayContext;
 
+  @Nullable
+  private final StreetLandmarks streetLandmarks;
+
+  @Nullable
+  private final ContractionHierarchy contractionHierarchy;
+
   public GraphPathFinder(
     @Nullable TraverseVisitor<State, Edge> traverseVisitor,
     Duration streetRoutingTimeout
@@ -69,10 +81,37 @@ public class GraphPathFinder {
     @Nullable TraverseVisitor<State, Edge> traverseVisitor,
     Duration streetRoutingTimeout,
     @Nullable DataOverlayContext dataOverlayContext
+  ) {
+    this(traverseVisitor, streetRoutingTimeout, dataOverlayContext, null, null);
+  }
+
+  public GraphPathFinder(
+    @Nullable TraverseVisitor<State, Edge> traverseVisitor,
+    Duration streetRoutingTimeout,
+    @Nullable DataOverlayContext dataOverlayContext,
+    @Nullable StreetLandmarks streetLandmarks
+  ) {
+    this(traverseVisitor, streetRoutingTimeout, dataOverlayContext, streetLandmarks, null);
+  }
+
+  /**
+   * @param streetLandmarks      If the graph has landmarks, they are used to speed up the search
+   *                             with the {@link LandmarkRemainingWeightHeuristic}.
+   * @param contractionHierarchy If the graph has a contraction hierarchy, it is used instead of
+   *                             the search for car requests with the preferences it was built for.
+   */
+  public GraphPathFinder(
+    @Nullable TraverseVisitor<State, Edge> traverseVisitor,
+    Duration streetRoutingTimeout,
+    @Nullable DataOverlayContext dataOverlayContext,
+    @Nullable StreetLandmarks streetLandmarks,
+    @Nullable ContractionHierarchy contractionHierarchy
   ) {
     this.traverseVisitor = traverseVisitor;
     this.streetRoutingTimeout = streetRoutingTimeout;
     this.dataOverlayContext = dataOverlayContext;
+    this.streetLandmarks = streetLandmarks;
+    this.contractionHierarchy = contractionHierarchy;
   }
 
   /**
@@ -84,11 +123,19 @@ public class GraphPathFinder {
     Set<Vertex> from,
     Set<Vertex> to
   ) {
+    // The data overlay changes the edge weights, and the graph visualizer needs the search itself
+    if (contractionHierarchy != null && dataOverlayContext == null && traverseVisitor == null) {
+      var path = new ContractionHierarchyRouter(contractionHierarchy).route(request, from, to);
+      if (path.isPresent()) {
+        return new ArrayList<>(List.of(path.get()));
+      }
+    }
+
     StreetPreferences preferences = request.preferences().street();
 
     StreetSearchBuilder aStar = StreetSearchBuilder
       .of()
-      .setHeuristic(new EuclideanRemainingWeightHeuristic())
+      .setHeuristic(createHeuristic())
       .setSkipEdgeStrategy(
         new DurationSkipEdgeStrategy(
           preferences.maxDirectDuration().valueOf(request.journey().direct().mode())
@@ -122,6 +169,12 @@ public class GraphPathFinder {
     return paths;
   }
 
+  private RemainingWeightHeuristic<State> createHeuristic() {
+    return streetLandmarks == null
+      ? new EuclideanRemainingWeightHeuristic()
+      : new LandmarkRemainingWeightHeuristic(streetLandmarks);
+  }
+
   /**
    * Try to find N paths through the Graph
    */
@@ -0,0 +1,223 @@
+package org.opentripplanner.routing.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.opentripplanner.routing.alertpatch.EntityKey;
+import org.opentripplanner.routing.alertpatch.EntitySelector;
+import org.opentripplanner.routing.alertpatch.TimePeriod;
+import org.opentripplanner.routing.alertpatch.TransitAlert;
+import org.opentripplanner.transit.model.framework.FeedScopedId;
+
+/**
+ * An immutable index of transit alerts, used by the {@link TransitAlertServiceImpl}. The alerts
+ * are indexed by id and by {@link EntityKey}. For each entity key the alert time periods are kept
+ * sorted on start time together with the running maximum end time, so the alerts displayed in a
+ * given time window can be found with two binary searches instead of checking every alert.
+ * <p>
+ * The index is never modified, an update returns a new index. Only the entity keys referenced by
+ * the added, replaced or removed alerts are rebuilt, the rest is shared with the previous index.
+ * This makes it safe to publish a new index to readers with a single reference assignment.
+ */
+final class TransitAlertIndex {
+
+  static final TransitAlertIndex EMPTY = new TransitAlertIndex(Map.of(), Map.of());
+
+  private final Map<FeedScopedId, TransitAlert> alertsById;
+  private final Map<EntityKey, AlertsForEntity> alertsByKey;
+
+  private TransitAlertIndex(
+    Map<FeedScopedId, TransitAlert> alertsById,
+    Map<EntityKey, AlertsForEntity> alertsByKey
+  ) {
+    this.alertsById = alertsById;
+    this.alertsByKey = alertsByKey;
+  }
+
+  static TransitAlertIndex of(Collection<TransitAlert> alerts) {
+    return EMPTY.withUpdates(alerts, List.of());
+  }
+
+  /**
+   * Create a new index with the given alerts added or replaced (matched by id) and the alerts with
+   * the given ids removed. Removals are applied before the additions.
+   */
+  TransitAlertIndex withUpdates(
+    Collection<TransitAlert> alertsToAddOrReplace,
+    Collection<FeedScopedId> alertIdsToRemove
+  ) {
+    if (alertsToAddOrReplace.isEmpty() && alertIdsToRemove.isEmpty()) {
+      return this;
+    }
+    var newAlertsById = new HashMap<>(alertsById);
+    var modifiedKeys = new HashSet<EntityKey>();
+
+    for (FeedScopedId id : alertIdsToRemove) {
+      var removed = newAlertsById.remove(id);
+      if (removed != null) {
+        addKeys(removed, modifiedKeys);
+      }
+    }
+    for (TransitAlert alert : alertsToAddOrReplace) {
+      var replaced = newAlertsById.put(alert.getId(), alert);
+      if (replaced != null) {
+        addKeys(replaced, modifiedKeys);
+      }
+      addKeys(alert, modifiedKeys);
+    }
+
+    // Collect the current alerts for each modified key, the old alerts are dropped if they are
+    // removed or replaced
+    var alertsForModifiedKeys = new HashMap<EntityKey, Set<TransitAlert>>();
+    for (EntityKey key : modifiedKeys) {
+      var alerts = new LinkedHashSet<TransitAlert>();
+      var existing = alertsByKey.get(key);
+      if (existing != null) {
+        for (TransitAlert alert : existing.alerts) {
+          if (newAlertsById.get(alert.getId()) == alert) {
+            alerts.add(alert);
+          }
+        }
+      }
+      alertsForModifiedKeys.put(key, alerts);
+    }
+    for (TransitAlert alert : alertsToAddOrReplace) {
+      // The same id may occur more than once, the last one wins
+      if (newAlertsById.get(alert.getId()) != alert) {
+        continue;
+      }
+      for (EntitySelector entity : alert.entities()) {
+        alertsForModifiedKeys.get(entity.key()).add(alert);
+      }
+    }
+
+    var newAlertsByKey = new HashMap<>(alertsByKey);
+    for (var it : alertsForModifiedKeys.entrySet()) {
+      if (it.getValue().isEmpty()) {
+        newAlertsByKey.remove(it.getKey());
+      } else {
+        newAlertsByKey.put(it.getKey(), new AlertsForEntity(it.getValue()));
+      }
+    }
+    return new TransitAlertIndex(newAlertsById, newAlertsByKey);
+  }
+
+  Collection<TransitAlert> listAlerts() {
+    return alertsById.values();
+  }
+
+  TransitAlert findAlertById(FeedScopedId id) {
+    return alertsById.get(id);
+  }
+
+  /**
+   * List all alerts for the given entity key, the returned collection is unmodifiable.
+   */
+  Collection<TransitAlert> findAlerts(EntityKey key) {
+    var alerts = alertsByKey.get(key);
+    return alerts == null ? List.of() : alerts.alerts;
+  }
+
+  /**
+   * List all alerts for the given entity key, which should be displayed during the given time
+   * window. The matching is the same as in {@link TransitAlert#displayDuring(long, long)}.
+   */
+  Collection<TransitAlert> findAlerts(EntityKey key, long startTimeSeconds, long endTimeSeconds) {
+    var alerts = alertsByKey.get(key);
+    return alerts == null ? List.of() : alerts.displayDuring(startTimeSeconds, endTimeSeconds);
+  }
+
+  private static void addKeys(TransitAlert alert, Set<EntityKey> keys) {
+    for (EntitySelector entity : alert.entities()) {
+      keys.add(entity.key());
+    }
+  }
+
+  /**
+   * The alerts for one entity key, and the time periods of these alerts as an interval list sorted
+   * on the start time. The {@code maxEnd} array contains the maximum end time of all periods up to
+   * and including the index, hence it is sorted as well.
+   */
+  private static final class AlertsForEntity {
+
+    private final List<TransitAlert> alerts;
+    private final TransitAlert[] periodAlerts;
+    private final long[] start;
+    private final long[] end;
+    private final long[] maxEnd;
+
+    private AlertsForEntity(Collection<TransitAlert> alerts) {
+      this.alerts = List.copyOf(alerts);
+
+      var periods = new ArrayList<AlertPeriod>();
+      for (TransitAlert alert : alerts) {
+        for (TimePeriod period : alert.timePeriods()) {
+          // An end time of 0 means that the period is open-ended
+          long endTime = period.endTime == 0 ? Long.MAX_VALUE : period.endTime;
+          periods.add(new AlertPeriod(alert, period.startTime, endTime));
+        }
+      }
+      periods.sort(Comparator.comparingLong(AlertPeriod::start));
+
+      int n = periods.size();
+      this.periodAlerts = new TransitAlert[n];
+      this.start = new long[n];
+      this.end = new long[n];
+      this.maxEnd = new long[n];
+
+      long max = Long.MIN_VALUE;
+      for (int i = 0; i < n; ++i) {
+        var p = periods.get(i);
+        periodAlerts[i] = p.alert();
+        start[i] = p.start();
+        end[i] = p.end();
+        max = Math.max(max, p.end());
+        maxEnd[i] = max;
+      }
+    }
+
+    /**
+     * A period is displayed if it starts before or at the end of the window and ends after the
+     * start of the window. All periods starting after the window are excluded by a binary search
+     * on the start time, and all periods which for sure end before the window are excluded by a
+     * binary search on the running maximum end time.
+     */
+    private Collection<TransitAlert> displayDuring(long startTimeSeconds, long endTimeSeconds) {
+      int to = firstIndexAbove(start, endTimeSeconds);
+      int from = firstIndexAbove(maxEnd, startTimeSeconds);
+
+      if (from >= to) {
+        return List.of();
+      }
+      var result = new LinkedHashSet<TransitAlert>();
+      for (int i = from; i < to; ++i) {
+        if (end[i] > startTimeSeconds) {
+          result.add(periodAlerts[i]);
+        }
+      }
+      return result;
+    }
+
+    /** Return the index of the first element strictly greater than the given value. */
+    private static int firstIndexAbove(long[] sorted, long value) {
+      int i = Arrays.binarySearch(sorted, value);
+      if (i < 0) {
+        return -(i + 1);
+      }
+      // The binary search may return any of several equal values
+      while (i < sorted.length && sorted[i] <= value) {
+        ++i;
+      }
+      return i;
+    }
+  }
+
+  private record AlertPeriod(TransitAlert alert, long start, long end) {}
+}
@@ -1,7 +1,5 @@
 package org.opentripplanner.routing.impl;
 
-import com.google.common.collect.HashMultimap;
-import com.google.common.collect.Multimap;
 import java.time.LocalDate;
 import java.util.Collection;
 import java.util.HashSet;
@@ -19,42 +17,42 @@ import org.opentripplanner.transit.service.TransitModel;
  * When an alert is added with more than one transit entity, e.g. a Stop and a Trip, both conditions
  * must be met for the alert to be displayed. This is the case in both the Norwegian interpretation
  * of SIRI, and the GTFS-RT alerts specification.
+ * <p>
+ * The alerts are kept in an immutable {@link TransitAlertIndex}. Updates build a new index and
+ * publish it with a single volatile write, so readers always see a consistent set of alerts
+ * without any locking. Writers are serialized.
  */
 public class TransitAlertServiceImpl implements TransitAlertService {
 
   private final TransitModel transitModel;
 
-  private Multimap<EntityKey, TransitAlert> alerts = HashMultimap.create();
+  private volatile TransitAlertIndex index = TransitAlertIndex.EMPTY;
 
   public TransitAlertServiceImpl(TransitModel transitModel) {
     this.transitModel = transitModel;
   }
 
   @Override
-  public void setAlerts(Collection<TransitAlert> alerts) {
-    Multimap<EntityKey, TransitAlert> newAlerts = HashMultimap.create();
-    for (TransitAlert alert : alerts) {
-      for (EntitySelector entity : alert.entities()) {
-        newAlerts.put(entity.key(), alert);
-      }
-    }
+  public synchronized void setAlerts(Collection<TransitAlert> alerts) {
+    this.index = TransitAlertIndex.of(alerts);
+  }
 
-    this.alerts = newAlerts;
+  @Override
+  public synchronized void updateAlerts(
+    Collection<TransitAlert> alertsToAddOrReplace,
+    Collection<FeedScopedId> alertIdsToRemove
+  ) {
+    this.index = index.withUpdates(alertsToAddOrReplace, alertIdsToRemove);
   }
 
   @Override
   public Collection<TransitAlert> getAllAlerts() {
-    return new HashSet<>(alerts.values());
+    return new HashSet<>(index.listAlerts());
   }
 
   @Override
   public TransitAlert getAlertById(FeedScopedId id) {
-    return alerts
-      .values()
-      .stream()
-      .filter(transitAlert -> transitAlert.getId().equals(id))
-      .findAny()
-      .orElse(null);
+    return index.findAlertById(id);
   }
 
   @Override
@@ -62,13 +60,8 @@ public class TransitAlertServiceImpl implements TransitAlertService {
     FeedScopedId stopId,
     Set<StopCondition> stopConditions
   ) {
-    Set<TransitAlert> result = new HashSet<>();
     EntitySelector.Stop entitySelector = new EntitySelector.Stop(stopId, stopConditions);
-    for (TransitAlert alert : alerts.get(entitySelector.key())) {
-      if (alert.entities().stream().anyMatch(selector -> selector.matches(entitySelector))) {
-        result.add(alert);
-      }
-    }
+    Set<TransitAlert> result = matching(index.findAlerts(entitySelector.key()), entitySelector);
     if (result.isEmpty()) {
       // Search for alerts on parent-stop
       if (transitModel != null) {
@@ -91,26 +84,66 @@ public class TransitAlertServiceImpl implements TransitAlertService {
     return result;
   }
 
+  @Override
+  public Collection<TransitAlert> getStopAlerts(
+    FeedScopedId stopId,
+    Set<StopCondition> stopConditions,
+    long startTimeSeconds,
+    long endTimeSeconds
+  ) {
+    EntitySelector.Stop entitySelector = new EntitySelector.Stop(stopId, stopConditions);
+    return matching(
+      index.findAlerts(entitySelector.key(), startTimeSeconds, endTimeSeconds),
+      entitySelector
+    );
+  }
+
   @Override
   public Collection<TransitAlert> getRouteAlerts(FeedScopedId route) {
-    return alerts.get(new EntityKey.Route(route));
+    return index.findAlerts(new EntityKey.Route(route));
+  }
+
+  @Override
+  public Collection<TransitAlert> getRouteAlerts(
+    FeedScopedId route,
+    long startTimeSeconds,
+    long endTimeSeconds
+  ) {
+    return index.findAlerts(new EntityKey.Route(route), startTimeSeconds, endTimeSeconds);
   }
 
   @Override
   public Collection<TransitAlert> getTripAlerts(FeedScopedId trip, LocalDate serviceDate) {
-    Set<TransitAlert> result = new HashSet<>();
     EntitySelector.Trip entitySelector = new EntitySelector.Trip(trip, serviceDate);
-    for (TransitAlert alert : alerts.get(entitySelector.key())) {
-      if (alert.entities().stream().anyMatch(selector -> selector.matches(entitySelector))) {
-        result.add(alert);
-      }
-    }
-    return result;
+    return matching(index.findAlerts(entitySelector.key()), entitySelector);
+  }
+
+  @Override
+  public Collection<TransitAlert> getTripAlerts(
+    FeedScopedId trip,
+    LocalDate serviceDate,
+    long startTimeSeconds,
+    long endTimeSeconds
+  ) {
+    EntitySelector.Trip entitySelector = new EntitySelector.Trip(trip, serviceDate);
+    return matching(
+      index.findAlerts(entitySelector.key(), startTimeSeconds, endTimeSeconds),
+      entitySelector
+    );
   }
 
   @Override
   public Collection<TransitAlert> getAgencyAlerts(FeedScopedId agency) {
-    return alerts.get(new EntityKey.Agency(agency));
+    return index.findAlerts(new EntityKey.Agency(agency));
+  }
+
+  @Override
+  public Collection<TransitAlert> getAgencyAlerts(
+    FeedScopedId agency,
+    long startTimeSeconds,
+    long endTimeSeconds
+  ) {
+    return index.findAlerts(new EntityKey.Agency(agency), startTimeSeconds, endTimeSeconds);
   }
 
   @Override
@@ -119,18 +152,31 @@ public class TransitAlertServiceImpl implements TransitAlertService {
     FeedScopedId route,
     Set<StopCondition> stopConditions
   ) {
-    Set<TransitAlert> result = new HashSet<>();
     EntitySelector.StopAndRoute entitySelector = new EntitySelector.StopAndRoute(
       stop,
       route,
       stopConditions
     );
-    for (TransitAlert alert : alerts.get(entitySelector.key())) {
-      if (alert.entities().stream().anyMatch(selector -> selector.matches(entitySelector))) {
-        result.add(alert);
-      }
-    }
-    return result;
+    return matching(index.findAlerts(entitySelector.key()), entitySelector);
+  }
+
+  @Override
+  public Collection<TransitAlert> getStopAndRouteAlerts(
+    FeedScopedId stop,
+    FeedScopedId route,
+    Set<StopCondition> stopConditions,
+    long startTimeSeconds,
+    long endTimeSeconds
+  ) {
+    EntitySelector.StopAndRoute entitySelector = new EntitySelector.StopAndRoute(
+      stop,
+      route,
+      stopConditions
+    );
+    return matching(
+      index.findAlerts(entitySelector.key(), startTimeSeconds, endTimeSeconds),
+      entitySelector
+    );
   }
 
   @Override
@@ -140,29 +186,44 @@ public class TransitAlertServiceImpl implements TransitAlertService {
     LocalDate serviceDate,
     Set<StopCondition> stopConditions
   ) {
-    Set<TransitAlert> result = new HashSet<>();
     EntitySelector.StopAndTrip entitySelector = new EntitySelector.StopAndTrip(
       stop,
       trip,
       serviceDate,
       stopConditions
     );
-    for (TransitAlert alert : alerts.get(entitySelector.key())) {
-      if (alert.entities().stream().anyMatch(selector -> selector.matches(entitySelector))) {
-        result.add(alert);
-      }
-    }
-    return result;
+    return matching(index.findAlerts(entitySelector.key()), entitySelector);
+  }
+
+  @Override
+  public Collection<TransitAlert> getStopAndTripAlerts(
+    FeedScopedId stop,
+    FeedScopedId trip,
+    LocalDate serviceDate,
+    Set<StopCondition> stopConditions,
+    long startTimeSeconds,
+    long endTimeSeconds
+  ) {
+    EntitySelector.StopAndTrip entitySelector = new EntitySelector.StopAndTrip(
+      stop,
+      trip,
+      serviceDate,
+      stopConditions
+    );
+    return matching(
+      index.findAlerts(entitySelector.key(), startTimeSeconds, endTimeSeconds),
+      entitySelector
+    );
   }
 
   @Override
   public Collection<TransitAlert> getRouteTypeAndAgencyAlerts(int routeType, FeedScopedId agency) {
-    return alerts.get(new EntityKey.RouteTypeAndAgency(agency, routeType));
+    return index.findAlerts(new EntityKey.RouteTypeAndAgency(agency, routeType));
   }
 
   @Override
   public Collection<TransitAlert> getRouteTypeAlerts(int routeType, String feedId) {
-    return alerts.get(new EntityKey.RouteType(feedId, routeType));
+    return index.findAlerts(new EntityKey.RouteType(feedId, routeType));
   }
 
   @Override
@@ -170,6 +231,22 @@ public class TransitAlertServiceImpl implements TransitAlertService {
     Direction direction,
     FeedScopedId route
   ) {
-    return alerts.get(new EntityKey.DirectionAndRoute(route, direction));
+    return index.findAlerts(new EntityKey.DirectionAndRoute(route, direction));
+  }
+
+  /**
+   * Return the alerts having at least one entity selector matching the given selector.
+   */
+  private static Set<TransitAlert> matching(
+    Collection<TransitAlert> alerts,
+    EntitySelector entitySelector
+  ) {
+    Set<TransitAlert> result = new HashSet<>();
+    for (TransitAlert alert : alerts) {
+      if (alert.entities().stream().anyMatch(selector -> selector.matches(entitySelector))) {
+        result.add(alert);
+      }
+    }
+    return result;
   }
 }
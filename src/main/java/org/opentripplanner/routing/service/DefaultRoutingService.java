@@ -1,6 +1,7 @@
 package org.opentripplanner.routing.service;
 
 import java.time.ZoneId;
+import org.opentripplanner.framework.concurrent.ConcurrencyLimiter;
 import org.opentripplanner.routing.algorithm.RoutingWorker;
 import org.opentripplanner.routing.algorithm.via.ViaRoutingWorker;
 import org.opentripplanner.routing.api.RoutingService;
@@ -18,25 +19,31 @@ public class DefaultRoutingService implements RoutingService {
 
   private final OtpServerRequestContext serverContext;
 
+  /**
+   * Routing is CPU-bound. When requests are not limited by the size of the HTTP handler thread
+   * pool, this limits how many requests are routed at the same time.
+   */
+  private final ConcurrencyLimiter limiter;
+
   private final ZoneId timeZone;
 
-  public DefaultRoutingService(OtpServerRequestContext serverContext) {
+  public DefaultRoutingService(OtpServerRequestContext serverContext, ConcurrencyLimiter limiter) {
     this.serverContext = serverContext;
+    this.limiter = limiter;
     this.timeZone = serverContext.transitService().getTimeZone();
   }
 
   @Override
   public RoutingResponse route(RouteRequest request) {
     RoutingWorker worker = new RoutingWorker(serverContext, request, timeZone);
-    return worker.route();
+    return limiter.execute(worker::route);
   }
 
   @Override
   public ViaRoutingResponse route(RouteViaRequest request) {
     var viaRoutingWorker = new ViaRoutingWorker(
       request,
-      req ->
-        new RoutingWorker(serverContext, req, serverContext.transitService().getTimeZone()).route()
+      req -> limiter.execute(new RoutingWorker(serverContext, req, timeZone)::route)
     );
     return viaRoutingWorker.route();
   }
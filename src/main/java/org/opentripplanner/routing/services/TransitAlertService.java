@@ -3,14 +3,27 @@ package org.opentripplanner.routing.services;
 import java.time.LocalDate;
 import java.util.Collection;
 import java.util.Set;
+import java.util.stream.Collectors;
 import org.opentripplanner.routing.alertpatch.StopCondition;
 import org.opentripplanner.routing.alertpatch.TransitAlert;
 import org.opentripplanner.transit.model.framework.FeedScopedId;
 import org.opentripplanner.transit.model.timetable.Direction;
 
 public interface TransitAlertService {
+  /**
+   * Replace all alerts in the service with the given alerts.
+   */
   void setAlerts(Collection<TransitAlert> alerts);
 
+  /**
+   * Add or replace (matched by id) the given alerts, and remove the alerts with the given ids. The
+   * other alerts in the service are kept as is. The removals are applied before the additions.
+   */
+  void updateAlerts(
+    Collection<TransitAlert> alertsToAddOrReplace,
+    Collection<FeedScopedId> alertIdsToRemove
+  );
+
   Collection<TransitAlert> getAllAlerts();
 
   TransitAlert getAlertById(FeedScopedId id);
@@ -21,12 +34,63 @@ public interface TransitAlertService {
 
   Collection<TransitAlert> getStopAlerts(FeedScopedId stop, Set<StopCondition> stopConditions);
 
+  /**
+   * Same as {@link #getStopAlerts(FeedScopedId, Set)}, but only the alerts which should be
+   * displayed during the given time window are returned, see
+   * {@link TransitAlert#displayDuring(long, long)}.
+   */
+  default Collection<TransitAlert> getStopAlerts(
+    FeedScopedId stop,
+    Set<StopCondition> stopConditions,
+    long startTimeSeconds,
+    long endTimeSeconds
+  ) {
+    return displayDuring(getStopAlerts(stop, stopConditions), startTimeSeconds, endTimeSeconds);
+  }
+
   Collection<TransitAlert> getRouteAlerts(FeedScopedId route);
 
+  /**
+   * Same as {@link #getRouteAlerts(FeedScopedId)}, but only the alerts which should be displayed
+   * during the given time window are returned.
+   */
+  default Collection<TransitAlert> getRouteAlerts(
+    FeedScopedId route,
+    long startTimeSeconds,
+    long endTimeSeconds
+  ) {
+    return displayDuring(getRouteAlerts(route), startTimeSeconds, endTimeSeconds);
+  }
+
   Collection<TransitAlert> getTripAlerts(FeedScopedId trip, LocalDate serviceDate);
 
+  /**
+   * Same as {@link #getTripAlerts(FeedScopedId, LocalDate)}, but only the alerts which should be
+   * displayed during the given time window are returned.
+   */
+  default Collection<TransitAlert> getTripAlerts(
+    FeedScopedId trip,
+    LocalDate serviceDate,
+    long startTimeSeconds,
+    long endTimeSeconds
+  ) {
+    return displayDuring(getTripAlerts(trip, serviceDate), startTimeSeconds, endTimeSeconds);
+  }
+
   Collection<TransitAlert> getAgencyAlerts(FeedScopedId agency);
 
+  /**
+   * Same as {@link #getAgencyAlerts(FeedScopedId)}, but only the alerts which should be displayed
+   * during the given time window are returned.
+   */
+  default Collection<TransitAlert> getAgencyAlerts(
+    FeedScopedId agency,
+    long startTimeSeconds,
+    long endTimeSeconds
+  ) {
+    return displayDuring(getAgencyAlerts(agency), startTimeSeconds, endTimeSeconds);
+  }
+
   default Collection<TransitAlert> getStopAndRouteAlerts(FeedScopedId stop, FeedScopedId route) {
     return getStopAndRouteAlerts(stop, route, Set.of());
   }
@@ -37,6 +101,24 @@ public interface TransitAlertService {
     Set<StopCondition> stopConditions
   );
 
+  /**
+   * Same as {@link #getStopAndRouteAlerts(FeedScopedId, FeedScopedId, Set)}, but only the alerts
+   * which should be displayed during the given time window are returned.
+   */
+  default Collection<TransitAlert> getStopAndRouteAlerts(
+    FeedScopedId stop,
+    FeedScopedId route,
+    Set<StopCondition> stopConditions,
+    long startTimeSeconds,
+    long endTimeSeconds
+  ) {
+    return displayDuring(
+      getStopAndRouteAlerts(stop, route, stopConditions),
+      startTimeSeconds,
+      endTimeSeconds
+    );
+  }
+
   default Collection<TransitAlert> getStopAndTripAlerts(
     FeedScopedId stop,
     FeedScopedId trip,
@@ -52,9 +134,39 @@ public interface TransitAlertService {
     Set<StopCondition> stopConditions
   );
 
+  /**
+   * Same as {@link #getStopAndTripAlerts(FeedScopedId, FeedScopedId, LocalDate, Set)}, but only
+   * the alerts which should be displayed during the given time window are returned.
+   */
+  default Collection<TransitAlert> getStopAndTripAlerts(
+    FeedScopedId stop,
+    FeedScopedId trip,
+    LocalDate serviceDate,
+    Set<StopCondition> stopConditions,
+    long startTimeSeconds,
+    long endTimeSeconds
+  ) {
+    return displayDuring(
+      getStopAndTripAlerts(stop, trip, serviceDate, stopConditions),
+      startTimeSeconds,
+      endTimeSeconds
+    );
+  }
+
   Collection<TransitAlert> getRouteTypeAndAgencyAlerts(int routeType, FeedScopedId agency);
 
   Collection<TransitAlert> getRouteTypeAlerts(int routeType, String feedId);
 
   Collection<TransitAlert> getDirectionAndRouteAlerts(Direction direction, FeedScopedId route);
+
+  private static Collection<TransitAlert> displayDuring(
+    Collection<TransitAlert> alerts,
+    long startTimeSeconds,
+    long endTimeSeconds
+  ) {
+    return alerts
+      .stream()
+      .filter(alert -> alert.displayDuring(startTimeSeconds, endTimeSeconds))
+      .collect(Collectors.toSet());
+  }
 }
@@ -29,6 +29,11 @@ public class VehicleParkingService implements Serializable {
    */
   private ImmutableListMultimap<VehicleParkingGroup, VehicleParking> vehicleParkingGroups = ImmutableListMultimap.of();
 
+  /**
+   * Incremented on every update, also if only the availability of existing parking is changed.
+   */
+  private volatile long modificationCount = 0;
+
   /**
    * Does atomic update of {@link VehicleParking} and index of {@link VehicleParkingGroup} in this
    * service by replacing the existing with a new copy that includes old ones that were not removed
@@ -59,6 +64,15 @@ public class VehicleParkingService implements Serializable {
     updatedVehicleParkings.removeAll(parkingToRemove);
     updatedVehicleParkings.addAll(parkingToAdd);
     vehicleParkings = Set.copyOf(updatedVehicleParkings);
+    modificationCount++;
+  }
+
+  /**
+   * The number of times {@link #updateVehicleParking(Collection, Collection)} has been called. The
+   * vehicle parking updaters call it after each update, so this can be used to detect changes.
+   */
+  public long getModificationCount() {
+    return modificationCount;
   }
 
   public Stream<VehicleParking> getBikeParks() {
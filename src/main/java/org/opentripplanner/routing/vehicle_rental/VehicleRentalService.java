@@ -14,6 +14,11 @@ public class VehicleRentalService implements Serializable {
 
   private final Map<FeedScopedId, VehicleRentalPlace> rentalPlaces = new HashMap<>();
 
+  /**
+   * Incremented on every update, so that users of the service can detect changes.
+   */
+  private volatile long modificationCount = 0;
+
   public Collection<VehicleRentalPlace> getVehicleRentalPlaces() {
     return rentalPlaces.values();
   }
@@ -58,10 +63,20 @@ public class VehicleRentalService implements Serializable {
     // Remove old reference first, as adding will be a no-op if already present
     rentalPlaces.remove(vehicleRentalStation.getId());
     rentalPlaces.put(vehicleRentalStation.getId(), vehicleRentalStation);
+    modificationCount++;
   }
 
   public void removeVehicleRentalStation(FeedScopedId vehicleRentalStationId) {
     rentalPlaces.remove(vehicleRentalStationId);
+    modificationCount++;
+  }
+
+  /**
+   * The number of updates made to this service. Updates are only made by a single thread, the
+   * graph writer.
+   */
+  public long getModificationCount() {
+    return modificationCount;
   }
 
   public boolean hasRentalBikes() {
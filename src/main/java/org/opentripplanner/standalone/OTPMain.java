@@ -118,7 +118,10 @@ public class OTPMain {
 
     /* Load graph from disk if one is not present from build. */
     if (cli.doLoadGraph() || cli.doLoadStreetGraph()) {
-      SerializedGraphObject obj = SerializedGraphObject.load(loadApp.getInputGraphDataStore());
+      SerializedGraphObject obj = OtpStartupTimer.time(
+        "Load graph",
+        () -> SerializedGraphObject.load(loadApp.getInputGraphDataStore())
+      );
       app = loadApp.appConstruction(obj);
       config.updateConfigFromSerializedGraph(obj.buildConfig, obj.routerConfig);
       graphAvailable = true;
@@ -168,8 +171,13 @@ public class OTPMain {
 
   private static void startOtpWebServer(CommandLineParameters params, ConstructApplication app) {
     // Index graph for travel search
-    app.transitModel().index();
-    app.graph().index(app.transitModel().getStopModel());
+    OtpStartupTimer.time(
+      "Index graph",
+      () -> {
+        app.transitModel().index();
+        app.graph().index(app.transitModel().getStopModel());
+      }
+    );
 
     // publishing the config version info make it available to the APIs
     setOtpConfigVersionsOnServerInfo(app);
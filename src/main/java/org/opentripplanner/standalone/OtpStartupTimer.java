@@ -0,0 +1,68 @@
+package org.opentripplanner.standalone;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.opentripplanner.framework.time.DurationUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keep track of the time used by each phase of the startup, until the server is ready to serve
+ * requests. The durations are logged together when the server is started, and published as the
+ * {@code otp.startup} timer tagged with the phase.
+ */
+public class OtpStartupTimer {
+
+  private static final Logger LOG = LoggerFactory.getLogger(OtpStartupTimer.class);
+  private static final Map<String, Duration> PHASES = new LinkedHashMap<>();
+
+  /** Run a startup phase and keep its duration. */
+  public static void time(String phase, Runnable task) {
+    time(
+      phase,
+      () -> {
+        task.run();
+        return null;
+      }
+    );
+  }
+
+  /** Run a startup phase and keep its duration. */
+  public static <T> T time(String phase, Supplier<T> task) {
+    long start = System.nanoTime();
+    try {
+      return task.get();
+    } finally {
+      var duration = Duration.ofNanos(System.nanoTime() - start);
+      synchronized (PHASES) {
+        PHASES.merge(phase, duration, Duration::plus);
+      }
+      Timer
+        .builder("otp.startup")
+        .tag("phase", phase)
+        .register(Metrics.globalRegistry)
+        .record(duration);
+    }
+  }
+
+  /** Log the duration of each phase, and the total time since the JVM was started. */
+  public static void logSummary() {
+    String phases;
+    synchronized (PHASES) {
+      phases =
+        PHASES
+          .entrySet()
+          .stream()
+          .map(it -> it.getKey() + ": " + DurationUtils.durationToStr(it.getValue()))
+          .collect(Collectors.joining(", "));
+    }
+    var total = Duration.ofMillis(ManagementFactory.getRuntimeMXBean().getUptime());
+    LOG.info("OTP ready in {}. Startup phases: {}", DurationUtils.durationToStr(total), phases);
+  }
+}
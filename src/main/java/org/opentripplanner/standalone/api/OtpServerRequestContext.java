@@ -10,6 +10,7 @@ import org.opentripplanner.framework.application.OTPFeature;
 import org.opentripplanner.inspector.raster.TileRendererManager;
 import org.opentripplanner.raptor.api.request.RaptorTuningParameters;
 import org.opentripplanner.raptor.configure.RaptorConfig;
+import org.opentripplanner.routing.algorithm.raptoradapter.router.performance.SearchStatisticsForRaptor;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.TransitTuningParameters;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.TripSchedule;
 import org.opentripplanner.routing.api.RoutingService;
@@ -19,6 +20,7 @@ import org.opentripplanner.routing.graphfinder.GraphFinder;
 import org.opentripplanner.service.vehiclepositions.VehiclePositionService;
 import org.opentripplanner.service.worldenvelope.WorldEnvelopeService;
 import org.opentripplanner.standalone.config.sandbox.FlexConfig;
+import org.opentripplanner.standalone.config.sandbox.TravelTimeConfig;
 import org.opentripplanner.street.model.edge.Edge;
 import org.opentripplanner.street.search.state.State;
 import org.opentripplanner.transit.service.TransitService;
@@ -100,6 +102,9 @@ public interface OtpServerRequestContext {
   /** Inspector/debug services */
   TileRendererManager tileRendererManager();
 
+  /** The Raptor search statistics recorder, shared by all requests. */
+  SearchStatisticsForRaptor searchStatisticsForRaptor();
+
   /**
    * Callback witch is injected into the {@code DirectStreetRouter}, used to visualize the
    * search.
@@ -113,6 +118,8 @@ public interface OtpServerRequestContext {
 
   FlexConfig flexConfig();
 
+  TravelTimeConfig travelTimeConfig();
+
   VectorTilesResource.LayersParameters<VectorTilesResource.LayerType> vectorTileLayers();
 
   default DataOverlayContext dataOverlayContext(RouteRequest request) {
@@ -146,6 +146,8 @@ public class BuildConfig implements OtpDataStoreConfig {
 
   public final boolean osmCacheDataInMem;
 
+  public final boolean osmOffHeapNodeStore;
+
   /** See {@link IslandPruningConfig}. */
   public final IslandPruningConfig islandPruning;
 
@@ -153,6 +155,7 @@ public class BuildConfig implements OtpDataStoreConfig {
   public final boolean banDiscouragedBiking;
   public final double maxTransferDurationSeconds;
   public final Boolean extraEdgesStopPlatformLink;
+  public final boolean geocoderIndex;
   public final NetexFeedParameters netexDefaults;
   public final GtfsFeedParameters gtfsDefaults;
 
@@ -163,6 +166,10 @@ public class BuildConfig implements OtpDataStoreConfig {
 
   public final int maxAreaNodes;
 
+  public final int streetLandmarks;
+
+  public final boolean carContractionHierarchy;
+
   public final DataOverlayConfig dataOverlay;
   public final double maxStopToShapeSnapDistance;
   public final Set<String> boardingLocationTags;
@@ -268,6 +275,20 @@ public class BuildConfig implements OtpDataStoreConfig {
           "platform edge."
         )
         .asBoolean(false);
+    geocoderIndex =
+      root
+        .of("geocoderIndex")
+        .since(V2_3)
+        .summary("Build the geocoder index and save it next to the graph.")
+        .description(
+          """
+            The index is only built if the `SandboxAPIGeocoder` feature is enabled. It is saved
+            in the `geocoder` directory, and when the server starts it is memory mapped instead
+            of being built again. An index built for another graph is not used, and the index of
+            an earlier build is deleted when the index is not built.
+            """
+        )
+        .asBoolean(false);
     includeEllipsoidToGeoidDifference =
       root
         .of("includeEllipsoidToGeoidDifference")
@@ -361,6 +382,23 @@ all of the elevation values in the street edges.
       """
         )
         .asBoolean(false);
+    osmOffHeapNodeStore =
+      root
+        .of("osmOffHeapNodeStore")
+        .since(V2_3)
+        .summary("If untagged OSM nodes should be stored outside the Java heap during processing.")
+        .description(
+          """
+            Most OSM nodes are untagged points on ways, and only their coordinates are needed to
+            build the graph. If this is enabled, these are kept in direct memory instead of as
+            objects on the heap, which reduces the heap needed to load large extracts at the cost
+            of some processing time. The nodes must be sorted by id in the OSM files, as they are
+            in most extracts, nodes out of order are kept on the heap. The direct memory used is
+            limited by the JVM option `-XX:MaxDirectMemorySize`, which defaults to the maximum
+            heap size.
+            """
+        )
+        .asBoolean(false);
     platformEntriesLinking =
       root
         .of("platformEntriesLinking")
@@ -477,11 +515,11 @@ Use an empty string to make it unbounded.
 When set to true, the elevation module will create a file cache for calculated elevation data.
 Subsequent graph builds can reuse the data in this file.
   
-After building the graph, a file called `cached_elevations.obj` will be written to the cache
+After building the graph, a file called `cached_elevations.bin` will be written to the cache
 directory. By default, this file is not written during graph builds. There is also a graph build
 parameter called `readCachedElevations` which is set to `true` by default.
 
-In graph builds, the elevation module will attempt to read the `cached_elevations.obj` file from
+In graph builds, the elevation module will attempt to read the `cached_elevations.bin` file from
 the cache directory. The cache directory defaults to `/var/otp/cache`, but this can be overridden
 via the CLI argument `--cache <directory>`. For the same graph build for multiple Northeast US
 states, the time it took with using this pre-downloaded and precalculated data became roughly 9
@@ -506,6 +544,42 @@ recommended.
           "Visibility calculations for an area will not be done if there are more nodes than this limit."
         )
         .asInt(500);
+    streetLandmarks =
+      root
+        .of("streetLandmarks")
+        .since(V2_3)
+        .summary("The number of landmarks used to speed up direct car and bicycle searches.")
+        .description(
+          """
+            If set, the shortest paths from and to this number of landmark vertices are computed
+            for all street vertices at graph build time, and used as a lower bound on the
+            remaining cost of direct street searches (A* with landmarks). This can reduce the
+            number of vertices visited by long car and bicycle searches considerably. Around 16
+            landmarks is a good starting point. The tables use 16 bytes per street vertex and
+            landmark, so both the build time and the size of the graph increase. The default of
+            0 disables the landmarks.
+            """
+        )
+        .asInt(0);
+    carContractionHierarchy =
+      root
+        .of("carContractionHierarchy")
+        .since(V2_3)
+        .summary("Build a contraction hierarchy to speed up direct car searches.")
+        .description(
+          """
+            The hierarchy is built for the car preferences of the `routingDefaults` in the
+            router-config, and direct car searches with these preferences find the shortest path in
+            it instead of searching the street graph, which is many times faster for long trips.
+            Requests with other car preferences use the normal search. The graph must be rebuilt
+            when the car reluctance, the turn reluctance or the intersection model of the routing
+            defaults change.
+            Turn restrictions are respected. Building the hierarchy takes a few minutes for a
+            large graph, and it increases the size of the graph by roughly the size of the street
+            edges.
+            """
+        )
+        .asBoolean(false);
     maxElevationPropagationMeters =
       root
         .of("maxElevationPropagationMeters")
@@ -4,6 +4,7 @@ import static org.opentripplanner.framework.application.OtpFileNames.ROUTER_CONF
 import static org.opentripplanner.standalone.config.framework.json.OtpVersion.NA;
 import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_0;
 import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_1;
+import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_3;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.MissingNode;
@@ -18,6 +19,7 @@ import org.opentripplanner.standalone.config.routerconfig.VectorTileConfig;
 import org.opentripplanner.standalone.config.routerequest.RouteRequestConfig;
 import org.opentripplanner.standalone.config.sandbox.FlexConfig;
 import org.opentripplanner.standalone.config.sandbox.TransmodelAPIConfig;
+import org.opentripplanner.standalone.config.sandbox.TravelTimeConfig;
 import org.opentripplanner.updater.UpdatersParameters;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -41,6 +43,7 @@ public class RouterConfig implements Serializable {
    */
   private final NodeAdapter root;
   private final String configVersion;
+  private final int inspectorTilePrerenderZoom;
   private final String requestLogFile;
   private final TransmodelAPIConfig transmodelApi;
   private final Duration streetRoutingTimeout;
@@ -49,6 +52,7 @@ public class RouterConfig implements Serializable {
   private final UpdatersParameters updatersParameters;
   private final VectorTileConfig vectorTileLayers;
   private final FlexConfig flexConfig;
+  private final TravelTimeConfig travelTimeConfig;
 
   public RouterConfig(JsonNode node, String source, boolean logUnusedParams) {
     this(new NodeAdapter(node, source), logUnusedParams);
@@ -64,6 +68,19 @@ public class RouterConfig implements Serializable {
         .summary("Deployment version of the *" + ROUTER_CONFIG_FILENAME + "*.")
         .description(OtpConfig.CONFIG_VERSION_DESCRIPTION)
         .asString(null);
+    this.inspectorTilePrerenderZoom =
+      root
+        .of("inspectorTilePrerenderZoom")
+        .since(V2_3)
+        .summary("Render the debug inspector tiles up to this zoom level after startup.")
+        .description(
+          """
+The tiles of all debug inspector layers covering the graph are rendered in the background after
+startup, and put in the tile cache. The lowest zoom levels are the slowest to render, since each
+tile covers a large part of the street graph. A negative value disables the prerendering.
+          """
+        )
+        .asInt(-1);
     this.requestLogFile =
       root
         .of("requestLogFile")
@@ -112,6 +129,7 @@ number of transit vehicles used in that itinerary.
     this.updatersParameters = new UpdatersConfig(root);
     this.vectorTileLayers = VectorTileConfig.mapVectorTilesParameters(root, "vectorTileLayers");
     this.flexConfig = new FlexConfig(root, "flex");
+    this.travelTimeConfig = new TravelTimeConfig(root, "travelTime");
 
     if (logUnusedParams && LOG.isWarnEnabled()) {
       root.logAllUnusedParameters(LOG::warn);
@@ -135,6 +153,10 @@ number of transit vehicles used in that itinerary.
     return configVersion;
   }
 
+  public int inspectorTilePrerenderZoom() {
+    return inspectorTilePrerenderZoom;
+  }
+
   public String requestLogFile() {
     return requestLogFile;
   }
@@ -172,6 +194,10 @@ number of transit vehicles used in that itinerary.
     return flexConfig;
   }
 
+  public TravelTimeConfig travelTimeConfig() {
+    return travelTimeConfig;
+  }
+
   public NodeAdapter asNodeAdapter() {
     return root;
   }
@@ -1,6 +1,7 @@
 package org.opentripplanner.standalone.config.routerconfig;
 
 import static org.opentripplanner.standalone.config.framework.json.OtpVersion.NA;
+import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_3;
 
 import java.time.Duration;
 import java.util.List;
@@ -22,6 +23,7 @@ public final class TransitRoutingConfig implements RaptorTuningParameters, Trans
   private final int searchThreadPoolSize;
   private final int transferCacheMaxSize;
   private final List<Duration> pagingSearchWindowAdjustments;
+  private final Duration slowSearchLogThreshold;
 
   private final Map<StopTransferPriority, Integer> stopTransferCost;
   private final DynamicSearchWindowCoefficients dynamicSearchWindowCoefficients;
@@ -159,6 +161,20 @@ for more info."
         )
         .asDurations(PAGING_SEARCH_WINDOW_ADJUSTMENTS);
 
+    this.slowSearchLogThreshold =
+      c
+        .of("slowSearchLogThreshold")
+        .since(V2_3)
+        .summary("Log the Raptor searches taking longer than this, with the search statistics.")
+        .description(
+          """
+The Raptor request, the access and egress paths, and the number of iterations, rounds, patterns
+scanned, trips boarded and stop arrivals accepted or rejected are logged, so slow searches can be
+investigated and replayed offline. The log is turned off if the threshold is zero.
+"""
+        )
+        .asDuration(Duration.ZERO);
+
     this.dynamicSearchWindowCoefficients = new DynamicSearchWindowConfig("dynamicSearchWindow", c);
   }
 
@@ -207,6 +223,11 @@ for more info."
     return pagingSearchWindowAdjustments;
   }
 
+  @Override
+  public Duration slowSearchLogThreshold() {
+    return slowSearchLogThreshold;
+  }
+
   private static class DynamicSearchWindowConfig implements DynamicSearchWindowCoefficients {
 
     private final double minTransitTimeCoefficient;
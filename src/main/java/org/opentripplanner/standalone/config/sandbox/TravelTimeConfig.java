@@ -0,0 +1,46 @@
+package org.opentripplanner.standalone.config.sandbox;
+
+import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_3;
+
+import java.time.Duration;
+import org.opentripplanner.standalone.config.framework.json.NodeAdapter;
+
+public class TravelTimeConfig {
+
+  public static final TravelTimeConfig DEFAULT = new TravelTimeConfig();
+
+  private final Duration maxPrecomputedEgressDuration;
+
+  private TravelTimeConfig() {
+    maxPrecomputedEgressDuration = Duration.ofHours(1);
+  }
+
+  public TravelTimeConfig(NodeAdapter root, String parameterName) {
+    var json = root
+      .of(parameterName)
+      .since(V2_3)
+      .summary("Configuration for the travel time API.")
+      .asObject();
+
+    this.maxPrecomputedEgressDuration =
+      json
+        .of("maxPrecomputedEgressDuration")
+        .since(V2_3)
+        .summary("The longest street travel time precomputed from each stop to the grid around it.")
+        .description(
+          """
+            The travel times are computed when the server starts, for the routing defaults, and by
+            the first request with other street preferences or egress mode. A longer duration
+            covers more cells around each stop, and needs more time and memory.
+            
+            A request with a longer cutoff searches the streets from all the stops it reaches
+            instead, which is slower.
+            """
+        )
+        .asDuration(DEFAULT.maxPrecomputedEgressDuration);
+  }
+
+  public Duration maxPrecomputedEgressDuration() {
+    return maxPrecomputedEgressDuration;
+  }
+}
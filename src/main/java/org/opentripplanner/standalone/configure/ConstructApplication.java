@@ -5,6 +5,7 @@ import javax.annotation.Nullable;
 import org.opentripplanner.datastore.api.DataSource;
 import org.opentripplanner.ext.geocoder.LuceneIndex;
 import org.opentripplanner.ext.transmodelapi.TransmodelAPI;
+import org.opentripplanner.ext.traveltime.StopGridEgressTables;
 import org.opentripplanner.framework.application.OTPFeature;
 import org.opentripplanner.graph_builder.GraphBuilder;
 import org.opentripplanner.graph_builder.GraphBuilderDataSources;
@@ -17,6 +18,7 @@ import org.opentripplanner.routing.algorithm.raptoradapter.transit.mappers.Trans
 import org.opentripplanner.routing.graph.Graph;
 import org.opentripplanner.service.vehiclepositions.VehiclePositionRepository;
 import org.opentripplanner.service.worldenvelope.WorldEnvelopeRepository;
+import org.opentripplanner.standalone.OtpStartupTimer;
 import org.opentripplanner.standalone.api.OtpServerRequestContext;
 import org.opentripplanner.standalone.config.BuildConfig;
 import org.opentripplanner.standalone.config.CommandLineParameters;
@@ -26,6 +28,7 @@ import org.opentripplanner.standalone.config.RouterConfig;
 import org.opentripplanner.standalone.server.GrizzlyServer;
 import org.opentripplanner.standalone.server.OTPWebApplication;
 import org.opentripplanner.street.model.elevation.ElevationUtils;
+import org.opentripplanner.street.search.contraction.CarCostProfile;
 import org.opentripplanner.transit.service.TransitModel;
 import org.opentripplanner.updater.configure.UpdaterConfigurator;
 import org.opentripplanner.visualizer.GraphVisualizer;
@@ -84,6 +87,7 @@ public class ConstructApplication {
         .transitModel(transitModel)
         .graphVisualizer(graphVisualizer)
         .worldEnvelopeRepository(worldEnvelopeRepository)
+        .routingConcurrencyLimiter(GrizzlyServer.createRoutingConcurrencyLimiter(cli))
         .build();
   }
 
@@ -106,6 +110,7 @@ public class ConstructApplication {
     LOG.info("Wiring up and configuring graph builder task.");
     return GraphBuilder.create(
       buildConfig(),
+      routerConfig().routingRequestDefaults(),
       graphBuilderDataSources,
       graph(),
       transitModel(),
@@ -132,22 +137,51 @@ public class ConstructApplication {
     return new OTPWebApplication(this::createServerContext);
   }
 
+  /**
+   * The contraction hierarchy is built for the car preferences of the routing defaults at graph
+   * build time. Warn if they are changed, since the hierarchy is then not used.
+   */
+  private void checkContractionHierarchy() {
+    var hierarchy = graph().getContractionHierarchy();
+    if (hierarchy == null) {
+      return;
+    }
+    var profile = CarCostProfile.of(routerConfig().routingRequestDefaults().preferences());
+    if (!hierarchy.costProfile().equals(profile)) {
+      LOG.warn(
+        "The car contraction hierarchy was built for {}, but the routing defaults are {}. The " +
+        "hierarchy is not used, rebuild the graph to use it.",
+        hierarchy.costProfile(),
+        profile
+      );
+    }
+  }
+
   private void setupTransitRoutingServer() {
     // Create MetricsLogging
     factory.metricsLogging();
 
-    creatTransitLayerForRaptor(transitModel(), routerConfig().transitTuningConfig());
+    OtpStartupTimer.time(
+      "Create transit layer",
+      () -> creatTransitLayerForRaptor(transitModel(), routerConfig().transitTuningConfig())
+    );
 
     /* Create updater modules from JSON config. */
-    UpdaterConfigurator.configure(
-      graph(),
-      vehiclePositionRepository(),
-      transitModel(),
-      routerConfig().updaterConfig()
+    OtpStartupTimer.time(
+      "Configure updaters",
+      () ->
+        UpdaterConfigurator.configure(
+          graph(),
+          vehiclePositionRepository(),
+          transitModel(),
+          routerConfig().updaterConfig()
+        )
     );
 
     initEllipsoidToGeoidDifference();
 
+    checkContractionHierarchy();
+
     if (OTPFeature.SandboxAPITransmodelApi.isOn()) {
       TransmodelAPI.setUp(
         routerConfig().transmodelApi(),
@@ -158,7 +192,18 @@ public class ConstructApplication {
 
     if (OTPFeature.SandboxAPIGeocoder.isOn()) {
       LOG.info("Creating debug client geocoder lucene index");
-      LuceneIndex.forServer(createServerContext());
+      LuceneIndex.forServer(createServerContext(), graphBuilderDataSources.getGeocoderIndexDir());
+    }
+
+    if (OTPFeature.SandboxAPITravelTime.isOn()) {
+      OtpStartupTimer.time(
+        "Compute travel time egress tables",
+        () -> StopGridEgressTables.forServer(createServerContext())
+      );
+    }
+
+    if (routerConfig().inspectorTilePrerenderZoom() >= 0) {
+      factory.tileRendererManager().prerender(routerConfig().inspectorTilePrerenderZoom());
     }
   }
 
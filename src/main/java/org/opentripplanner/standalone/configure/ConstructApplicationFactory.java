@@ -4,6 +4,8 @@ import dagger.BindsInstance;
 import dagger.Component;
 import jakarta.inject.Singleton;
 import javax.annotation.Nullable;
+import org.opentripplanner.framework.concurrent.ConcurrencyLimiter;
+import org.opentripplanner.inspector.raster.TileRendererManager;
 import org.opentripplanner.raptor.configure.RaptorConfig;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.TripSchedule;
 import org.opentripplanner.routing.graph.Graph;
@@ -52,6 +54,7 @@ public interface ConstructApplicationFactory {
 
   TransitService transitService();
   OtpServerRequestContext createServerContext();
+  TileRendererManager tileRendererManager();
 
   MetricsLogging metricsLogging();
 
@@ -72,6 +75,9 @@ public interface ConstructApplicationFactory {
     @BindsInstance
     Builder worldEnvelopeRepository(WorldEnvelopeRepository worldEnvelopeRepository);
 
+    @BindsInstance
+    Builder routingConcurrencyLimiter(ConcurrencyLimiter routingConcurrencyLimiter);
+
     ConstructApplicationFactory build();
   }
 }
@@ -3,9 +3,13 @@ package org.opentripplanner.standalone.configure;
 import dagger.Module;
 import dagger.Provides;
 import io.micrometer.core.instrument.Metrics;
+import jakarta.inject.Singleton;
 import javax.annotation.Nullable;
 import org.opentripplanner.astar.spi.TraverseVisitor;
+import org.opentripplanner.framework.concurrent.ConcurrencyLimiter;
+import org.opentripplanner.inspector.raster.TileRendererManager;
 import org.opentripplanner.raptor.configure.RaptorConfig;
+import org.opentripplanner.routing.algorithm.raptoradapter.router.performance.SearchStatisticsForRaptor;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.TripSchedule;
 import org.opentripplanner.routing.graph.Graph;
 import org.opentripplanner.service.vehiclepositions.VehiclePositionService;
@@ -25,8 +29,11 @@ public class ConstructApplicationModule {
     RaptorConfig<TripSchedule> raptorConfig,
     Graph graph,
     TransitService transitService,
+    ConcurrencyLimiter routingConcurrencyLimiter,
     WorldEnvelopeService worldEnvelopeService,
     VehiclePositionService vehiclePositionService,
+    TileRendererManager tileRendererManager,
+    SearchStatisticsForRaptor searchStatisticsForRaptor,
     @Nullable TraverseVisitor<?, ?> traverseVisitor
   ) {
     return DefaultServerRequestContext.create(
@@ -37,15 +44,36 @@ public class ConstructApplicationModule {
       graph,
       transitService,
       Metrics.globalRegistry,
+      routingConcurrencyLimiter,
       routerConfig.vectorTileLayers(),
       worldEnvelopeService,
       vehiclePositionService,
+      tileRendererManager,
+      searchStatisticsForRaptor,
       routerConfig.flexConfig(),
+      routerConfig.travelTimeConfig(),
       traverseVisitor,
       routerConfig.requestLogFile()
     );
   }
 
+  /** The tile renderers and their cache are shared by all requests. */
+  @Provides
+  @Singleton
+  TileRendererManager tileRendererManager(Graph graph, RouterConfig routerConfig) {
+    return new TileRendererManager(graph, routerConfig.routingRequestDefaults().preferences());
+  }
+
+  /** The Raptor search statistics are registered once for all requests. */
+  @Provides
+  @Singleton
+  SearchStatisticsForRaptor searchStatisticsForRaptor(RouterConfig routerConfig) {
+    return new SearchStatisticsForRaptor(
+      Metrics.globalRegistry,
+      routerConfig.transitTuningConfig().slowSearchLogThreshold()
+    );
+  }
+
   @Provides
   @Nullable
   TraverseVisitor<?, ?> traverseVisitor(@Nullable GraphVisualizer graphVisualizer) {
@@ -6,9 +6,11 @@ import java.util.Locale;
 import javax.annotation.Nullable;
 import org.opentripplanner.astar.spi.TraverseVisitor;
 import org.opentripplanner.ext.vectortiles.VectorTilesResource;
+import org.opentripplanner.framework.concurrent.ConcurrencyLimiter;
 import org.opentripplanner.inspector.raster.TileRendererManager;
 import org.opentripplanner.raptor.api.request.RaptorTuningParameters;
 import org.opentripplanner.raptor.configure.RaptorConfig;
+import org.opentripplanner.routing.algorithm.raptoradapter.router.performance.SearchStatisticsForRaptor;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.TransitTuningParameters;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.TripSchedule;
 import org.opentripplanner.routing.api.RoutingService;
@@ -21,6 +23,7 @@ import org.opentripplanner.standalone.api.HttpRequestScoped;
 import org.opentripplanner.standalone.api.OtpServerRequestContext;
 import org.opentripplanner.standalone.config.routerconfig.TransitRoutingConfig;
 import org.opentripplanner.standalone.config.sandbox.FlexConfig;
+import org.opentripplanner.standalone.config.sandbox.TravelTimeConfig;
 import org.opentripplanner.standalone.configure.RequestLoggerFactory;
 import org.opentripplanner.transit.service.TransitService;
 import org.slf4j.Logger;
@@ -35,11 +38,14 @@ public class DefaultServerRequestContext implements OtpServerRequestContext {
   private final Duration streetRoutingTimeout;
   private final RouteRequest routeRequestDefaults;
   private final MeterRegistry meterRegistry;
+  private final ConcurrencyLimiter routingConcurrencyLimiter;
   private final RaptorConfig<TripSchedule> raptorConfig;
   private final Logger requestLogger;
   private final TileRendererManager tileRendererManager;
+  private final SearchStatisticsForRaptor searchStatisticsForRaptor;
   private final VectorTilesResource.LayersParameters<VectorTilesResource.LayerType> vectorTileLayers;
   private final FlexConfig flexConfig;
+  private final TravelTimeConfig travelTimeConfig;
   private final TraverseVisitor traverseVisitor;
   private final WorldEnvelopeService worldEnvelopeService;
   private final VehiclePositionService vehiclePositionService;
@@ -54,13 +60,16 @@ public class DefaultServerRequestContext implements OtpServerRequestContext {
     Duration streetRoutingTimeout,
     RouteRequest routeRequestDefaults,
     MeterRegistry meterRegistry,
+    ConcurrencyLimiter routingConcurrencyLimiter,
     RaptorConfig<TripSchedule> raptorConfig,
     Logger requestLogger,
     TileRendererManager tileRendererManager,
+    SearchStatisticsForRaptor searchStatisticsForRaptor,
     VectorTilesResource.LayersParameters<VectorTilesResource.LayerType> vectorTileLayers,
     WorldEnvelopeService worldEnvelopeService,
     VehiclePositionService vehiclePositionService,
     FlexConfig flexConfig,
+    TravelTimeConfig travelTimeConfig,
     TraverseVisitor traverseVisitor
   ) {
     this.graph = graph;
@@ -68,11 +77,14 @@ public class DefaultServerRequestContext implements OtpServerRequestContext {
     this.transitRoutingConfig = transitRoutingConfig;
     this.streetRoutingTimeout = streetRoutingTimeout;
     this.meterRegistry = meterRegistry;
+    this.routingConcurrencyLimiter = routingConcurrencyLimiter;
     this.raptorConfig = raptorConfig;
     this.requestLogger = requestLogger;
     this.tileRendererManager = tileRendererManager;
+    this.searchStatisticsForRaptor = searchStatisticsForRaptor;
     this.vectorTileLayers = vectorTileLayers;
     this.flexConfig = flexConfig;
+    this.travelTimeConfig = travelTimeConfig;
     this.traverseVisitor = traverseVisitor;
     this.routeRequestDefaults = routeRequestDefaults;
     this.worldEnvelopeService = worldEnvelopeService;
@@ -90,10 +102,14 @@ public class DefaultServerRequestContext implements OtpServerRequestContext {
     Graph graph,
     TransitService transitService,
     MeterRegistry meterRegistry,
+    ConcurrencyLimiter routingConcurrencyLimiter,
     VectorTilesResource.LayersParameters<VectorTilesResource.LayerType> vectorTileLayers,
     WorldEnvelopeService worldEnvelopeService,
     VehiclePositionService vehiclePositionService,
+    TileRendererManager tileRendererManager,
+    SearchStatisticsForRaptor searchStatisticsForRaptor,
     FlexConfig flexConfig,
+    TravelTimeConfig travelTimeConfig,
     @Nullable TraverseVisitor traverseVisitor,
     @Nullable String requestLogFile
   ) {
@@ -104,13 +120,16 @@ public class DefaultServerRequestContext implements OtpServerRequestContext {
       streetRoutingTimeout,
       routeRequestDefaults,
       meterRegistry,
+      routingConcurrencyLimiter,
       raptorConfig,
       RequestLoggerFactory.createLogger(requestLogFile),
-      new TileRendererManager(graph, routeRequestDefaults.preferences()),
+      tileRendererManager,
+      searchStatisticsForRaptor,
       vectorTileLayers,
       worldEnvelopeService,
       vehiclePositionService,
       flexConfig,
+      travelTimeConfig,
       traverseVisitor
     );
   }
@@ -149,7 +168,7 @@ public class DefaultServerRequestContext implements OtpServerRequestContext {
 
   @Override
   public RoutingService routingService() {
-    return new DefaultRoutingService(this);
+    return new DefaultRoutingService(this, routingConcurrencyLimiter);
   }
 
   @Override
@@ -192,6 +211,11 @@ public class DefaultServerRequestContext implements OtpServerRequestContext {
     return tileRendererManager;
   }
 
+  @Override
+  public SearchStatisticsForRaptor searchStatisticsForRaptor() {
+    return searchStatisticsForRaptor;
+  }
+
   @Override
   public TraverseVisitor traverseVisitor() {
     return traverseVisitor;
@@ -202,6 +226,11 @@ public class DefaultServerRequestContext implements OtpServerRequestContext {
     return flexConfig;
   }
 
+  @Override
+  public TravelTimeConfig travelTimeConfig() {
+    return travelTimeConfig;
+  }
+
   @Override
   public VectorTilesResource.LayersParameters<VectorTilesResource.LayerType> vectorTileLayers() {
     return vectorTileLayers;
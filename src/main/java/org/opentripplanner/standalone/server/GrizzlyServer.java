@@ -4,6 +4,8 @@ import jakarta.ws.rs.core.Application;
 import java.io.File;
 import java.io.IOException;
 import java.net.BindException;
+import java.util.concurrent.ExecutorService;
+import javax.annotation.Nullable;
 import org.glassfish.grizzly.http.CompressionConfig;
 import org.glassfish.grizzly.http.server.CLStaticHttpHandler;
 import org.glassfish.grizzly.http.server.HttpHandler;
@@ -15,6 +17,9 @@ import org.glassfish.grizzly.ssl.SSLEngineConfigurator;
 import org.glassfish.grizzly.threadpool.ThreadPoolConfig;
 import org.glassfish.jersey.server.ContainerFactory;
 import org.opentripplanner.framework.application.OTPFeature;
+import org.opentripplanner.framework.concurrent.ConcurrencyLimiter;
+import org.opentripplanner.framework.concurrent.ExecutorUtils;
+import org.opentripplanner.standalone.OtpStartupTimer;
 import org.opentripplanner.standalone.config.CommandLineParameters;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,6 +41,17 @@ public class GrizzlyServer {
     SLF4JBridgeHandler.install();
   }
 
+  /**
+   * Routing is CPU-bound. If HTTP requests are handled by virtual threads, see
+   * {@link #createVirtualThreadExecutor(int)}, limit the number of requests routed at the same
+   * time to the number of handler threads used otherwise. The limit is shared by all requests.
+   */
+  public static ConcurrencyLimiter createRoutingConcurrencyLimiter(CommandLineParameters params) {
+    return useVirtualThreads()
+      ? ConcurrencyLimiter.of(maxThreads(params))
+      : ConcurrencyLimiter.unlimited();
+  }
+
   /** Construct a Grizzly server with the given IoC injector and command line parameters. */
   public GrizzlyServer(CommandLineParameters params, Application app) {
     this.params = params;
@@ -66,12 +82,13 @@ public class GrizzlyServer {
     // According to the Grizzly docs, setting the core and max pool size equal with no queue limit
     // will use a more efficient fixed-size thread pool implementation.
     // TODO we should probably use Grizzly async processing rather than tying up the HTTP handler threads.
-    int nHandlerThreads = getMaxThreads();
+    int nHandlerThreads = maxThreads(params);
     ThreadPoolConfig threadPoolConfig = ThreadPoolConfig
       .defaultConfig()
       .setCorePoolSize(nHandlerThreads)
       .setMaxPoolSize(nHandlerThreads)
       .setQueueLimit(-1);
+    ExecutorService virtualThreads = createVirtualThreadExecutor(nHandlerThreads);
 
     /* HTTP (non-encrypted) listener */
     NetworkListener httpListener = new NetworkListener(
@@ -99,7 +116,11 @@ public class GrizzlyServer {
       cc.setCompressionMode(CompressionConfig.CompressionMode.ON);
       cc.setCompressionMinSize(50000); // the min number of bytes to compress
       cc.setCompressableMimeTypes("application/json", "text/json"); // the mime types to compress
-      listener.getTransport().setWorkerThreadPoolConfig(threadPoolConfig);
+      if (virtualThreads != null) {
+        listener.getTransport().setWorkerThreadPool(virtualThreads);
+      } else {
+        listener.getTransport().setWorkerThreadPoolConfig(threadPoolConfig);
+      }
       httpServer.addListener(listener);
     }
 
@@ -146,6 +167,7 @@ public class GrizzlyServer {
     try {
       httpServer.start();
       LOG.info("Grizzly server running.");
+      OtpStartupTimer.logSummary();
       Thread.currentThread().join();
     } catch (BindException be) {
       LOG.error("Cannot bind to port {}. Is it already in use?", params.port);
@@ -160,11 +182,41 @@ public class GrizzlyServer {
     httpServer.shutdown();
   }
 
+  /**
+   * If the {@link OTPFeature#VirtualThreads} feature is on, handle each request on a new virtual
+   * thread. Requests blocked waiting for other threads do not hold up the other requests. Routing
+   * is still CPU-bound, so the number of requests routed at the same time is limited, see
+   * {@link #createRoutingConcurrencyLimiter(CommandLineParameters)}.
+   */
+  @Nullable
+  private static ExecutorService createVirtualThreadExecutor(int maxConcurrentRouting) {
+    if (OTPFeature.VirtualThreads.isOff()) {
+      return null;
+    }
+    if (!ExecutorUtils.isVirtualThreadsSupported()) {
+      LOG.warn(
+        "Virtual threads require Java 21 or later, a pool of HTTP handler threads is used instead."
+      );
+      return null;
+    }
+    var executor = ExecutorUtils.newVirtualThreadPerTaskExecutor("http-handler");
+    LOG.info(
+      "HTTP requests are handled by virtual threads, at most {} requests are routed at a time.",
+      maxConcurrentRouting
+    );
+    return executor;
+  }
+
+  /** Return true if the feature is on and the JVM supports virtual threads. */
+  private static boolean useVirtualThreads() {
+    return OTPFeature.VirtualThreads.isOn() && ExecutorUtils.isVirtualThreadsSupported();
+  }
+
   /**
    * OTP is CPU-bound, so we want roughly as many worker threads as we have cores, subject to some
    * constraints.
    */
-  private int getMaxThreads() {
+  private static int maxThreads(CommandLineParameters params) {
     int maxThreads = Runtime.getRuntime().availableProcessors();
     LOG.info("Java reports that this machine has {} available processors.", maxThreads);
     // Testing shows increased throughput up to 1.25x as many threads as cores
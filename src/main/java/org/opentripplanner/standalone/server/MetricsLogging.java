@@ -64,13 +64,6 @@ public class MetricsLogging {
         List.of(Tag.of("pool", "graphUpdaters"))
       )
         .bindTo(Metrics.globalRegistry);
-
-      new ExecutorServiceMetrics(
-        transitModel.getUpdaterManager().getScheduler(),
-        "graphUpdateScheduler",
-        List.of(Tag.of("pool", "graphUpdateScheduler"))
-      )
-        .bindTo(Metrics.globalRegistry);
     }
 
     if (raptorConfig.isMultiThreaded()) {
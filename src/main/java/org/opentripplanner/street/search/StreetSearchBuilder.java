@@ -12,6 +12,7 @@ import org.opentripplanner.routing.api.request.request.StreetRequest;
 import org.opentripplanner.street.model.edge.Edge;
 import org.opentripplanner.street.model.vertex.Vertex;
 import org.opentripplanner.street.search.intersection_model.IntersectionTraversalCalculator;
+import org.opentripplanner.street.search.landmark.LandmarkRemainingWeightHeuristic;
 import org.opentripplanner.street.search.request.StreetSearchRequest;
 import org.opentripplanner.street.search.request.StreetSearchRequestMapper;
 import org.opentripplanner.street.search.state.State;
@@ -108,6 +109,14 @@ public class StreetSearchBuilder extends AStarBuilder<State, Edge, Vertex, Stree
         arriveBy,
         routeRequest.preferences()
       );
+    } else if (heuristic instanceof LandmarkRemainingWeightHeuristic landmarkHeuristic) {
+      landmarkHeuristic.initialize(
+        streetRequest.mode(),
+        origin,
+        destination,
+        arriveBy,
+        routeRequest.preferences()
+      );
     } else {
       throw new IllegalArgumentException("Unknown heuristic type: " + heuristic);
     }
@@ -0,0 +1,32 @@
+package org.opentripplanner.street.search.contraction;
+
+import java.io.Serializable;
+import org.opentripplanner.routing.api.request.preference.RoutingPreferences;
+import org.opentripplanner.street.search.intersection_model.DrivingDirection;
+import org.opentripplanner.street.search.intersection_model.IntersectionTraversalCalculator;
+import org.opentripplanner.street.search.intersection_model.IntersectionTraversalModel;
+
+/**
+ * The preferences which the weight of a car street search depends on. A contraction hierarchy is
+ * built for one profile and can only be used by requests with the same profile.
+ */
+public record CarCostProfile(
+  double carReluctance,
+  double turnReluctance,
+  IntersectionTraversalModel intersectionTraversalModel,
+  DrivingDirection drivingDirection
+)
+  implements Serializable {
+  public static CarCostProfile of(RoutingPreferences preferences) {
+    return new CarCostProfile(
+      preferences.car().reluctance(),
+      preferences.street().turnReluctance(),
+      preferences.street().intersectionTraversalModel(),
+      preferences.street().drivingDirection()
+    );
+  }
+
+  IntersectionTraversalCalculator intersectionTraversalCalculator() {
+    return IntersectionTraversalCalculator.create(intersectionTraversalModel, drivingDirection);
+  }
+}
@@ -0,0 +1,170 @@
+package org.opentripplanner.street.search.contraction;
+
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.map.hash.TObjectIntHashMap;
+import java.io.Serializable;
+import org.opentripplanner.street.model.edge.Edge;
+import org.opentripplanner.street.model.edge.StreetEdge;
+
+/**
+ * An edge-based contraction hierarchy of the car street network. The nodes of the hierarchy are the
+ * street edges which can be driven, and the arcs are the allowed turns between them. The weight of
+ * an arc is the weight of traversing the second edge after the first, including the turn cost.
+ * Since turn restrictions simply remove arcs, they are respected by the shortest paths.
+ * <p>
+ * When a node is contracted, shortcut arcs are added between its neighbours where the path through
+ * the node is the only shortest path. A shortest path query is then a bidirectional search which
+ * only follows arcs to higher ranked nodes, and visits a small fraction of the nodes an A* search
+ * would. The arcs of the result are unpacked into the original street edges.
+ * <p>
+ * The hierarchy is built by {@link ContractionHierarchyBuilder} for one {@link CarCostProfile}
+ * and is stored with the graph. It is used by {@link ContractionHierarchyRouter}.
+ */
+public class ContractionHierarchy implements Serializable {
+
+  public static final int NO_NODE = -1;
+  static final int NO_ARC = -1;
+
+  private final CarCostProfile costProfile;
+  private final StreetEdge[] edges;
+  private final TObjectIntHashMap<Edge> nodeIndex;
+
+  private final int[] arcFrom;
+  private final int[] arcTo;
+  private final float[] arcWeight;
+
+  /** For shortcuts, the two arcs the shortcut replaces, otherwise {@link #NO_ARC}. */
+  private final int[] arcFirst;
+  private final int[] arcSecond;
+
+  /** The arcs from each node to higher ranked nodes, used by the forward search. */
+  private final int[] upwardOffsets;
+  private final int[] upwardArcs;
+
+  /** The arcs to each node from higher ranked nodes, used by the backward search. */
+  private final int[] downwardOffsets;
+  private final int[] downwardArcs;
+
+  ContractionHierarchy(
+    CarCostProfile costProfile,
+    StreetEdge[] edges,
+    TObjectIntHashMap<Edge> nodeIndex,
+    int[] arcFrom,
+    int[] arcTo,
+    float[] arcWeight,
+    int[] arcFirst,
+    int[] arcSecond,
+    int[] rank
+  ) {
+    this.costProfile = costProfile;
+    this.edges = edges;
+    this.nodeIndex = nodeIndex;
+    this.arcFrom = arcFrom;
+    this.arcTo = arcTo;
+    this.arcWeight = arcWeight;
+    this.arcFirst = arcFirst;
+    this.arcSecond = arcSecond;
+
+    int n = edges.length;
+    this.upwardOffsets = new int[n + 1];
+    this.downwardOffsets = new int[n + 1];
+    for (int a = 0; a < arcFrom.length; ++a) {
+      if (rank[arcTo[a]] > rank[arcFrom[a]]) {
+        ++upwardOffsets[arcFrom[a] + 1];
+      } else {
+        ++downwardOffsets[arcTo[a] + 1];
+      }
+    }
+    for (int v = 0; v < n; ++v) {
+      upwardOffsets[v + 1] += upwardOffsets[v];
+      downwardOffsets[v + 1] += downwardOffsets[v];
+    }
+    this.upwardArcs = new int[upwardOffsets[n]];
+    this.downwardArcs = new int[downwardOffsets[n]];
+    int[] upwardNext = upwardOffsets.clone();
+    int[] downwardNext = downwardOffsets.clone();
+    for (int a = 0; a < arcFrom.length; ++a) {
+      if (rank[arcTo[a]] > rank[arcFrom[a]]) {
+        upwardArcs[upwardNext[arcFrom[a]]++] = a;
+      } else {
+        downwardArcs[downwardNext[arcTo[a]]++] = a;
+      }
+    }
+  }
+
+  public CarCostProfile costProfile() {
+    return costProfile;
+  }
+
+  public int numberOfNodes() {
+    return edges.length;
+  }
+
+  public int numberOfArcs() {
+    return arcFrom.length;
+  }
+
+  /** The node of the given edge, or {@link #NO_NODE} if the edge is not part of the hierarchy. */
+  public int node(Edge edge) {
+    return nodeIndex.get(edge);
+  }
+
+  StreetEdge edge(int node) {
+    return edges[node];
+  }
+
+  int arcFrom(int arc) {
+    return arcFrom[arc];
+  }
+
+  int arcTo(int arc) {
+    return arcTo[arc];
+  }
+
+  float arcWeight(int arc) {
+    return arcWeight[arc];
+  }
+
+  int upwardStart(int node) {
+    return upwardOffsets[node];
+  }
+
+  int upwardEnd(int node) {
+    return upwardOffsets[node + 1];
+  }
+
+  int upwardArc(int index) {
+    return upwardArcs[index];
+  }
+
+  int downwardStart(int node) {
+    return downwardOffsets[node];
+  }
+
+  int downwardEnd(int node) {
+    return downwardOffsets[node + 1];
+  }
+
+  int downwardArc(int index) {
+    return downwardArcs[index];
+  }
+
+  /**
+   * Add the nodes of the original path the arc represents to the given list, not including the
+   * node the arc starts at.
+   */
+  void unpack(int arc, TIntArrayList nodes) {
+    var stack = new TIntArrayList();
+    stack.add(arc);
+    while (!stack.isEmpty()) {
+      int a = stack.removeAt(stack.size() - 1);
+      if (arcFirst[a] == NO_ARC) {
+        nodes.add(arcTo[a]);
+      } else {
+        // The first half must be unpacked first, so it is pushed last
+        stack.add(arcSecond[a]);
+        stack.add(arcFirst[a]);
+      }
+    }
+  }
+}
@@ -0,0 +1,356 @@
+package org.opentripplanner.street.search.contraction;
+
+import static org.opentripplanner.street.search.contraction.ContractionHierarchy.NO_ARC;
+import static org.opentripplanner.street.search.contraction.ContractionHierarchy.NO_NODE;
+
+import gnu.trove.list.array.TFloatArrayList;
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.map.hash.TObjectIntHashMap;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.opentripplanner.astar.model.IntBinHeap;
+import org.opentripplanner.framework.logging.ProgressTracker;
+import org.opentripplanner.routing.api.request.StreetMode;
+import org.opentripplanner.routing.api.request.preference.RoutingPreferences;
+import org.opentripplanner.street.model.edge.Edge;
+import org.opentripplanner.street.model.edge.StreetEdge;
+import org.opentripplanner.street.model.edge.TemporaryEdge;
+import org.opentripplanner.street.search.TraverseMode;
+import org.opentripplanner.street.search.request.StreetSearchRequest;
+import org.opentripplanner.street.search.state.State;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Build a {@link ContractionHierarchy} for the street edges which can be driven.
+ * <p>
+ * The weight of each turn is computed by traversing the two edges with the edge traversal code used
+ * by the street search, so the hierarchy gives exactly the same weights. Turns which are forbidden
+ * by a time dependent turn restriction at one time of the week are kept, since they are allowed at
+ * other times. The router checks the restrictions when it traverses the resulting path.
+ * <p>
+ * The nodes are contracted in the order of a lazily updated priority, which combines the number of
+ * shortcuts a contraction adds with the number of arcs it removes and how many neighbours were
+ * already contracted. The witness searches are limited, which only causes some unnecessary
+ * shortcuts to be added.
+ */
+public class ContractionHierarchyBuilder {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ContractionHierarchyBuilder.class);
+
+  /** The maximum number of nodes a witness search settles before giving up. */
+  private static final int MAX_WITNESS_SETTLED = 500;
+
+  /** Turns blocked by a time dependent restriction are tried at these offsets over one week. */
+  private static final Duration RESTRICTION_PROBE_STEP = Duration.ofHours(1);
+  private static final int RESTRICTION_PROBES = 7 * 24;
+
+  private final StreetEdge[] edges;
+  private final TObjectIntHashMap<Edge> nodeIndex;
+  private final RoutingPreferences preferences;
+  private final CarCostProfile costProfile;
+
+  private final TIntArrayList arcFrom = new TIntArrayList();
+  private final TIntArrayList arcTo = new TIntArrayList();
+  private final TFloatArrayList arcWeight = new TFloatArrayList();
+  private final TIntArrayList arcFirst = new TIntArrayList();
+  private final TIntArrayList arcSecond = new TIntArrayList();
+
+  /** The arcs between nodes which are not contracted yet. */
+  private TIntArrayList[] outArcs;
+  private TIntArrayList[] inArcs;
+
+  private boolean[] contracted;
+  private int[] contractedNeighbours;
+  private int[] level;
+
+  /** Reused by the witness searches. */
+  private float[] witnessWeights;
+  private final TIntArrayList witnessTouched = new TIntArrayList();
+  private final IntBinHeap witnessQueue = new IntBinHeap();
+
+  public ContractionHierarchyBuilder(
+    Collection<StreetEdge> streetEdges,
+    RoutingPreferences preferences
+  ) {
+    this.edges =
+      streetEdges
+        .stream()
+        .filter(it -> !(it instanceof TemporaryEdge) && it.canTraverse(TraverseMode.CAR))
+        .toArray(StreetEdge[]::new);
+    this.nodeIndex = new TObjectIntHashMap<>(edges.length, 0.5f, NO_NODE);
+    for (int i = 0; i < edges.length; ++i) {
+      nodeIndex.put(edges[i], i);
+    }
+    this.preferences = preferences;
+    this.costProfile = CarCostProfile.of(preferences);
+  }
+
+  public ContractionHierarchy build() {
+    long start = System.currentTimeMillis();
+    int n = edges.length;
+    addTurnArcs();
+    int numberOfTurns = arcFrom.size();
+
+    outArcs = new TIntArrayList[n];
+    inArcs = new TIntArrayList[n];
+    for (int v = 0; v < n; ++v) {
+      outArcs[v] = new TIntArrayList(4);
+      inArcs[v] = new TIntArrayList(4);
+    }
+    for (int a = 0; a < arcFrom.size(); ++a) {
+      outArcs[arcFrom.get(a)].add(a);
+      inArcs[arcTo.get(a)].add(a);
+    }
+    contracted = new boolean[n];
+    contractedNeighbours = new int[n];
+    level = new int[n];
+    witnessWeights = new float[n];
+    Arrays.fill(witnessWeights, Float.POSITIVE_INFINITY);
+
+    var queue = new IntBinHeap(n);
+    for (int v = 0; v < n; ++v) {
+      queue.insert(v, priority(v));
+    }
+
+    int[] rank = new int[n];
+    int nextRank = 0;
+    var progress = ProgressTracker.track("Contract street edges", 10_000, n);
+    LOG.info(progress.startMessage());
+
+    while (!queue.isEmpty()) {
+      int v = queue.extractMin();
+      if (contracted[v]) {
+        continue;
+      }
+      // The priority may have changed since the node was inserted, because its neighbours were
+      // contracted. Put it back if it is no longer the node with the lowest priority.
+      float priority = priority(v);
+      if (!queue.isEmpty() && priority > queue.peekMinKey()) {
+        queue.insert(v, priority);
+        continue;
+      }
+      contract(v);
+      rank[v] = nextRank++;
+      //noinspection Convert2MethodRef
+      progress.step(m -> LOG.info(m));
+    }
+    LOG.info(progress.completeMessage());
+    LOG.info(
+      "Built contraction hierarchy with {} nodes, {} turns and {} shortcuts in {} ms.",
+      n,
+      numberOfTurns,
+      arcFrom.size() - numberOfTurns,
+      System.currentTimeMillis() - start
+    );
+
+    return new ContractionHierarchy(
+      costProfile,
+      edges,
+      nodeIndex,
+      arcFrom.toArray(),
+      arcTo.toArray(),
+      arcWeight.toArray(),
+      arcFirst.toArray(),
+      arcSecond.toArray(),
+      rank
+    );
+  }
+
+  /**
+   * Add an arc for each allowed turn between two nodes. The turns of the different nodes are
+   * computed in parallel, since each needs a few edge traversals.
+   */
+  private void addTurnArcs() {
+    Instant startTime = Instant.now();
+    List<Turns> turns = IntStream
+      .range(0, edges.length)
+      .parallel()
+      .mapToObj(v -> turns(v, startTime))
+      .toList();
+
+    for (int v = 0; v < edges.length; ++v) {
+      Turns t = turns.get(v);
+      for (int i = 0; i < t.targets().size(); ++i) {
+        addArc(v, t.targets().get(i), t.weights().get(i), NO_ARC, NO_ARC);
+      }
+    }
+  }
+
+  /** The allowed turns from the given node onto the outgoing nodes at its end. */
+  private Turns turns(int v, Instant startTime) {
+    var turns = new Turns(new TIntArrayList(4), new TFloatArrayList(4));
+    StreetEdge from = edges[v];
+    State s0 = traverse(from, startTime);
+    if (s0 == null) {
+      return turns;
+    }
+    boolean timeDependent = from.getTurnRestrictions().stream().anyMatch(it -> it.time != null);
+
+    for (Edge edge : from.getToVertex().getOutgoing()) {
+      int w = nodeIndex.get(edge);
+      if (w == NO_NODE || w == v) {
+        continue;
+      }
+      State s1 = edge.traverse(s0);
+      for (int probe = 1; s1 == null && timeDependent && probe < RESTRICTION_PROBES; ++probe) {
+        State probeState = traverse(
+          from,
+          startTime.plus(RESTRICTION_PROBE_STEP.multipliedBy(probe))
+        );
+        s1 = probeState == null ? null : edge.traverse(probeState);
+      }
+      if (s1 != null) {
+        turns.targets().add(w);
+        turns.weights().add((float) (s1.getWeight() - s0.getWeight()));
+      }
+    }
+    return turns;
+  }
+
+  private State traverse(StreetEdge edge, Instant startTime) {
+    StreetSearchRequest request = StreetSearchRequest
+      .of()
+      .withMode(StreetMode.CAR)
+      .withPreferences(preferences)
+      .withStartTime(startTime)
+      .build();
+    request.setIntersectionTraversalCalculator(costProfile.intersectionTraversalCalculator());
+    return edge.traverse(new State(edge.getFromVertex(), request));
+  }
+
+  /**
+   * The priority of contracting a node next, lower is better. It is computed by simulating the
+   * contraction, so it is expensive.
+   */
+  private float priority(int v) {
+    int shortcuts = shortcuts(v, false);
+    int removedArcs = inArcs[v].size() + outArcs[v].size();
+    return shortcuts - removedArcs + contractedNeighbours[v] + level[v];
+  }
+
+  private void contract(int v) {
+    shortcuts(v, true);
+
+    for (int i = 0; i < inArcs[v].size(); ++i) {
+      int u = arcFrom.get(inArcs[v].get(i));
+      outArcs[u].remove(inArcs[v].get(i));
+      updateNeighbour(u, v);
+    }
+    for (int i = 0; i < outArcs[v].size(); ++i) {
+      int w = arcTo.get(outArcs[v].get(i));
+      inArcs[w].remove(outArcs[v].get(i));
+      updateNeighbour(w, v);
+    }
+    contracted[v] = true;
+    outArcs[v] = null;
+    inArcs[v] = null;
+  }
+
+  private void updateNeighbour(int neighbour, int v) {
+    ++contractedNeighbours[neighbour];
+    level[neighbour] = Math.max(level[neighbour], level[v] + 1);
+  }
+
+  /**
+   * Count, and optionally add, the shortcuts needed to contract the given node. A shortcut from u
+   * to w is needed when the path u-v-w is shorter than any path found by a witness search from u
+   * which avoids v.
+   */
+  private int shortcuts(int v, boolean add) {
+    int count = 0;
+    TIntArrayList in = inArcs[v];
+    TIntArrayList out = outArcs[v];
+    // Copy the arcs, since adding shortcuts changes the lists of the neighbours
+    int[] inCopy = in.toArray();
+    int[] outCopy = out.toArray();
+
+    for (int inArc : inCopy) {
+      int u = arcFrom.get(inArc);
+      float maxWeight = 0;
+      for (int outArc : outCopy) {
+        maxWeight = Math.max(maxWeight, arcWeight.get(inArc) + arcWeight.get(outArc));
+      }
+      witnessSearch(u, v, maxWeight);
+
+      for (int outArc : outCopy) {
+        int w = arcTo.get(outArc);
+        if (w == u) {
+          continue;
+        }
+        float viaWeight = arcWeight.get(inArc) + arcWeight.get(outArc);
+        if (witnessWeights[w] > viaWeight) {
+          ++count;
+          if (add) {
+            addArc(u, w, viaWeight, inArc, outArc);
+          }
+        }
+      }
+      resetWitnessSearch();
+    }
+    return count;
+  }
+
+  /** A Dijkstra search from u over the nodes which are not contracted, avoiding v. */
+  private void witnessSearch(int u, int v, float maxWeight) {
+    witnessQueue.reset();
+    witnessWeights[u] = 0;
+    witnessTouched.add(u);
+    witnessQueue.insert(u, 0);
+    int settled = 0;
+
+    while (!witnessQueue.isEmpty() && settled < MAX_WITNESS_SETTLED) {
+      float weight = witnessQueue.peekMinKey();
+      int x = witnessQueue.extractMin();
+      if (weight > witnessWeights[x]) {
+        continue;
+      }
+      if (weight > maxWeight) {
+        break;
+      }
+      ++settled;
+      TIntArrayList out = outArcs[x];
+      for (int i = 0; i < out.size(); ++i) {
+        int arc = out.get(i);
+        int y = arcTo.get(arc);
+        if (y == v) {
+          continue;
+        }
+        float nextWeight = weight + arcWeight.get(arc);
+        if (nextWeight < witnessWeights[y]) {
+          if (witnessWeights[y] == Float.POSITIVE_INFINITY) {
+            witnessTouched.add(y);
+          }
+          witnessWeights[y] = nextWeight;
+          witnessQueue.insert(y, nextWeight);
+        }
+      }
+    }
+  }
+
+  private void resetWitnessSearch() {
+    for (int i = 0; i < witnessTouched.size(); ++i) {
+      witnessWeights[witnessTouched.get(i)] = Float.POSITIVE_INFINITY;
+    }
+    witnessTouched.resetQuick();
+  }
+
+  private void addArc(int from, int to, float weight, int first, int second) {
+    int arc = arcFrom.size();
+    arcFrom.add(from);
+    arcTo.add(to);
+    arcWeight.add(weight);
+    arcFirst.add(first);
+    arcSecond.add(second);
+    if (outArcs != null) {
+      outArcs[from].add(arc);
+      inArcs[to].add(arc);
+    }
+  }
+
+  private record Turns(TIntArrayList targets, TFloatArrayList weights) {}
+}
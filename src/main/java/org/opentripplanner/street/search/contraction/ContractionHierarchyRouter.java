@@ -0,0 +1,345 @@
+package org.opentripplanner.street.search.contraction;
+
+import static org.opentripplanner.street.search.contraction.ContractionHierarchy.NO_ARC;
+import static org.opentripplanner.street.search.contraction.ContractionHierarchy.NO_NODE;
+
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.map.hash.TIntFloatHashMap;
+import gnu.trove.map.hash.TIntIntHashMap;
+import gnu.trove.map.hash.TIntObjectHashMap;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.opentripplanner.astar.model.GraphPath;
+import org.opentripplanner.astar.model.IntBinHeap;
+import org.opentripplanner.routing.api.request.RouteRequest;
+import org.opentripplanner.routing.api.request.StreetMode;
+import org.opentripplanner.street.model.edge.Edge;
+import org.opentripplanner.street.model.vertex.Vertex;
+import org.opentripplanner.street.search.intersection_model.IntersectionTraversalCalculator;
+import org.opentripplanner.street.search.request.StreetSearchRequest;
+import org.opentripplanner.street.search.request.StreetSearchRequestMapper;
+import org.opentripplanner.street.search.state.State;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Find the shortest car path between two sets of vertices with a {@link ContractionHierarchy}.
+ * <p>
+ * The origin and destination are normally temporary vertices, linked to the street graph with
+ * temporary edges which are not part of the hierarchy. The searches are therefore seeded with the
+ * first and last street edges reached by traversing the temporary edges. The path found is
+ * traversed again with the request, and it is only returned if the traversal succeeds, since the
+ * hierarchy does not know about no-through-traffic areas or the time of time dependent turn
+ * restrictions. In that case, or when the request can not use the hierarchy, the result is empty
+ * and the caller should do a normal street search.
+ */
+public class ContractionHierarchyRouter {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ContractionHierarchyRouter.class);
+
+  /** The number of edges not in the hierarchy followed from the origin and destination. */
+  private static final int MAX_SEED_EDGES = 4;
+
+  private final ContractionHierarchy hierarchy;
+
+  public ContractionHierarchyRouter(ContractionHierarchy hierarchy) {
+    this.hierarchy = hierarchy;
+  }
+
+  /**
+   * The hierarchy can only be used for car searches with the same preferences as it was built
+   * with.
+   */
+  public boolean isApplicable(RouteRequest request) {
+    return (
+      request.journey().direct().mode() == StreetMode.CAR &&
+      hierarchy.costProfile().equals(CarCostProfile.of(request.preferences()))
+    );
+  }
+
+  public Optional<GraphPath<State, Edge, Vertex>> route(
+    RouteRequest request,
+    Set<Vertex> from,
+    Set<Vertex> to
+  ) {
+    if (!isApplicable(request)) {
+      return Optional.empty();
+    }
+    StreetSearchRequest forwardRequest = streetSearchRequest(request, false);
+
+    var sourceSeeds = new TIntObjectHashMap<Seed>();
+    for (Vertex vertex : from) {
+      if (
+        to.contains(vertex) ||
+        !findSourceSeeds(new State(vertex, forwardRequest), 0, to, sourceSeeds)
+      ) {
+        // The destination can be reached without using the street graph
+        return Optional.empty();
+      }
+    }
+    var targetSeeds = new TIntObjectHashMap<Seed>();
+    for (Vertex vertex : to) {
+      findTargetSeeds(vertex, vertex, new LinkedList<>(), 0, forwardRequest, targetSeeds);
+    }
+
+    var forward = new Search(true, sourceSeeds);
+    var backward = new Search(false, targetSeeds);
+    var meeting = new Meeting();
+    while (true) {
+      boolean forwardDone = forward.isDone(meeting.weight);
+      boolean backwardDone = backward.isDone(meeting.weight);
+      if (forwardDone && backwardDone) {
+        break;
+      }
+      if (!forwardDone) {
+        forward.step(backward, meeting);
+      }
+      if (!backwardDone) {
+        backward.step(forward, meeting);
+      }
+    }
+    if (meeting.node == NO_NODE) {
+      return Optional.empty();
+    }
+
+    var nodes = unpack(forward, backward, meeting.node);
+    Seed source = sourceSeeds.get(nodes.get(0));
+    Seed target = targetSeeds.get(nodes.get(nodes.size() - 1));
+
+    List<Edge> edges = new ArrayList<>(source.edges());
+    for (int i = 0; i < nodes.size(); ++i) {
+      edges.add(hierarchy.edge(nodes.get(i)));
+    }
+    edges.addAll(target.edges());
+
+    State state = request.arriveBy()
+      ? traverseReverse(streetSearchRequest(request, true), target.vertex(), edges)
+      : traverse(forwardRequest, source.vertex(), edges);
+
+    long maxDuration = request
+      .preferences()
+      .street()
+      .maxDirectDuration()
+      .valueOf(StreetMode.CAR)
+      .toSeconds();
+    if (state == null || state.getElapsedTimeSeconds() > maxDuration) {
+      LOG.debug("The contraction hierarchy path can not be used, searching without it.");
+      return Optional.empty();
+    }
+    return Optional.of(new GraphPath<>(state));
+  }
+
+  private static StreetSearchRequest streetSearchRequest(RouteRequest request, boolean arriveBy) {
+    var streetPreferences = request.preferences().street();
+    StreetSearchRequest streetSearchRequest = StreetSearchRequestMapper
+      .map(request)
+      .withMode(StreetMode.CAR)
+      .withArriveBy(arriveBy)
+      .build();
+    streetSearchRequest.setIntersectionTraversalCalculator(
+      IntersectionTraversalCalculator.create(
+        streetPreferences.intersectionTraversalModel(),
+        streetPreferences.drivingDirection()
+      )
+    );
+    return streetSearchRequest;
+  }
+
+  /**
+   * Follow the edges which are not in the hierarchy from the origin, and add a seed for each node
+   * reached. Returns false if the destination is reached without entering the hierarchy.
+   */
+  private boolean findSourceSeeds(
+    State state,
+    int depth,
+    Set<Vertex> to,
+    TIntObjectHashMap<Seed> seeds
+  ) {
+    for (Edge edge : state.getVertex().getOutgoing()) {
+      State next = edge.traverse(state);
+      if (next == null) {
+        continue;
+      }
+      int node = hierarchy.node(edge);
+      if (node != NO_NODE) {
+        float weight = (float) next.getWeight();
+        Seed seed = seeds.get(node);
+        if (seed == null || weight < seed.weight()) {
+          seeds.put(node, new Seed(weight, backEdges(state), initialVertex(state)));
+        }
+      } else if (to.contains(next.getVertex())) {
+        return false;
+      } else if (depth < MAX_SEED_EDGES && !findSourceSeeds(next, depth + 1, to, seeds)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Follow the edges which are not in the hierarchy backwards from the destination, and add a seed
+   * for each node reached. The weight of a seed is the weight of the remaining path after the node.
+   */
+  private void findTargetSeeds(
+    Vertex target,
+    Vertex vertex,
+    LinkedList<Edge> suffix,
+    int depth,
+    StreetSearchRequest request,
+    TIntObjectHashMap<Seed> seeds
+  ) {
+    for (Edge edge : vertex.getIncoming()) {
+      int node = hierarchy.node(edge);
+      if (node != NO_NODE) {
+        State nodeState = edge.traverse(new State(edge.getFromVertex(), request));
+        State state = nodeState == null ? null : traverse(nodeState, suffix);
+        if (state == null) {
+          continue;
+        }
+        float weight = (float) (state.getWeight() - nodeState.getWeight());
+        Seed seed = seeds.get(node);
+        if (seed == null || weight < seed.weight()) {
+          seeds.put(node, new Seed(weight, List.copyOf(suffix), target));
+        }
+      } else if (depth < MAX_SEED_EDGES) {
+        suffix.addFirst(edge);
+        findTargetSeeds(target, edge.getFromVertex(), suffix, depth + 1, request, seeds);
+        suffix.removeFirst();
+      }
+    }
+  }
+
+  /** The nodes of the shortest path, with the shortcuts replaced by the nodes they represent. */
+  private TIntArrayList unpack(Search forward, Search backward, int meeting) {
+    var forwardArcs = new TIntArrayList();
+    int node = meeting;
+    for (int arc = forward.arcs.get(node); arc != NO_ARC; arc = forward.arcs.get(node)) {
+      forwardArcs.add(arc);
+      node = hierarchy.arcFrom(arc);
+    }
+    forwardArcs.reverse();
+
+    var nodes = new TIntArrayList();
+    nodes.add(node);
+    for (int i = 0; i < forwardArcs.size(); ++i) {
+      hierarchy.unpack(forwardArcs.get(i), nodes);
+    }
+    node = meeting;
+    for (int arc = backward.arcs.get(node); arc != NO_ARC; arc = backward.arcs.get(node)) {
+      hierarchy.unpack(arc, nodes);
+      node = hierarchy.arcTo(arc);
+    }
+    return nodes;
+  }
+
+  private static State traverse(StreetSearchRequest request, Vertex origin, List<Edge> edges) {
+    return traverse(new State(origin, request), edges);
+  }
+
+  private static State traverseReverse(
+    StreetSearchRequest request,
+    Vertex destination,
+    List<Edge> edges
+  ) {
+    State state = new State(destination, request);
+    for (int i = edges.size() - 1; i >= 0 && state != null; --i) {
+      state = edges.get(i).traverse(state);
+    }
+    return state;
+  }
+
+  private static State traverse(State state, List<Edge> edges) {
+    for (int i = 0; i < edges.size() && state != null; ++i) {
+      state = edges.get(i).traverse(state);
+    }
+    return state;
+  }
+
+  private static List<Edge> backEdges(State state) {
+    var edges = new LinkedList<Edge>();
+    for (State s = state; s.getBackState() != null; s = s.getBackState()) {
+      edges.addFirst(s.getBackEdge());
+    }
+    return edges;
+  }
+
+  private static Vertex initialVertex(State state) {
+    State s = state;
+    while (s.getBackState() != null) {
+      s = s.getBackState();
+    }
+    return s.getVertex();
+  }
+
+  /**
+   * Where the search starts or ends in the hierarchy: the weight to reach a node from the origin,
+   * or from the node to the destination, and the edges outside the hierarchy before or after it.
+   */
+  private record Seed(float weight, List<Edge> edges, Vertex vertex) {}
+
+  /** The best meeting node of the two searches found so far. */
+  private static class Meeting {
+
+    int node = NO_NODE;
+    float weight = Float.POSITIVE_INFINITY;
+  }
+
+  /**
+   * One direction of the bidirectional search. The forward search follows the arcs up the
+   * hierarchy, and the backward search follows the arcs down the hierarchy in reverse.
+   */
+  private class Search {
+
+    private final boolean forward;
+    private final TIntFloatHashMap weights = new TIntFloatHashMap(
+      64,
+      0.5f,
+      NO_NODE,
+      Float.POSITIVE_INFINITY
+    );
+    private final TIntIntHashMap arcs = new TIntIntHashMap(64, 0.5f, NO_NODE, NO_ARC);
+    private final IntBinHeap queue = new IntBinHeap();
+
+    Search(boolean forward, TIntObjectHashMap<Seed> seeds) {
+      this.forward = forward;
+      seeds.forEachEntry((node, seed) -> {
+        weights.put(node, seed.weight());
+        queue.insert(node, seed.weight());
+        return true;
+      });
+    }
+
+    boolean isDone(float bestWeight) {
+      return queue.isEmpty() || queue.peekMinKey() >= bestWeight;
+    }
+
+    void step(Search other, Meeting meeting) {
+      float weight = queue.peekMinKey();
+      int node = queue.extractMin();
+      if (weight > weights.get(node)) {
+        return;
+      }
+      float total = weight + other.weights.get(node);
+      if (total < meeting.weight) {
+        meeting.node = node;
+        meeting.weight = total;
+      }
+
+      int end = forward ? hierarchy.upwardEnd(node) : hierarchy.downwardEnd(node);
+      int start = forward ? hierarchy.upwardStart(node) : hierarchy.downwardStart(node);
+      for (int i = start; i < end; ++i) {
+        int arc = forward ? hierarchy.upwardArc(i) : hierarchy.downwardArc(i);
+        int next = forward ? hierarchy.arcTo(arc) : hierarchy.arcFrom(arc);
+        float nextWeight = weight + hierarchy.arcWeight(arc);
+        if (nextWeight < weights.get(next)) {
+          weights.put(next, nextWeight);
+          arcs.put(next, arc);
+          queue.insert(next, nextWeight);
+        }
+      }
+    }
+  }
+}
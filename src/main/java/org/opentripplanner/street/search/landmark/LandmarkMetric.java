@@ -0,0 +1,94 @@
+package org.opentripplanner.street.search.landmark;
+
+import javax.annotation.Nullable;
+import org.opentripplanner.routing.api.request.StreetMode;
+import org.opentripplanner.routing.api.request.preference.RoutingPreferences;
+import org.opentripplanner.street.model.edge.Edge;
+import org.opentripplanner.street.model.edge.StreetEdge;
+import org.opentripplanner.street.search.TraverseMode;
+
+/**
+ * The cost used when computing the landmark distance tables. The cost of an edge must never be
+ * larger than the weight of traversing it in a search, divided by {@link #weightPerUnit}, or the
+ * heuristic will not be admissible. Edges which are not street edges, like links to stops and
+ * elevators, are given a cost of zero, which is always a lower bound.
+ */
+public enum LandmarkMetric {
+  /**
+   * Driving time in seconds, using the speed limit of each street.
+   */
+  CAR,
+  /**
+   * The shortest of the distances used when computing the weight of cycling or walking a bicycle
+   * along a street, in meters. Which distance is used in a search depends on the optimization type
+   * requested, so the smallest one is stored.
+   */
+  BICYCLE;
+
+  private static final double GREENWAY_FACTOR = 0.66;
+
+  /**
+   * The metric used for searches in the given mode, or {@code null} if landmarks are not supported
+   * for the mode.
+   */
+  @Nullable
+  public static LandmarkMetric of(StreetMode streetMode) {
+    return switch (streetMode) {
+      case CAR -> CAR;
+      case BIKE -> BICYCLE;
+      default -> null;
+    };
+  }
+
+  /**
+   * The cost of traversing the given edge, or {@link Float#POSITIVE_INFINITY} if the edge can not
+   * be traversed.
+   */
+  public float cost(Edge edge) {
+    if (!(edge instanceof StreetEdge streetEdge)) {
+      return 0f;
+    }
+    return switch (this) {
+      case CAR -> carTime(streetEdge);
+      case BICYCLE -> bicycleDistance(streetEdge);
+    };
+  }
+
+  /**
+   * The smallest search weight per unit of this metric, used to convert a landmark distance to a
+   * remaining weight estimate.
+   */
+  public double weightPerUnit(RoutingPreferences preferences) {
+    return switch (this) {
+      case CAR -> preferences.car().reluctance();
+      case BICYCLE -> {
+        var bike = preferences.bike();
+        double reluctance = Math.min(bike.reluctance(), bike.walkingReluctance());
+        reluctance = Math.min(reluctance, preferences.walk().stairsReluctance());
+        yield reluctance / Math.max(bike.speed(), bike.walkingSpeed());
+      }
+    };
+  }
+
+  private static float carTime(StreetEdge edge) {
+    if (!edge.canTraverse(TraverseMode.CAR) || edge.getCarSpeed() <= 0) {
+      return Float.POSITIVE_INFINITY;
+    }
+    return (float) (edge.getDistanceMeters() / edge.getCarSpeed());
+  }
+
+  private static float bicycleDistance(StreetEdge edge) {
+    if (!edge.canTraverse(TraverseMode.BICYCLE) && !edge.canTraverse(TraverseMode.WALK)) {
+      return Float.POSITIVE_INFINITY;
+    }
+    double distance = Math.min(edge.getDistanceMeters(), edge.getEffectiveBikeDistance());
+    distance = Math.min(distance, edge.getEffectiveBicycleSafetyDistance());
+    distance = Math.min(distance, edge.getEffectiveBikeDistanceForWorkCost());
+    distance =
+      Math.min(
+        distance,
+        GREENWAY_FACTOR * edge.getBicycleSafetyFactor() * edge.getDistanceMeters()
+      );
+    return (float) distance;
+  }
+}
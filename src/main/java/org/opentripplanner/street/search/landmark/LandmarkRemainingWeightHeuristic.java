@@ -0,0 +1,155 @@
+package org.opentripplanner.street.search.landmark;
+
+import static org.opentripplanner.street.search.landmark.StreetLandmarks.NO_VERTEX;
+
+import java.util.Set;
+import org.opentripplanner.astar.spi.RemainingWeightHeuristic;
+import org.opentripplanner.routing.api.request.StreetMode;
+import org.opentripplanner.routing.api.request.preference.RoutingPreferences;
+import org.opentripplanner.street.model.edge.Edge;
+import org.opentripplanner.street.model.vertex.Vertex;
+import org.opentripplanner.street.search.state.State;
+import org.opentripplanner.street.search.strategy.EuclideanRemainingWeightHeuristic;
+
+/**
+ * An A* heuristic using landmarks and the triangle inequality (ALT). For a landmark L, a vertex v
+ * and the target t, the shortest distance from v to t is at least {@code d(L,t) - d(L,v)} and at
+ * least {@code d(v,L) - d(t,L)}. The largest of these bounds over all landmarks is used.
+ * <p>
+ * The bound is combined with the {@link EuclideanRemainingWeightHeuristic}, which is also used on
+ * its own for modes without landmark tables and for vertices missing in the tables, like the
+ * temporary vertices of the search.
+ */
+public class LandmarkRemainingWeightHeuristic implements RemainingWeightHeuristic<State> {
+
+  /**
+   * The number of temporary edges followed when resolving the landmark distances of a temporary
+   * target vertex. The origin and destination are normally linked to the street graph by one or
+   * two edges.
+   */
+  private static final int MAX_TEMPORARY_EDGES = 3;
+
+  private final StreetLandmarks landmarks;
+  private final EuclideanRemainingWeightHeuristic euclidean;
+
+  private LandmarkMetric metric;
+  private LandmarkTable table;
+  private boolean arriveBy;
+  private double weightPerUnit;
+
+  /** The distance from each landmark to the target. */
+  private float[] targetFromLandmarks;
+
+  /** The distance from the target to each landmark. */
+  private float[] targetToLandmarks;
+
+  public LandmarkRemainingWeightHeuristic(StreetLandmarks landmarks) {
+    this.landmarks = landmarks;
+    this.euclidean = new EuclideanRemainingWeightHeuristic();
+  }
+
+  public void initialize(
+    StreetMode streetMode,
+    Set<Vertex> fromVertices,
+    Set<Vertex> toVertices,
+    boolean arriveBy,
+    RoutingPreferences preferences
+  ) {
+    euclidean.initialize(streetMode, fromVertices, toVertices, arriveBy, preferences);
+    this.arriveBy = arriveBy;
+    metric = LandmarkMetric.of(streetMode);
+    table = metric == null ? null : landmarks.table(metric);
+    if (table == null) {
+      return;
+    }
+    weightPerUnit = metric.weightPerUnit(preferences);
+
+    // With several targets, the distance to the closest target is bounded, so the target giving
+    // the smallest bound is used for each landmark. In an arrive-by search the remaining path
+    // starts at the target, which swaps the signs of the target distances in the bounds.
+    int n = table.numberOfLandmarks();
+    targetFromLandmarks = new float[n];
+    targetToLandmarks = new float[n];
+    for (int l = 0; l < n; ++l) {
+      float from = arriveBy ? Float.NEGATIVE_INFINITY : Float.POSITIVE_INFINITY;
+      float to = arriveBy ? Float.POSITIVE_INFINITY : Float.NEGATIVE_INFINITY;
+      for (Vertex target : toVertices) {
+        float fromLandmark = fromLandmark(target, l, MAX_TEMPORARY_EDGES);
+        float toLandmark = toLandmark(target, l, MAX_TEMPORARY_EDGES);
+        from = arriveBy ? Math.max(from, fromLandmark) : Math.min(from, fromLandmark);
+        to = arriveBy ? Math.min(to, toLandmark) : Math.max(to, toLandmark);
+      }
+      targetFromLandmarks[l] = from;
+      targetToLandmarks[l] = to;
+    }
+  }
+
+  @Override
+  public double estimateRemainingWeight(State s) {
+    double estimate = euclidean.estimateRemainingWeight(s);
+    if (table == null) {
+      return estimate;
+    }
+    int v = landmarks.indexOf(s.getVertex());
+    if (v == NO_VERTEX) {
+      return estimate;
+    }
+    float bound = 0;
+    for (int l = 0; l < targetFromLandmarks.length; ++l) {
+      float fromTarget = targetFromLandmarks[l];
+      float toTarget = targetToLandmarks[l];
+      float fromVertex = table.fromLandmark(v, l);
+      float toVertex = table.toLandmark(v, l);
+      if (arriveBy) {
+        // The remaining path is from the target to the vertex
+        bound = Math.max(bound, difference(fromVertex, fromTarget));
+        bound = Math.max(bound, difference(toTarget, toVertex));
+      } else {
+        bound = Math.max(bound, difference(fromTarget, fromVertex));
+        bound = Math.max(bound, difference(toVertex, toTarget));
+      }
+    }
+    return Math.max(estimate, bound * weightPerUnit);
+  }
+
+  /** The difference, or zero if any of the distances is unknown. */
+  private static float difference(float a, float b) {
+    return a < Float.POSITIVE_INFINITY && b < Float.POSITIVE_INFINITY ? a - b : 0;
+  }
+
+  private float fromLandmark(Vertex vertex, int landmark, int maxEdges) {
+    int v = landmarks.indexOf(vertex);
+    if (v != NO_VERTEX) {
+      return table.fromLandmark(v, landmark);
+    }
+    float distance = Float.POSITIVE_INFINITY;
+    if (maxEdges > 0) {
+      for (Edge edge : vertex.getIncoming()) {
+        float cost = metric.cost(edge);
+        if (cost < Float.POSITIVE_INFINITY) {
+          float previous = fromLandmark(edge.getFromVertex(), landmark, maxEdges - 1);
+          distance = Math.min(distance, previous + cost);
+        }
+      }
+    }
+    return distance;
+  }
+
+  private float toLandmark(Vertex vertex, int landmark, int maxEdges) {
+    int v = landmarks.indexOf(vertex);
+    if (v != NO_VERTEX) {
+      return table.toLandmark(v, landmark);
+    }
+    float distance = Float.POSITIVE_INFINITY;
+    if (maxEdges > 0) {
+      for (Edge edge : vertex.getOutgoing()) {
+        float cost = metric.cost(edge);
+        if (cost < Float.POSITIVE_INFINITY) {
+          float next = toLandmark(edge.getToVertex(), landmark, maxEdges - 1);
+          distance = Math.min(distance, cost + next);
+        }
+      }
+    }
+    return distance;
+  }
+}
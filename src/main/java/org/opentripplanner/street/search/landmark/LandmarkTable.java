@@ -0,0 +1,42 @@
+package org.opentripplanner.street.search.landmark;
+
+import java.io.Serializable;
+
+/**
+ * The distances from and to each landmark for all vertices in the graph, in the unit of one
+ * {@link LandmarkMetric}. The distances of one vertex are stored next to each other, so looking up
+ * all landmarks for a vertex only touches a small part of the arrays.
+ * <p>
+ * Vertices which can not be reached from, or can not reach, a landmark have an infinite distance.
+ */
+public class LandmarkTable implements Serializable {
+
+  private final int[] landmarks;
+  private final float[] fromLandmarks;
+  private final float[] toLandmarks;
+
+  LandmarkTable(int[] landmarks, float[] fromLandmarks, float[] toLandmarks) {
+    this.landmarks = landmarks;
+    this.fromLandmarks = fromLandmarks;
+    this.toLandmarks = toLandmarks;
+  }
+
+  public int numberOfLandmarks() {
+    return landmarks.length;
+  }
+
+  /** The vertex index of the given landmark. */
+  public int landmark(int landmark) {
+    return landmarks[landmark];
+  }
+
+  /** The shortest distance from the landmark to the vertex. */
+  public float fromLandmark(int vertex, int landmark) {
+    return fromLandmarks[vertex * landmarks.length + landmark];
+  }
+
+  /** The shortest distance from the vertex to the landmark. */
+  public float toLandmark(int vertex, int landmark) {
+    return toLandmarks[vertex * landmarks.length + landmark];
+  }
+}
@@ -0,0 +1,52 @@
+package org.opentripplanner.street.search.landmark;
+
+import gnu.trove.map.hash.TObjectIntHashMap;
+import java.io.Serializable;
+import java.util.Map;
+import javax.annotation.Nullable;
+import org.opentripplanner.street.model.vertex.Vertex;
+
+/**
+ * Precomputed shortest path distances between a small set of landmark vertices and all other
+ * vertices in the street graph. They are used by {@link LandmarkRemainingWeightHeuristic} to give
+ * a much tighter lower bound on the remaining weight of a street search than the straight line
+ * distance. The landmarks are computed at graph build time by {@link StreetLandmarksBuilder} and
+ * are stored with the graph.
+ * <p>
+ * The memory used is 8 bytes per vertex and landmark for each {@link LandmarkMetric}.
+ */
+public class StreetLandmarks implements Serializable {
+
+  public static final int NO_VERTEX = -1;
+
+  private final TObjectIntHashMap<Vertex> vertexIndex;
+
+  /** The tables indexed by metric ordinal, an EnumMap can not be serialized with the graph. */
+  private final LandmarkTable[] tables;
+
+  StreetLandmarks(
+    TObjectIntHashMap<Vertex> vertexIndex,
+    Map<LandmarkMetric, LandmarkTable> tables
+  ) {
+    this.vertexIndex = vertexIndex;
+    this.tables = new LandmarkTable[LandmarkMetric.values().length];
+    tables.forEach((metric, table) -> this.tables[metric.ordinal()] = table);
+  }
+
+  /**
+   * The index of the vertex in the landmark tables, or {@link #NO_VERTEX} if the vertex was not in
+   * the graph when the landmarks were computed, like the temporary vertices of a search.
+   */
+  public int indexOf(Vertex vertex) {
+    return vertexIndex.get(vertex);
+  }
+
+  @Nullable
+  public LandmarkTable table(LandmarkMetric metric) {
+    return tables[metric.ordinal()];
+  }
+
+  public int numberOfVertices() {
+    return vertexIndex.size();
+  }
+}
@@ -0,0 +1,204 @@
+package org.opentripplanner.street.search.landmark;
+
+import static org.opentripplanner.street.search.landmark.StreetLandmarks.NO_VERTEX;
+
+import gnu.trove.map.hash.TObjectIntHashMap;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import org.opentripplanner.astar.model.IntBinHeap;
+import org.opentripplanner.street.model.edge.Edge;
+import org.opentripplanner.street.model.vertex.Vertex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compute the {@link StreetLandmarks} for a set of vertices.
+ * <p>
+ * The landmarks are chosen with the "farthest" strategy: the first landmark is the vertex farthest
+ * away from a random vertex, and each following landmark is the vertex farthest away from all
+ * landmarks chosen so far. This places the landmarks along the edge of the graph, which is where
+ * they give the best lower bounds. For each landmark a forward and a backward Dijkstra search over
+ * the whole graph is run. The graph is first copied into compact adjacency arrays, so the searches
+ * do not need to visit the edge objects.
+ * <p>
+ * The tables of the different metrics are computed in parallel.
+ */
+public class StreetLandmarksBuilder {
+
+  private static final Logger LOG = LoggerFactory.getLogger(StreetLandmarksBuilder.class);
+
+  private static final long RANDOM_SEED = 42;
+
+  /** The number of random vertices to try when looking for a vertex in the main graph component. */
+  private static final int MAX_SEED_ATTEMPTS = 10;
+
+  private final Vertex[] vertices;
+  private final TObjectIntHashMap<Vertex> vertexIndex;
+
+  public StreetLandmarksBuilder(Collection<? extends Vertex> vertices) {
+    this.vertices = vertices.toArray(Vertex[]::new);
+    this.vertexIndex = new TObjectIntHashMap<>(this.vertices.length, 0.5f, NO_VERTEX);
+    for (int i = 0; i < this.vertices.length; ++i) {
+      vertexIndex.put(this.vertices[i], i);
+    }
+  }
+
+  public StreetLandmarks build(int numberOfLandmarks) {
+    Map<LandmarkMetric, LandmarkTable> tables = new EnumMap<>(LandmarkMetric.class);
+    Arrays
+      .stream(LandmarkMetric.values())
+      .parallel()
+      .map(metric -> Map.entry(metric, buildTable(metric, numberOfLandmarks)))
+      .toList()
+      .forEach(it -> tables.put(it.getKey(), it.getValue()));
+    return new StreetLandmarks(vertexIndex, tables);
+  }
+
+  private LandmarkTable buildTable(LandmarkMetric metric, int numberOfLandmarks) {
+    long start = System.currentTimeMillis();
+    int n = vertices.length;
+    if (n == 0) {
+      return new LandmarkTable(new int[0], new float[0], new float[0]);
+    }
+    var forward = adjacency(metric, true);
+    var backward = adjacency(metric, false);
+
+    int[] landmarks = new int[numberOfLandmarks];
+    float[] fromLandmarks = new float[n * numberOfLandmarks];
+    float[] toLandmarks = new float[n * numberOfLandmarks];
+
+    // The distance from the closest landmark chosen so far, for each vertex
+    float[] closest = seedDistances(forward);
+
+    for (int l = 0; l < numberOfLandmarks; ++l) {
+      int landmark = farthest(closest);
+      float[] fromLandmark = shortestPaths(forward, landmark);
+      float[] toLandmark = shortestPaths(backward, landmark);
+      for (int v = 0; v < n; ++v) {
+        fromLandmarks[v * numberOfLandmarks + l] = fromLandmark[v];
+        toLandmarks[v * numberOfLandmarks + l] = toLandmark[v];
+        closest[v] = l == 0 ? fromLandmark[v] : Math.min(closest[v], fromLandmark[v]);
+      }
+      landmarks[l] = landmark;
+    }
+    LOG.info(
+      "Computed {} {} landmarks for {} vertices in {} ms.",
+      numberOfLandmarks,
+      metric,
+      n,
+      System.currentTimeMillis() - start
+    );
+    return new LandmarkTable(landmarks, fromLandmarks, toLandmarks);
+  }
+
+  /**
+   * The distances from a random vertex. A few random vertices are tried, and the one which reaches
+   * the most vertices is used, to avoid placing all landmarks on a small island.
+   */
+  private float[] seedDistances(Adjacency forward) {
+    var random = new Random(RANDOM_SEED);
+    float[] best = null;
+    int bestReached = -1;
+    for (int i = 0; i < MAX_SEED_ATTEMPTS && bestReached < vertices.length / 2; ++i) {
+      float[] distances = shortestPaths(forward, random.nextInt(vertices.length));
+      int reached = 0;
+      for (float distance : distances) {
+        if (distance < Float.POSITIVE_INFINITY) {
+          ++reached;
+        }
+      }
+      if (reached > bestReached) {
+        best = distances;
+        bestReached = reached;
+      }
+    }
+    return best;
+  }
+
+  /** The reachable vertex with the largest distance. */
+  private static int farthest(float[] distances) {
+    int farthest = 0;
+    float max = -1;
+    for (int v = 0; v < distances.length; ++v) {
+      if (distances[v] > max && distances[v] < Float.POSITIVE_INFINITY) {
+        farthest = v;
+        max = distances[v];
+      }
+    }
+    return farthest;
+  }
+
+  private static float[] shortestPaths(Adjacency adjacency, int source) {
+    float[] distances = new float[adjacency.offsets().length - 1];
+    Arrays.fill(distances, Float.POSITIVE_INFINITY);
+    distances[source] = 0;
+
+    var queue = new IntBinHeap();
+    queue.insert(source, 0);
+    while (!queue.isEmpty()) {
+      float distance = queue.peekMinKey();
+      int vertex = queue.extractMin();
+      // The vertex may have been inserted again with a shorter distance
+      if (distance > distances[vertex]) {
+        continue;
+      }
+      for (int e = adjacency.offsets()[vertex]; e < adjacency.offsets()[vertex + 1]; ++e) {
+        int next = adjacency.targets()[e];
+        float nextDistance = distance + adjacency.costs()[e];
+        if (nextDistance < distances[next]) {
+          distances[next] = nextDistance;
+          queue.insert(next, nextDistance);
+        }
+      }
+    }
+    return distances;
+  }
+
+  /**
+   * Copy the edges which can be traversed with the given metric into compressed adjacency arrays.
+   * The backward adjacency contains the incoming edges of each vertex.
+   */
+  private Adjacency adjacency(LandmarkMetric metric, boolean forward) {
+    int n = vertices.length;
+    int[] offsets = new int[n + 1];
+    for (int v = 0; v < n; ++v) {
+      for (Edge edge : edges(vertices[v], forward)) {
+        if (other(edge, forward) != NO_VERTEX && metric.cost(edge) < Float.POSITIVE_INFINITY) {
+          ++offsets[v + 1];
+        }
+      }
+    }
+    for (int v = 0; v < n; ++v) {
+      offsets[v + 1] += offsets[v];
+    }
+
+    int[] targets = new int[offsets[n]];
+    float[] costs = new float[offsets[n]];
+    for (int v = 0; v < n; ++v) {
+      int e = offsets[v];
+      for (Edge edge : edges(vertices[v], forward)) {
+        int other = other(edge, forward);
+        float cost = metric.cost(edge);
+        if (other != NO_VERTEX && cost < Float.POSITIVE_INFINITY) {
+          targets[e] = other;
+          costs[e] = cost;
+          ++e;
+        }
+      }
+    }
+    return new Adjacency(offsets, targets, costs);
+  }
+
+  private static Collection<Edge> edges(Vertex vertex, boolean forward) {
+    return forward ? vertex.getOutgoing() : vertex.getIncoming();
+  }
+
+  private int other(Edge edge, boolean forward) {
+    return vertexIndex.get(forward ? edge.getToVertex() : edge.getFromVertex());
+  }
+
+  private record Adjacency(int[] offsets, int[] targets, float[] costs) {}
+}
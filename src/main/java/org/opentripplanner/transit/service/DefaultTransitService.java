@@ -12,6 +12,8 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Predicate;
+import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.Envelope;
 import org.opentripplanner.ext.flex.FlexIndex;
 import org.opentripplanner.model.FeedInfo;
@@ -533,6 +535,23 @@ public class DefaultTransitService implements TransitEditorService {
     return transitModel.getStopModel().findRegularStops(envelope);
   }
 
+  @Override
+  public Collection<RegularStop> findRegularStop(Coordinate center, double radiusMeters) {
+    return transitModel.getStopModel().findRegularStops(center, radiusMeters);
+  }
+
+  @Override
+  public List<RegularStop> findNearestRegularStops(
+    Coordinate center,
+    int maxResults,
+    double maxDistanceMeters,
+    Predicate<RegularStop> filter
+  ) {
+    return transitModel
+      .getStopModel()
+      .findNearestRegularStops(center, maxResults, maxDistanceMeters, filter);
+  }
+
   @Override
   public Collection<AreaStop> findAreaStops(Envelope envelope) {
     return transitModel.getStopModel().queryLocationIndex(envelope);
@@ -5,7 +5,9 @@ import java.io.Serializable;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Predicate;
 import javax.annotation.Nullable;
+import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.Envelope;
 import org.opentripplanner.framework.collection.CollectionsView;
 import org.opentripplanner.framework.geometry.WgsCoordinate;
@@ -83,6 +85,27 @@ public class StopModel implements Serializable {
     return index.findRegularStops(envelope);
   }
 
+  /**
+   * Return the regular transit stops within the given straight-line distance of the center. The
+   * result is not sorted.
+   */
+  public Collection<RegularStop> findRegularStops(Coordinate center, double radiusMeters) {
+    return index.findRegularStops(center, radiusMeters);
+  }
+
+  /**
+   * Return up to {@code maxResults} regular transit stops accepted by the filter nearest to the
+   * center, no further away than the given distance, sorted by increasing distance.
+   */
+  public List<RegularStop> findNearestRegularStops(
+    Coordinate center,
+    int maxResults,
+    double maxDistanceMeters,
+    Predicate<RegularStop> filter
+  ) {
+    return index.findNearestRegularStops(center, maxResults, maxDistanceMeters, filter);
+  }
+
   public boolean hasAreaStops() {
     return !areaStopById.isEmpty();
   }
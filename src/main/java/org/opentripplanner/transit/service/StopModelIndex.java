@@ -2,10 +2,14 @@ package org.opentripplanner.transit.service;
 
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Predicate;
+import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.Envelope;
 import org.opentripplanner.framework.collection.CollectionsView;
 import org.opentripplanner.framework.geometry.HashGridSpatialIndex;
+import org.opentripplanner.framework.geometry.KdTree;
 import org.opentripplanner.transit.model.site.AreaStop;
 import org.opentripplanner.transit.model.site.GroupStop;
 import org.opentripplanner.transit.model.site.MultiModalStation;
@@ -20,7 +24,7 @@ import org.opentripplanner.transit.model.site.StopLocation;
  */
 class StopModelIndex {
 
-  private final HashGridSpatialIndex<RegularStop> regularStopSpatialIndex = new HashGridSpatialIndex<>();
+  private final KdTree<RegularStop> regularStopSpatialIndex;
   private final Map<Station, MultiModalStation> multiModalStationForStations = new HashMap<>();
   private final HashGridSpatialIndex<AreaStop> locationIndex = new HashGridSpatialIndex<>();
   private final StopLocation[] stopsByIndex;
@@ -38,12 +42,9 @@ class StopModelIndex {
 
     var allStops = new CollectionsView<StopLocation>(stops, flexStops, groupStops);
     for (StopLocation it : allStops) {
-      if (it instanceof RegularStop regularStop) {
-        var envelope = new Envelope(it.getCoordinate().asJtsCoordinate());
-        regularStopSpatialIndex.insert(envelope, regularStop);
-      }
       stopsByIndex[it.getIndex()] = it;
     }
+    regularStopSpatialIndex = new KdTree<>(stops, it -> it.getCoordinate().asJtsCoordinate());
 
     for (MultiModalStation it : multiModalStations) {
       for (Station childStation : it.getChildStations()) {
@@ -54,8 +55,7 @@ class StopModelIndex {
       locationIndex.insert(it.getGeometry().getEnvelopeInternal(), it);
     }
 
-    // Trim the sizes of the indices
-    regularStopSpatialIndex.compact();
+    // Trim the size of the index
     locationIndex.compact();
   }
 
@@ -66,6 +66,22 @@ class StopModelIndex {
     return regularStopSpatialIndex.query(envelope);
   }
 
+  Collection<RegularStop> findRegularStops(Coordinate center, double radiusMeters) {
+    return regularStopSpatialIndex.findWithinDistance(center, radiusMeters);
+  }
+
+  /**
+   * Find the regular stops nearest to the center, sorted by distance.
+   */
+  List<RegularStop> findNearestRegularStops(
+    Coordinate center,
+    int maxResults,
+    double maxDistanceMeters,
+    Predicate<RegularStop> filter
+  ) {
+    return regularStopSpatialIndex.findNearest(center, maxResults, maxDistanceMeters, filter);
+  }
+
   MultiModalStation getMultiModalStationForStation(Station station) {
     return multiModalStationForStations.get(station);
   }
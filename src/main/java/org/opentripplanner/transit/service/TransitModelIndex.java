@@ -11,6 +11,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import org.opentripplanner.ext.flex.FlexIndex;
 import org.opentripplanner.ext.flex.trip.FlexTrip;
@@ -59,8 +60,24 @@ public class TransitModelIndex {
   private final Map<FeedScopedId, GroupOfRoutes> groupOfRoutesForId = new HashMap<>();
   private FlexIndex flexIndex = null;
 
+  /**
+   * The indexes are independent of each other, except for the flex trips and routes added last,
+   * and are built in parallel.
+   */
   TransitModelIndex(TransitModel transitModel) {
     LOG.info("Transit model index init...");
+    long start = System.currentTimeMillis();
+
+    var stopIndex = CompletableFuture.runAsync(() -> indexPatternsForStop(transitModel));
+    var tripOnServiceDateIndex = CompletableFuture.runAsync(() ->
+      indexTripOnServiceDates(transitModel)
+    );
+    var serviceCodesIndex = CompletableFuture.runAsync(() ->
+      initalizeServiceCodesForDate(transitModel)
+    );
+    var flexIndexFuture = OTPFeature.FlexRouting.isOn()
+      ? CompletableFuture.supplyAsync(() -> new FlexIndex(transitModel))
+      : CompletableFuture.<FlexIndex>completedFuture(null);
 
     for (Agency agency : transitModel.getAgencies()) {
       this.agencyForId.put(agency.getId(), agency);
@@ -78,9 +95,6 @@ public class TransitModelIndex {
           patternForTrip.put(trip, pattern);
           tripForId.put(trip.getId(), trip);
         });
-      for (StopLocation stop : pattern.getStops()) {
-        patternsForStopId.put(stop, pattern);
-      }
     }
     for (Route route : patternsForRoute.asMap().keySet()) {
       routeForId.put(route.getId(), route);
@@ -92,21 +106,10 @@ public class TransitModelIndex {
       groupOfRoutesForId.put(groupOfRoutes.getId(), groupOfRoutes);
     }
 
-    for (TripOnServiceDate tripOnServiceDate : transitModel.getAllTripOnServiceDates()) {
-      tripOnServiceDateById.put(tripOnServiceDate.getId(), tripOnServiceDate);
-      tripOnServiceDateForTripAndDay.put(
-        new TripIdAndServiceDate(
-          tripOnServiceDate.getTrip().getId(),
-          tripOnServiceDate.getServiceDate()
-        ),
-        tripOnServiceDate
-      );
-    }
-
-    initalizeServiceCodesForDate(transitModel);
+    CompletableFuture.allOf(stopIndex, tripOnServiceDateIndex, serviceCodesIndex).join();
 
-    if (OTPFeature.FlexRouting.isOn()) {
-      flexIndex = new FlexIndex(transitModel);
+    flexIndex = flexIndexFuture.join();
+    if (flexIndex != null) {
       for (Route route : flexIndex.getAllFlexRoutes()) {
         routeForId.put(route.getId(), route);
       }
@@ -115,7 +118,7 @@ public class TransitModelIndex {
       }
     }
 
-    LOG.info("Transit Model index init complete.");
+    LOG.info("Transit Model index init complete in {} ms.", System.currentTimeMillis() - start);
   }
 
   public Agency getAgencyForId(FeedScopedId id) {
@@ -215,6 +218,27 @@ public class TransitModelIndex {
     return flexIndex;
   }
 
+  private void indexPatternsForStop(TransitModel transitModel) {
+    for (TripPattern pattern : transitModel.getAllTripPatterns()) {
+      for (StopLocation stop : pattern.getStops()) {
+        patternsForStopId.put(stop, pattern);
+      }
+    }
+  }
+
+  private void indexTripOnServiceDates(TransitModel transitModel) {
+    for (TripOnServiceDate tripOnServiceDate : transitModel.getAllTripOnServiceDates()) {
+      tripOnServiceDateById.put(tripOnServiceDate.getId(), tripOnServiceDate);
+      tripOnServiceDateForTripAndDay.put(
+        new TripIdAndServiceDate(
+          tripOnServiceDate.getTrip().getId(),
+          tripOnServiceDate.getServiceDate()
+        ),
+        tripOnServiceDate
+      );
+    }
+  }
+
   private void initalizeServiceCodesForDate(TransitModel transitModel) {
     CalendarService calendarService = transitModel.getCalendarService();
 
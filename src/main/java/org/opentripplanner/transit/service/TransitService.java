@@ -10,6 +10,8 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Predicate;
+import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.Envelope;
 import org.opentripplanner.ext.flex.FlexIndex;
 import org.opentripplanner.model.FeedInfo;
@@ -187,6 +189,22 @@ public interface TransitService {
 
   Collection<RegularStop> findRegularStop(Envelope envelope);
 
+  /**
+   * Find the regular stops within the given straight-line distance of the center, not sorted.
+   */
+  Collection<RegularStop> findRegularStop(Coordinate center, double radiusMeters);
+
+  /**
+   * Find up to {@code maxResults} regular stops accepted by the filter nearest to the center, no
+   * further away than the given straight-line distance, sorted by distance.
+   */
+  List<RegularStop> findNearestRegularStops(
+    Coordinate center,
+    int maxResults,
+    double maxDistanceMeters,
+    Predicate<RegularStop> filter
+  );
+
   Collection<AreaStop> findAreaStops(Envelope envelope);
 
   GraphUpdaterStatus getUpdaterStatus();
@@ -48,6 +48,15 @@ public interface GraphUpdater {
     return true;
   }
 
+  /**
+   * The lane in which the graph writer runnables of this updater are executed. Updaters which only
+   * modify the part of the model handled by one lane should return it, so their writers do not
+   * wait for the writers of other updaters. The default is to run the writers alone.
+   */
+  default GraphWriterLane getWriterLane() {
+    return GraphWriterLane.EXCLUSIVE;
+  }
+
   /**
    * This is the updater "type" used in the configuration file. It should ONLY be used to provide
    * human friendly messages while logging and debugging.
@@ -1,6 +1,7 @@
 package org.opentripplanner.updater;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.micrometer.core.instrument.Metrics;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -8,7 +9,6 @@ import java.util.TreeMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -25,8 +25,8 @@ import org.slf4j.LoggerFactory;
  * </pre>
  * <p>
  * Each updater will run in its own thread. When changes to the graph have to be made by these
- * updaters, this should be done via the execute method of this manager to prevent race conditions
- * between graph write operations.
+ * updaters, this should be done via the execute method of the {@link WriteToGraphCallback} given
+ * to the updater, to prevent race conditions between graph write operations.
  */
 public class GraphUpdaterManager implements WriteToGraphCallback, GraphUpdaterStatus {
 
@@ -34,14 +34,14 @@ public class GraphUpdaterManager implements WriteToGraphCallback, GraphUpdaterSt
 
   /**
    * OTP's multi-version concurrency control model for graph updating allows simultaneous reads, but
-   * never simultaneous writes. We ensure this policy is respected by having a single writer thread,
-   * which sequentially executes all graph updater tasks. Each task is a runnable that is scheduled
-   * with the ExecutorService to run at regular intervals.
-   * FIXME: In reality we're not using scheduleAtFixedInterval.
-   *        We're scheduling for immediate execution from separate threads that sleep in a loop.
-   *        We should perhaps switch to having polling GraphUpdaters call scheduleAtFixedInterval.
+   * never simultaneous writes to the same data. We ensure this policy is respected by executing
+   * the graph writer runnables sequentially in each {@link GraphWriterLane}. The updaters say
+   * which lane they write to, and the writers of updaters which may write anywhere run alone.
    */
-  private final ScheduledExecutorService scheduler;
+  private final GraphWriterScheduler scheduler;
+
+  /** Used by {@link #execute(GraphWriterRunnable)}, for runnables not sent by an updater. */
+  private final WriteToGraphCallback defaultWriter;
 
   /**
    * A pool of threads on which the updaters will run. This creates a pool that will auto-scale up
@@ -71,12 +71,26 @@ public class GraphUpdaterManager implements WriteToGraphCallback, GraphUpdaterSt
     this.transitModel = transitModel;
     // Thread factory used to create new threads, giving them more human-readable names.
     var threadFactory = new ThreadFactoryBuilder().setNameFormat("GraphUpdater-%d").build();
-    this.scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+    this.scheduler =
+      new GraphWriterScheduler(
+        graph,
+        transitModel,
+        Math.min(GraphWriterLane.values().length, Runtime.getRuntime().availableProcessors()),
+        Metrics.globalRegistry
+      );
+    this.defaultWriter =
+      scheduler.newWriter(GraphUpdaterManager.class.getSimpleName(), GraphWriterLane.EXCLUSIVE);
     this.updaterPool = Executors.newCachedThreadPool(threadFactory);
 
     for (GraphUpdater updater : updaters) {
       updaterList.add(updater);
-      updater.setGraphUpdaterManager(this);
+      String name = updater.getConfigRef();
+      updater.setGraphUpdaterManager(
+        scheduler.newWriter(
+          name != null ? name : updater.getClass().getSimpleName(),
+          updater.getWriterLane()
+        )
+      );
     }
   }
 
@@ -120,12 +134,8 @@ public class GraphUpdaterManager implements WriteToGraphCallback, GraphUpdaterSt
     updaterList.clear();
 
     // Shutdown scheduler
-    scheduler.shutdownNow();
     try {
-      boolean ok = scheduler.awaitTermination(30, TimeUnit.SECONDS);
-      if (!ok) {
-        LOG.warn("Timeout waiting for scheduled task to finish.");
-      }
+      scheduler.stop(30, TimeUnit.SECONDS);
     } catch (InterruptedException e) {
       // This should not happen
       LOG.warn("Interrupted while waiting for scheduled task to finish.");
@@ -134,13 +144,7 @@ public class GraphUpdaterManager implements WriteToGraphCallback, GraphUpdaterSt
 
   @Override
   public Future<?> execute(GraphWriterRunnable runnable) {
-    return scheduler.submit(() -> {
-      try {
-        runnable.run(graph, transitModel);
-      } catch (Exception e) {
-        LOG.error("Error while running graph writer {}:", runnable.getClass().getName(), e);
-      }
-    });
+    return defaultWriter.execute(runnable);
   }
 
   @Override
@@ -200,10 +204,6 @@ public class GraphUpdaterManager implements WriteToGraphCallback, GraphUpdaterSt
     return updaterPool;
   }
 
-  public ScheduledExecutorService getScheduler() {
-    return scheduler;
-  }
-
   /**
    * This method start a task during startup and log a message when all updaters are initialized.
    * When all updaters are ready, then OTP is ready for processing routing requests.
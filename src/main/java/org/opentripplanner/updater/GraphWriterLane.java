@@ -0,0 +1,23 @@
+package org.opentripplanner.updater;
+
+/**
+ * The lanes in which the graph writer runnables of the updaters are executed. The writers of
+ * different lanes modify disjoint parts of the model, so one writer in each lane can run at the
+ * same time. The lanes are listed by priority: when writers of several lanes are waiting for a
+ * writer thread, the one first in this list is executed first.
+ */
+public enum GraphWriterLane {
+  /** Trip updates applied to the timetable snapshot. */
+  TIMETABLE_SNAPSHOT,
+  /** Vehicle positions matched to trip patterns. */
+  VEHICLE_POSITIONS,
+  /** Service alerts. */
+  ALERTS,
+  /** Vehicle rental, vehicle parking and street notes, which are linked into the street graph. */
+  STREET_GRAPH,
+  /**
+   * Writers which can modify any part of the model. They run alone: after all writers queued
+   * before them, and before all writers queued after them, in any lane.
+   */
+  EXCLUSIVE,
+}
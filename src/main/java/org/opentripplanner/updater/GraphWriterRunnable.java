@@ -17,4 +17,13 @@ public interface GraphWriterRunnable {
    * This function is executed to modify the graph.
    */
   void run(Graph graph, TransitModel transitModel);
+
+  /**
+   * Return true if this runnable contains the complete state of its updater, and not changes to
+   * the previous state. The runnables of the same updater which are still waiting to be executed
+   * are then obsolete, and they are dropped when this one is queued.
+   */
+  default boolean replacesQueued() {
+    return false;
+  }
 }
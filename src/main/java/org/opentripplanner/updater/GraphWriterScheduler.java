@@ -0,0 +1,253 @@
+package org.opentripplanner.updater;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.transit.service.TransitModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes the graph writer runnables of the updaters on a small pool of writer threads. Each
+ * runnable is queued in the {@link GraphWriterLane} of its updater. The lanes are independent: at
+ * most one runnable of each lane runs at a time, in the order they were queued, but the runnables
+ * of different lanes run at the same time. When there are fewer writer threads than lanes with
+ * waiting runnables, the lane with the highest priority is served first.
+ * <p>
+ * The number of waiting runnables, the time from queueing to completion and the number of dropped
+ * runnables are registered as meters for each updater, see {@link Writer}.
+ */
+class GraphWriterScheduler {
+
+  private static final Logger LOG = LoggerFactory.getLogger(GraphWriterScheduler.class);
+
+  private final Graph graph;
+  private final TransitModel transitModel;
+  private final MeterRegistry registry;
+
+  /* The state below is guarded by this */
+  private final EnumMap<GraphWriterLane, ArrayDeque<Task>> queues = new EnumMap<>(
+    GraphWriterLane.class
+  );
+  private final EnumSet<GraphWriterLane> running = EnumSet.noneOf(GraphWriterLane.class);
+  private long nextSequence = 0;
+  private boolean stopped = false;
+
+  private final List<Thread> threads = new ArrayList<>();
+
+  GraphWriterScheduler(
+    Graph graph,
+    TransitModel transitModel,
+    int numberOfThreads,
+    MeterRegistry registry
+  ) {
+    this.graph = graph;
+    this.transitModel = transitModel;
+    this.registry = registry;
+    for (GraphWriterLane lane : GraphWriterLane.values()) {
+      queues.put(lane, new ArrayDeque<>());
+    }
+    for (int i = 0; i < numberOfThreads; ++i) {
+      var thread = new Thread(this::runTasks, "GraphWriter-" + i);
+      thread.setDaemon(true);
+      threads.add(thread);
+    }
+    threads.forEach(Thread::start);
+  }
+
+  /** Create the writer of an updater, with its meters tagged with the given name. */
+  Writer newWriter(String name, GraphWriterLane lane) {
+    return new Writer(name, lane);
+  }
+
+  /**
+   * Stop the writer threads, waiting for the running runnables to finish. The waiting runnables
+   * are cancelled.
+   */
+  void stop(long timeout, TimeUnit unit) throws InterruptedException {
+    synchronized (this) {
+      stopped = true;
+      for (ArrayDeque<Task> queue : queues.values()) {
+        queue.forEach(task -> task.future.cancel(false));
+        queue.clear();
+      }
+      notifyAll();
+    }
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    for (Thread thread : threads) {
+      thread.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+      if (thread.isAlive()) {
+        LOG.warn("Timeout waiting for graph writer {} to finish.", thread.getName());
+      }
+    }
+  }
+
+  private synchronized Future<?> queue(Writer writer, GraphWriterRunnable runnable) {
+    if (stopped) {
+      throw new RejectedExecutionException("The graph writer scheduler is stopped");
+    }
+    var queue = queues.get(writer.lane);
+    if (runnable.replacesQueued()) {
+      queue.removeIf(task -> {
+        if (task.writer != writer) {
+          return false;
+        }
+        writer.dropped(task);
+        return true;
+      });
+    }
+    var task = new Task(writer, runnable, nextSequence++, System.nanoTime());
+    queue.add(task);
+    writer.queued.incrementAndGet();
+    notifyAll();
+    return task.future;
+  }
+
+  private void runTasks() {
+    while (true) {
+      Task task;
+      synchronized (this) {
+        GraphWriterLane lane;
+        while ((lane = nextLane()) == null) {
+          if (stopped) {
+            return;
+          }
+          try {
+            wait();
+          } catch (InterruptedException e) {
+            return;
+          }
+        }
+        if (stopped) {
+          return;
+        }
+        task = queues.get(lane).poll();
+        running.add(lane);
+      }
+      try {
+        task.run();
+      } finally {
+        synchronized (this) {
+          running.remove(task.writer.lane);
+          notifyAll();
+        }
+      }
+    }
+  }
+
+  /** The lane of the next task to run, or null if no task can run now. */
+  private GraphWriterLane nextLane() {
+    if (stopped || running.contains(GraphWriterLane.EXCLUSIVE)) {
+      return null;
+    }
+    // Tasks queued after the first exclusive task must wait for it
+    Task exclusive = queues.get(GraphWriterLane.EXCLUSIVE).peek();
+    if (exclusive != null && running.isEmpty() && isFirstQueued(exclusive)) {
+      return GraphWriterLane.EXCLUSIVE;
+    }
+    for (GraphWriterLane lane : GraphWriterLane.values()) {
+      Task next = queues.get(lane).peek();
+      if (
+        lane != GraphWriterLane.EXCLUSIVE &&
+        next != null &&
+        !running.contains(lane) &&
+        (exclusive == null || next.sequence < exclusive.sequence)
+      ) {
+        return lane;
+      }
+    }
+    return null;
+  }
+
+  private boolean isFirstQueued(Task exclusive) {
+    return queues
+      .values()
+      .stream()
+      .map(ArrayDeque::peek)
+      .allMatch(task -> task == null || task.sequence >= exclusive.sequence);
+  }
+
+  /** Queues the runnables of one updater, and holds its meters. */
+  class Writer implements WriteToGraphCallback {
+
+    private final GraphWriterLane lane;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Timer latency;
+    private final Counter dropped;
+
+    private Writer(String name, GraphWriterLane lane) {
+      this.lane = lane;
+      var tags = List.of(Tag.of("updater", name), Tag.of("lane", lane.name()));
+      Gauge
+        .builder("graphWriter.queued", queued, AtomicInteger::get)
+        .description("The number of graph writer runnables waiting to be executed")
+        .tags(tags)
+        .strongReference(true)
+        .register(registry);
+      this.latency =
+        Timer
+          .builder("graphWriter.latency")
+          .description("The time from queueing a graph writer runnable to its completion")
+          .tags(tags)
+          .register(registry);
+      this.dropped =
+        Counter
+          .builder("graphWriter.dropped")
+          .description("The number of graph writer runnables replaced by a newer one")
+          .tags(tags)
+          .register(registry);
+    }
+
+    @Override
+    public Future<?> execute(GraphWriterRunnable runnable) {
+      return queue(this, runnable);
+    }
+
+    private void dropped(Task task) {
+      queued.decrementAndGet();
+      dropped.increment();
+      task.future.complete(null);
+    }
+  }
+
+  private class Task {
+
+    private final Writer writer;
+    private final GraphWriterRunnable runnable;
+    private final long sequence;
+    private final long queuedNanos;
+    private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+    private Task(Writer writer, GraphWriterRunnable runnable, long sequence, long queuedNanos) {
+      this.writer = writer;
+      this.runnable = runnable;
+      this.sequence = sequence;
+      this.queuedNanos = queuedNanos;
+    }
+
+    private void run() {
+      writer.queued.decrementAndGet();
+      try {
+        runnable.run(graph, transitModel);
+      } catch (Exception e) {
+        LOG.error("Error while running graph writer {}:", runnable.getClass().getName(), e);
+      } finally {
+        writer.latency.record(System.nanoTime() - queuedNanos, TimeUnit.NANOSECONDS);
+        future.complete(null);
+      }
+    }
+  }
+}
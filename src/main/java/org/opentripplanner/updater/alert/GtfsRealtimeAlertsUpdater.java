@@ -11,6 +11,7 @@ import org.opentripplanner.routing.impl.TransitAlertServiceImpl;
 import org.opentripplanner.routing.services.TransitAlertService;
 import org.opentripplanner.transit.service.DefaultTransitService;
 import org.opentripplanner.transit.service.TransitModel;
+import org.opentripplanner.updater.GraphWriterLane;
 import org.opentripplanner.updater.GtfsRealtimeFuzzyTripMatcher;
 import org.opentripplanner.updater.PollingGraphUpdater;
 import org.opentripplanner.updater.WriteToGraphCallback;
@@ -78,6 +79,11 @@ public class GtfsRealtimeAlertsUpdater extends PollingGraphUpdater implements Tr
     this.saveResultOnGraph = saveResultOnGraph;
   }
 
+  @Override
+  public GraphWriterLane getWriterLane() {
+    return GraphWriterLane.ALERTS;
+  }
+
   public TransitAlertService getTransitAlertService() {
     return transitAlertService;
   }
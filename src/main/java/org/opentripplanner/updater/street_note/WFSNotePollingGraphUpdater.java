@@ -27,6 +27,7 @@ import org.opentripplanner.street.model.note.StreetNote;
 import org.opentripplanner.street.model.note.StreetNoteAndMatcher;
 import org.opentripplanner.street.model.note.StreetNoteMatcher;
 import org.opentripplanner.transit.service.TransitModel;
+import org.opentripplanner.updater.GraphWriterLane;
 import org.opentripplanner.updater.GraphWriterRunnable;
 import org.opentripplanner.updater.PollingGraphUpdater;
 import org.opentripplanner.updater.WriteToGraphCallback;
@@ -112,6 +113,11 @@ public abstract class WFSNotePollingGraphUpdater extends PollingGraphUpdater {
     this.saveResultOnGraph = saveResultOnGraph;
   }
 
+  @Override
+  public GraphWriterLane getWriterLane() {
+    return GraphWriterLane.STREET_GRAPH;
+  }
+
   /**
    * The function is run periodically by the update manager. The extending class should provide the
    * getNote method. It is not implemented here as the requirements for different updaters can be
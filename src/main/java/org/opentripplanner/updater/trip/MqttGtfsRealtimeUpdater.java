@@ -16,6 +16,7 @@ import org.eclipse.paho.client.mqttv3.persist.MemoryPersistence;
 import org.opentripplanner.transit.service.DefaultTransitService;
 import org.opentripplanner.transit.service.TransitModel;
 import org.opentripplanner.updater.GraphUpdater;
+import org.opentripplanner.updater.GraphWriterLane;
 import org.opentripplanner.updater.GtfsRealtimeFuzzyTripMatcher;
 import org.opentripplanner.updater.UpdateResult;
 import org.opentripplanner.updater.WriteToGraphCallback;
@@ -85,6 +86,11 @@ public class MqttGtfsRealtimeUpdater implements GraphUpdater {
     this.saveResultOnGraph = saveResultOnGraph;
   }
 
+  @Override
+  public GraphWriterLane getWriterLane() {
+    return GraphWriterLane.TIMETABLE_SNAPSHOT;
+  }
+
   @Override
   public void run() throws Exception {
     client = new MqttClient(url, clientId, persistence);
@@ -6,6 +6,7 @@ import java.util.function.Consumer;
 import org.opentripplanner.framework.tostring.ToStringBuilder;
 import org.opentripplanner.transit.service.DefaultTransitService;
 import org.opentripplanner.transit.service.TransitModel;
+import org.opentripplanner.updater.GraphWriterLane;
 import org.opentripplanner.updater.GtfsRealtimeFuzzyTripMatcher;
 import org.opentripplanner.updater.PollingGraphUpdater;
 import org.opentripplanner.updater.UpdateResult;
@@ -84,6 +85,11 @@ public class PollingTripUpdater extends PollingGraphUpdater {
     this.saveResultOnGraph = saveResultOnGraph;
   }
 
+  @Override
+  public GraphWriterLane getWriterLane() {
+    return GraphWriterLane.TIMETABLE_SNAPSHOT;
+  }
+
   /**
    * Repeatedly makes blocking calls to an UpdateStreamer to retrieve new stop time updates, and
    * applies those updates to the graph.
@@ -60,4 +60,9 @@ class TripUpdateGraphWriterRunnable implements GraphWriterRunnable {
     );
     sendMetrics.accept(result);
   }
+
+  @Override
+  public boolean replacesQueued() {
+    return fullDataset;
+  }
 }
@@ -24,6 +24,7 @@ import org.opentripplanner.street.search.TraverseModeSet;
 import org.opentripplanner.transit.model.framework.FeedScopedId;
 import org.opentripplanner.transit.service.TransitModel;
 import org.opentripplanner.updater.DataSource;
+import org.opentripplanner.updater.GraphWriterLane;
 import org.opentripplanner.updater.GraphWriterRunnable;
 import org.opentripplanner.updater.PollingGraphUpdater;
 import org.opentripplanner.updater.WriteToGraphCallback;
@@ -71,6 +72,11 @@ public class VehicleParkingUpdater extends PollingGraphUpdater {
     this.saveResultOnGraph = saveResultOnGraph;
   }
 
+  @Override
+  public GraphWriterLane getWriterLane() {
+    return GraphWriterLane.STREET_GRAPH;
+  }
+
   @Override
   protected void runPolling() throws Exception {
     LOG.debug("Updating vehicle parkings from {}", source);
@@ -229,5 +235,10 @@ public class VehicleParkingUpdater extends PollingGraphUpdater {
         .forEach(graph::removeEdge);
       graph.remove(entranceVertex);
     }
+
+    @Override
+    public boolean replacesQueued() {
+      return true;
+    }
   }
 }
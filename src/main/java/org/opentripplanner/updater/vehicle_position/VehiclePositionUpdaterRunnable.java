@@ -22,4 +22,9 @@ public record VehiclePositionUpdaterRunnable(
     // Apply new vehicle positions
     matcher.applyVehiclePositionUpdates(updates);
   }
+
+  @Override
+  public boolean replacesQueued() {
+    return true;
+  }
 }
@@ -3,7 +3,10 @@ package org.opentripplanner;
 import static org.opentripplanner.standalone.configure.ConstructApplication.creatTransitLayerForRaptor;
 
 import io.micrometer.core.instrument.Metrics;
+import org.opentripplanner.framework.concurrent.ConcurrencyLimiter;
+import org.opentripplanner.inspector.raster.TileRendererManager;
 import org.opentripplanner.raptor.configure.RaptorConfig;
+import org.opentripplanner.routing.algorithm.raptoradapter.router.performance.SearchStatisticsForRaptor;
 import org.opentripplanner.routing.graph.Graph;
 import org.opentripplanner.service.vehiclepositions.VehiclePositionService;
 import org.opentripplanner.service.vehiclepositions.internal.DefaultVehiclePositionService;
@@ -35,10 +38,17 @@ public class TestServerContext {
       graph,
       new DefaultTransitService(transitModel),
       Metrics.globalRegistry,
+      ConcurrencyLimiter.unlimited(),
       routerConfig.vectorTileLayers(),
       createWorldEnvelopeService(),
       createVehiclePositionService(),
+      new TileRendererManager(graph, routerConfig.routingRequestDefaults().preferences()),
+      new SearchStatisticsForRaptor(
+        Metrics.globalRegistry,
+        routerConfig.transitTuningConfig().slowSearchLogThreshold()
+      ),
       routerConfig.flexConfig(),
+      routerConfig.travelTimeConfig(),
       null,
       routerConfig.requestLogFile()
     );
@@ -0,0 +1,59 @@
+package org.opentripplanner.api.json;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import graphql.ExecutionResult;
+import graphql.ExecutionResultImpl;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+class GraphQLResponseSerializerTest {
+
+  private static final ExecutionResult RESULT = new ExecutionResultImpl(
+    Map.of("stop", Map.of("name", "Stop Ø")),
+    List.of()
+  );
+
+  @Test
+  void serialize() throws IOException {
+    assertEquals(
+      "{\"data\":{\"stop\":{\"name\":\"Stop Ø\"}}}",
+      write(GraphQLResponseSerializer.serialize(RESULT))
+    );
+  }
+
+  @Test
+  void serializeBatch() throws IOException {
+    var query = new HashMap<String, Object>();
+    query.put("id", "1");
+    var failed = new CompletableFuture<ExecutionResult>();
+    failed.completeExceptionally(new IllegalStateException());
+    List<Future<ExecutionResult>> futures = List.of(
+      CompletableFuture.completedFuture(RESULT),
+      failed
+    );
+
+    var output = GraphQLResponseSerializer.serializeBatch(List.of(query, query), futures);
+    var json = new ObjectMapper().readTree(write(output));
+
+    assertEquals(2, json.size());
+    assertEquals("1", json.get(0).get("id").asText());
+    assertEquals("Stop Ø", json.get(0).at("/payload/data/stop/name").asText());
+    assertEquals(1, json.get(1).at("/payload/errors").size());
+  }
+
+  private static String write(StreamingOutput output) throws IOException {
+    var out = new ByteArrayOutputStream();
+    output.write(out);
+    return out.toString(StandardCharsets.UTF_8);
+  }
+}
@@ -1,6 +1,7 @@
 package org.opentripplanner.api.resource;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
 
@@ -22,4 +23,20 @@ class WebMercatorTileTest {
     assertEquals(85.0511, northEastQuarter.getMaxY(), 0.0001);
     assertEquals(0, northEastQuarter.getMinY());
   }
+
+  @Test
+  void lonLat2Tile() {
+    // Oslo, see https://wiki.openstreetmap.org/wiki/Slippy_map_tilenames
+    assertEquals(8, WebMercatorTile.lon2tile(10.75, 4));
+    assertEquals(4, WebMercatorTile.lat2tile(59.91, 4));
+
+    for (int z = 0; z < 16; ++z) {
+      int x = WebMercatorTile.lon2tile(10.75, z);
+      int y = WebMercatorTile.lat2tile(59.91, z);
+      var envelope = WebMercatorTile.tile2Envelope(x, y, z);
+      assertTrue(envelope.contains(10.75, 59.91), "zoom " + z);
+    }
+    assertEquals(0, WebMercatorTile.lon2tile(-180, 2));
+    assertEquals(3, WebMercatorTile.lon2tile(180, 2));
+  }
 }
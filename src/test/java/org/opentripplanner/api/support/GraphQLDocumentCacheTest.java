@@ -0,0 +1,118 @@
+package org.opentripplanner.api.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.google.common.hash.Hashing;
+import graphql.ExecutionInput;
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class GraphQLDocumentCacheTest {
+
+  private static final String QUERY = "{ hello }";
+  private static final String QUERY_HASH = Hashing
+    .sha256()
+    .hashString(QUERY, StandardCharsets.UTF_8)
+    .toString();
+
+  private final GraphQL graphQL = GraphQL
+    .newGraphQL(
+      new SchemaGenerator()
+        .makeExecutableSchema(
+          new SchemaParser().parse("type Query { hello: String }"),
+          RuntimeWiring
+            .newRuntimeWiring()
+            .type("Query", builder -> builder.dataFetcher("hello", env -> "world"))
+            .build()
+        )
+    )
+    .preparsedDocumentProvider(new GraphQLDocumentCache("test", 10))
+    .build();
+
+  @Test
+  void plainQuery() {
+    assertHelloWorld(execute(request(QUERY, null)));
+    assertHelloWorld(execute(request(QUERY, null)));
+  }
+
+  @Test
+  void persistedQuery() {
+    var result = execute(request(null, QUERY_HASH));
+    assertEquals("PersistedQueryNotFound", result.getErrors().get(0).getMessage());
+
+    // Register the query by sending it together with the hash
+    assertHelloWorld(execute(request(QUERY, QUERY_HASH)));
+
+    assertHelloWorld(execute(request(null, QUERY_HASH)));
+  }
+
+  @Test
+  void persistedQueryAfterPlainQuery() {
+    assertHelloWorld(execute(request(QUERY, null)));
+    assertHelloWorld(execute(request(null, QUERY_HASH)));
+  }
+
+  @Test
+  void persistedQueryWithWrongHash() {
+    var result = execute(request("{ hello hello }", QUERY_HASH));
+    assertEquals("PersistedQueryIdInvalid", result.getErrors().get(0).getMessage());
+  }
+
+  @Test
+  void invalidQueryIsNotCached() {
+    var query = "{ goodbye }";
+    var result = execute(request(query, null));
+    assertEquals(1, result.getErrors().size());
+
+    var hash = Hashing.sha256().hashString(query, StandardCharsets.UTF_8).toString();
+    result = execute(request(null, hash));
+    assertEquals("PersistedQueryNotFound", result.getErrors().get(0).getMessage());
+  }
+
+  @Test
+  void findQuery() {
+    assertEquals(QUERY, GraphQLDocumentCache.findQuery(request(QUERY, QUERY_HASH)));
+    assertNull(GraphQLDocumentCache.findQuery(Map.of()));
+    assertNull(GraphQLDocumentCache.findQuery(Map.of("extensions", Map.of())));
+  }
+
+  private ExecutionResult execute(Map<String, Object> request) {
+    return graphQL.execute(
+      ExecutionInput
+        .newExecutionInput(GraphQLDocumentCache.findQuery(request))
+        .extensions(GraphQLDocumentCache.findExtensions(request))
+        .build()
+    );
+  }
+
+  /**
+   * Create the body of a GraphQL request, with the query text and/or the hash of the query.
+   */
+  private static Map<String, Object> request(String query, String hash) {
+    var request = new HashMap<String, Object>();
+    if (query != null) {
+      request.put("query", query);
+    }
+    if (hash != null) {
+      request.put(
+        "extensions",
+        Map.of("persistedQuery", Map.of("version", 1, "sha256Hash", hash))
+      );
+    }
+    return request;
+  }
+
+  private static void assertHelloWorld(ExecutionResult result) {
+    assertTrue(result.getErrors().isEmpty(), result.getErrors().toString());
+    assertEquals(Map.of("hello", "world"), result.getData());
+  }
+}
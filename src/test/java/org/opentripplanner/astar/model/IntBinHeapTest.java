@@ -0,0 +1,46 @@
+package org.opentripplanner.astar.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class IntBinHeapTest {
+
+  @Test
+  void extractInKeyOrder() {
+    List<Integer> input = new ArrayList<>();
+    for (int i = 0; i < 5000; ++i) {
+      input.add(i);
+    }
+    Collections.shuffle(input, new Random(42));
+
+    var heap = new IntBinHeap(10);
+    for (int i : input) {
+      heap.insert(i, i * 0.5f);
+    }
+    assertEquals(5000, heap.size());
+
+    for (int i = 0; i < 5000; ++i) {
+      assertEquals(i * 0.5f, heap.peekMinKey());
+      assertEquals(i, heap.extractMin());
+    }
+    assertTrue(heap.isEmpty());
+  }
+
+  @Test
+  void emptyQueue() {
+    var heap = new IntBinHeap();
+    assertThrows(IllegalStateException.class, heap::peekMinKey);
+    assertThrows(IllegalStateException.class, heap::extractMin);
+
+    heap.insert(7, 1f);
+    heap.reset();
+    assertTrue(heap.isEmpty());
+  }
+}
@@ -15,6 +15,11 @@ public class FrameworkArchitectureTest {
 
   private static final Package APACHE_HTTP = Package.of("org.apache.http..");
   private static final Package GUAVA_COLLECTIONS = Package.of("com.google.common.collect");
+  private static final Package GUAVA_CONCURRENT = Package.of("com.google.common.util.concurrent");
+  private static final Module MICROMETER = Module.of(
+    Package.of("io.micrometer.core.instrument"),
+    Package.of("io.micrometer.core.instrument.binder.jvm")
+  );
 
   private static final Module XML_MODULES = Module.of(
     Package.of("com.fasterxml.jackson.."),
@@ -23,6 +28,7 @@ public class FrameworkArchitectureTest {
   );
   private static final Package APPLICATION = FRAMEWORK.subPackage("application");
   private static final Package COLLECTION = FRAMEWORK.subPackage("collection");
+  private static final Package CONCURRENT = FRAMEWORK.subPackage("concurrent");
   private static final Package GEOMETRY = FRAMEWORK.subPackage("geometry");
   private static final Package I18N = FRAMEWORK.subPackage("i18n");
   private static final Package IO = FRAMEWORK.subPackage("io");
@@ -44,6 +50,11 @@ public class FrameworkArchitectureTest {
     COLLECTION.dependsOn(GNU_TROVE).verify();
   }
 
+  @Test
+  void enforceConcurrentPackageDependencies() {
+    CONCURRENT.dependsOn(GUAVA_CONCURRENT, MICROMETER).verify();
+  }
+
   @Test
   void enforceGeometryPackageDependencies() {
     GEOMETRY
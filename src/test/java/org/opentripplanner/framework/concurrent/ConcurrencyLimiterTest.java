@@ -0,0 +1,68 @@
+package org.opentripplanner.framework.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class ConcurrencyLimiterTest {
+
+  private static final long TIMEOUT_SECONDS = 10;
+
+  @Test
+  void limitConcurrentTasks() throws Exception {
+    var subject = ConcurrencyLimiter.of(2);
+    var started = new CountDownLatch(2);
+    var release = new CountDownLatch(1);
+    var running = new AtomicInteger();
+    var maxRunning = new AtomicInteger();
+
+    var pool = Executors.newFixedThreadPool(3);
+    try {
+      for (int i = 0; i < 3; ++i) {
+        pool.submit(() ->
+          subject.execute(() -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            started.countDown();
+            await(release);
+            return running.decrementAndGet();
+          })
+        );
+      }
+      started.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+      while (subject.waitingTasks() == 0) {
+        Thread.sleep(10);
+      }
+      assertEquals(1, subject.waitingTasks());
+      release.countDown();
+    } finally {
+      pool.shutdown();
+      pool.awaitTermination(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+    assertEquals(2, maxRunning.get());
+    assertEquals(0, subject.waitingTasks());
+  }
+
+  @Test
+  void unlimited() {
+    assertEquals("done", ConcurrencyLimiter.unlimited().execute(() -> "done"));
+    assertEquals(0, ConcurrencyLimiter.unlimited().waitingTasks());
+  }
+
+  @Test
+  void atLeastOneTask() {
+    assertThrows(IllegalArgumentException.class, () -> ConcurrencyLimiter.of(0));
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,57 @@
+package org.opentripplanner.framework.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+class ExecutorUtilsTest {
+
+  @Test
+  void runTaskInCallerThreadWhenPoolIsExhausted() throws Exception {
+    var pool = ExecutorUtils.newBoundedThreadPool("test", 1, 1);
+    var release = new CountDownLatch(1);
+    try {
+      // Occupy the only thread and the only queue slot
+      Callable<Boolean> blockingTask = () -> release.await(10, TimeUnit.SECONDS);
+      pool.submit(blockingTask);
+      pool.submit(blockingTask);
+
+      var executedBy = new AtomicReference<Thread>();
+      pool.submit(() -> executedBy.set(Thread.currentThread())).get();
+
+      assertEquals(Thread.currentThread(), executedBy.get());
+    } finally {
+      release.countDown();
+      pool.shutdown();
+    }
+    assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void nameThreads() throws Exception {
+    var pool = ExecutorUtils.newBoundedThreadPool("test", 1, 1);
+    try {
+      var name = pool.submit(() -> Thread.currentThread().getName()).get();
+      assertEquals("test-0", name);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  void createRequestThreadPoolWithOrWithoutVirtualThreads() throws Exception {
+    var pool = ExecutorUtils.newRequestThreadPool("test", 1, 1, true);
+    try {
+      // Virtual threads are named in the same way, if supported by the JVM
+      var name = pool.submit(() -> Thread.currentThread().getName()).get();
+      assertEquals("test-0", name);
+    } finally {
+      pool.shutdown();
+    }
+  }
+}
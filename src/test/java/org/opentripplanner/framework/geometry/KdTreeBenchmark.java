@@ -0,0 +1,118 @@
+package org.opentripplanner.framework.geometry;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+
+/**
+ * Compare the {@link KdTree} with the {@link HashGridSpatialIndex} for the queries done when
+ * looking up nearby stops: all points within a radius, and the k nearest points. The hash grid is
+ * queried the way it was used by the stop index, with an envelope followed by a distance filter and
+ * a sort. The points are randomly spread over a city sized area.
+ * <p>
+ * Run with the number of points, and optionally the radius in meters and the number of nearest
+ * points:
+ * <p>
+ * mvn exec:java -D"exec.mainClass"="org.opentripplanner.framework.geometry.KdTreeBenchmark" -D"exec.classpathScope"=test -D"exec.args"="50000 1500 10"
+ */
+public class KdTreeBenchmark {
+
+  private static final double X0 = 10.60;
+  private static final double Y0 = 59.85;
+  private static final double D = 0.3;
+  private static final int QUERIES = 5_000;
+  private static final int ROUNDS = 3;
+
+  public static void main(String[] args) {
+    int size = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+    double radius = args.length > 1 ? Double.parseDouble(args[1]) : 1500;
+    int k = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+    var random = new Random(42);
+    var points = new ArrayList<Coordinate>();
+    for (int i = 0; i < size; ++i) {
+      points.add(randomPoint(random));
+    }
+    var centers = new ArrayList<Coordinate>();
+    for (int i = 0; i < QUERIES; ++i) {
+      centers.add(randomPoint(random));
+    }
+
+    long start = System.nanoTime();
+    var hashGrid = new HashGridSpatialIndex<Coordinate>();
+    for (Coordinate it : points) {
+      hashGrid.insert(new Envelope(it), it);
+    }
+    hashGrid.compact();
+    System.out.printf("Hash grid built in %d ms%n", (System.nanoTime() - start) / 1_000_000);
+
+    start = System.nanoTime();
+    var kdTree = new KdTree<>(points, it -> it);
+    System.out.printf("KD-tree built in %d ms%n", (System.nanoTime() - start) / 1_000_000);
+
+    for (int i = 0; i < ROUNDS; ++i) {
+      System.out.println("Round " + (i + 1) + " of " + ROUNDS);
+      run("Hash grid radius", centers, c -> withinDistance(hashGrid, c, radius));
+      run("KD-tree radius", centers, c -> kdTree.findWithinDistance(c, radius));
+      run("Hash grid nearest", centers, c -> nearest(hashGrid, c, k, radius));
+      run("KD-tree nearest", centers, c -> kdTree.findNearest(c, k, radius));
+    }
+  }
+
+  private static void run(
+    String description,
+    List<Coordinate> centers,
+    Consumer<Coordinate> query
+  ) {
+    long start = System.nanoTime();
+    for (Coordinate center : centers) {
+      query.accept(center);
+    }
+    long elapsed = System.nanoTime() - start;
+    System.out.printf("%-18s %8.2f us/query%n", description, elapsed / 1000.0 / centers.size());
+  }
+
+  private static List<Coordinate> withinDistance(
+    HashGridSpatialIndex<Coordinate> index,
+    Coordinate center,
+    double radius
+  ) {
+    var envelope = new Envelope(center);
+    envelope.expandBy(
+      SphericalDistanceLibrary.metersToLonDegrees(radius, center.y),
+      SphericalDistanceLibrary.metersToDegrees(radius)
+    );
+    List<Coordinate> result = new ArrayList<>();
+    for (Coordinate it : index.query(envelope)) {
+      if (SphericalDistanceLibrary.distance(center, it) <= radius) {
+        result.add(it);
+      }
+    }
+    return result;
+  }
+
+  private static List<Coordinate> nearest(
+    HashGridSpatialIndex<Coordinate> index,
+    Coordinate center,
+    int k,
+    double radius
+  ) {
+    // Compute each distance once, as DirectGraphFinder does before sorting the stops
+    List<Candidate> found = new ArrayList<>();
+    for (Coordinate it : withinDistance(index, center, radius)) {
+      found.add(new Candidate(it, SphericalDistanceLibrary.distance(center, it)));
+    }
+    found.sort(Comparator.comparingDouble(Candidate::distance));
+    return found.stream().limit(k).map(Candidate::point).toList();
+  }
+
+  private static Coordinate randomPoint(Random random) {
+    return new Coordinate(X0 + random.nextDouble() * D, Y0 + random.nextDouble() * D);
+  }
+
+  private record Candidate(Coordinate point, double distance) {}
+}
@@ -0,0 +1,126 @@
+package org.opentripplanner.framework.geometry;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+
+class KdTreeTest {
+
+  private static final double X0 = 10.70;
+  private static final double Y0 = 59.90;
+  private static final double D = 0.1;
+
+  private final Random random = new Random(42);
+  private final List<Coordinate> points = randomPoints(2000);
+  private final KdTree<Coordinate> subject = new KdTree<>(points, it -> it);
+
+  @Test
+  void query() {
+    for (int i = 0; i < 200; ++i) {
+      var envelope = new Envelope(randomPoint(), randomPoint());
+      var expected = points.stream().filter(it -> envelope.contains(it)).toList();
+
+      assertEquals(new HashSet<>(expected), new HashSet<>(subject.query(envelope)));
+    }
+  }
+
+  @Test
+  void queryDuplicatedPoints() {
+    var point = new Coordinate(X0, Y0);
+    var duplicates = new ArrayList<Coordinate>();
+    for (int i = 0; i < 100; ++i) {
+      duplicates.add(point.copy());
+    }
+    var tree = new KdTree<Coordinate>(duplicates, it -> it);
+
+    assertEquals(100, tree.query(new Envelope(point)).size());
+    assertEquals(100, tree.findWithinDistance(point, 1).size());
+  }
+
+  @Test
+  void findWithinDistance() {
+    for (int i = 0; i < 200; ++i) {
+      var center = randomPoint();
+      double radius = random.nextDouble() * 2000;
+      var expected = points
+        .stream()
+        .filter(it -> SphericalDistanceLibrary.distance(center, it) <= radius)
+        .toList();
+
+      var result = subject.findWithinDistance(center, radius);
+
+      assertEquals(new HashSet<>(expected), new HashSet<>(result));
+    }
+  }
+
+  @Test
+  void findNearest() {
+    for (int i = 0; i < 200; ++i) {
+      var center = randomPoint();
+      int k = 1 + random.nextInt(20);
+      double cosLat = Math.cos(Math.toRadians(center.y));
+      Comparator<Coordinate> byDistance = Comparator.comparingDouble(it ->
+        SphericalDistanceLibrary.fastDistance(center, it, cosLat)
+      );
+      var expected = points.stream().sorted(byDistance).limit(k).toList();
+
+      assertEquals(expected, subject.findNearest(center, k, 20_000));
+    }
+  }
+
+  @Test
+  void findNearestWithinMaxDistance() {
+    var center = randomPoint();
+    double maxDistance = 300;
+    var expected = points
+      .stream()
+      .filter(it -> SphericalDistanceLibrary.fastDistance(center, it) <= maxDistance)
+      .count();
+
+    assertEquals(expected, subject.findNearest(center, points.size(), maxDistance).size());
+  }
+
+  @Test
+  void findNearestAcceptedByFilter() {
+    Predicate<Coordinate> filter = it -> it.x > X0 + D / 2;
+    for (int i = 0; i < 100; ++i) {
+      var center = randomPoint();
+      int k = 1 + random.nextInt(20);
+      double cosLat = Math.cos(Math.toRadians(center.y));
+      Comparator<Coordinate> byDistance = Comparator.comparingDouble(it ->
+        SphericalDistanceLibrary.fastDistance(center, it, cosLat)
+      );
+      var expected = points.stream().filter(filter).sorted(byDistance).limit(k).toList();
+
+      assertEquals(expected, subject.findNearest(center, k, 20_000, filter));
+    }
+  }
+
+  @Test
+  void emptyTree() {
+    var tree = new KdTree<Coordinate>(List.of(), it -> it);
+    assertEquals(List.of(), tree.query(new Envelope(X0, X0 + D, Y0, Y0 + D)));
+    assertEquals(List.of(), tree.findNearest(new Coordinate(X0, Y0), 5, 1000));
+    assertEquals(List.of(), tree.findWithinDistance(new Coordinate(X0, Y0), 1000));
+  }
+
+  private List<Coordinate> randomPoints(int n) {
+    var result = new ArrayList<Coordinate>();
+    for (int i = 0; i < n; ++i) {
+      result.add(randomPoint());
+    }
+    return result;
+  }
+
+  private Coordinate randomPoint() {
+    return new Coordinate(X0 + random.nextDouble() * D, Y0 + random.nextDouble() * D);
+  }
+}
@@ -0,0 +1,127 @@
+package org.opentripplanner.graph_builder.module.ned;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.opentripplanner.street.model._data.StreetModelForTest.intersectionVertex;
+import static org.opentripplanner.street.model._data.StreetModelForTest.streetEdge;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequence;
+import org.opentripplanner.street.model.edge.StreetEdge;
+import org.opentripplanner.street.model.edge.StreetElevationExtension;
+
+class ElevationProfileCacheTest {
+
+  private static final double DISTANCE_BETWEEN_SAMPLES = 10;
+
+  @TempDir
+  Path tempDir;
+
+  private final StreetEdge edgeAB = edge("A", 59.910, 10.750, "B", 59.911, 10.751, 12.5);
+  private final StreetEdge edgeBC = edge("B", 59.911, 10.751, "C", 59.912, 10.752, 20.0);
+  private final StreetEdge edgeCD = edge("C", 59.912, 10.752, "D", 59.913, 10.753, 30.0);
+
+  @Test
+  void readProfilesWritten() throws IOException {
+    File file = write();
+
+    var subject = ElevationProfileCache.read(file, DISTANCE_BETWEEN_SAMPLES, true);
+
+    assertEquals(2, subject.size());
+    assertProfile(edgeAB, subject.get(edgeAB.getGeometry()));
+    assertProfile(edgeBC, subject.get(edgeBC.getGeometry()));
+    assertNull(subject.get(edgeCD.getGeometry()));
+  }
+
+  @Test
+  void rejectOtherParameters() throws IOException {
+    File file = write();
+
+    assertThrows(IOException.class, () -> ElevationProfileCache.read(file, 5, true));
+    assertThrows(
+      IOException.class,
+      () -> ElevationProfileCache.read(file, DISTANCE_BETWEEN_SAMPLES, false)
+    );
+  }
+
+  @Test
+  void rejectTruncatedFile() throws IOException {
+    File file = write();
+    byte[] bytes = Files.readAllBytes(file.toPath());
+
+    for (int length : new int[] { 16, 25, bytes.length / 2, bytes.length - 1 }) {
+      Files.write(file.toPath(), Arrays.copyOf(bytes, length));
+      assertThrows(
+        IOException.class,
+        () -> ElevationProfileCache.read(file, DISTANCE_BETWEEN_SAMPLES, true),
+        "Truncated to " + length + " bytes"
+      );
+    }
+  }
+
+  @Test
+  void replaceFileWithoutLeavingTemporaryFiles() throws IOException {
+    write();
+    File file = write();
+
+    assertEquals(List.of(file), List.of(tempDir.toFile().listFiles()));
+    assertEquals(2, ElevationProfileCache.read(file, DISTANCE_BETWEEN_SAMPLES, true).size());
+  }
+
+  @Test
+  void geometryKeyIgnoresLabels() {
+    var sameGeometry = edge("X", 59.910, 10.750, "Y", 59.911, 10.751, 0);
+
+    assertEquals(
+      ElevationProfileCache.geometryKey(edgeAB.getGeometry()),
+      ElevationProfileCache.geometryKey(sameGeometry.getGeometry())
+    );
+  }
+
+  private File write() throws IOException {
+    File file = tempDir.resolve("cached_elevations.bin").toFile();
+    ElevationProfileCache.write(file, List.of(edgeAB, edgeBC), DISTANCE_BETWEEN_SAMPLES, true);
+    return file;
+  }
+
+  private static void assertProfile(StreetEdge expected, PackedCoordinateSequence actual) {
+    assertArrayEquals(
+      expected.getElevationProfile().toCoordinateArray(),
+      actual.toCoordinateArray()
+    );
+  }
+
+  private static StreetEdge edge(
+    String fromLabel,
+    double fromLat,
+    double fromLon,
+    String toLabel,
+    double toLat,
+    double toLon,
+    double elevation
+  ) {
+    var edge = streetEdge(
+      intersectionVertex(fromLabel, fromLat, fromLon),
+      intersectionVertex(toLabel, toLat, toLon)
+    );
+    StreetElevationExtension.addToEdge(
+      edge,
+      new PackedCoordinateSequence.Double(
+        new double[] { 0, elevation, Math.round(edge.getDistanceMeters()), elevation + 1.5 },
+        2,
+        0
+      ),
+      true
+    );
+    return edge;
+  }
+}
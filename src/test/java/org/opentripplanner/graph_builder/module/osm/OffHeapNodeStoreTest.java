@@ -0,0 +1,71 @@
+package org.opentripplanner.graph_builder.module.osm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.openstreetmap.OpenStreetMapProvider;
+import org.opentripplanner.openstreetmap.model.OSMNode;
+
+class OffHeapNodeStoreTest {
+
+  private static final OpenStreetMapProvider PROVIDER = new OpenStreetMapProvider(
+    new File("test.osm.pbf"),
+    false
+  );
+
+  @Test
+  void readStoredNodes() {
+    var subject = new OffHeapNodeStore();
+    // More than one block, with gaps between the ids
+    int n = (1 << 20) + 10;
+    for (int i = 0; i < n; ++i) {
+      assertTrue(subject.add(node(3L * i, i * 1e-6, -i * 1e-6)));
+    }
+    assertEquals(n, subject.size());
+
+    for (long i : new long[] { 0, 1, (1 << 20) - 1, 1 << 20, n - 1 }) {
+      OSMNode node = subject.get(3 * i);
+      assertEquals(3 * i, node.getId());
+      assertEquals(i * 1e-6, node.lat);
+      assertEquals(-i * 1e-6, node.lon);
+      assertSame(PROVIDER, node.getOsmProvider());
+      assertEquals(node, subject.get(3 * i));
+      assertNotSame(node, subject.get(3 * i));
+    }
+    assertNull(subject.get(-3));
+    assertNull(subject.get(4));
+    assertNull(subject.get(3L * n));
+    assertFalse(subject.contains((3L << 20) + 1));
+  }
+
+  @Test
+  void rejectTaggedAndUnsortedNodes() {
+    var subject = new OffHeapNodeStore();
+    assertTrue(subject.add(node(10, 1, 1)));
+
+    var tagged = node(20, 1, 1);
+    tagged.addTag("highway", "traffic_signals");
+    assertFalse(subject.add(tagged));
+    assertFalse(subject.add(node(5, 1, 1)));
+    assertFalse(subject.add(node(10, 1, 1)));
+
+    assertEquals(1, subject.size());
+    assertFalse(subject.contains(5));
+    assertFalse(subject.contains(20));
+  }
+
+  private static OSMNode node(long id, double lat, double lon) {
+    var node = new OSMNode();
+    node.setId(id);
+    node.lat = lat;
+    node.lon = lon;
+    node.setOsmProvider(PROVIDER);
+    return node;
+  }
+}
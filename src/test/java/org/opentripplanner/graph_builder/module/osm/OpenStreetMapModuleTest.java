@@ -24,6 +24,7 @@ import org.opentripplanner.astar.model.GraphPath;
 import org.opentripplanner.framework.i18n.LocalizedString;
 import org.opentripplanner.framework.i18n.NonLocalizedString;
 import org.opentripplanner.graph_builder.issue.api.DataImportIssueStore;
+import org.opentripplanner.graph_builder.module.FakeGraph;
 import org.opentripplanner.openstreetmap.OpenStreetMapProvider;
 import org.opentripplanner.openstreetmap.model.OSMWay;
 import org.opentripplanner.openstreetmap.model.OSMWithTags;
@@ -37,6 +38,7 @@ import org.opentripplanner.openstreetmap.wayproperty.specifier.OsmSpecifier;
 import org.opentripplanner.routing.api.request.RouteRequest;
 import org.opentripplanner.routing.graph.Graph;
 import org.opentripplanner.routing.impl.GraphPathFinder;
+import org.opentripplanner.street.model.edge.AreaEdge;
 import org.opentripplanner.street.model.edge.Edge;
 import org.opentripplanner.street.model.edge.StreetEdge;
 import org.opentripplanner.street.model.vertex.IntersectionVertex;
@@ -339,6 +341,71 @@ public class OpenStreetMapModuleTest {
     return graph;
   }
 
+  @Test
+  void buildSameGraphWithOffHeapNodeStore() {
+    File file = new File(
+      URLDecoder.decode(
+        getClass().getResource("usf_area.osm.pbf").getFile(),
+        StandardCharsets.UTF_8
+      )
+    );
+    var expected = new Graph(new Deduplicator());
+    var actual = new Graph(new Deduplicator());
+    for (var graph : List.of(expected, actual)) {
+      var module = new OpenStreetMapModule(
+        List.of(new OpenStreetMapProvider(file, false)),
+        Set.of(),
+        graph,
+        DataImportIssueStore.NOOP,
+        true
+      );
+      module.offHeapNodeStore = graph == actual;
+      module.buildGraph();
+    }
+
+    assertFalse(expected.getVertices().isEmpty());
+    assertEquals(expected.getVertices().size(), actual.getVertices().size());
+    assertEquals(expected.getEdges().size(), actual.getEdges().size());
+  }
+
+  /**
+   * The visibility of the walkable areas is computed in parallel for all area groups before the
+   * edges are added. Check that this gives the same graph as the sequential build, computing the
+   * visibility of each area group just before its edges are added.
+   */
+  @Test
+  void buildSameAreaEdgesWithParallelVisibility() {
+    var sequential = buildSkoyenWithAreaVisibility(false);
+    var parallel = buildSkoyenWithAreaVisibility(true);
+
+    var areas = sequential.getEdgesOfType(AreaEdge.class).stream().map(AreaEdge::getArea);
+    assertTrue(areas.distinct().count() > 1);
+    assertEquals(sequential.getVertices().size(), parallel.getVertices().size());
+    assertEquals(sequential.getEdges().size(), parallel.getEdges().size());
+    assertEquals(areaEdges(sequential), areaEdges(parallel));
+  }
+
+  private static Graph buildSkoyenWithAreaVisibility(boolean parallelAreaVisibility) {
+    File file = new File(
+      URLDecoder.decode(
+        FakeGraph.class.getResource("osm/skoyen.osm.pbf").getFile(),
+        StandardCharsets.UTF_8
+      )
+    );
+    var graph = new Graph(new Deduplicator());
+    var module = new OpenStreetMapModule(
+      List.of(new OpenStreetMapProvider(file, false)),
+      Set.of(),
+      graph,
+      DataImportIssueStore.NOOP,
+      true,
+      parallelAreaVisibility
+    );
+    module.platformEntriesLinking = true;
+    module.buildGraph();
+    return graph;
+  }
+
   /**
    * This reads test file with area and tests if it can be routed if visibility is used and if it
    * isn't
@@ -391,5 +458,17 @@ public class OpenStreetMapModuleTest {
     }
   }
 
+  /** The area edges of a graph, as the labels of their vertices and their geometry. */
+  private static List<String> areaEdges(Graph graph) {
+    return graph
+      .getEdgesOfType(AreaEdge.class)
+      .stream()
+      .map(e ->
+        e.getFromVertex().getLabel() + " " + e.getToVertex().getLabel() + " " + e.getGeometry()
+      )
+      .sorted()
+      .toList();
+  }
+
   private record VertexPair(Vertex v0, Vertex v1) {}
 }
@@ -0,0 +1,46 @@
+package org.opentripplanner.inspector.raster;
+
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.opentripplanner.street.model._data.StreetModelForTest.intersectionVertex;
+import static org.opentripplanner.street.model._data.StreetModelForTest.streetEdge;
+
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.routing.api.request.preference.RoutingPreferences;
+import org.opentripplanner.routing.graph.Graph;
+
+class TileRendererManagerTest {
+
+  private final TileRendererManager subject = new TileRendererManager(
+    graph(),
+    new RoutingPreferences()
+  );
+
+  @Test
+  void cacheTiles() {
+    byte[] tile = subject.getTile("traversal", 8, 4, 4, "png");
+
+    assertTrue(tile.length > 0);
+    assertSame(tile, subject.getTile("traversal", 8, 4, 4, "png"));
+    assertNotSame(tile, subject.getTile("bike-safety", 8, 4, 4, "png"));
+    assertNotSame(tile, subject.getTile("traversal", 8, 4, 4, "gif"));
+  }
+
+  @Test
+  void unknownLayer() {
+    assertThrows(IllegalArgumentException.class, () -> subject.getTile("foo", 8, 4, 4, "png"));
+  }
+
+  private static Graph graph() {
+    var graph = new Graph();
+    var a = intersectionVertex("A", 59.91, 10.75);
+    var b = intersectionVertex("B", 59.92, 10.76);
+    graph.addVertex(a);
+    graph.addVertex(b);
+    streetEdge(a, b);
+    graph.index(null);
+    return graph;
+  }
+}
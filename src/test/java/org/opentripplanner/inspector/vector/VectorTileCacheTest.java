@@ -0,0 +1,132 @@
+package org.opentripplanner.inspector.vector;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import edu.colorado.cires.cmg.mvt.VectorTile;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.opentripplanner.api.mapping.PropertyMapper;
+import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.transit.service.DefaultTransitService;
+import org.opentripplanner.transit.service.TransitModel;
+import org.opentripplanner.transit.service.TransitService;
+
+class VectorTileCacheTest {
+
+  private static final Graph GRAPH = new Graph();
+  private static final TransitService TRANSIT_SERVICE = new DefaultTransitService(
+    new TransitModel()
+  );
+  private static final LayerParams STOPS = new LayerParams("stops", LayerType.Stop);
+  private static final LayerParams RENTAL = new LayerParams("rental", LayerType.Rental);
+
+  private final AtomicLong rentalVersion = new AtomicLong();
+  private final AtomicInteger encodeCount = new AtomicInteger();
+
+  private final VectorTileCache<LayerType> subject = new VectorTileCache<>(
+    "test",
+    1024 * 1024,
+    (layer, graph, transitService) -> layer.type() == LayerType.Rental ? rentalVersion.get() : 0L
+  );
+
+  @Test
+  void cacheEncodedLayers() {
+    get(STOPS, Locale.ENGLISH);
+    get(STOPS, Locale.ENGLISH);
+    assertEquals(1, encodeCount.get());
+
+    get(STOPS, Locale.GERMAN);
+    assertEquals(2, encodeCount.get());
+  }
+
+  @Test
+  void invalidateLayerWhenVersionChanges() {
+    get(STOPS, Locale.ENGLISH);
+    get(RENTAL, Locale.ENGLISH);
+    assertEquals(2, encodeCount.get());
+
+    rentalVersion.incrementAndGet();
+
+    get(STOPS, Locale.ENGLISH);
+    get(RENTAL, Locale.ENGLISH);
+    get(RENTAL, Locale.ENGLISH);
+    assertEquals(3, encodeCount.get());
+  }
+
+  @Test
+  void concatenateLayersIntoOneTile() throws Exception {
+    var response = VectorTileResponseFactory.create(
+      0,
+      0,
+      10,
+      Locale.ENGLISH,
+      List.of("stops", "rental"),
+      List.of(STOPS, RENTAL),
+      (layerParameters, locale, graph, transitService) -> new EmptyLayerBuilder(layerParameters),
+      subject,
+      GRAPH,
+      TRANSIT_SERVICE
+    );
+
+    var tile = VectorTile.Tile.parseFrom((byte[]) response.getEntity());
+    assertEquals(
+      List.of("stops", "rental"),
+      tile.getLayersList().stream().map(VectorTile.Tile.Layer::getName).toList()
+    );
+  }
+
+  private void get(LayerParams layer, Locale locale) {
+    subject.get(
+      layer,
+      0,
+      0,
+      10,
+      locale,
+      GRAPH,
+      TRANSIT_SERVICE,
+      () -> {
+        encodeCount.incrementAndGet();
+        return new byte[0];
+      }
+    );
+  }
+
+  enum LayerType {
+    Stop,
+    Rental,
+  }
+
+  record LayerParams(String name, LayerType type) implements LayerParameters<LayerType> {
+    @Override
+    public String mapper() {
+      return "test";
+    }
+  }
+
+  private static class EmptyLayerBuilder extends LayerBuilder<Object> {
+
+    EmptyLayerBuilder(LayerParameters<LayerType> layerParameters) {
+      super(
+        new PropertyMapper<>() {
+          @Override
+          protected Collection<KeyValue> map(Object input) {
+            return List.of();
+          }
+        },
+        layerParameters.name(),
+        layerParameters.expansionFactor()
+      );
+    }
+
+    @Override
+    protected List<Geometry> getGeometries(Envelope query) {
+      return List.of();
+    }
+  }
+}
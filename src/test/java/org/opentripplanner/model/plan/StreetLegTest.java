@@ -0,0 +1,56 @@
+package org.opentripplanner.model.plan;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.LineString;
+import org.opentripplanner.framework.geometry.GeometryUtils;
+import org.opentripplanner.street.search.TraverseMode;
+
+class StreetLegTest implements PlanTestConstants {
+
+  private static final ZonedDateTime START = ZonedDateTime.parse("2023-02-01T11:00:00+01:00");
+  private static final LineString GEOMETRY = GeometryUtils.makeLineString(
+    new Coordinate[] { new Coordinate(5.0, 8.0), new Coordinate(6.0, 8.5) }
+  );
+
+  private final AtomicInteger geometryCalls = new AtomicInteger();
+
+  private final StreetLeg subject = StreetLeg
+    .create()
+    .withMode(TraverseMode.WALK)
+    .withStartTime(START)
+    .withEndTime(START.plusMinutes(2))
+    .withFrom(A)
+    .withTo(B)
+    .withGeometry(() -> {
+      geometryCalls.incrementAndGet();
+      return GEOMETRY;
+    })
+    .build();
+
+  @Test
+  void computeGeometryOnFirstUse() {
+    assertEquals(0, geometryCalls.get());
+
+    assertSame(GEOMETRY, subject.getLegGeometry());
+    assertSame(GEOMETRY, subject.getLegGeometry());
+
+    assertEquals(1, geometryCalls.get());
+  }
+
+  @Test
+  void copiesShareTheComputedValues() {
+    var shifted = subject.withTimeShift(Duration.ofMinutes(5));
+    assertEquals(0, geometryCalls.get());
+
+    assertSame(GEOMETRY, shifted.getLegGeometry());
+    assertSame(GEOMETRY, subject.getLegGeometry());
+    assertEquals(1, geometryCalls.get());
+  }
+}
@@ -0,0 +1,82 @@
+package org.opentripplanner.openstreetmap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.ConstantsForTests;
+import org.opentripplanner.openstreetmap.model.OSMNode;
+import org.opentripplanner.openstreetmap.model.OSMRelation;
+import org.opentripplanner.openstreetmap.model.OSMWay;
+import org.opentripplanner.openstreetmap.spi.OSMDatabase;
+
+class ParallelPbfReaderTest {
+
+  private static final File OSM_FILE = new File(ConstantsForTests.PORTLAND_CENTRAL_OSM);
+  private static final OpenStreetMapProvider PROVIDER = new OpenStreetMapProvider(OSM_FILE, false);
+
+  @Test
+  void readInFileOrder() throws IOException {
+    var expected = read(new ParallelPbfReader(PROVIDER, 1), OsmParserPhase.Nodes);
+    var actual = read(new ParallelPbfReader(PROVIDER, 4), OsmParserPhase.Nodes);
+
+    assertFalse(expected.isEmpty());
+    assertEquals(expected, actual);
+  }
+
+  @Test
+  void skipIrrelevantBlocksAfterFirstPass() throws IOException {
+    var expectedWays = read(new ParallelPbfReader(PROVIDER, 1), OsmParserPhase.Ways);
+    var expectedNodes = read(new ParallelPbfReader(PROVIDER, 1), OsmParserPhase.Nodes);
+
+    // The entity types of the blocks are recorded in the first pass, and used in the next ones
+    var subject = new ParallelPbfReader(PROVIDER, 4);
+    read(subject, OsmParserPhase.Relations);
+
+    assertEquals(expectedWays, read(subject, OsmParserPhase.Ways));
+    assertEquals(expectedNodes, read(subject, OsmParserPhase.Nodes));
+  }
+
+  private static List<Long> read(ParallelPbfReader reader, OsmParserPhase phase)
+    throws IOException {
+    var osmdb = new RecordIds();
+    try (var in = new FileInputStream(OSM_FILE)) {
+      reader.readPhase(in, phase, osmdb);
+    }
+    return osmdb.ids;
+  }
+
+  private static class RecordIds implements OSMDatabase {
+
+    private final List<Long> ids = new ArrayList<>();
+
+    @Override
+    public void addNode(OSMNode node) {
+      ids.add(node.getId());
+    }
+
+    @Override
+    public void addWay(OSMWay way) {
+      ids.add(way.getId());
+    }
+
+    @Override
+    public void addRelation(OSMRelation relation) {
+      ids.add(relation.getId());
+    }
+
+    @Override
+    public void doneFirstPhaseRelations() {}
+
+    @Override
+    public void doneSecondPhaseWays() {}
+
+    @Override
+    public void doneThirdPhaseNodes() {}
+  }
+}
@@ -35,6 +35,28 @@ public class OSMWithTagsTest {
     assertEquals("bar", o.getTag("FOO"));
   }
 
+  @Test
+  public void testReplaceTag() {
+    OSMWithTags o = new OSMWithTags();
+    o.addTag("foo", "bar");
+    o.addTag("FOO", "baz");
+
+    assertEquals("baz", o.getTag("foo"));
+    assertEquals(Map.of("foo", "baz"), o.getTags());
+  }
+
+  @Test
+  public void testGetTags() {
+    OSMWithTags o = new OSMWithTags();
+    assertFalse(o.hasTags());
+    assertNull(o.getTags());
+
+    o.addTag("foo", "bar");
+    o.addTag("Bar", "Foo");
+    assertTrue(o.hasTags());
+    assertEquals(Map.of("foo", "bar", "bar", "Foo"), o.getTags());
+  }
+
   @Test
   public void testIsFalse() {
     assertTrue(OSMWithTags.isFalse("no"));
@@ -0,0 +1,125 @@
+package org.opentripplanner.raptor.api.debug;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.opentripplanner.raptor._data.transit.TestRoute.route;
+import static org.opentripplanner.raptor._data.transit.TestTripPattern.pattern;
+import static org.opentripplanner.raptor._data.transit.TestTripSchedule.schedule;
+
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.raptor.RaptorService;
+import org.opentripplanner.raptor._data.RaptorTestConstants;
+import org.opentripplanner.raptor._data.transit.TestAccessEgress;
+import org.opentripplanner.raptor._data.transit.TestTransitData;
+import org.opentripplanner.raptor._data.transit.TestTripSchedule;
+import org.opentripplanner.raptor.api.request.RaptorProfile;
+import org.opentripplanner.raptor.api.request.RaptorRequestBuilder;
+import org.opentripplanner.raptor.configure.RaptorConfig;
+
+class RaptorSearchStatisticsTest implements RaptorTestConstants {
+
+  @Test
+  void addSearchToRequestWhenComplete() {
+    var subject = new RaptorSearchStatistics();
+    var search = subject.newSearch();
+    search.incIterations();
+    search.incRounds();
+    search.incRounds();
+    search.incParetoSetInsertions();
+    search.incParetoSetRejections();
+    search.incHeuristicRejections();
+
+    assertEquals(0, subject.rounds());
+
+    search.searchComplete();
+    subject.newSearch().searchComplete();
+
+    assertEquals(
+      "RaptorSearchStatistics{iterations: 1, rounds: 2, patternsScanned: 0, tripsBoarded: 0, " +
+      "paretoSetInsertions: 1, paretoSetRejections: 1, heuristicRejections: 1}",
+      subject.toString()
+    );
+  }
+
+  @Test
+  void countTheWorkOfAMultiCriteriaSearch() {
+    var data = new TestTransitData()
+      .withRoute(
+        route(pattern("R1", STOP_B, STOP_C, STOP_D)).withTimetable(schedule("00:01, 00:03, 00:05"))
+      );
+    var statistics = new RaptorSearchStatistics();
+    var requestBuilder = new RaptorRequestBuilder<TestTripSchedule>()
+      .profile(RaptorProfile.MULTI_CRITERIA)
+      .searchStatistics(statistics);
+    requestBuilder
+      .searchParams()
+      .addAccessPaths(TestAccessEgress.walk(STOP_B, D30s))
+      .addEgressPaths(TestAccessEgress.walk(STOP_D, D20s))
+      .earliestDepartureTime(T00_00)
+      .latestArrivalTime(T00_10)
+      .searchOneIterationOnly();
+
+    new RaptorService<TestTripSchedule>(RaptorConfig.defaultConfigForTest())
+      .route(requestBuilder.build(), data);
+
+    // R1 is scanned in round 1, and again in round 2 from the stops reached in round 1. The
+    // arrivals inserted are the access arrival at B and the transit arrivals at C and D.
+    assertEquals(
+      "RaptorSearchStatistics{iterations: 1, rounds: 2, patternsScanned: 2, tripsBoarded: 1, " +
+      "paretoSetInsertions: 3, paretoSetRejections: 0, heuristicRejections: 0}",
+      statistics.toString()
+    );
+  }
+
+  @Test
+  void countTheWorkOfAnAbortedSearch() {
+    var data = new TestTransitData()
+      .withRoute(
+        route(pattern("R1", STOP_B, STOP_C, STOP_D)).withTimetable(schedule("00:01, 00:03, 00:05"))
+      );
+    var statistics = new RaptorSearchStatistics();
+    var requestBuilder = new RaptorRequestBuilder<TestTripSchedule>()
+      .profile(RaptorProfile.MULTI_CRITERIA)
+      .searchStatistics(statistics)
+      .performanceTimers(new TimeoutAfterFirstRound());
+    requestBuilder
+      .searchParams()
+      .addAccessPaths(TestAccessEgress.walk(STOP_B, D30s))
+      .addEgressPaths(TestAccessEgress.walk(STOP_D, D20s))
+      .earliestDepartureTime(T00_00)
+      .latestArrivalTime(T00_10)
+      .searchOneIterationOnly();
+
+    var service = new RaptorService<TestTripSchedule>(RaptorConfig.defaultConfigForTest());
+    var request = requestBuilder.build();
+    assertThrows(RuntimeException.class, () -> service.route(request, data));
+
+    assertEquals(1, statistics.iterations());
+    assertEquals(1, statistics.rounds());
+  }
+
+  /** Run the first round and then abort the search, like a search timing out. */
+  private static class TimeoutAfterFirstRound implements RaptorTimers {
+
+    @Override
+    public void route(Runnable body) {
+      body.run();
+    }
+
+    @Override
+    public void findTransitForRound(Runnable body) {
+      body.run();
+      throw new IllegalStateException("Timeout");
+    }
+
+    @Override
+    public void findTransfersForRound(Runnable body) {
+      body.run();
+    }
+
+    @Override
+    public RaptorTimers withNamePrefix(String namePrefix) {
+      return this;
+    }
+  }
+}
@@ -208,11 +208,23 @@ public class ItineraryListFilterChainTest implements PlanTestConstants {
     // Then transitAlertService should have been called with stop and route ids
     Mockito
       .verify(transitAlertService, Mockito.atLeastOnce())
-      .getStopAlerts(A.stop.getId(), StopCondition.FIRST_DEPARTURE);
+      .getStopAlerts(
+        Mockito.eq(A.stop.getId()),
+        Mockito.eq(StopCondition.FIRST_DEPARTURE),
+        Mockito.anyLong(),
+        Mockito.anyLong()
+      );
     Mockito
       .verify(transitAlertService, Mockito.atLeastOnce())
-      .getStopAlerts(E.stop.getId(), StopCondition.ARRIVING);
-    Mockito.verify(transitAlertService, Mockito.atLeastOnce()).getRouteAlerts(BUS_ROUTE.getId());
+      .getStopAlerts(
+        Mockito.eq(E.stop.getId()),
+        Mockito.eq(StopCondition.ARRIVING),
+        Mockito.anyLong(),
+        Mockito.anyLong()
+      );
+    Mockito
+      .verify(transitAlertService, Mockito.atLeastOnce())
+      .getRouteAlerts(Mockito.eq(BUS_ROUTE.getId()), Mockito.anyLong(), Mockito.anyLong());
   }
 
   @Test
@@ -2,6 +2,7 @@ package org.opentripplanner.routing.algorithm.transferoptimization.services;
 
 import static java.time.Duration.ofMinutes;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.opentripplanner.raptor._data.stoparrival.BasicPathTestCase.COST_CALCULATOR;
 import static org.opentripplanner.raptor._data.transit.TestRoute.route;
 import static org.opentripplanner.raptor._data.transit.TestTripSchedule.schedule;
@@ -72,6 +73,23 @@ public class TransferGeneratorTest implements RaptorTestConstants {
     assertEquals("[]", subject.findAllPossibleTransfers(transitLegs).toString());
   }
 
+  @Test
+  void reuseTransfersBetweenTheSameTrips() {
+    data.withRoutes(
+      route("L1", STOP_A, STOP_B, STOP_C, STOP_D)
+        .withTimetable(schedule("10:02 10:10 10:20 10:30"), schedule("10:04 10:12 10:22 10:32"))
+    );
+    var subject = new TransferGenerator<>(tsAdaptor, data);
+
+    var first = subject.findAllPossibleTransfers(transitLegsSameRoute(STOP_A, STOP_C, STOP_D));
+    var second = subject.findAllPossibleTransfers(transitLegsSameRoute(STOP_A, STOP_C, STOP_D));
+
+    assertEquals(first.toString(), second.toString());
+    assertEquals(2, second.get(0).size());
+    assertSame(first.get(0).get(0), second.get(0).get(0));
+    assertSame(first.get(0).get(1), second.get(0).get(1));
+  }
+
   @Test
   void findTransferForTheSameRoute() {
     data.withRoutes(
@@ -629,6 +647,8 @@ public class TransferGeneratorTest implements RaptorTestConstants {
 
     data.clearConstrainedTransfers();
     data.withConstrainedTransfer(tripA, STOP_C, tripB, STOP_D, transfer);
+    // The generator keeps the transfers found, so a new one is needed after changing the data
+    subject = new TransferGenerator<>(tsAdaptor, data);
     result = subject.findAllPossibleTransfers(transitLegs);
 
     // The same stop transfer is no longer an option
@@ -0,0 +1,38 @@
+package org.opentripplanner.routing.framework;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.routing.api.request.request.JourneyRequest;
+
+class DebugTimingAggregatorTest {
+
+  @Test
+  void resourceUsageIsRecordedWhenTheResponseIsMapped() {
+    assumeTrue(RequestResourceUsage.isSupported());
+    var subject = new DebugTimingAggregator(
+      new SimpleMeterRegistry(),
+      List.of(),
+      new JourneyRequest()
+    );
+    var resourceUsage = subject.resourceUsage();
+
+    resourceUsage.measure(RoutingPhase.FILTERING, () -> new byte[1000]);
+    resourceUsage.measure(RoutingPhase.RESPONSE_MAPPING, () -> new byte[1000]);
+    subject.finishedResponseMapping();
+    var expected = resourceUsage.toDebugOutput();
+
+    // Rendering the response is not part of the routing phases
+    resourceUsage.measure(RoutingPhase.RESPONSE_MAPPING, () -> new byte[1000]);
+
+    var result = subject.getDebugOutput().resourceUsage;
+    assertEquals(List.of("FILTERING", "RESPONSE_MAPPING"), List.copyOf(result.keySet()));
+    assertEquals(
+      expected.get("RESPONSE_MAPPING").allocatedBytes,
+      result.get("RESPONSE_MAPPING").allocatedBytes
+    );
+  }
+}
@@ -0,0 +1,110 @@
+package org.opentripplanner.routing.framework;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.framework.concurrent.ExecutorUtils;
+import org.opentripplanner.routing.api.request.StreetMode;
+import org.opentripplanner.routing.api.request.request.JourneyRequest;
+
+class RequestResourceUsageTest {
+
+  private static final int ALLOCATED_BYTES = 1_000_000;
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private RequestResourceUsage subject;
+
+  @BeforeEach
+  void setup() {
+    assumeTrue(RequestResourceUsage.isSupported());
+    var journey = new JourneyRequest();
+    journey.access().setMode(StreetMode.BIKE);
+    journey.egress().setMode(StreetMode.WALK);
+    journey.direct().setMode(StreetMode.BIKE);
+    subject = new RequestResourceUsage(registry, List.of(), journey);
+  }
+
+  @Test
+  void subtractNestedPhases() {
+    subject.measure(
+      RoutingPhase.FILTERING,
+      () -> {
+        allocate();
+        subject.measure(RoutingPhase.FARES, RequestResourceUsageTest::allocate);
+        subject.measure(RoutingPhase.FARES, RequestResourceUsageTest::allocate);
+      }
+    );
+
+    var usage = subject.toDebugOutput();
+    assertEquals(List.of("FILTERING", "FARES"), List.copyOf(usage.keySet()));
+    assertBetween(ALLOCATED_BYTES, usage.get("FILTERING").allocatedBytes);
+    assertBetween(2 * ALLOCATED_BYTES, usage.get("FARES").allocatedBytes);
+  }
+
+  @Test
+  void addUpPhasesExecutedInParallel() {
+    Runnable access = () ->
+      subject.measure(RoutingPhase.ACCESS, RequestResourceUsageTest::allocate);
+    CompletableFuture
+      .allOf(CompletableFuture.runAsync(access), CompletableFuture.runAsync(access))
+      .join();
+
+    assertBetween(2 * ALLOCATED_BYTES, subject.toDebugOutput().get("ACCESS").allocatedBytes);
+  }
+
+  @Test
+  void publishTaggedWithModes() {
+    subject.measure(RoutingPhase.DIRECT_STREET, RequestResourceUsageTest::allocate);
+    subject.publish();
+
+    var allocated = registry
+      .get("routing.allocated")
+      .tag("phase", "DIRECT_STREET")
+      .tag("accessMode", "BIKE")
+      .tag("egressMode", "WALK")
+      .tag("directMode", "BIKE")
+      .summary();
+    assertEquals(1, allocated.count());
+    assertBetween(ALLOCATED_BYTES, (long) allocated.totalAmount());
+    assertEquals(1, registry.get("routing.cpu").tag("phase", "DIRECT_STREET").timer().count());
+    assertTrue(registry.find("routing.cpu").tag("phase", "RAPTOR").timers().isEmpty());
+  }
+
+  @Test
+  void phasesExecutedInVirtualThreadsAreNotMeasured() throws Exception {
+    var executor = ExecutorUtils.newVirtualThreadPerTaskExecutor("test");
+    assumeTrue(executor != null, "Virtual threads require Java 21");
+    try {
+      executor
+        .submit(() -> subject.measure(RoutingPhase.ACCESS, RequestResourceUsageTest::allocate))
+        .get();
+    } finally {
+      executor.shutdown();
+    }
+    subject.publish();
+
+    assertEquals(-1, subject.toDebugOutput().get("ACCESS").allocatedBytes);
+    assertTrue(registry.find("routing.allocated").summaries().isEmpty());
+  }
+
+  private static List<byte[]> allocate() {
+    var result = new ArrayList<byte[]>();
+    result.add(new byte[ALLOCATED_BYTES]);
+    return result;
+  }
+
+  /** Allow a few kilobytes allocated by the measurement itself. */
+  private static void assertBetween(long expected, long actual) {
+    assertTrue(
+      actual >= expected && actual < expected + 50_000,
+      "Expected about " + expected + " but was " + actual
+    );
+  }
+}
@@ -9,11 +9,15 @@ import org.locationtech.jts.geom.Coordinate;
 import org.opentripplanner.TestOtpModel;
 import org.opentripplanner.routing.algorithm.GraphRoutingTest;
 import org.opentripplanner.street.model.vertex.TransitStopVertex;
+import org.opentripplanner.transit.model.framework.FeedScopedId;
+import org.opentripplanner.transit.service.DefaultTransitService;
 import org.opentripplanner.transit.service.StopModel;
+import org.opentripplanner.transit.service.TransitService;
 
 class DirectGraphFinderTest extends GraphRoutingTest {
 
   private StopModel stopModel;
+  private TransitService transitService;
 
   private TransitStopVertex S1, S2, S3;
 
@@ -30,6 +34,7 @@ class DirectGraphFinderTest extends GraphRoutingTest {
       }
     );
     stopModel = model.transitModel().getStopModel();
+    transitService = new DefaultTransitService(model.transitModel());
   }
 
   @Test
@@ -43,4 +48,39 @@ class DirectGraphFinderTest extends GraphRoutingTest {
 
     assertEquals(List.of(ns1, ns2), subject.findClosestStops(coordinate, 2000));
   }
+
+  @Test
+  void findClosestPlaces() {
+    var subject = new DirectGraphFinder(stopModel::findRegularStops);
+
+    assertEquals(
+      List.of(new PlaceAtDistance(S3.getStop(), 0), new PlaceAtDistance(S2.getStop(), 1112)),
+      findClosestPlaces(subject, 2, null, null)
+    );
+    assertEquals(
+      List.of(new PlaceAtDistance(S1.getStop(), 2224)),
+      findClosestPlaces(subject, 2, null, List.of(S1.getStop().getId()))
+    );
+    assertEquals(List.of(), findClosestPlaces(subject, 2, List.of(PlaceType.BIKE_PARK), null));
+  }
+
+  private List<PlaceAtDistance> findClosestPlaces(
+    DirectGraphFinder subject,
+    int maxResults,
+    List<PlaceType> filterByPlaceTypes,
+    List<FeedScopedId> filterByStops
+  ) {
+    return subject.findClosestPlaces(
+      47.520,
+      19.000,
+      3000,
+      maxResults,
+      null,
+      filterByPlaceTypes,
+      filterByStops,
+      null,
+      null,
+      transitService
+    );
+  }
 }
@@ -0,0 +1,129 @@
+package org.opentripplanner.routing.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.opentripplanner.transit.model._data.TransitModelForTest.id;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.routing.alertpatch.EntitySelector;
+import org.opentripplanner.routing.alertpatch.TimePeriod;
+import org.opentripplanner.routing.alertpatch.TransitAlert;
+import org.opentripplanner.transit.model.framework.FeedScopedId;
+import org.opentripplanner.transit.service.TransitModel;
+
+class TransitAlertServiceImplTest {
+
+  private static final FeedScopedId ROUTE_1 = id("R1");
+  private static final FeedScopedId ROUTE_2 = id("R2");
+
+  private final TransitAlertServiceImpl subject = new TransitAlertServiceImpl(new TransitModel());
+
+  @Test
+  void setAlerts() {
+    var a1 = alert("A1", ROUTE_1, new TimePeriod(0, 0));
+    var a2 = alert("A2", ROUTE_2, new TimePeriod(0, 0));
+
+    subject.setAlerts(List.of(a1, a2));
+
+    assertEquals(Set.of(a1, a2), Set.copyOf(subject.getAllAlerts()));
+    assertEquals(Set.of(a1), Set.copyOf(subject.getRouteAlerts(ROUTE_1)));
+    assertSame(a2, subject.getAlertById(id("A2")));
+
+    subject.setAlerts(List.of(a2));
+
+    assertEquals(Set.of(a2), Set.copyOf(subject.getAllAlerts()));
+    assertTrue(subject.getRouteAlerts(ROUTE_1).isEmpty());
+    assertNull(subject.getAlertById(id("A1")));
+  }
+
+  @Test
+  void updateAlerts() {
+    var a1 = alert("A1", ROUTE_1, new TimePeriod(0, 0));
+    var a2 = alert("A2", ROUTE_1, new TimePeriod(0, 0));
+    var a3 = alert("A3", ROUTE_2, new TimePeriod(0, 0));
+    subject.setAlerts(List.of(a1, a2, a3));
+
+    // Move A1 to another route and remove A3
+    var a1Replaced = alert("A1", ROUTE_2, new TimePeriod(0, 0));
+    subject.updateAlerts(List.of(a1Replaced), List.of(id("A3")));
+
+    assertEquals(Set.of(a1Replaced, a2), Set.copyOf(subject.getAllAlerts()));
+    assertEquals(Set.of(a2), Set.copyOf(subject.getRouteAlerts(ROUTE_1)));
+    assertEquals(Set.of(a1Replaced), Set.copyOf(subject.getRouteAlerts(ROUTE_2)));
+    assertSame(a1Replaced, subject.getAlertById(id("A1")));
+    assertNull(subject.getAlertById(id("A3")));
+  }
+
+  @Test
+  void updateAlertsAddsRemovedAlertAgain() {
+    var a1 = alert("A1", ROUTE_1, new TimePeriod(0, 0));
+    subject.updateAlerts(List.of(a1), List.of(id("A1")));
+
+    assertEquals(Set.of(a1), Set.copyOf(subject.getRouteAlerts(ROUTE_1)));
+  }
+
+  @Test
+  void getRouteAlertsInTimeWindow() {
+    var closed = alert("closed", ROUTE_1, new TimePeriod(100, 200));
+    var openEnded = alert("open", ROUTE_1, new TimePeriod(300, 0));
+    var twoPeriods = alert("two", ROUTE_1, new TimePeriod(50, 60), new TimePeriod(500, 600));
+    subject.setAlerts(List.of(closed, openEnded, twoPeriods));
+
+    assertEquals(Set.of(), Set.copyOf(subject.getRouteAlerts(ROUTE_1, 0, 49)));
+    assertEquals(Set.of(twoPeriods), Set.copyOf(subject.getRouteAlerts(ROUTE_1, 0, 50)));
+    assertEquals(Set.of(closed), Set.copyOf(subject.getRouteAlerts(ROUTE_1, 150, 160)));
+    // The end time of a period is exclusive, the start time is inclusive
+    assertEquals(Set.of(), Set.copyOf(subject.getRouteAlerts(ROUTE_1, 200, 299)));
+    assertEquals(Set.of(openEnded), Set.copyOf(subject.getRouteAlerts(ROUTE_1, 200, 300)));
+    assertEquals(
+      Set.of(openEnded, twoPeriods),
+      Set.copyOf(subject.getRouteAlerts(ROUTE_1, 550, 10_000))
+    );
+    assertEquals(Set.of(openEnded), Set.copyOf(subject.getRouteAlerts(ROUTE_1, 600, 10_000)));
+    assertEquals(
+      Set.of(closed, openEnded, twoPeriods),
+      Set.copyOf(subject.getRouteAlerts(ROUTE_1, 0, 10_000))
+    );
+  }
+
+  @Test
+  void timeWindowLookupMatchesDisplayDuring() {
+    var alerts = List.of(
+      alert("A", ROUTE_1, new TimePeriod(10, 20), new TimePeriod(40, 0)),
+      alert("B", ROUTE_1, new TimePeriod(0, 100)),
+      alert("C", ROUTE_1, new TimePeriod(15, 16)),
+      alert("D", ROUTE_1, new TimePeriod(30, 35), new TimePeriod(60, 70)),
+      alert("E", ROUTE_1, new TimePeriod(20, 20))
+    );
+    subject.setAlerts(alerts);
+
+    for (long start = 0; start < 110; start += 5) {
+      for (long end = start; end < 120; end += 5) {
+        final long s = start;
+        final long e = end;
+        var expected = alerts
+          .stream()
+          .filter(it -> it.displayDuring(s, e))
+          .collect(Collectors.toSet());
+        assertEquals(
+          expected,
+          Set.copyOf(subject.getRouteAlerts(ROUTE_1, s, e)),
+          "Window " + s + " - " + e
+        );
+      }
+    }
+  }
+
+  private static TransitAlert alert(String id, FeedScopedId routeId, TimePeriod... periods) {
+    return TransitAlert
+      .of(id(id))
+      .addEntity(new EntitySelector.Route(routeId))
+      .addTimePeriods(List.of(periods))
+      .build();
+  }
+}
@@ -0,0 +1,9 @@
+package org.opentripplanner.standalone.replay;
+
+import org.opentripplanner.routing.api.request.RouteRequest;
+
+/**
+ * A request to replay. The results are reported for each request class, which is set in the
+ * recorded request or derived from the street and transit modes.
+ */
+record RecordedRequest(String requestClass, RouteRequest request) {}
@@ -0,0 +1,139 @@
+package org.opentripplanner.standalone.replay;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import org.opentripplanner.api.common.LocationStringParser;
+import org.opentripplanner.api.parameter.QualifiedModeSet;
+import org.opentripplanner.framework.application.OtpAppException;
+import org.opentripplanner.routing.api.request.RouteRequest;
+import org.opentripplanner.standalone.config.framework.json.NodeAdapter;
+import org.opentripplanner.standalone.config.routerequest.RouteRequestConfig;
+
+/**
+ * Parse the recorded requests, one request per line. A line is either a JSON object or the query
+ * string of a REST plan request. Empty lines and lines starting with {@code #} are skipped.
+ * <p>
+ * The JSON object contains the route request parameters, with the same names and format as the
+ * {@code routingDefaults} in the router-config, plus:
+ * <ul>
+ *   <li>{@code from} and {@code to} - {@code lat,lon} or a stop id, required.</li>
+ *   <li>{@code dateTime} - ISO-8601 date-time with offset, or {@code date} and {@code time} local
+ *   to the transit time zone. The current time is used if not set.</li>
+ *   <li>{@code class} - the name used to group the request in the report, optional.</li>
+ * </ul>
+ * The parameters not set in the recorded request are taken from the router-config
+ * {@code routingDefaults}. A query string is mapped to the same JSON object: {@code fromPlace},
+ * {@code toPlace} and {@code mode} are renamed to {@code from}, {@code to} and {@code modes}, and
+ * the other parameters are passed on with their names. Transit is disabled if {@code modes} has no
+ * transit mode.
+ */
+class RecordedRequestParser {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static final Map<String, String> QUERY_PARAMETER_NAMES = Map.of(
+    "fromPlace",
+    "from",
+    "toPlace",
+    "to",
+    "mode",
+    "modes"
+  );
+
+  private final JsonNode routingDefaults;
+  private final ZoneId timeZone;
+
+  /**
+   * @param routingDefaults the {@code routingDefaults} JSON node of the router-config, may be
+   *                        missing.
+   */
+  RecordedRequestParser(JsonNode routingDefaults, ZoneId timeZone) {
+    this.routingDefaults = routingDefaults;
+    this.timeZone = timeZone;
+  }
+
+  static boolean isRequest(String line) {
+    return !line.isBlank() && !line.startsWith("#");
+  }
+
+  RecordedRequest parse(String line) {
+    String source = "recorded request: " + line;
+    var node = new NodeAdapter(merge(routingDefaults.deepCopy(), toJson(line.trim())), source);
+    var request = RouteRequestConfig.mapRouteRequest(node);
+
+    request.setFrom(LocationStringParser.fromOldStyleString(node.of("from").asString()));
+    request.setTo(LocationStringParser.fromOldStyleString(node.of("to").asString()));
+    // The router-config has no parameter for disabling transit, the REST API does it if no transit
+    // mode is requested
+    String modes = node.of("modes").asString(null);
+    if (modes != null && new QualifiedModeSet(modes).getTransitModes().isEmpty()) {
+      request.journey().transit().disable();
+    }
+    String dateTime = node.of("dateTime").asString(null);
+    if (dateTime != null) {
+      request.setDateTime(OffsetDateTime.parse(dateTime).toInstant());
+    } else {
+      request.setDateTime(node.of("date").asString(null), node.of("time").asString(null), timeZone);
+    }
+    return new RecordedRequest(node.of("class").asString(requestClass(request)), request);
+  }
+
+  /** The street modes, and TRANSIT if transit is enabled, like "WALK-WALK-WALK-TRANSIT". */
+  private static String requestClass(RouteRequest request) {
+    var journey = request.journey();
+    return (
+      journey.access().mode() +
+      "-" +
+      journey.egress().mode() +
+      "-" +
+      journey.direct().mode() +
+      (journey.transit().enabled() ? "-TRANSIT" : "")
+    );
+  }
+
+  private static JsonNode toJson(String line) {
+    if (line.startsWith("{")) {
+      try {
+        return MAPPER.readTree(line);
+      } catch (JsonProcessingException e) {
+        throw new OtpAppException("Invalid recorded request: " + line + ", " + e.getMessage());
+      }
+    }
+    var json = MAPPER.createObjectNode();
+    String query = line.substring(line.indexOf('?') + 1);
+    for (String parameter : query.split("&")) {
+      if (parameter.isEmpty()) {
+        continue;
+      }
+      String[] nameAndValue = parameter.split("=", 2);
+      String name = decode(nameAndValue[0]);
+      String value = nameAndValue.length == 2 ? decode(nameAndValue[1]) : "";
+      json.put(QUERY_PARAMETER_NAMES.getOrDefault(name, name), value);
+    }
+    return json;
+  }
+
+  /** Merge the recorded parameters into the defaults, nested objects are merged too. */
+  private static JsonNode merge(JsonNode defaults, JsonNode recorded) {
+    if (!(defaults instanceof ObjectNode target) || !recorded.isObject()) {
+      return recorded;
+    }
+    var it = recorded.fields();
+    while (it.hasNext()) {
+      var field = it.next();
+      var value = target.get(field.getKey());
+      target.set(field.getKey(), value == null ? field.getValue() : merge(value, field.getValue()));
+    }
+    return target;
+  }
+
+  private static String decode(String text) {
+    return URLDecoder.decode(text, StandardCharsets.UTF_8);
+  }
+}
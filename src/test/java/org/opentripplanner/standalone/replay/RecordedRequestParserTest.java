@@ -0,0 +1,74 @@
+package org.opentripplanner.standalone.replay;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.node.MissingNode;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.routing.api.request.StreetMode;
+import org.opentripplanner.standalone.config.framework.json.JsonSupport;
+
+class RecordedRequestParserTest {
+
+  private static final ZoneId TIME_ZONE = ZoneId.of("Europe/Oslo");
+
+  private final RecordedRequestParser subject = new RecordedRequestParser(
+    JsonSupport.jsonNodeForTest("{ searchWindow: '40m', numItineraries: 7 }"),
+    TIME_ZONE
+  );
+
+  @Test
+  void isRequest() {
+    assertTrue(RecordedRequestParser.isRequest("{}"));
+    assertFalse(RecordedRequestParser.isRequest(" "));
+    assertFalse(RecordedRequestParser.isRequest("# comment"));
+  }
+
+  @Test
+  void parseJson() {
+    var recorded = subject.parse(
+      """
+      { "from": "59.9,10.7", "to": "60.1,10.9", "dateTime": "2023-02-01T08:00:00+01:00",
+        "numItineraries": 3, "class": "commute" }
+      """.replace('\n', ' ')
+    );
+
+    var request = recorded.request();
+    assertEquals("commute", recorded.requestClass());
+    assertEquals(59.9, request.from().lat);
+    assertEquals(10.9, request.to().lng);
+    assertEquals(Instant.parse("2023-02-01T07:00:00Z"), request.dateTime());
+    assertEquals(3, request.numItineraries());
+    // Not in the recorded request, taken from the defaults
+    assertEquals(Duration.ofMinutes(40), request.searchWindow());
+  }
+
+  @Test
+  void parseQueryString() {
+    var recorded = subject.parse(
+      "/otp/routers/default/plan?fromPlace=59.9%2C10.7&toPlace=60.1%2C10.9" +
+      "&date=2023-02-01&time=08:00&mode=BICYCLE"
+    );
+
+    var request = recorded.request();
+    assertEquals(10.7, request.from().lng);
+    assertEquals(60.1, request.to().lat);
+    assertEquals(Instant.parse("2023-02-01T07:00:00Z"), request.dateTime());
+    assertEquals(StreetMode.BIKE, request.journey().direct().mode());
+    assertEquals("BIKE-BIKE-BIKE", recorded.requestClass());
+    assertEquals(7, request.numItineraries());
+  }
+
+  @Test
+  void parseWithoutDefaults() {
+    var parser = new RecordedRequestParser(MissingNode.getInstance(), TIME_ZONE);
+
+    var recorded = parser.parse("{ \"from\": \"59.9,10.7\", \"to\": \"60.1,10.9\" }");
+
+    assertEquals("WALK-WALK-WALK-TRANSIT", recorded.requestClass());
+  }
+}
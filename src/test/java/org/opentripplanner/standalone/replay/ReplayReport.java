@@ -0,0 +1,220 @@
+package org.opentripplanner.standalone.replay;
+
+import static java.util.Locale.ROOT;
+import static org.opentripplanner.test.support.Percentiles.percentile;
+
+import com.csvreader.CsvReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeMap;
+import javax.annotation.Nullable;
+
+/**
+ * Summarize the replayed requests for each request class, and for all requests. The summary can
+ * be saved to a CSV file, and compared with the summary of a baseline run.
+ */
+class ReplayReport {
+
+  static final String ALL = "ALL";
+
+  private static final char CSV_DELIMITER = ',';
+  private static final String[] HEADERS = {
+    "class",
+    "requests",
+    "errors",
+    "throughput",
+    "p50",
+    "p95",
+    "p99",
+    "cpu",
+    "allocated",
+  };
+
+  private final List<Summary> summaries;
+
+  ReplayReport(List<Sample> samples, Duration elapsed) {
+    var byClass = new TreeMap<String, List<Sample>>();
+    for (Sample it : samples) {
+      byClass.computeIfAbsent(it.requestClass(), c -> new ArrayList<>()).add(it);
+    }
+    this.summaries = new ArrayList<>();
+    byClass.forEach((requestClass, list) -> summaries.add(summarize(requestClass, list, elapsed)));
+    summaries.add(summarize(ALL, samples, elapsed));
+  }
+
+  private ReplayReport(List<Summary> summaries) {
+    this.summaries = summaries;
+  }
+
+  List<Summary> summaries() {
+    return summaries;
+  }
+
+  /**
+   * Print the summaries, and the change in percent compared with the baseline for the request
+   * classes found in both.
+   */
+  void print(PrintStream out, @Nullable ReplayReport baseline) {
+    out.printf(
+      ROOT,
+      "%-30s %8s %6s %9s %9s %9s %9s %9s %11s%n",
+      "Class",
+      "Requests",
+      "Errors",
+      "Req/s",
+      "p50 ms",
+      "p95 ms",
+      "p99 ms",
+      "CPU ms",
+      "Alloc MB"
+    );
+    for (Summary it : summaries) {
+      out.printf(
+        ROOT,
+        "%-30s %8d %6d %9.1f %9.1f %9.1f %9.1f %9.1f %11.2f%n",
+        it.requestClass(),
+        it.requests(),
+        it.errors(),
+        it.throughput(),
+        it.p50(),
+        it.p95(),
+        it.p99(),
+        it.cpu(),
+        it.allocated()
+      );
+      var base = baseline == null ? null : baseline.find(it.requestClass());
+      if (base != null) {
+        out.printf(
+          ROOT,
+          "%-30s %8s %6s %9s %9s %9s %9s %9s %11s%n",
+          "  vs baseline",
+          "",
+          "",
+          change(it.throughput(), base.throughput()),
+          change(it.p50(), base.p50()),
+          change(it.p95(), base.p95()),
+          change(it.p99(), base.p99()),
+          change(it.cpu(), base.cpu()),
+          change(it.allocated(), base.allocated())
+        );
+      }
+    }
+  }
+
+  void writeCsv(File file) throws IOException {
+    try (var out = new PrintWriter(file, StandardCharsets.UTF_8)) {
+      out.println(String.join(Character.toString(CSV_DELIMITER), HEADERS));
+      for (Summary it : summaries) {
+        out.printf(
+          ROOT,
+          "%s,%d,%d,%.3f,%.3f,%.3f,%.3f,%.3f,%.3f%n",
+          it.requestClass().replace(CSV_DELIMITER, '_'),
+          it.requests(),
+          it.errors(),
+          it.throughput(),
+          it.p50(),
+          it.p95(),
+          it.p99(),
+          it.cpu(),
+          it.allocated()
+        );
+      }
+    }
+  }
+
+  static ReplayReport readCsv(File file) throws IOException {
+    var summaries = new ArrayList<Summary>();
+    var reader = new CsvReader(file.getAbsolutePath(), CSV_DELIMITER, StandardCharsets.UTF_8);
+    try {
+      reader.readHeaders();
+      while (reader.readRecord()) {
+        summaries.add(
+          new Summary(
+            reader.get("class"),
+            Integer.parseInt(reader.get("requests")),
+            Integer.parseInt(reader.get("errors")),
+            Double.parseDouble(reader.get("throughput")),
+            Double.parseDouble(reader.get("p50")),
+            Double.parseDouble(reader.get("p95")),
+            Double.parseDouble(reader.get("p99")),
+            Double.parseDouble(reader.get("cpu")),
+            Double.parseDouble(reader.get("allocated"))
+          )
+        );
+      }
+    } finally {
+      reader.close();
+    }
+    return new ReplayReport(summaries);
+  }
+
+  @Nullable
+  Summary find(String requestClass) {
+    return summaries
+      .stream()
+      .filter(it -> it.requestClass().equals(requestClass))
+      .findFirst()
+      .orElse(null);
+  }
+
+  private static Summary summarize(
+    String requestClass,
+    Collection<Sample> samples,
+    Duration elapsed
+  ) {
+    long[] latencies = samples.stream().mapToLong(Sample::latencyNanos).sorted().toArray();
+    var measured = samples.stream().filter(it -> it.cpuNanos() >= 0).toList();
+    return new Summary(
+      requestClass,
+      samples.size(),
+      (int) samples.stream().filter(Sample::failed).count(),
+      samples.size() / (elapsed.toNanos() / 1e9),
+      percentile(latencies, 0.50) / 1e6,
+      percentile(latencies, 0.95) / 1e6,
+      percentile(latencies, 0.99) / 1e6,
+      measured.stream().mapToLong(Sample::cpuNanos).average().orElse(Double.NaN) / 1e6,
+      measured.stream().mapToLong(Sample::allocatedBytes).average().orElse(Double.NaN) / 1e6
+    );
+  }
+
+  private static String change(double value, double baseline) {
+    if (Double.isNaN(value) || Double.isNaN(baseline) || baseline == 0) {
+      return "-";
+    }
+    return String.format(ROOT, "%+.1f%%", 100.0 * (value - baseline) / baseline);
+  }
+
+  /**
+   * One replayed request. The CPU time and allocated bytes are -1 if not measured.
+   */
+  record Sample(
+    String requestClass,
+    long latencyNanos,
+    long cpuNanos,
+    long allocatedBytes,
+    boolean failed
+  ) {}
+
+  /**
+   * The latencies and CPU times are in milliseconds, the allocations in megabytes per request and
+   * the throughput in requests per second.
+   */
+  record Summary(
+    String requestClass,
+    int requests,
+    int errors,
+    double throughput,
+    double p50,
+    double p95,
+    double p99,
+    double cpu,
+    double allocated
+  ) {}
+}
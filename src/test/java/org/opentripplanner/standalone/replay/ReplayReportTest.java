@@ -0,0 +1,84 @@
+package org.opentripplanner.standalone.replay;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.opentripplanner.standalone.replay.ReplayReport.Sample;
+
+class ReplayReportTest {
+
+  private static final long MS = 1_000_000;
+
+  @TempDir
+  File tempDir;
+
+  private final ReplayReport subject = new ReplayReport(samples(), Duration.ofSeconds(2));
+
+  @Test
+  void summarizeEachClassAndAll() {
+    var summaries = subject.summaries();
+    assertEquals(
+      List.of("A", "B", ReplayReport.ALL),
+      summaries.stream().map(ReplayReport.Summary::requestClass).toList()
+    );
+
+    var a = subject.find("A");
+    assertEquals(100, a.requests());
+    assertEquals(1, a.errors());
+    assertEquals(50.0, a.throughput());
+    assertEquals(50.0, a.p50());
+    assertEquals(95.0, a.p95());
+    assertEquals(99.0, a.p99());
+    assertEquals(2.0, a.cpu());
+    assertEquals(3.0, a.allocated());
+
+    var b = subject.find("B");
+    assertEquals(1, b.requests());
+    assertEquals(1000.0, b.p99());
+    assertTrue(Double.isNaN(b.cpu()));
+
+    assertEquals(101, subject.find(ReplayReport.ALL).requests());
+  }
+
+  @Test
+  void compareWithBaselineReadFromCsv() throws Exception {
+    var file = new File(tempDir, "baseline.csv");
+    new ReplayReport(List.of(sample("A", 80, false)), Duration.ofSeconds(1)).writeCsv(file);
+
+    var baseline = ReplayReport.readCsv(file);
+    assertEquals(80.0, baseline.find("A").p50());
+
+    var out = new ByteArrayOutputStream();
+    subject.print(new PrintStream(out, true, StandardCharsets.UTF_8), baseline);
+    var lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+    // Header, A, A vs baseline, B (not in baseline), ALL and ALL vs baseline
+    assertEquals(6, lines.size(), lines.toString());
+    assertTrue(lines.get(3).startsWith("B "), lines.get(3));
+    assertTrue(lines.get(2).startsWith("  vs baseline"), lines.get(2));
+    // The p50 went from 80 to 50 ms
+    assertTrue(lines.get(2).contains("-37.5%"), lines.get(2));
+  }
+
+  /** 100 requests of class A taking 1 to 100 ms, and one of class B without CPU measurements. */
+  private static List<Sample> samples() {
+    var samples = new ArrayList<Sample>();
+    for (int i = 1; i <= 100; ++i) {
+      samples.add(sample("A", i, i == 1));
+    }
+    samples.add(new Sample("B", 1000 * MS, -1, -1, false));
+    return samples;
+  }
+
+  private static Sample sample(String requestClass, long latencyMs, boolean failed) {
+    return new Sample(requestClass, latencyMs * MS, 2 * MS, 3_000_000, failed);
+  }
+}
@@ -0,0 +1,282 @@
+package org.opentripplanner.standalone.replay;
+
+import static org.opentripplanner.standalone.configure.ConstructApplication.creatTransitLayerForRaptor;
+
+import com.beust.jcommander.JCommander;
+import com.beust.jcommander.Parameter;
+import com.beust.jcommander.ParameterException;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.File;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.opentripplanner.TestServerContext;
+import org.opentripplanner.datastore.OtpDataStore;
+import org.opentripplanner.framework.application.OtpAppException;
+import org.opentripplanner.framework.concurrent.ConcurrencyLimiter;
+import org.opentripplanner.inspector.raster.TileRendererManager;
+import org.opentripplanner.raptor.configure.RaptorConfig;
+import org.opentripplanner.routing.algorithm.raptoradapter.router.performance.SearchStatisticsForRaptor;
+import org.opentripplanner.routing.algorithm.raptoradapter.transit.TripSchedule;
+import org.opentripplanner.routing.api.response.RoutingResponse;
+import org.opentripplanner.routing.graph.SerializedGraphObject;
+import org.opentripplanner.standalone.OtpStartupInfo;
+import org.opentripplanner.standalone.api.OtpServerRequestContext;
+import org.opentripplanner.standalone.config.ConfigModel;
+import org.opentripplanner.standalone.config.OtpConfigLoader;
+import org.opentripplanner.standalone.config.RouterConfig;
+import org.opentripplanner.standalone.replay.ReplayReport.Sample;
+import org.opentripplanner.standalone.server.DefaultServerRequestContext;
+import org.opentripplanner.transit.service.DefaultTransitService;
+
+/**
+ * Replay a file of recorded route requests against an in-process server, to load test a graph
+ * and a router-config without the HTTP server. The requests are sent by a number of concurrent
+ * clients, and the throughput, the latency percentiles, and the CPU time and memory allocated per
+ * request are reported for each request class. See {@link RecordedRequestParser} for the format
+ * of the requests.
+ * <p>
+ * The result can be saved to a CSV file, and compared with the result of a baseline run.
+ * <p>
+ * mvn exec:java -D"exec.mainClass"="org.opentripplanner.standalone.replay.RequestReplay" -D"exec.classpathScope"=test -D"exec.args"="--dir <otp-base-dir> --requests requests.txt --concurrency 8 --result result.csv --baseline baseline.csv"
+ */
+public class RequestReplay {
+
+  @Parameter(
+    names = { "-d", "--dir" },
+    description = "The OTP base directory, with the graph and the config files.",
+    required = true
+  )
+  private File baseDir;
+
+  @Parameter(names = { "-g", "--graph" }, description = "The graph file, if not in the base dir.")
+  private File graphFile;
+
+  @Parameter(
+    names = { "-r", "--requests" },
+    description = "The recorded requests, one per line.",
+    required = true
+  )
+  private File requestsFile;
+
+  @Parameter(names = { "-c", "--concurrency" }, description = "The number of concurrent clients.")
+  private int concurrency = Runtime.getRuntime().availableProcessors();
+
+  @Parameter(names = { "-n", "--repeat" }, description = "The number of times to replay the file.")
+  private int repeat = 1;
+
+  @Parameter(
+    names = { "-w", "--warmUp" },
+    description = "The number of times to replay the file before measuring."
+  )
+  private int warmUp = 1;
+
+  @Parameter(names = { "-o", "--result" }, description = "Save the result to this CSV file.")
+  private File resultFile;
+
+  @Parameter(names = { "-b", "--baseline" }, description = "Compare with this CSV result file.")
+  private File baselineFile;
+
+  @Parameter(names = { "-h", "--help" }, description = "Print this help message.", help = true)
+  private boolean help;
+
+  private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+  public static void main(String[] args) {
+    var replay = new RequestReplay();
+    var jc = JCommander.newBuilder().addObject(replay).build();
+    jc.setProgramName(RequestReplay.class.getSimpleName());
+    try {
+      jc.parse(args);
+    } catch (ParameterException e) {
+      System.err.println(e.getMessage());
+      jc.usage();
+      System.exit(1);
+    }
+    if (replay.help) {
+      jc.usage();
+      System.exit(0);
+    }
+    try {
+      OtpStartupInfo.logInfo();
+      replay.run();
+    } catch (OtpAppException e) {
+      System.err.println(e.getMessage());
+      System.exit(1);
+    } catch (Exception e) {
+      e.printStackTrace(System.err);
+      System.exit(1);
+    }
+  }
+
+  private void run() throws Exception {
+    var configLoader = new OtpConfigLoader(baseDir);
+    ConfigModel.initializeOtpFeatures(configLoader.loadOtpConfig());
+    var routerConfig = configLoader.loadRouterConfig();
+    var model = loadGraph(routerConfig);
+    var raptorConfig = new RaptorConfig<TripSchedule>(routerConfig.transitTuningConfig());
+    try {
+      replay(routerConfig, model, serverContextFactory(routerConfig, model, raptorConfig));
+    } finally {
+      raptorConfig.shutdown();
+    }
+  }
+
+  private void replay(
+    RouterConfig routerConfig,
+    SerializedGraphObject model,
+    Supplier<OtpServerRequestContext> serverContext
+  ) throws Exception {
+
+    var routingDefaults = routerConfig.asNodeAdapter().rawNode().get("routingDefaults");
+    var parser = new RecordedRequestParser(
+      routingDefaults == null ? MissingNode.getInstance() : routingDefaults,
+      model.transitModel.getTimeZone()
+    );
+    var requests = Files
+      .readAllLines(requestsFile.toPath())
+      .stream()
+      .filter(RecordedRequestParser::isRequest)
+      .map(parser::parse)
+      .toList();
+
+    System.err.println("Warm up: " + warmUp + " x " + requests.size() + " requests");
+    replay(serverContext, requests, warmUp);
+
+    System.err.printf(
+      "Replay: %d x %d requests, %d clients%n",
+      repeat,
+      requests.size(),
+      concurrency
+    );
+    long start = System.nanoTime();
+    var samples = replay(serverContext, requests, repeat);
+    var report = new ReplayReport(samples, Duration.ofNanos(System.nanoTime() - start));
+
+    var baseline = baselineFile == null ? null : ReplayReport.readCsv(baselineFile);
+    report.print(System.out, baseline);
+    if (resultFile != null) {
+      report.writeCsv(resultFile);
+    }
+  }
+
+  /**
+   * Route the requests {@code times} times with the configured number of concurrent clients. Each
+   * client routes the next request as soon as the previous one is done.
+   */
+  private List<Sample> replay(
+    Supplier<OtpServerRequestContext> serverContext,
+    List<RecordedRequest> requests,
+    int times
+  ) throws Exception {
+    int total = requests.size() * times;
+    var samples = new Sample[total];
+    var next = new AtomicInteger();
+    ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+    try {
+      List<Future<?>> results = new ArrayList<>();
+      for (int i = 0; i < concurrency; ++i) {
+        results.add(
+          clients.submit(() -> {
+            int index;
+            while ((index = next.getAndIncrement()) < total) {
+              samples[index] = route(serverContext.get(), requests.get(index % requests.size()));
+            }
+          })
+        );
+      }
+      for (Future<?> it : results) {
+        it.get();
+      }
+    } finally {
+      clients.shutdown();
+    }
+    return Arrays.asList(samples);
+  }
+
+  private static Sample route(OtpServerRequestContext serverContext, RecordedRequest recorded) {
+    // The routing modifies the request, hence route a copy
+    var request = recorded.request().clone();
+    long start = System.nanoTime();
+    RoutingResponse response;
+    try {
+      response = serverContext.routingService().route(request);
+    } catch (RuntimeException e) {
+      return new Sample(recorded.requestClass(), System.nanoTime() - start, -1, -1, true);
+    }
+    long latency = System.nanoTime() - start;
+
+    // The usage recorded when the response was mapped, including all routing phases
+    var usage = response.getDebugTimingAggregator().getDebugOutput().resourceUsage;
+    // Not measured if not supported by the JVM, or if a phase ran in a virtual thread
+    if (usage == null || usage.values().stream().anyMatch(it -> it.cpuTime < 0)) {
+      return new Sample(recorded.requestClass(), latency, -1, -1, false);
+    }
+    long cpu = 0;
+    long allocated = 0;
+    for (var it : usage.values()) {
+      cpu += it.cpuTime;
+      allocated += it.allocatedBytes;
+    }
+    return new Sample(recorded.requestClass(), latency, cpu, allocated, false);
+  }
+
+  private SerializedGraphObject loadGraph(RouterConfig routerConfig) {
+    File file = graphFile == null ? OtpDataStore.graphFile(baseDir) : graphFile;
+    var model = SerializedGraphObject.load(file);
+    model.transitModel.index();
+    model.graph.index(model.transitModel.getStopModel());
+    creatTransitLayerForRaptor(model.transitModel, routerConfig.transitTuningConfig());
+    return model;
+  }
+
+  /**
+   * The server context is request scoped, like in the server. The Raptor config, with its thread
+   * pool, the tile renderers and the search statistics are shared.
+   */
+  private Supplier<OtpServerRequestContext> serverContextFactory(
+    RouterConfig routerConfig,
+    SerializedGraphObject model,
+    RaptorConfig<TripSchedule> raptorConfig
+  ) {
+    var graph = model.graph;
+    var transitService = new DefaultTransitService(model.transitModel);
+    var tileRendererManager = new TileRendererManager(
+      graph,
+      routerConfig.routingRequestDefaults().preferences()
+    );
+    var searchStatisticsForRaptor = new SearchStatisticsForRaptor(
+      meterRegistry,
+      routerConfig.transitTuningConfig().slowSearchLogThreshold()
+    );
+    return () ->
+      DefaultServerRequestContext.create(
+        routerConfig.transitTuningConfig(),
+        routerConfig.routingRequestDefaults(),
+        routerConfig.streetRoutingTimeout(),
+        raptorConfig,
+        graph,
+        transitService,
+        meterRegistry,
+        ConcurrencyLimiter.unlimited(),
+        routerConfig.vectorTileLayers(),
+        TestServerContext.createWorldEnvelopeService(),
+        TestServerContext.createVehiclePositionService(),
+        tileRendererManager,
+        searchStatisticsForRaptor,
+        routerConfig.flexConfig(),
+        routerConfig.travelTimeConfig(),
+        null,
+        null
+      );
+  }
+}
@@ -0,0 +1,112 @@
+package org.opentripplanner.standalone.server;
+
+import static org.opentripplanner.test.support.Percentiles.percentile;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measure the latency of a running OTP server under load. A number of concurrent clients send the
+ * same GET request in a loop, each waiting for the response before sending the next one. The
+ * throughput and the latency percentiles are reported when the time is up.
+ * <p>
+ * To compare request handling with and without virtual threads, run the benchmark against a server
+ * started with the {@code VirtualThreads} feature on, and against one started with it off.
+ * <p>
+ * Run with the URL of the request, and optionally the number of clients and the duration in
+ * seconds:
+ * <p>
+ * mvn exec:java -D"exec.mainClass"="org.opentripplanner.standalone.server.HttpLatencyBenchmark" -D"exec.classpathScope"=test -D"exec.args"="http://localhost:8080/otp/routers/default/plan?fromPlace=59.91,10.75&toPlace=59.93,10.71 500 60"
+ */
+public class HttpLatencyBenchmark {
+
+  private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+
+  public static void main(String[] args) throws Exception {
+    if (args.length < 1) {
+      System.err.println("Usage: HttpLatencyBenchmark <url> [clients] [seconds]");
+      System.exit(1);
+    }
+    var uri = URI.create(args[0]);
+    int clients = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+    int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 60;
+
+    var httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+    var request = HttpRequest.newBuilder(uri).timeout(REQUEST_TIMEOUT).GET().build();
+    long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+    var errors = new AtomicInteger();
+
+    ExecutorService pool = Executors.newFixedThreadPool(clients);
+    List<Future<long[]>> results = new ArrayList<>();
+    for (int i = 0; i < clients; ++i) {
+      results.add(
+        pool.submit(() -> {
+          var latencies = new LatencyList();
+          while (System.nanoTime() < end) {
+            long start = System.nanoTime();
+            try {
+              var response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+              if (response.statusCode() != 200) {
+                errors.incrementAndGet();
+              }
+            } catch (IOException e) {
+              errors.incrementAndGet();
+            }
+            latencies.add(System.nanoTime() - start);
+          }
+          return latencies.toArray();
+        })
+      );
+    }
+    LatencyList all = new LatencyList();
+    for (Future<long[]> it : results) {
+      for (long latency : it.get()) {
+        all.add(latency);
+      }
+    }
+    pool.shutdown();
+
+    long[] latencies = all.toArray();
+    Arrays.sort(latencies);
+    System.out.printf(
+      "%d clients  %d requests  %d errors  %.1f req/s  p50: %d ms  p95: %d ms  p99: %d ms%n",
+      clients,
+      latencies.length,
+      errors.get(),
+      latencies.length / (double) seconds,
+      percentile(latencies, 0.50) / 1_000_000,
+      percentile(latencies, 0.95) / 1_000_000,
+      percentile(latencies, 0.99) / 1_000_000
+    );
+  }
+
+  /** A growing list of latencies, without boxing. */
+  private static class LatencyList {
+
+    private long[] values = new long[1024];
+    private int size = 0;
+
+    void add(long value) {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, size * 2);
+      }
+      values[size++] = value;
+    }
+
+    long[] toArray() {
+      return Arrays.copyOf(values, size);
+    }
+  }
+}
@@ -0,0 +1,123 @@
+package org.opentripplanner.street.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.ConstantsForTests;
+import org.opentripplanner.TestOtpModel;
+import org.opentripplanner._support.time.ZoneIds;
+import org.opentripplanner.astar.model.GraphPath;
+import org.opentripplanner.model.GenericLocation;
+import org.opentripplanner.model.plan.Itinerary;
+import org.opentripplanner.model.plan.WalkStep;
+import org.opentripplanner.routing.algorithm.mapping.GraphPathToItineraryMapper;
+import org.opentripplanner.routing.api.request.RouteRequest;
+import org.opentripplanner.routing.api.request.StreetMode;
+import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.routing.impl.GraphPathFinder;
+import org.opentripplanner.street.model.edge.Edge;
+import org.opentripplanner.street.model.vertex.Vertex;
+import org.opentripplanner.street.search.TemporaryVerticesContainer;
+import org.opentripplanner.street.search.state.State;
+
+class WalkStepsTest {
+
+  private static final Instant DATE_TIME = Instant.parse("2023-05-15T10:00:00Z");
+
+  private final Graph graph;
+
+  {
+    TestOtpModel model = ConstantsForTests.buildOsmGraph(ConstantsForTests.HERRENBERG_OSM);
+    graph = model.graph();
+
+    model.transitModel().index();
+    graph.index(model.transitModel().getStopModel());
+  }
+
+  /**
+   * The walk steps are generated from the street graph, including the temporary edges from the
+   * origin and to the destination. The temporary edges are removed when the search is complete, and
+   * the rest of the graph may be changed by the updaters, so the walk steps must not depend on the
+   * graph when they are read.
+   */
+  @Test
+  void readWalkStepsAfterTemporaryVerticesAreDisposed() {
+    RouteRequest request = new RouteRequest();
+    request.setDateTime(DATE_TIME);
+    request.setFrom(new GenericLocation(48.59713, 8.86107));
+    request.setTo(new GenericLocation(48.59370, 8.87079));
+    request.journey().direct().setMode(StreetMode.WALK);
+
+    var mapper = new GraphPathToItineraryMapper(
+      ZoneIds.BERLIN,
+      graph.streetNotesService,
+      graph.ellipsoidToGeoidDifference
+    );
+
+    List<String> expected;
+    List<Itinerary> itineraries;
+    List<GraphPath<State, Edge, Vertex>> paths;
+    try (
+      var temporaryVertices = new TemporaryVerticesContainer(
+        graph,
+        request,
+        StreetMode.WALK,
+        StreetMode.WALK
+      )
+    ) {
+      paths =
+        new GraphPathFinder(null, Duration.ofSeconds(5))
+          .graphPathFinderEntryPoint(request, temporaryVertices);
+      expected = walkSteps(mapper.mapItineraries(paths));
+      itineraries = mapper.mapItineraries(paths);
+    }
+
+    // Change the graph after the search, leaving no turns to other streets along the path
+    var pathEdges = paths.get(0).edges;
+    var vertices = pathEdges
+      .stream()
+      .map(Edge::getFromVertex)
+      .filter(Objects::nonNull)
+      .toList();
+    for (Vertex vertex : vertices) {
+      for (Edge other : List.copyOf(vertex.getOutgoing())) {
+        if (!pathEdges.contains(other)) {
+          graph.removeEdge(other);
+        }
+      }
+    }
+
+    assertFalse(expected.isEmpty());
+    assertEquals(expected, walkSteps(itineraries));
+  }
+
+  private static List<String> walkSteps(List<Itinerary> itineraries) {
+    return itineraries
+      .get(0)
+      .getLegs()
+      .get(0)
+      .getWalkSteps()
+      .stream()
+      .map(WalkStepsTest::toString)
+      .toList();
+  }
+
+  private static String toString(WalkStep step) {
+    return (
+      step.getRelativeDirection() +
+      " " +
+      step.getAbsoluteDirection() +
+      " " +
+      step.getStreetName() +
+      " " +
+      Math.round(step.getDistance()) +
+      " " +
+      step.getStayOn()
+    );
+  }
+}
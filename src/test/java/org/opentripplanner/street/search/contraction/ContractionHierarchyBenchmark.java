@@ -0,0 +1,135 @@
+package org.opentripplanner.street.search.contraction;
+
+import static org.opentripplanner.test.support.Percentiles.percentile;
+
+import java.io.File;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import javax.annotation.Nullable;
+import org.opentripplanner.routing.api.request.RouteRequest;
+import org.opentripplanner.routing.api.request.StreetMode;
+import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.routing.graph.SerializedGraphObject;
+import org.opentripplanner.routing.impl.GraphPathFinder;
+import org.opentripplanner.street.model.vertex.IntersectionVertex;
+import org.opentripplanner.street.model.vertex.Vertex;
+
+/**
+ * Compare direct car searches with and without the contraction hierarchy, and report the speedup.
+ * The searches are between random street vertices. If the graph was built without a hierarchy, it
+ * is built before the benchmark starts. The landmarks of the graph are used by the searches without
+ * the hierarchy, and by the searches which fall back to a normal search.
+ * <p>
+ * Run with the path to a graph file, preferably a national or regional graph:
+ * <p>
+ * mvn exec:java -D"exec.mainClass"="org.opentripplanner.street.search.contraction.ContractionHierarchyBenchmark" -D"exec.classpathScope"=test -D"exec.args"="graph.obj"
+ */
+public class ContractionHierarchyBenchmark {
+
+  private static final int SEARCHES = 200;
+  private static final int ROUNDS = 3;
+
+  public static void main(String[] args) {
+    if (args.length < 1) {
+      System.err.println("Usage: ContractionHierarchyBenchmark <graph file>");
+      System.exit(1);
+    }
+    Graph graph = SerializedGraphObject.load(new File(args[0])).graph;
+
+    ContractionHierarchy hierarchy = graph.getContractionHierarchy();
+    if (hierarchy == null) {
+      long start = System.currentTimeMillis();
+      hierarchy =
+        new ContractionHierarchyBuilder(graph.getStreetEdges(), new RouteRequest().preferences())
+          .build();
+      System.out.printf("Built hierarchy in %d ms%n", System.currentTimeMillis() - start);
+    }
+    System.out.printf(
+      "Hierarchy: %d nodes, %d arcs%n",
+      hierarchy.numberOfNodes(),
+      hierarchy.numberOfArcs()
+    );
+
+    var vertices = new ArrayList<Vertex>(graph.getVerticesOfType(IntersectionVertex.class));
+    var random = new Random(42);
+    List<Vertex[]> pairs = new ArrayList<>();
+    for (int i = 0; i < SEARCHES; ++i) {
+      pairs.add(
+        new Vertex[] {
+          vertices.get(random.nextInt(vertices.size())),
+          vertices.get(random.nextInt(vertices.size())),
+        }
+      );
+    }
+
+    int used = 0;
+    var router = new ContractionHierarchyRouter(hierarchy);
+    for (Vertex[] pair : pairs) {
+      if (router.route(request(), Set.of(pair[0]), Set.of(pair[1])).isPresent()) {
+        ++used;
+      }
+    }
+    System.out.printf("The hierarchy is used by %d of %d searches%n", used, pairs.size());
+
+    for (int i = 0; i < ROUNDS; ++i) {
+      System.out.println("Round " + (i + 1) + " of " + ROUNDS);
+      long[] search = search("Search", graph, null, pairs);
+      long[] contracted = search("Hierarchy", graph, hierarchy, pairs);
+      System.out.printf(
+        "Speedup p50: %.1fx  p95: %.1fx  total: %.1fx%n",
+        (double) percentile(search, 0.50) / Math.max(percentile(contracted, 0.50), 1),
+        (double) percentile(search, 0.95) / Math.max(percentile(contracted, 0.95), 1),
+        (double) Arrays.stream(search).sum() / Math.max(Arrays.stream(contracted).sum(), 1)
+      );
+    }
+  }
+
+  /** Run the searches and return the sorted latencies in nanoseconds. */
+  private static long[] search(
+    String description,
+    Graph graph,
+    @Nullable ContractionHierarchy hierarchy,
+    List<Vertex[]> pairs
+  ) {
+    var request = request();
+    long[] latencies = new long[pairs.size()];
+    int found = 0;
+    for (int i = 0; i < pairs.size(); ++i) {
+      var finder = new GraphPathFinder(
+        null,
+        Duration.ofSeconds(30),
+        null,
+        graph.getStreetLandmarks(),
+        hierarchy
+      );
+      long start = System.nanoTime();
+      var paths = finder.getPaths(request, Set.of(pairs.get(i)[0]), Set.of(pairs.get(i)[1]));
+      latencies[i] = System.nanoTime() - start;
+      if (!paths.isEmpty()) {
+        ++found;
+      }
+    }
+    Arrays.sort(latencies);
+    System.out.printf(
+      "%-10s %4d found  p50: %8.2f ms  p95: %8.2f ms  p99: %8.2f ms%n",
+      description,
+      found,
+      percentile(latencies, 0.50) / 1e6,
+      percentile(latencies, 0.95) / 1e6,
+      percentile(latencies, 0.99) / 1e6
+    );
+    return latencies;
+  }
+
+  private static RouteRequest request() {
+    var request = new RouteRequest();
+    request.setDateTime(Instant.now());
+    request.journey().direct().setMode(StreetMode.CAR);
+    return request;
+  }
+}
@@ -0,0 +1,159 @@
+package org.opentripplanner.street.search.contraction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.opentripplanner.street.model._data.StreetModelForTest.intersectionVertex;
+import static org.opentripplanner.street.model._data.StreetModelForTest.streetEdge;
+
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.ConstantsForTests;
+import org.opentripplanner.routing.api.request.RouteRequest;
+import org.opentripplanner.routing.api.request.StreetMode;
+import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.routing.graph.kryosupport.KryoBuilder;
+import org.opentripplanner.routing.impl.GraphPathFinder;
+import org.opentripplanner.street.model.StreetTraversalPermission;
+import org.opentripplanner.street.model.TurnRestriction;
+import org.opentripplanner.street.model.TurnRestrictionType;
+import org.opentripplanner.street.model.vertex.IntersectionVertex;
+import org.opentripplanner.street.model.vertex.Vertex;
+import org.opentripplanner.street.search.TraverseModeSet;
+
+class ContractionHierarchyTest {
+
+  private static final Instant TIME = Instant.parse("2023-01-10T08:00:00Z");
+
+  @Test
+  void respectTurnRestrictions() {
+    // A -> B -> C is the short way, but turning from A -> B onto B -> C is not allowed
+    var a = intersectionVertex("A", 0, 0);
+    var b = intersectionVertex("B", 0, 0.01);
+    var c = intersectionVertex("C", 0, 0.02);
+    var d = intersectionVertex("D", 0.01, 0.015);
+    var ab = streetEdge(a, b, 1000, StreetTraversalPermission.ALL);
+    var bc = streetEdge(b, c, 1000, StreetTraversalPermission.ALL);
+    var bd = streetEdge(b, d, 1000, StreetTraversalPermission.ALL);
+    var dc = streetEdge(d, c, 1000, StreetTraversalPermission.ALL);
+    ab.addTurnRestriction(
+      new TurnRestriction(ab, bc, TurnRestrictionType.NO_TURN, TraverseModeSet.allModes(), null)
+    );
+
+    var request = carRequest(false);
+    var hierarchy = new ContractionHierarchyBuilder(
+      List.of(ab, bc, bd, dc),
+      request.preferences()
+    )
+      .build();
+    var path = new ContractionHierarchyRouter(hierarchy)
+      .route(request, Set.of(a), Set.of(c))
+      .orElseThrow();
+
+    assertEquals(List.of(ab, bd, dc), path.edges);
+  }
+
+  @Test
+  void notApplicableToOtherPreferences() {
+    var a = intersectionVertex("A", 0, 0);
+    var b = intersectionVertex("B", 0, 0.01);
+    var ab = streetEdge(a, b, 1000, StreetTraversalPermission.ALL);
+    var request = carRequest(false);
+    var router = new ContractionHierarchyRouter(
+      new ContractionHierarchyBuilder(List.of(ab), request.preferences()).build()
+    );
+    assertTrue(router.isApplicable(request));
+
+    request.withPreferences(p -> p.withCar(c -> c.withReluctance(3)));
+    assertFalse(router.isApplicable(request));
+
+    var bikeRequest = carRequest(false);
+    bikeRequest.journey().direct().setMode(StreetMode.BIKE);
+    assertFalse(router.isApplicable(bikeRequest));
+  }
+
+  @Test
+  void sameWeightAsSearch() {
+    var graph = ConstantsForTests.buildOsmGraph(ConstantsForTests.HERRENBERG_OSM).index().graph();
+    var hierarchy = new ContractionHierarchyBuilder(
+      graph.getStreetEdges(),
+      new RouteRequest().preferences()
+    )
+      .build();
+    var router = new ContractionHierarchyRouter(hierarchy);
+
+    var vertices = new ArrayList<Vertex>(graph.getVerticesOfType(IntersectionVertex.class));
+    var random = new Random(17);
+    int found = 0;
+    int searched = 0;
+
+    for (int i = 0; i < 30; ++i) {
+      var from = vertices.get(random.nextInt(vertices.size()));
+      var to = vertices.get(random.nextInt(vertices.size()));
+      for (var arriveBy : List.of(false, true)) {
+        var request = carRequest(arriveBy);
+        var expected = new GraphPathFinder(null, Duration.ofSeconds(5))
+          .getPaths(request, Set.of(from), Set.of(to));
+        var actual = router.route(request, Set.of(from), Set.of(to));
+
+        if (!expected.isEmpty()) {
+          ++searched;
+        }
+        if (actual.isPresent()) {
+          ++found;
+          assertFalse(expected.isEmpty());
+          // The search compares states by vertex, so it may miss the best path with turn costs
+          assertTrue(actual.get().getWeight() <= expected.get(0).getWeight() + 0.01);
+          assertEquals(from, actual.get().states.getFirst().getVertex());
+          assertEquals(to, actual.get().states.getLast().getVertex());
+        }
+      }
+    }
+    assertTrue(found > searched / 2, found + " > " + searched + " / 2");
+  }
+
+  @Test
+  void serializeWithGraph() {
+    var graph = new Graph();
+    var a = intersectionVertex("A", 0, 0);
+    var b = intersectionVertex("B", 0, 0.01);
+    graph.addVertex(a);
+    graph.addVertex(b);
+    streetEdge(a, b);
+    streetEdge(b, a);
+    graph.setContractionHierarchy(
+      new ContractionHierarchyBuilder(graph.getStreetEdges(), new RouteRequest().preferences())
+        .build()
+    );
+
+    var kryo = KryoBuilder.create();
+    var bytes = new ByteArrayOutputStream();
+    try (var output = new Output(bytes)) {
+      kryo.writeObject(output, graph);
+    }
+    var copy = kryo.readObject(new Input(bytes.toByteArray()), Graph.class);
+
+    var hierarchy = copy.getContractionHierarchy();
+    assertEquals(2, hierarchy.numberOfNodes());
+    assertEquals(CarCostProfile.of(new RouteRequest().preferences()), hierarchy.costProfile());
+    for (int node = 0; node < hierarchy.numberOfNodes(); ++node) {
+      assertEquals(node, hierarchy.node(hierarchy.edge(node)));
+    }
+  }
+
+  private static RouteRequest carRequest(boolean arriveBy) {
+    var request = new RouteRequest();
+    request.setDateTime(TIME);
+    request.setArriveBy(arriveBy);
+    request.journey().direct().setMode(StreetMode.CAR);
+    return request;
+  }
+}
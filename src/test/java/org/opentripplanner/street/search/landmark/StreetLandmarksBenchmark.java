@@ -0,0 +1,124 @@
+package org.opentripplanner.street.search.landmark;
+
+import static org.opentripplanner.test.support.Percentiles.percentile;
+
+import java.io.File;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import javax.annotation.Nullable;
+import org.opentripplanner.astar.spi.TraverseVisitor;
+import org.opentripplanner.routing.api.request.RouteRequest;
+import org.opentripplanner.routing.api.request.StreetMode;
+import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.routing.graph.SerializedGraphObject;
+import org.opentripplanner.routing.impl.GraphPathFinder;
+import org.opentripplanner.street.model.edge.Edge;
+import org.opentripplanner.street.model.vertex.IntersectionVertex;
+import org.opentripplanner.street.model.vertex.Vertex;
+import org.opentripplanner.street.search.state.State;
+
+/**
+ * Compare direct street searches using the Euclidean heuristic with searches using landmarks. The
+ * searches are between random street vertices, and the number of vertices visited and the latency
+ * of each search are reported. If the graph was built without landmarks, they are computed before
+ * the benchmark starts.
+ * <p>
+ * Run with the path to a graph file, and optionally the street mode and the number of landmarks:
+ * <p>
+ * mvn exec:java -D"exec.mainClass"="org.opentripplanner.street.search.landmark.StreetLandmarksBenchmark" -D"exec.classpathScope"=test -D"exec.args"="graph.obj CAR 16"
+ */
+public class StreetLandmarksBenchmark {
+
+  private static final int SEARCHES = 200;
+  private static final int ROUNDS = 3;
+
+  public static void main(String[] args) {
+    if (args.length < 1) {
+      System.err.println("Usage: StreetLandmarksBenchmark <graph file> [street mode] [landmarks]");
+      System.exit(1);
+    }
+    Graph graph = SerializedGraphObject.load(new File(args[0])).graph;
+    StreetMode mode = args.length > 1 ? StreetMode.valueOf(args[1]) : StreetMode.CAR;
+    int numberOfLandmarks = args.length > 2 ? Integer.parseInt(args[2]) : 16;
+
+    StreetLandmarks landmarks = graph.getStreetLandmarks();
+    if (landmarks == null) {
+      long start = System.currentTimeMillis();
+      landmarks = new StreetLandmarksBuilder(graph.getVertices()).build(numberOfLandmarks);
+      System.out.printf("Computed landmarks in %d ms%n", System.currentTimeMillis() - start);
+    }
+
+    var vertices = new ArrayList<Vertex>(graph.getVerticesOfType(IntersectionVertex.class));
+    var random = new Random(42);
+    List<Vertex[]> pairs = new ArrayList<>();
+    for (int i = 0; i < SEARCHES; ++i) {
+      pairs.add(
+        new Vertex[] {
+          vertices.get(random.nextInt(vertices.size())),
+          vertices.get(random.nextInt(vertices.size())),
+        }
+      );
+    }
+
+    for (int i = 0; i < ROUNDS; ++i) {
+      System.out.println("Round " + (i + 1) + " of " + ROUNDS);
+      search("Euclidean", null, mode, pairs);
+      search("Landmarks", landmarks, mode, pairs);
+    }
+  }
+
+  private static void search(
+    String description,
+    @Nullable StreetLandmarks landmarks,
+    StreetMode mode,
+    List<Vertex[]> pairs
+  ) {
+    var request = new RouteRequest();
+    request.setDateTime(Instant.now());
+    request.journey().direct().setMode(mode);
+
+    var counter = new VisitCounter();
+    long[] latencies = new long[pairs.size()];
+    int found = 0;
+    for (int i = 0; i < pairs.size(); ++i) {
+      var finder = new GraphPathFinder(counter, Duration.ofSeconds(30), null, landmarks);
+      long start = System.nanoTime();
+      var paths = finder.getPaths(request, Set.of(pairs.get(i)[0]), Set.of(pairs.get(i)[1]));
+      latencies[i] = System.nanoTime() - start;
+      if (!paths.isEmpty()) {
+        ++found;
+      }
+    }
+    Arrays.sort(latencies);
+    System.out.printf(
+      "%-10s %4d found  visited/search: %8d  p50: %6d ms  p95: %6d ms  p99: %6d ms%n",
+      description,
+      found,
+      counter.visited / pairs.size(),
+      percentile(latencies, 0.50) / 1_000_000,
+      percentile(latencies, 0.95) / 1_000_000,
+      percentile(latencies, 0.99) / 1_000_000
+    );
+  }
+
+  private static class VisitCounter implements TraverseVisitor<State, Edge> {
+
+    long visited = 0;
+
+    @Override
+    public void visitEdge(Edge edge) {}
+
+    @Override
+    public void visitVertex(State state) {
+      ++visited;
+    }
+
+    @Override
+    public void visitEnqueue() {}
+  }
+}
@@ -0,0 +1,163 @@
+package org.opentripplanner.street.search.landmark;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.opentripplanner.street.model._data.StreetModelForTest.intersectionVertex;
+import static org.opentripplanner.street.model._data.StreetModelForTest.streetEdge;
+
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import java.io.ByteArrayOutputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.ConstantsForTests;
+import org.opentripplanner.astar.model.GraphPath;
+import org.opentripplanner.astar.spi.TraverseVisitor;
+import org.opentripplanner.routing.api.request.RouteRequest;
+import org.opentripplanner.routing.api.request.StreetMode;
+import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.routing.graph.kryosupport.KryoBuilder;
+import org.opentripplanner.routing.impl.GraphPathFinder;
+import org.opentripplanner.street.model.StreetTraversalPermission;
+import org.opentripplanner.street.model.edge.Edge;
+import org.opentripplanner.street.model.vertex.IntersectionVertex;
+import org.opentripplanner.street.model.vertex.StreetVertex;
+import org.opentripplanner.street.model.vertex.Vertex;
+import org.opentripplanner.street.search.state.State;
+
+class StreetLandmarksTest {
+
+  @Test
+  void tablesContainShortestPaths() {
+    // A -> B -> C is a one-way street, C <-> A can be used in both directions
+    var a = intersectionVertex("A", 0, 0);
+    var b = intersectionVertex("B", 0, 0.01);
+    var c = intersectionVertex("C", 0, 0.02);
+    streetEdge(a, b, 100, StreetTraversalPermission.ALL);
+    streetEdge(b, c, 100, StreetTraversalPermission.ALL);
+    streetEdge(c, a, 500, StreetTraversalPermission.ALL);
+    streetEdge(a, c, 500, StreetTraversalPermission.ALL);
+    // Only pedestrians may use C -> B
+    streetEdge(c, b, 50, StreetTraversalPermission.PEDESTRIAN);
+
+    var landmarks = new StreetLandmarksBuilder(List.of(a, b, c)).build(2);
+    var table = landmarks.table(LandmarkMetric.BICYCLE);
+    assertNotNull(table);
+    assertEquals(2, table.numberOfLandmarks());
+
+    for (int l = 0; l < table.numberOfLandmarks(); ++l) {
+      var landmark = List.of(a, b, c).get(table.landmark(l));
+      for (var vertex : List.of(a, b, c)) {
+        int v = landmarks.indexOf(vertex);
+        assertEquals(bicycleDistance(landmark, vertex), table.fromLandmark(v, l), 0.01);
+        assertEquals(bicycleDistance(vertex, landmark), table.toLandmark(v, l), 0.01);
+      }
+    }
+    assertEquals(StreetLandmarks.NO_VERTEX, landmarks.indexOf(intersectionVertex("D", 1, 1)));
+  }
+
+  @Test
+  void sameResultAsEuclideanHeuristic() {
+    var graph = ConstantsForTests.buildOsmGraph(ConstantsForTests.HERRENBERG_OSM).index().graph();
+    var landmarks = new StreetLandmarksBuilder(graph.getVertices()).build(4);
+
+    var vertices = new ArrayList<Vertex>(graph.getVerticesOfType(IntersectionVertex.class));
+    var random = new Random(17);
+    var euclidean = new VisitCounter();
+    var alt = new VisitCounter();
+
+    for (var mode : List.of(StreetMode.CAR, StreetMode.BIKE)) {
+      for (int i = 0; i < 20; ++i) {
+        var from = vertices.get(random.nextInt(vertices.size()));
+        var to = vertices.get(random.nextInt(vertices.size()));
+        for (var arriveBy : List.of(false, true)) {
+          var request = new RouteRequest();
+          request.setDateTime(Instant.parse("2023-01-10T08:00:00Z"));
+          request.setArriveBy(arriveBy);
+          request.journey().direct().setMode(mode);
+
+          var expected = new GraphPathFinder(euclidean, Duration.ofSeconds(5))
+            .getPaths(request, Set.of(from), Set.of(to));
+          var actual = new GraphPathFinder(alt, Duration.ofSeconds(5), null, landmarks)
+            .getPaths(request, Set.of(from), Set.of(to));
+
+          assertEquals(expected.isEmpty(), actual.isEmpty());
+          if (!expected.isEmpty()) {
+            assertEquals(weight(expected), weight(actual), 0.01);
+          }
+        }
+      }
+    }
+    assertTrue(alt.visited < euclidean.visited, alt.visited + " < " + euclidean.visited);
+  }
+
+  @Test
+  void serializeWithGraph() {
+    var graph = new Graph();
+    var a = intersectionVertex("A", 0, 0);
+    var b = intersectionVertex("B", 0, 0.01);
+    graph.addVertex(a);
+    graph.addVertex(b);
+    streetEdge(a, b);
+    streetEdge(b, a);
+    graph.setStreetLandmarks(new StreetLandmarksBuilder(graph.getVertices()).build(1));
+
+    var kryo = KryoBuilder.create();
+    var bytes = new ByteArrayOutputStream();
+    try (var output = new Output(bytes)) {
+      kryo.writeObject(output, graph);
+    }
+    var copy = kryo.readObject(new Input(bytes.toByteArray()), Graph.class);
+
+    var landmarks = copy.getStreetLandmarks();
+    assertEquals(2, landmarks.numberOfVertices());
+    for (var vertex : copy.getVertices()) {
+      assertFalse(landmarks.indexOf(vertex) == StreetLandmarks.NO_VERTEX);
+    }
+  }
+
+  /** Bellman-Ford, good enough for a handful of vertices. */
+  private static float bicycleDistance(StreetVertex from, StreetVertex to) {
+    var distances = new HashMap<Vertex, Float>();
+    distances.put(from, 0f);
+    for (int i = 0; i < 10; ++i) {
+      for (var vertex : List.copyOf(distances.keySet())) {
+        for (Edge edge : vertex.getOutgoing()) {
+          float distance = distances.get(vertex) + LandmarkMetric.BICYCLE.cost(edge);
+          if (distance < distances.getOrDefault(edge.getToVertex(), Float.POSITIVE_INFINITY)) {
+            distances.put(edge.getToVertex(), distance);
+          }
+        }
+      }
+    }
+    return distances.getOrDefault(to, Float.POSITIVE_INFINITY);
+  }
+
+  private static double weight(List<GraphPath<State, Edge, Vertex>> paths) {
+    return paths.get(0).getWeight();
+  }
+
+  private static class VisitCounter implements TraverseVisitor<State, Edge> {
+
+    int visited = 0;
+
+    @Override
+    public void visitEdge(Edge edge) {}
+
+    @Override
+    public void visitVertex(State state) {
+      ++visited;
+    }
+
+    @Override
+    public void visitEnqueue() {}
+  }
+}
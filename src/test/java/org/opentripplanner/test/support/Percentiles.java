@@ -0,0 +1,20 @@
+package org.opentripplanner.test.support;
+
+/**
+ * Percentiles of the latencies measured by the benchmarks and load tests.
+ */
+public class Percentiles {
+
+  /**
+   * Return the nearest-rank percentile of the sorted values, or 0 if there are no values.
+   *
+   * @param percentile between 0 and 1, e.g. 0.95 for the 95th percentile
+   */
+  public static long percentile(long[] sorted, double percentile) {
+    if (sorted.length == 0) {
+      return 0;
+    }
+    int index = (int) Math.ceil(percentile * sorted.length) - 1;
+    return sorted[Math.max(index, 0)];
+  }
+}
@@ -15,8 +15,11 @@ import java.util.function.Predicate;
 import org.opentripplanner.TestServerContext;
 import org.opentripplanner.datastore.OtpDataStore;
 import org.opentripplanner.framework.application.OtpAppException;
+import org.opentripplanner.framework.concurrent.ConcurrencyLimiter;
+import org.opentripplanner.inspector.raster.TileRendererManager;
 import org.opentripplanner.model.plan.Itinerary;
 import org.opentripplanner.raptor.configure.RaptorConfig;
+import org.opentripplanner.routing.algorithm.raptoradapter.router.performance.SearchStatisticsForRaptor;
 import org.opentripplanner.routing.api.response.RoutingResponse;
 import org.opentripplanner.routing.framework.DebugTimingAggregator;
 import org.opentripplanner.routing.graph.Graph;
@@ -27,6 +30,7 @@ import org.opentripplanner.standalone.api.OtpServerRequestContext;
 import org.opentripplanner.standalone.config.BuildConfig;
 import org.opentripplanner.standalone.config.ConfigModel;
 import org.opentripplanner.standalone.config.OtpConfigLoader;
+import org.opentripplanner.standalone.config.sandbox.TravelTimeConfig;
 import org.opentripplanner.standalone.server.DefaultServerRequestContext;
 import org.opentripplanner.transit.service.DefaultTransitService;
 import org.opentripplanner.transit.service.TransitModel;
@@ -107,10 +111,17 @@ public class SpeedTest {
         graph,
         new DefaultTransitService(transitModel),
         timer.getRegistry(),
+        ConcurrencyLimiter.unlimited(),
         List::of,
         TestServerContext.createWorldEnvelopeService(),
         TestServerContext.createVehiclePositionService(),
+        new TileRendererManager(graph, config.request.preferences()),
+        new SearchStatisticsForRaptor(
+          timer.getRegistry(),
+          config.transitRoutingParams.slowSearchLogThreshold()
+        ),
         config.flexConfig,
+        TravelTimeConfig.DEFAULT,
         null,
         null
       );
@@ -0,0 +1,117 @@
+package org.opentripplanner.updater;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.transit.service.TransitModel;
+
+class GraphWriterSchedulerTest {
+
+  private static final long TIMEOUT_SECONDS = 10;
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+  private final GraphWriterScheduler subject = new GraphWriterScheduler(null, null, 2, registry);
+  private final List<String> executed = new CopyOnWriteArrayList<>();
+  private final CountDownLatch release = new CountDownLatch(1);
+
+  @AfterEach
+  void stop() throws InterruptedException {
+    release.countDown();
+    subject.stop(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+  }
+
+  @Test
+  void runLanesInParallel() throws Exception {
+    var rental = subject.newWriter("rental", GraphWriterLane.STREET_GRAPH);
+    var trips = subject.newWriter("trips", GraphWriterLane.TIMETABLE_SNAPSHOT);
+
+    Future<?> slow = rental.execute(blocking("rental"));
+    trips.execute(record("trips 1")).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    trips.execute(record("trips 2")).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+    assertFalse(slow.isDone());
+    release.countDown();
+    slow.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    assertEquals(List.of("trips 1", "trips 2", "rental"), executed);
+  }
+
+  @Test
+  void runExclusiveWritersAlone() throws Exception {
+    var rental = subject.newWriter("rental", GraphWriterLane.STREET_GRAPH);
+    var other = subject.newWriter("other", GraphWriterLane.EXCLUSIVE);
+    var trips = subject.newWriter("trips", GraphWriterLane.TIMETABLE_SNAPSHOT);
+
+    rental.execute(blocking("rental"));
+    Future<?> exclusive = other.execute(record("other"));
+    Future<?> last = trips.execute(record("trips"));
+
+    // The trip update is queued after the exclusive writer, so both wait for the rental update
+    Thread.sleep(100);
+    assertEquals(List.of(), executed);
+    release.countDown();
+    last.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    assertTrue(exclusive.isDone());
+    assertEquals(List.of("rental", "other", "trips"), executed);
+  }
+
+  @Test
+  void dropQueuedWritersReplacedByNewerOnes() throws Exception {
+    var parking = subject.newWriter("parking", GraphWriterLane.STREET_GRAPH);
+    var rental = subject.newWriter("rental", GraphWriterLane.STREET_GRAPH);
+
+    parking.execute(blocking("parking"));
+    Future<?> first = rental.execute(replacing("rental 1"));
+    rental.execute(record("rental 2"));
+    assertEquals(2.0, registry.get("graphWriter.queued").tag("updater", "rental").gauge().value());
+
+    // The third update contains the complete state, so the queued ones are not needed anymore
+    Future<?> third = rental.execute(replacing("rental 3"));
+    assertTrue(first.isDone());
+    assertEquals(1.0, registry.get("graphWriter.queued").tag("updater", "rental").gauge().value());
+
+    release.countDown();
+    third.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    assertEquals(List.of("parking", "rental 3"), executed);
+    assertEquals(2.0, registry.get("graphWriter.dropped").tag("updater", "rental").counter().count());
+    assertEquals(1, registry.get("graphWriter.latency").tag("updater", "rental").timer().count());
+  }
+
+  private GraphWriterRunnable record(String name) {
+    return (graph, transitModel) -> executed.add(name);
+  }
+
+  private GraphWriterRunnable blocking(String name) {
+    return (graph, transitModel) -> {
+      try {
+        release.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      executed.add(name);
+    };
+  }
+
+  private GraphWriterRunnable replacing(String name) {
+    return new GraphWriterRunnable() {
+      @Override
+      public void run(Graph graph, TransitModel transitModel) {
+        executed.add(name);
+      }
+
+      @Override
+      public boolean replacesQueued() {
+        return true;
+      }
+    };
+  }
+}
@@ -270,6 +270,8 @@ class VehicleParkingUpdaterTest {
       transitModel,
       List.of(vehicleParkingUpdater)
     );
+    // Write to the graph directly, instead of in the lane of the updater
+    vehicleParkingUpdater.setGraphUpdaterManager(graphUpdaterManager);
     graphUpdaterManager.startUpdaters();
     graphUpdaterManager.stop();
   }